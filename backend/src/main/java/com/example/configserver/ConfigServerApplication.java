@@ -1,15 +1,19 @@
 package com.example.configserver;
 
+import com.example.configserver.replica.ReadNodeApplication;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.domain.EntityScan;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 
 @SpringBootApplication
+@ConditionalOnProperty(name = "app.mode", havingValue = "primary", matchIfMissing = true)
 @EnableJpaRepositories(basePackages = "com.example.configserver.repository")
 @EntityScan(basePackages = "com.example.configserver.model")
 public class ConfigServerApplication {
     public static void main(String[] args) {
-        SpringApplication.run(ConfigServerApplication.class, args);
+        // Exactly one of them applies, depending on app.mode
+        SpringApplication.run(new Class<?>[] {ConfigServerApplication.class, ReadNodeApplication.class}, args);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,81 @@
+package com.example.configserver.cluster;
+
+import com.example.configserver.security.TenantContext;
+import lombok.Value;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * The payload of a {@code NOTIFY} on {@link #CHANNEL}:
+ * {@code <node>:<tenant>:<revision>:<group ids, comma-separated>}, where the group list is
+ * {@code *} if the change touched more groups than fit into one notification.
+ */
+@Value
+public class ConfigChangeNotification {
+
+    public static final String CHANNEL = "configuration_changes";
+
+    // Postgres rejects payloads of 8000 bytes or more
+    private static final int MAX_PAYLOAD_BYTES = 7900;
+
+    private static final String ALL_GROUPS = "*";
+
+    String node;
+    String tenant;
+    long revision;
+    // Null if every group of the tenant may have changed
+    Set<Long> groupIds;
+
+    public boolean isWholeTenant() {
+        return groupIds == null;
+    }
+
+    public String encode() {
+        String prefix = node + ":" + tenant + ":" + revision + ":";
+        if (groupIds == null) {
+            return prefix + ALL_GROUPS;
+        }
+        StringBuilder payload = new StringBuilder(prefix);
+        boolean first = true;
+        for (Long groupId : groupIds) {
+            if (!first) {
+                payload.append(',');
+            }
+            payload.append(groupId);
+            first = false;
+        }
+        if (payload.toString().getBytes(StandardCharsets.UTF_8).length > MAX_PAYLOAD_BYTES) {
+            return prefix + ALL_GROUPS;
+        }
+        return payload.toString();
+    }
+
+    /**
+     * @throws IllegalArgumentException if the payload is malformed
+     */
+    public static ConfigChangeNotification decode(String payload) {
+        String[] parts = payload != null ? payload.split(":", -1) : new String[0];
+        if (parts.length != 4 || parts[0].isEmpty() || !TenantContext.isValid(parts[1])) {
+            throw new IllegalArgumentException("Malformed configuration change notification: " + payload);
+        }
+        try {
+            long revision = Long.parseLong(parts[2]);
+            if (ALL_GROUPS.equals(parts[3])) {
+                return new ConfigChangeNotification(parts[0], parts[1], revision, null);
+            }
+            Set<Long> groupIds = new LinkedHashSet<>();
+            if (!parts[3].isEmpty()) {
+                for (String groupId : parts[3].split(",")) {
+                    groupIds.add(Long.parseLong(groupId));
+                }
+            }
+            return new ConfigChangeNotification(parts[0], parts[1], revision,
+                    Collections.unmodifiableSet(groupIds));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Malformed configuration change notification: " + payload);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.configserver.cluster;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Announces committed configuration changes to the other nodes. The notification is
+ * queued inside the writing transaction, so Postgres delivers it to
+ * {@link ConfigChangeSubscriber}s if and only if the transaction commits, and in commit
+ * order.
+ * <p>
+ * Changes to entities in Hibernate's second-level cache, such as users, are announced on
+ * {@link #ENTITY_CHANNEL} the same way, as {@code <node>:<entity name>}.
+ */
+@Component
+@RequiredArgsConstructor
+public class ConfigChangeNotifier {
+
+    public static final String ENTITY_CHANNEL = "cached_entity_changes";
+
+    private static final String NOTIFY = "SELECT pg_notify(?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Lets a node skip its own notifications; it applied those changes as it made them
+    private final String node = UUID.randomUUID().toString();
+
+    @Value("${app.cluster.enabled:false}")
+    private boolean enabled = false;
+
+    public String getNode() {
+        return node;
+    }
+
+    /**
+     * Queue the notification of the current transaction's change.
+     *
+     * @param groupIds The changed groups
+     */
+    public void notifyChange(String tenant, long revision, Set<Long> groupIds) {
+        if (!enabled) {
+            return;
+        }
+        String payload = new ConfigChangeNotification(node, tenant, revision, groupIds).encode();
+        jdbcTemplate.query(NOTIFY, (RowCallbackHandler) rs -> {
+        }, ConfigChangeNotification.CHANNEL, payload);
+    }
+
+    /**
+     * Queue the notification that the current transaction changed rows of a cached entity.
+     * Postgres delivers identical notifications of one transaction once.
+     */
+    public void notifyEntityChange(String entityName) {
+        if (!enabled) {
+            return;
+        }
+        jdbcTemplate.query(NOTIFY, (RowCallbackHandler) rs -> {
+        }, ENTITY_CHANNEL, node + ":" + entityName);
+    }
+}
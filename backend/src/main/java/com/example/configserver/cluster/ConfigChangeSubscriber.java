@@ -0,0 +1,237 @@
+package com.example.configserver.cluster;
+
+import com.example.configserver.service.ConfigurationChangedEvent;
+import com.example.configserver.service.EffectiveConfigService;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Keeps this node's effective configuration coherent with writes made on other nodes.
+ * One pooled connection {@code LISTEN}s for {@link ConfigChangeNotifier}'s notifications;
+ * each evicts the changed groups and is republished locally as a
+ * {@link ConfigurationChangedEvent}, so gRPC and SSE watchers on this node see the change
+ * too.
+ * <p>
+ * Notifications sent while the connection was down are lost, so the tenants' revisions
+ * are reconciled against {@code configuration_revisions} after every (re)connect and
+ * periodically: a tenant that is ahead of the last revision seen here is evicted whole.
+ * <p>
+ * Writes to second-level cached entities ({@link CachedEntityChangeListener}) evict the
+ * entity's region and the query cache. After a (re)connect, all regions are evicted, as
+ * those writes carry no revision to reconcile against.
+ */
+@Component
+@ConditionalOnProperty(name = "app.cluster.enabled", havingValue = "true")
+@Slf4j
+public class ConfigChangeSubscriber implements SmartLifecycle {
+
+    private static final String REVISIONS = "SELECT tenant, revision FROM configuration_revisions";
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final EffectiveConfigService effectiveConfigService;
+    private final EntityManagerFactory entityManagerFactory;
+    private final ApplicationEventPublisher eventPublisher;
+    private final String node;
+
+    // Latest revision per tenant this node has applied, whether written here or elsewhere
+    private final ConcurrentMap<String, Long> revisions = new ConcurrentHashMap<>();
+
+    // How long a wait for notifications blocks, and so how late a stop is noticed
+    @Value("${app.cluster.poll-interval-ms:1000}")
+    private int pollIntervalMillis = 1000;
+
+    @Value("${app.cluster.reconnect-delay-ms:5000}")
+    private long reconnectDelayMillis = 5000;
+
+    private volatile boolean running;
+    private Thread listener;
+
+    public ConfigChangeSubscriber(DataSource dataSource, JdbcTemplate jdbcTemplate,
+                                  EffectiveConfigService effectiveConfigService,
+                                  EntityManagerFactory entityManagerFactory,
+                                  ApplicationEventPublisher eventPublisher, ConfigChangeNotifier notifier) {
+        this.dataSource = dataSource;
+        this.jdbcTemplate = jdbcTemplate;
+        this.effectiveConfigService = effectiveConfigService;
+        this.entityManagerFactory = entityManagerFactory;
+        this.eventPublisher = eventPublisher;
+        this.node = notifier.getNode();
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        listener = new Thread(this::listen, "config-change-listener");
+        listener.setDaemon(true);
+        listener.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        Thread stopping = listener;
+        if (stopping != null) {
+            stopping.interrupt();
+            try {
+                stopping.join(pollIntervalMillis + 1000L);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        listener = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @EventListener
+    public void onConfigurationChanged(ConfigurationChangedEvent event) {
+        revisions.merge(event.getTenant(), event.getRevision(), Math::max);
+    }
+
+    /**
+     * Evict whatever changed in tenants that moved past the revision last seen here.
+     */
+    @Scheduled(fixedDelayString = "${app.cluster.reconcile-interval-ms:30000}",
+            initialDelayString = "${app.cluster.reconcile-interval-ms:30000}")
+    public synchronized void reconcile() {
+        Map<String, Long> current = new HashMap<>();
+        jdbcTemplate.query(REVISIONS, (RowCallbackHandler) rs -> {
+            current.put(rs.getString("tenant"), rs.getLong("revision"));
+        });
+        for (Map.Entry<String, Long> entry : current.entrySet()) {
+            Long seen = revisions.get(entry.getKey());
+            if (seen == null || seen < entry.getValue()) {
+                if (seen != null) {
+                    log.info("Tenant {} is at revision {} but only {} was seen here, reloading it",
+                            entry.getKey(), entry.getValue(), seen);
+                }
+                invalidate(entry.getKey(), entry.getValue(), null);
+            }
+        }
+    }
+
+    /**
+     * Apply a notification; this node's own are skipped.
+     */
+    void received(String payload) {
+        ConfigChangeNotification change;
+        try {
+            change = ConfigChangeNotification.decode(payload);
+        } catch (IllegalArgumentException e) {
+            log.warn(e.getMessage());
+            return;
+        }
+        if (!node.equals(change.getNode())) {
+            invalidate(change.getTenant(), change.getRevision(), change.getGroupIds());
+        }
+    }
+
+    /**
+     * Apply a cached entity notification; this node's own are skipped.
+     */
+    void receivedEntityChange(String payload) {
+        int separator = payload != null ? payload.indexOf(':') : -1;
+        if (separator <= 0 || separator == payload.length() - 1) {
+            log.warn("Malformed cached entity notification: {}", payload);
+            return;
+        }
+        if (node.equals(payload.substring(0, separator))) {
+            return;
+        }
+        String entityName = payload.substring(separator + 1);
+        Cache cache = secondLevelCache();
+        try {
+            cache.evictEntityData(entityName);
+        } catch (RuntimeException e) {
+            log.warn("Cannot evict cached entity {}: {}", entityName, e.getMessage());
+        }
+        // Cached query results, e.g. user by name, may include the changed rows
+        cache.evictQueryRegions();
+    }
+
+    private Cache secondLevelCache() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getCache();
+    }
+
+    // groupIds null for all of the tenant's groups
+    private void invalidate(String tenant, long revision, Set<Long> groupIds) {
+        Set<Long> changed = groupIds;
+        if (changed == null) {
+            changed = effectiveConfigService.cachedGroups(tenant);
+            if (!changed.isEmpty()) {
+                effectiveConfigService.evictTenant(tenant);
+            }
+        } else {
+            for (Long groupId : changed) {
+                effectiveConfigService.evictGroup(tenant, groupId);
+            }
+        }
+        eventPublisher.publishEvent(new ConfigurationChangedEvent(tenant, revision, changed));
+    }
+
+    private void listen() {
+        while (running) {
+            try (Connection connection = dataSource.getConnection()) {
+                PGConnection notifications = connection.unwrap(PGConnection.class);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + ConfigChangeNotification.CHANNEL);
+                    statement.execute("LISTEN " + ConfigChangeNotifier.ENTITY_CHANNEL);
+                }
+                log.info("Listening for configuration changes of other nodes (node {})", node);
+                // Catch up on whatever was committed while not listening
+                secondLevelCache().evictAllRegions();
+                reconcile();
+                while (running) {
+                    PGNotification[] pending = notifications.getNotifications(pollIntervalMillis);
+                    if (pending != null) {
+                        for (PGNotification notification : pending) {
+                            if (ConfigChangeNotifier.ENTITY_CHANNEL.equals(notification.getName())) {
+                                receivedEntityChange(notification.getParameter());
+                            } else {
+                                received(notification.getParameter());
+                            }
+                        }
+                    }
+                }
+            } catch (SQLException | RuntimeException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Lost the configuration change listener connection, reconnecting in {} ms: {}",
+                        reconnectDelayMillis, e.getMessage());
+                try {
+                    Thread.sleep(reconnectDelayMillis);
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+            }
+        }
+    }
+}
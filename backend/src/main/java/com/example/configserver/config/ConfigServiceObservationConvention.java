@@ -0,0 +1,90 @@
+package com.example.configserver.config;
+
+import com.example.configserver.dto.ConfigurationItemDTO;
+import com.example.configserver.model.ConfigurationItem;
+import com.example.configserver.model.Environment;
+import io.micrometer.common.KeyValues;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationConvention;
+import io.micrometer.observation.aop.ObservedAspect.ObservedAspectContext;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+
+import java.util.function.Predicate;
+
+/**
+ * Adds {@code group} and {@code environment} tags to {@code @Observed} service calls,
+ * taken from {@code groupId}/{@code environment} parameters or from the item argument.
+ * Environments that are not known are reported as {@code other} to keep the tag bounded.
+ */
+public class ConfigServiceObservationConvention implements ObservationConvention<ObservedAspectContext> {
+
+    public static final String NAME = "config.service";
+    public static final String GROUP_TAG = "group";
+    public static final String ENVIRONMENT_TAG = "environment";
+
+    private static final String NONE = "none";
+    private static final String OTHER = "other";
+
+    private final Predicate<String> knownEnvironment;
+
+    /**
+     * Only the built-in {@link Environment}s are reported by name.
+     */
+    public ConfigServiceObservationConvention() {
+        this(environment -> {
+            for (Environment known : Environment.values()) {
+                if (known.name().equals(environment)) {
+                    return true;
+                }
+            }
+            return false;
+        });
+    }
+
+    public ConfigServiceObservationConvention(Predicate<String> knownEnvironment) {
+        this.knownEnvironment = knownEnvironment;
+    }
+
+    @Override
+    public KeyValues getLowCardinalityKeyValues(ObservedAspectContext context) {
+        ProceedingJoinPoint joinPoint = context.getProceedingJoinPoint();
+        String[] names = ((MethodSignature) joinPoint.getSignature()).getParameterNames();
+        Object[] args = joinPoint.getArgs();
+
+        Object group = null;
+        String environment = null;
+        for (int i = 0; i < args.length; i++) {
+            Object arg = args[i];
+            String name = names != null ? names[i] : null;
+            if ("groupId".equals(name)) {
+                group = arg;
+            } else if ("environment".equals(name) && arg instanceof String) {
+                environment = (String) arg;
+            } else if (arg instanceof ConfigurationItemDTO) {
+                ConfigurationItemDTO item = (ConfigurationItemDTO) arg;
+                group = item.getGroupId();
+                environment = item.getEnvironment();
+            } else if (arg instanceof ConfigurationItem) {
+                ConfigurationItem item = (ConfigurationItem) arg;
+                group = item.getGroupId();
+                environment = item.getEnvironment();
+            }
+        }
+        return KeyValues.of(
+                GROUP_TAG, group != null ? group.toString() : NONE,
+                ENVIRONMENT_TAG, normalizeEnvironment(environment));
+    }
+
+    @Override
+    public boolean supportsContext(Observation.Context context) {
+        return context instanceof ObservedAspectContext;
+    }
+
+    private String normalizeEnvironment(String environment) {
+        if (environment == null) {
+            return NONE;
+        }
+        return knownEnvironment.test(environment) ? environment : OTHER;
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.configserver.config;
+
+import com.example.configserver.model.ConfigurationGroup;
+import com.example.configserver.model.ConfigurationItem;
+import com.example.configserver.service.EffectiveConfigService;
+import com.example.configserver.service.EffectiveConfigService.ItemState;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.proxy.HibernateProxy;
+import org.springframework.stereotype.Component;
+
+/**
+ * Feeds committed configuration item and group changes into the
+ * {@link EffectiveConfigService}. Hooked into Hibernate rather than the services so every
+ * write path, including cascades from group deletion, keeps the effective views current.
+ */
+@Component
+@RequiredArgsConstructor
+public class EffectiveConfigChangeListener implements PostCommitInsertEventListener,
+        PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final EffectiveConfigService effectiveConfigService;
+
+    @PostConstruct
+    public void register() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        Class<?> entityClass = persister.getMappedClass();
+        return entityClass == ConfigurationItem.class || entityClass == ConfigurationGroup.class;
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        if (event.getEntity() instanceof ConfigurationItem) {
+            effectiveConfigService.itemChanged(null, ItemState.of((ConfigurationItem) event.getEntity()));
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (!(event.getEntity() instanceof ConfigurationItem)) {
+            return;
+        }
+        ConfigurationItem item = (ConfigurationItem) event.getEntity();
+        Object[] oldState = event.getOldState();
+        if (oldState == null) {
+            // Update of a detached instance without a loaded snapshot
+            effectiveConfigService.evictGroup(item.getTenant(), item.getGroupId());
+            return;
+        }
+        ItemState before = new ItemState(item.getId(), item.getTenant(),
+                groupId(property(event.getPersister(), oldState, "group")),
+                (String) property(event.getPersister(), oldState, "environment"),
+                (String) property(event.getPersister(), oldState, "key"),
+                (String) property(event.getPersister(), oldState, "value"),
+                (String) property(event.getPersister(), oldState, "description"));
+        effectiveConfigService.itemChanged(before, ItemState.of(item));
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        if (event.getEntity() instanceof ConfigurationItem) {
+            effectiveConfigService.itemChanged(ItemState.of((ConfigurationItem) event.getEntity()), null);
+        } else if (event.getEntity() instanceof ConfigurationGroup) {
+            ConfigurationGroup group = (ConfigurationGroup) event.getEntity();
+            effectiveConfigService.evictGroup(group.getTenant(), group.getId());
+        }
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+        // Nothing was applied before commit
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+        // Nothing was applied before commit
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+        // Nothing was applied before commit
+    }
+
+    private static Object property(EntityPersister persister, Object[] state, String name) {
+        String[] names = persister.getPropertyNames();
+        for (int i = 0; i < names.length; i++) {
+            if (names[i].equals(name)) {
+                return state[i];
+            }
+        }
+        return null;
+    }
+
+    private static Long groupId(Object group) {
+        if (group instanceof HibernateProxy) {
+            return (Long) ((HibernateProxy) group).getHibernateLazyInitializer().getInternalIdentifier();
+        }
+        return group != null ? ((ConfigurationGroup) group).getId() : null;
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.configserver.config;
+
+import com.example.configserver.service.EnvironmentRegistry;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.aop.ObservedAspect;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class ObservabilityConfig {
+
+    /**
+     * Upper bound on distinct group tags per meter, so that requests for arbitrary
+     * group IDs cannot blow up the number of time series.
+     */
+    private static final int MAX_GROUP_TAGS = 200;
+
+    @Bean
+    public ObservedAspect observedAspect(ObservationRegistry observationRegistry,
+                                         EnvironmentRegistry environmentRegistry) {
+        return new ObservedAspect(observationRegistry,
+                new ConfigServiceObservationConvention(environmentRegistry::contains));
+    }
+
+    @Bean
+    public MeterFilter groupTagCardinalityLimit() {
+        return MeterFilter.maximumAllowableTags(ConfigServiceObservationConvention.NAME,
+                ConfigServiceObservationConvention.GROUP_TAG, MAX_GROUP_TAGS, MeterFilter.deny());
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.configserver.config;
+
+import com.example.configserver.ratelimit.JdbcRateLimiterStore;
+import com.example.configserver.ratelimit.LocalRateLimiterStore;
+import com.example.configserver.ratelimit.RateLimitProperties;
+import com.example.configserver.ratelimit.RateLimiterStore;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+@Configuration
+@EnableConfigurationProperties(RateLimitProperties.class)
+public class RateLimitConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "app.rate-limit.store", havingValue = "jdbc")
+    public RateLimiterStore jdbcRateLimiterStore(NamedParameterJdbcTemplate jdbcTemplate) {
+        return new JdbcRateLimiterStore(jdbcTemplate);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.rate-limit.store", havingValue = "local", matchIfMissing = true)
+    public RateLimiterStore localRateLimiterStore(MeterRegistry meterRegistry) {
+        LocalRateLimiterStore store = new LocalRateLimiterStore();
+        Gauge.builder("rate.limit.buckets", store, LocalRateLimiterStore::size)
+                .description("Token buckets currently held in memory")
+                .register(meterRegistry);
+        return store;
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.configserver.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+    // Scheduled maintenance jobs are declared on the owning services
+}
@@ -1,7 +1,15 @@
 package com.example.configserver.config;
 
+import com.example.configserver.model.Role;
+import com.example.configserver.ratelimit.RateLimitFilter;
+import com.example.configserver.security.AccessRule;
+import com.example.configserver.security.CompiledAuthorizationManager;
 import com.example.configserver.security.JwtAuthenticationFilter;
+import com.example.configserver.security.PasswordEncoders;
+import com.example.configserver.security.TenantFilter;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -10,7 +18,6 @@ import org.springframework.security.config.annotation.authentication.configurati
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
@@ -19,6 +26,7 @@ import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
 import java.util.Arrays;
+import java.util.List;
 
 @Configuration
 @EnableWebSecurity
@@ -26,49 +34,85 @@ import java.util.Arrays;
 public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthFilter;
+    private final TenantFilter tenantFilter;
+    private final RateLimitFilter rateLimitFilter;
+
+    /**
+     * URL authorization rules, evaluated in order with the first match winning. Requests
+     * that match no rule require authentication. The rules are compiled together with the
+     * controllers' {@code @PreAuthorize} annotations into a per-route table at startup.
+     */
+    public static final List<AccessRule> ACCESS_RULES = List.of(
+            // Permit OPTIONS requests for CORS preflight
+            AccessRule.permitAll(HttpMethod.OPTIONS, "/**"),
+            // Public endpoints
+            AccessRule.permitAll("/api/auth/**"),
+            AccessRule.permitAll(HttpMethod.GET, "/.well-known/jwks.json"),
+            AccessRule.permitAll("/swagger-ui/**"),
+            AccessRule.permitAll("/v3/api-docs/**"),
+            // Health probes and the Prometheus scrape endpoint; other actuator endpoints are admin only
+            AccessRule.permitAll(HttpMethod.GET, "/actuator/health/**"),
+            AccessRule.permitAll(HttpMethod.GET, "/actuator/prometheus"),
+            AccessRule.hasRole(HttpMethod.GET, "/actuator/**", Role.ADMIN),
+            // Password reset endpoints (public)
+            AccessRule.permitAll("/api/users/forgot-password"),
+            AccessRule.permitAll("/api/users/validate-token"),
+            AccessRule.permitAll("/api/users/reset-password"),
+            // Read-only endpoints (accessible by both ADMIN and READ_ONLY)
+            AccessRule.permitAll(HttpMethod.GET, "/api/groups/**"),
+            AccessRule.permitAll(HttpMethod.GET, "/api/items/**"),
+            AccessRule.permitAll(HttpMethod.GET, "/api/environments/**"),
+            // Guarded by the replication token instead (ReplicationController)
+            AccessRule.permitAll(HttpMethod.GET, "/api/replication/**"),
+            // Admin-only endpoints (write operations)
+            AccessRule.hasRole(HttpMethod.POST, "/api/groups/**", Role.ADMIN),
+            AccessRule.hasRole(HttpMethod.PUT, "/api/groups/**", Role.ADMIN),
+            AccessRule.hasRole(HttpMethod.DELETE, "/api/groups/**", Role.ADMIN),
+            AccessRule.hasRole(HttpMethod.POST, "/api/items/**", Role.ADMIN),
+            AccessRule.hasRole(HttpMethod.PUT, "/api/items/**", Role.ADMIN),
+            AccessRule.hasRole(HttpMethod.DELETE, "/api/items/**", Role.ADMIN),
+            AccessRule.hasRole(HttpMethod.POST, "/api/environments/**", Role.ADMIN),
+            // User management endpoints (admin only)
+            AccessRule.hasRole(HttpMethod.POST, "/api/users", Role.ADMIN),
+            AccessRule.hasRole(HttpMethod.GET, "/api/users/**", Role.ADMIN),
+            AccessRule.hasRole(HttpMethod.PUT, "/api/users/**", Role.ADMIN),
+            AccessRule.hasRole(HttpMethod.DELETE, "/api/users/**", Role.ADMIN)
+    );
+
+    @Bean
+    public CompiledAuthorizationManager authorizationManager(ListableBeanFactory beanFactory) {
+        return new CompiledAuthorizationManager(ACCESS_RULES, beanFactory);
+    }
 
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http,
+                                                   CompiledAuthorizationManager authorizationManager) throws Exception {
         http
             .csrf(csrf -> csrf.disable())
             .cors(cors -> cors.configurationSource(corsConfigurationSource()))
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
-            .authorizeHttpRequests(auth -> auth
-                // Permit OPTIONS requests for CORS preflight
-                .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
-                // Public endpoints
-                .requestMatchers("/api/auth/**").permitAll()
-                .requestMatchers("/swagger-ui/**", "/v3/api-docs/**").permitAll()
-                // Password reset endpoints (public)
-                .requestMatchers("/api/users/forgot-password").permitAll()
-                .requestMatchers("/api/users/validate-token").permitAll()
-                .requestMatchers("/api/users/reset-password").permitAll()
-                // Read-only endpoints (accessible by both ADMIN and READ_ONLY)
-                .requestMatchers(HttpMethod.GET, "/api/groups/**").permitAll()
-                .requestMatchers(HttpMethod.GET, "/api/items/**").permitAll()
-                .requestMatchers(HttpMethod.GET, "/api/environments/**").permitAll()
-                // Admin-only endpoints (write operations)
-                .requestMatchers(HttpMethod.POST, "/api/groups/**").hasAuthority("ADMIN")
-                .requestMatchers(HttpMethod.PUT, "/api/groups/**").hasAuthority("ADMIN")
-                .requestMatchers(HttpMethod.DELETE, "/api/groups/**").hasAuthority("ADMIN")
-                .requestMatchers(HttpMethod.POST, "/api/items/**").hasAuthority("ADMIN")
-                .requestMatchers(HttpMethod.PUT, "/api/items/**").hasAuthority("ADMIN")
-                .requestMatchers(HttpMethod.DELETE, "/api/items/**").hasAuthority("ADMIN")
-                // User management endpoints (admin only)
-                .requestMatchers(HttpMethod.POST, "/api/users").hasAuthority("ADMIN")
-                .requestMatchers(HttpMethod.GET, "/api/users/**").hasAuthority("ADMIN")
-                .requestMatchers(HttpMethod.PUT, "/api/users/**").hasAuthority("ADMIN")
-                .requestMatchers(HttpMethod.DELETE, "/api/users/**").hasAuthority("ADMIN")
-                .anyRequest().authenticated()
-            )
-            .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class);
+            .authorizeHttpRequests(auth -> auth.anyRequest().access(authorizationManager))
+            .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class)
+            .addFilterBefore(tenantFilter, JwtAuthenticationFilter.class)
+            // After authentication so that signed-in clients are limited per user
+            .addFilterAfter(rateLimitFilter, JwtAuthenticationFilter.class);
             
         return http.build();
     }
 
+    /**
+     * Delegating bcrypt encoder. The cost is {@code bcrypt-strength}, or higher if
+     * {@code target-hash-ms} is set and this machine hashes fast enough; stored hashes
+     * with a different cost are re-encoded on the user's next login.
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(
+            @Value("${app.security.password.bcrypt-strength:10}") int bcryptStrength,
+            @Value("${app.security.password.target-hash-ms:0}") long targetHashMs) {
+        int strength = targetHashMs > 0
+                ? PasswordEncoders.calibrateBcryptStrength(bcryptStrength, targetHashMs)
+                : bcryptStrength;
+        return PasswordEncoders.delegating(strength);
     }
 
     @Bean
@@ -81,8 +125,8 @@ public class SecurityConfig {
         CorsConfiguration configuration = new CorsConfiguration();
         configuration.setAllowedOrigins(Arrays.asList("http://localhost:3000"));
         configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS"));
-        configuration.setAllowedHeaders(Arrays.asList("Authorization", "Content-Type"));
-        configuration.setExposedHeaders(Arrays.asList("Authorization"));
+        configuration.setAllowedHeaders(Arrays.asList("Authorization", "Content-Type", TenantFilter.TENANT_HEADER));
+        configuration.setExposedHeaders(Arrays.asList("Authorization", "Retry-After"));
         configuration.setAllowCredentials(true);
         
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
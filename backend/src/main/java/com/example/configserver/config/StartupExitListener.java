@@ -0,0 +1,33 @@
+package com.example.configserver.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Shuts the JVM down as soon as the application is ready when
+ * {@code app.startup.exit-on-ready} is set. Used by the {@code training} profile to
+ * record the class data sharing archive (see the Dockerfile) and by the startup
+ * benchmark to time a full boot.
+ * <p>
+ * The flag is read at runtime rather than through a condition so it also works with
+ * AOT-processed builds.
+ */
+@Component
+@Slf4j
+public class StartupExitListener implements ApplicationListener<ApplicationReadyEvent> {
+
+    @Value("${app.startup.exit-on-ready:false}")
+    private boolean exitOnReady;
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        if (exitOnReady) {
+            log.info("Application ready after {} ms, exiting", event.getTimeTaken().toMillis());
+            System.exit(SpringApplication.exit(event.getApplicationContext()));
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.configserver.config;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+@Configuration
+public class TenantConfig {
+
+    /**
+     * Wraps the pool in a {@link TenantConnectionQuotaDataSource} when
+     * {@code app.tenants.connection-quotas} lists any tenants.
+     */
+    @Bean
+    public static BeanPostProcessor tenantConnectionQuotas(Environment environment) {
+        Map<String, Integer> quotas = Binder.get(environment)
+                .bind("app.tenants.connection-quotas", Bindable.mapOf(String.class, Integer.class))
+                .orElse(Map.of());
+        long acquireTimeoutMs = environment.getProperty("app.tenants.quota-acquire-timeout-ms", Long.class, 5000L);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource && !quotas.isEmpty()) {
+                    return new TenantConnectionQuotaDataSource((DataSource) bean, quotas, acquireTimeoutMs);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.configserver.config;
+
+import com.example.configserver.security.TenantContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Caps how many pooled connections each listed tenant can hold at once, so that one
+ * tenant's bulk import cannot drain the shared pool and stall other tenants' reads.
+ * Tenants without a quota borrow from the pool as before.
+ */
+@Slf4j
+public class TenantConnectionQuotaDataSource extends DelegatingDataSource {
+
+    private final Map<String, Semaphore> permits = new HashMap<>();
+    private final Map<String, Integer> quotas;
+    private final long acquireTimeoutMs;
+
+    public TenantConnectionQuotaDataSource(DataSource dataSource, Map<String, Integer> quotas, long acquireTimeoutMs) {
+        super(dataSource);
+        this.quotas = Map.copyOf(quotas);
+        this.acquireTimeoutMs = acquireTimeoutMs;
+        quotas.forEach((tenant, quota) -> permits.put(tenant, new Semaphore(quota)));
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return withinQuota(() -> super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return withinQuota(() -> super.getConnection(username, password));
+    }
+
+    private Connection withinQuota(ConnectionSupplier supplier) throws SQLException {
+        String tenant = TenantContext.getTenant();
+        Semaphore semaphore = permits.get(tenant);
+        if (semaphore == null) {
+            return supplier.get();
+        }
+        try {
+            if (!semaphore.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS)) {
+                log.warn("Tenant {} is at its quota of {} connections", tenant, quotas.get(tenant));
+                throw new SQLTransientConnectionException(
+                        "Tenant " + tenant + " has reached its quota of " + quotas.get(tenant) + " connections");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for a connection", e);
+        }
+        try {
+            return releasingOnClose(supplier.get(), semaphore);
+        } catch (SQLException | RuntimeException e) {
+            semaphore.release();
+            throw e;
+        }
+    }
+
+    private static Connection releasingOnClose(Connection connection, Semaphore semaphore) {
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("close") && released.compareAndSet(false, true)) {
+                        semaphore.release();
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    }
+                });
+    }
+
+    @FunctionalInterface
+    private interface ConnectionSupplier {
+        Connection get() throws SQLException;
+    }
+}
@@ -6,9 +6,19 @@ import com.example.configserver.repository.UserRepository;
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Creates the default users on first start. Sample configuration data is seeded by the
+ * Flyway migrations; users are created here because their passwords must go through
+ * the {@link PasswordEncoder}.
+ */
 @Component
 @RequiredArgsConstructor
 @Slf4j
@@ -17,42 +27,49 @@ public class UserInitializer {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
 
+    @Value("${app.seed.default-users:true}")
+    private boolean enabled = true;
+
     @PostConstruct
     public void initialize() {
-        log.info("Initializing default users...");
-        
+        if (!enabled) {
+            log.debug("Default user seeding disabled");
+            return;
+        }
+
         try {
-            // Create admin user if not exists
-            if (!userRepository.existsByUsername("admin")) {
-                User adminUser = new User();
-                adminUser.setUsername("admin");
-                adminUser.setPassword(passwordEncoder.encode("admin123"));
-                adminUser.setEmail("admin@example.com");
-                adminUser.setRole(Role.ADMIN);
-                adminUser.setEnabled(true);
-                userRepository.save(adminUser);
-                log.info("Admin user created successfully");
-            } else {
-                log.info("Admin user already exists");
-            }
-            
-            // Create read-only user if not exists
-            if (!userRepository.existsByUsername("user")) {
-                User readOnlyUser = new User();
-                readOnlyUser.setUsername("user");
-                readOnlyUser.setPassword(passwordEncoder.encode("user123"));
-                readOnlyUser.setEmail("user@example.com");
-                readOnlyUser.setRole(Role.READ_ONLY);
-                readOnlyUser.setEnabled(true);
-                userRepository.save(readOnlyUser);
-                log.info("Read-only user created successfully");
-            } else {
-                log.info("Read-only user already exists");
+            List<User> defaults = List.of(
+                    defaultUser("admin", "admin123", "admin@example.com", Role.ADMIN),
+                    defaultUser("user", "user123", "user@example.com", Role.READ_ONLY));
+
+            // One round trip decides what is missing; on restarts nothing else runs
+            Set<String> existing = userRepository.findExistingUsernames(
+                    defaults.stream().map(User::getUsername).collect(Collectors.toList()));
+            List<User> missing = defaults.stream()
+                    .filter(user -> !existing.contains(user.getUsername()))
+                    .collect(Collectors.toList());
+            if (missing.isEmpty()) {
+                log.debug("Default users already exist");
+                return;
             }
-            
-            log.info("User initialization completed");
+
+            // Only hash passwords for users that are actually created
+            missing.forEach(user -> user.setPassword(passwordEncoder.encode(user.getPassword())));
+            userRepository.saveAll(missing);
+            log.info("Created default users: {}",
+                    missing.stream().map(User::getUsername).collect(Collectors.joining(", ")));
         } catch (Exception e) {
             log.error("Error initializing users: {}", e.getMessage(), e);
         }
     }
-} 
\ No newline at end of file
+
+    private static User defaultUser(String username, String password, String email, Role role) {
+        User user = new User();
+        user.setUsername(username);
+        user.setPassword(password);
+        user.setEmail(email);
+        user.setRole(role);
+        user.setEnabled(true);
+        return user;
+    }
+}
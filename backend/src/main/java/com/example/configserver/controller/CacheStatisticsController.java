@@ -0,0 +1,42 @@
+package com.example.configserver.controller;
+
+import com.example.configserver.dto.CacheRegionStatisticsDTO;
+import com.example.configserver.security.TenantContext;
+import com.example.configserver.service.CacheStatisticsService;
+import com.example.configserver.service.EffectiveConfigService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/cache")
+@RequiredArgsConstructor
+@Tag(name = "Cache", description = "API for inspecting and flushing caches")
+public class CacheStatisticsController {
+
+    private final CacheStatisticsService cacheStatisticsService;
+    private final EffectiveConfigService effectiveConfigService;
+
+    @GetMapping("/statistics")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    @Operation(summary = "Get second-level and query cache statistics per region (Admin only)")
+    public ResponseEntity<List<CacheRegionStatisticsDTO>> getRegionStatistics() {
+        return ResponseEntity.ok(cacheStatisticsService.getRegionStatistics());
+    }
+
+    @DeleteMapping("/effective")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    @Operation(summary = "Flush the caller's tenant from the effective configuration cache (Admin only)")
+    public ResponseEntity<Void> evictEffectiveConfig() {
+        effectiveConfigService.evictTenant(TenantContext.getTenant());
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -1,26 +1,30 @@
 package com.example.configserver.controller;
 
+import com.example.configserver.dto.ConfigurationChangeSet;
+import com.example.configserver.dto.ConfigurationChangeSetResult;
 import com.example.configserver.model.ConfigurationItem;
-import com.example.configserver.service.ConfigItemService;
+import com.example.configserver.service.ConfigurationService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
-import java.util.Optional;
 
+/**
+ * Legacy {@code /api/config-items} URLs, kept for existing clients. A thin adapter over
+ * {@link ConfigurationService}, the same path {@code /api/items} uses.
+ */
 @RestController
 @RequestMapping("/api/config-items")
 public class ConfigItemController {
 
-  private final ConfigItemService itemService;
+  private final ConfigurationService itemService;
 
   @Autowired
-  public ConfigItemController(ConfigItemService itemService) {
+  public ConfigItemController(ConfigurationService itemService) {
     this.itemService = itemService;
   }
 
@@ -32,7 +36,7 @@ public class ConfigItemController {
   @GetMapping("/{id}")
   public ResponseEntity<ConfigurationItem> getItemById(@PathVariable Long id) {
     return itemService.getItemById(id)
-            .map(ResponseEntity::ok)
+            .map(item -> ResponseEntity.ok().eTag(ItemVersionTags.of(item)).body(item))
             .orElse(ResponseEntity.notFound().build());
   }
 
@@ -44,20 +48,20 @@ public class ConfigItemController {
   @GetMapping("/group/{groupId}/environment/{environment}")
   public ResponseEntity<List<ConfigurationItem>> getItemsByGroupAndEnvironment(
           @PathVariable Long groupId, @PathVariable String environment) {
-    return ResponseEntity.ok(itemService.getItemsByGroupAndEnvironment(groupId, environment).get());
+    return ResponseEntity.ok(itemService.getItemsByGroupAndEnvironment(groupId, environment));
   }
 
   @PostMapping
   @PreAuthorize("hasRole('ADMIN')")
-  public ResponseEntity<ConfigurationItem> createItem(
-          @RequestBody ConfigurationItem item,
-          @AuthenticationPrincipal UserDetails userDetails) {
-    String userId = userDetails.getUsername();
-    Optional<ConfigurationItem> createdItem = itemService.createItem(item, userId);
-    if (createdItem.isPresent()) {
-      return ResponseEntity.status(HttpStatus.CREATED).body(createdItem.get());
-    }
-    return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
+  public ResponseEntity<ConfigurationItem> createItem(@RequestBody ConfigurationItem item) {
+    ConfigurationItem createdItem = itemService.createItem(item);
+    return ResponseEntity.status(HttpStatus.CREATED).eTag(ItemVersionTags.of(createdItem)).body(createdItem);
+  }
+
+  @PostMapping("/change-sets")
+  @PreAuthorize("hasRole('ADMIN')")
+  public ResponseEntity<ConfigurationChangeSetResult> applyChangeSet(@RequestBody ConfigurationChangeSet changeSet) {
+    return ResponseEntity.ok(itemService.applyChangeSet(changeSet.getChanges()));
   }
 
   @PutMapping("/{id}")
@@ -65,27 +69,20 @@ public class ConfigItemController {
   public ResponseEntity<ConfigurationItem> updateItem(
           @PathVariable Long id,
           @RequestBody ConfigurationItem item,
-          @AuthenticationPrincipal UserDetails userDetails) {
-    String userId = userDetails.getUsername();
-    Optional<ConfigurationItem> updatedItem = itemService.updateItem(id, item, userId);
-    if (updatedItem.isPresent() && updatedItem.get() != null) {
-      return ResponseEntity.ok(updatedItem.get());
-    } else {
-      return ResponseEntity.notFound().build();
-    }
+          @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+    return itemService.updateItem(id, item, ItemVersionTags.expectedVersion(ifMatch))
+            .map(updated -> ResponseEntity.ok().eTag(ItemVersionTags.of(updated)).body(updated))
+            .orElse(ResponseEntity.notFound().build());
   }
 
   @DeleteMapping("/{id}")
   @PreAuthorize("hasRole('ADMIN')")
   public ResponseEntity<Void> deleteItem(
           @PathVariable Long id,
-          @AuthenticationPrincipal UserDetails userDetails) {
-    String userId = userDetails.getUsername();
-    try {
-      itemService.deleteItem(id, userId);
+          @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+    if (itemService.deleteItem(id, ItemVersionTags.expectedVersion(ifMatch))) {
       return ResponseEntity.noContent().build();
-    } catch (IllegalArgumentException e) {
-      return ResponseEntity.notFound().build();
     }
+    return ResponseEntity.notFound().build();
   }
-} 
\ No newline at end of file
+}
@@ -1,7 +1,7 @@
 package com.example.configserver.controller;
 
 import com.example.configserver.model.ConfigurationGroup;
-import com.example.configserver.service.ConfigurationGroupService;
+import com.example.configserver.service.ConfigurationService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
@@ -18,19 +18,19 @@ import java.util.List;
 @Tag(name = "Configuration Groups", description = "API for managing configuration groups")
 public class ConfigurationGroupController {
 
-    private final ConfigurationGroupService groupService;
+    private final ConfigurationService groupService;
 
     @GetMapping
     @Operation(summary = "Get all configuration groups")
     public ResponseEntity<List<ConfigurationGroup>> getAllGroups() {
-        return ResponseEntity.ok(groupService.getAllGroups());
+        return ResponseEntity.ok(SecretItemRedaction.groups(groupService.getAllGroups()));
     }
 
     @GetMapping("/{id}")
     @Operation(summary = "Get a configuration group by ID")
     public ResponseEntity<ConfigurationGroup> getGroupById(@PathVariable Long id) {
         return groupService.getGroupById(id)
-                .map(ResponseEntity::ok)
+                .map(group -> ResponseEntity.ok(SecretItemRedaction.group(group)))
                 .orElse(ResponseEntity.notFound().build());
     }
 
@@ -38,7 +38,7 @@ public class ConfigurationGroupController {
     @Operation(summary = "Get a configuration group by name")
     public ResponseEntity<ConfigurationGroup> getGroupByName(@PathVariable String name) {
         return groupService.getGroupByName(name)
-                .map(ResponseEntity::ok)
+                .map(group -> ResponseEntity.ok(SecretItemRedaction.group(group)))
                 .orElse(ResponseEntity.notFound().build());
     }
 
@@ -47,7 +47,7 @@ public class ConfigurationGroupController {
     @Operation(summary = "Create a new configuration group")
     public ResponseEntity<ConfigurationGroup> createGroup(@RequestBody ConfigurationGroup group) {
         ConfigurationGroup createdGroup = groupService.createGroup(group);
-        return ResponseEntity.status(HttpStatus.CREATED).body(createdGroup);
+        return ResponseEntity.status(HttpStatus.CREATED).body(SecretItemRedaction.group(createdGroup));
     }
 
     @PutMapping("/{id}")
@@ -55,7 +55,7 @@ public class ConfigurationGroupController {
     @Operation(summary = "Update an existing configuration group")
     public ResponseEntity<ConfigurationGroup> updateGroup(@PathVariable Long id, @RequestBody ConfigurationGroup group) {
         return groupService.updateGroup(id, group)
-                .map(ResponseEntity::ok)
+                .map(group -> ResponseEntity.ok(SecretItemRedaction.group(group)))
                 .orElse(ResponseEntity.notFound().build());
     }
 
@@ -1,12 +1,15 @@
 package com.example.configserver.controller;
 
+import com.example.configserver.dto.ConfigurationChangeSet;
+import com.example.configserver.dto.ConfigurationChangeSetResult;
 import com.example.configserver.model.ConfigurationItem;
-import com.example.configserver.service.ConfigurationItemService;
+import com.example.configserver.service.ConfigurationService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -19,31 +22,31 @@ import java.util.List;
 @Tag(name = "Configuration Items", description = "API for managing configuration items")
 public class ConfigurationItemController {
 
-    private final ConfigurationItemService itemService;
+    private final ConfigurationService itemService;
 
     @Autowired
-    private ConfigurationItemController(ConfigurationItemService configurationItemService) {
-        itemService = configurationItemService;
+    private ConfigurationItemController(ConfigurationService configurationService) {
+        itemService = configurationService;
     }
 
     @GetMapping
     @Operation(summary = "Get all configuration items")
     public ResponseEntity<List<ConfigurationItem>> getAllItems() {
-        return ResponseEntity.ok(itemService.getAllItems());
+        return ResponseEntity.ok(SecretItemRedaction.items(itemService.getAllItems()));
     }
 
     @GetMapping("/{id}")
     @Operation(summary = "Get a configuration item by ID")
     public ResponseEntity<ConfigurationItem> getItemById(@PathVariable Long id) {
         return itemService.getItemById(id)
-                .map(ResponseEntity::ok)
+                .map(item -> ResponseEntity.ok().eTag(ItemVersionTags.of(item)).body(SecretItemRedaction.item(item)))
                 .orElse(ResponseEntity.notFound().build());
     }
 
     @GetMapping("/group/{groupId}")
     @Operation(summary = "Get all configuration items for a specific group")
     public ResponseEntity<List<ConfigurationItem>> getItemsByGroup(@PathVariable Long groupId) {
-        return ResponseEntity.ok(itemService.getItemsByGroup(groupId));
+        return ResponseEntity.ok(SecretItemRedaction.items(itemService.getItemsByGroup(groupId)));
     }
 
     @GetMapping("/group/{groupId}/environment/{environment}")
@@ -51,7 +54,8 @@ public class ConfigurationItemController {
     public ResponseEntity<List<ConfigurationItem>> getItemsByGroupAndEnvironment(
             @PathVariable Long groupId,
             @PathVariable String environment) {
-        return ResponseEntity.ok(itemService.getItemsByGroupAndEnvironment(groupId, environment));
+        return ResponseEntity.ok(SecretItemRedaction.items(
+                itemService.getItemsByGroupAndEnvironment(groupId, environment)));
     }
 
     @PostMapping
@@ -59,25 +63,41 @@ public class ConfigurationItemController {
     @Operation(summary = "Create a new configuration item")
     public ResponseEntity<ConfigurationItem> createItem(@RequestBody ConfigurationItem item) {
         ConfigurationItem createdItem = itemService.createItem(item);
-        return new ResponseEntity<>(createdItem, HttpStatus.CREATED);
+        return ResponseEntity.status(HttpStatus.CREATED).eTag(ItemVersionTags.of(createdItem))
+                .body(SecretItemRedaction.item(createdItem));
+    }
+
+    @PostMapping("/change-sets")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Apply several item creates, updates and deletes atomically",
+            description = "All changes commit together as one revision, or none do")
+    public ResponseEntity<ConfigurationChangeSetResult> applyChangeSet(@RequestBody ConfigurationChangeSet changeSet) {
+        return ResponseEntity.ok(SecretItemRedaction.changeSetResult(
+                itemService.applyChangeSet(changeSet.getChanges())));
     }
 
     @PutMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
-    @Operation(summary = "Update an existing configuration item")
+    @Operation(summary = "Update an existing configuration item",
+            description = "Send the item's ETag as If-Match to have the update rejected with 412 if it changed meanwhile. "
+                    + "Secret items are served without their values; leave a value out to keep it")
     public ResponseEntity<ConfigurationItem> updateItem(
             @PathVariable Long id,
-            @RequestBody ConfigurationItem item) {
-        return itemService.updateItem(id, item)
-                .map(ResponseEntity::ok)
+            @RequestBody ConfigurationItem item,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return itemService.updateItem(id, item, ItemVersionTags.expectedVersion(ifMatch))
+                .map(updated -> ResponseEntity.ok().eTag(ItemVersionTags.of(updated)).body(SecretItemRedaction.item(updated)))
                 .orElse(ResponseEntity.notFound().build());
     }
 
     @DeleteMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
-    @Operation(summary = "Delete a configuration item")
-    public ResponseEntity<Void> deleteItem(@PathVariable Long id) {
-        if (itemService.deleteItem(id)) {
+    @Operation(summary = "Delete a configuration item",
+            description = "Send the item's ETag as If-Match to have the delete rejected with 412 if it changed meanwhile")
+    public ResponseEntity<Void> deleteItem(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        if (itemService.deleteItem(id, ItemVersionTags.expectedVersion(ifMatch))) {
             return ResponseEntity.noContent().build();
         } else {
             return ResponseEntity.notFound().build();
@@ -0,0 +1,71 @@
+package com.example.configserver.controller;
+
+import com.example.configserver.dto.EffectiveConfigItemDTO;
+import com.example.configserver.service.EffectiveConfigService;
+import com.example.configserver.service.RolloutClient;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/items")
+@RequiredArgsConstructor
+@Tag(name = "Effective Configuration", description = "API for resolved configuration including inherited values")
+public class EffectiveConfigController {
+
+    private final EffectiveConfigService effectiveConfigService;
+    private final EncodedConfigBodies bodies;
+
+    @GetMapping("/group/{groupId}/environment/{environment}/effective")
+    @Operation(summary = "Get the effective configuration of a group in an environment, including keys inherited from parent environments",
+            description = "Items rolling out resolve to their staged value if the clientId hashes into the rollout "
+                    + "percentage or the client has one of the rollout labels. Served as JSON, or as CBOR for "
+                    + "Accept: application/cbor, and gzip-compressed if the client accepts it")
+    @ApiResponse(responseCode = "200", content = {
+            @Content(mediaType = "application/json",
+                    array = @ArraySchema(schema = @Schema(implementation = EffectiveConfigItemDTO.class))),
+            @Content(mediaType = "application/cbor",
+                    array = @ArraySchema(schema = @Schema(implementation = EffectiveConfigItemDTO.class)))})
+    public ResponseEntity<byte[]> getEffectiveConfig(
+            @PathVariable Long groupId,
+            @PathVariable String environment,
+            @RequestParam(required = false) String clientId,
+            @RequestParam(required = false) List<String> labels,
+            @RequestHeader HttpHeaders headers) {
+        RolloutClient client = RolloutClient.of(clientId, labels);
+        return bodies.respond(groupId, environment, client, "effective", items -> items,
+                () -> effectiveConfigService.getEffectiveConfig(groupId, environment, client), headers);
+    }
+
+    @GetMapping("/group/{groupId}/environment/{environment}/compact")
+    @Operation(summary = "Get the effective configuration as a key to value map",
+            description = "Typed values are emitted as native JSON numbers, booleans and objects; durations as ISO-8601. "
+                    + "Negotiates CBOR and gzip like the effective endpoint")
+    @ApiResponse(responseCode = "200", content = {
+            @Content(mediaType = "application/json", schema = @Schema(type = "object")),
+            @Content(mediaType = "application/cbor", schema = @Schema(type = "object"))})
+    public ResponseEntity<byte[]> getCompactConfig(
+            @PathVariable Long groupId,
+            @PathVariable String environment,
+            @RequestParam(required = false) String clientId,
+            @RequestParam(required = false) List<String> labels,
+            @RequestHeader HttpHeaders headers) {
+        RolloutClient client = RolloutClient.of(clientId, labels);
+        return bodies.respond(groupId, environment, client, "compact", EffectiveConfigService::compactOf,
+                () -> effectiveConfigService.getCompactConfig(groupId, environment, client), headers);
+    }
+}
@@ -0,0 +1,157 @@
+package com.example.configserver.controller;
+
+import com.example.configserver.dto.EffectiveConfigItemDTO;
+import com.example.configserver.service.EffectiveConfigService;
+import com.example.configserver.service.RolloutClient;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Encoded bodies of the effective configuration endpoints, as JSON or CBOR per
+ * {@code Accept} and gzip-compressed per {@code Accept-Encoding}. Bodies are rendered
+ * once per view and cohort through {@link EffectiveConfigService#getRendered}, so a boot
+ * storm of clients fetching the same group costs one serialization and one compression.
+ * Views with secrets are encoded per request and left to the server's compression.
+ */
+@Component
+public class EncodedConfigBodies {
+
+    // Below this, gzip framing outweighs the savings; matches server.compression.min-response-size
+    static final int MIN_COMPRESSED_BYTES = 1024;
+
+    private final EffectiveConfigService effectiveConfigService;
+    private final ObjectMapper jsonMapper;
+    private final ObjectMapper cborMapper;
+
+    EncodedConfigBodies(EffectiveConfigService effectiveConfigService, ObjectMapper objectMapper) {
+        this.effectiveConfigService = effectiveConfigService;
+        this.jsonMapper = objectMapper;
+        this.cborMapper = objectMapper.copyWith(new CBORFactory());
+    }
+
+    /**
+     * @param endpoint Names the shape of the body, so each endpoint has its own renderings
+     * @param shape Turns the effective items into the body
+     * @param uncached Produces the body per request when the view cannot be cached
+     */
+    ResponseEntity<byte[]> respond(Long groupId, String environment, RolloutClient client, String endpoint,
+                                   Function<Collection<EffectiveConfigItemDTO>, Object> shape,
+                                   Supplier<Object> uncached, HttpHeaders requestHeaders) {
+        MediaType format = formatFor(requestHeaders.getAccept());
+        ObjectMapper mapper = MediaType.APPLICATION_CBOR.equals(format) ? cborMapper : jsonMapper;
+        Body body = effectiveConfigService.getRendered(groupId, environment, client,
+                endpoint + ":" + format.getSubtype(), items -> Body.of(encode(mapper, shape.apply(items))));
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(format)
+                .varyBy(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING);
+        if (body == null) {
+            return response.body(encode(mapper, uncached.get()));
+        }
+        if (body.gzip != null && acceptsGzip(requestHeaders.getFirst(HttpHeaders.ACCEPT_ENCODING))) {
+            // A preset Content-Encoding keeps the server from compressing the body again
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(body.gzip);
+        }
+        return response.body(body.identity);
+    }
+
+    /**
+     * @return CBOR if the client asks for it at least as strongly as for JSON, otherwise JSON
+     */
+    static MediaType formatFor(List<MediaType> accept) {
+        double json = accept.isEmpty() ? 1 : 0;
+        double cbor = 0;
+        for (MediaType type : accept) {
+            if (MediaType.APPLICATION_CBOR.equalsTypeAndSubtype(type)) {
+                cbor = Math.max(cbor, type.getQualityValue());
+            } else if (type.includes(MediaType.APPLICATION_JSON)) {
+                json = Math.max(json, type.getQualityValue());
+            }
+        }
+        return cbor > 0 && cbor >= json ? MediaType.APPLICATION_CBOR : MediaType.APPLICATION_JSON;
+    }
+
+    /**
+     * @return Whether gzip is acceptable; an explicit {@code gzip} entry decides over {@code *}
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Boolean wildcard = null;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            String name = parts[0].trim();
+            if (name.equalsIgnoreCase("gzip")) {
+                return !refused(parts);
+            }
+            if (name.equals("*") && wildcard == null) {
+                wildcard = !refused(parts);
+            }
+        }
+        return wildcard != null && wildcard;
+    }
+
+    private static boolean refused(String[] parts) {
+        boolean refused = false;
+        for (int i = 1; i < parts.length; i++) {
+            String parameter = parts[i].trim();
+            if (parameter.startsWith("q=")) {
+                try {
+                    refused = Double.parseDouble(parameter.substring(2)) <= 0;
+                } catch (NumberFormatException e) {
+                    refused = true;
+                }
+            }
+        }
+        return refused;
+    }
+
+    private static byte[] encode(ObjectMapper mapper, Object value) {
+        try {
+            return mapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Configuration cannot be serialized", e);
+        }
+    }
+
+    static final class Body {
+
+        final byte[] identity;
+        // Null when the body is too small to be worth compressing
+        final byte[] gzip;
+
+        private Body(byte[] identity, byte[] gzip) {
+            this.identity = identity;
+            this.gzip = gzip;
+        }
+
+        static Body of(byte[] identity) {
+            return new Body(identity, identity.length >= MIN_COMPRESSED_BYTES ? gzip(identity) : null);
+        }
+
+        private static byte[] gzip(byte[] bytes) {
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream(bytes.length / 4 + 64);
+            try (GZIPOutputStream out = new GZIPOutputStream(compressed)) {
+                out.write(bytes);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return compressed.toByteArray();
+        }
+    }
+}
@@ -1,28 +1,45 @@
 package com.example.configserver.controller;
 
-import com.example.configserver.model.Environment;
+import com.example.configserver.dto.EnvironmentDTO;
+import com.example.configserver.service.EnvironmentRegistry;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.web.bind.annotation.GetMapping;
-import org.springframework.web.bind.annotation.RequestMapping;
-import org.springframework.web.bind.annotation.RestController;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
 
-import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/environments")
-@Tag(name = "Environments", description = "API for retrieving available environments")
+@RequiredArgsConstructor
+@Tag(name = "Environments", description = "API for retrieving and registering environments")
 public class EnvironmentController {
 
+    private final EnvironmentRegistry environmentRegistry;
+
     @GetMapping
     @Operation(summary = "Get all available environments")
     public ResponseEntity<List<String>> getAllEnvironments() {
-        List<String> environments = Arrays.stream(Environment.values())
-                .map(Enum::name)
+        List<String> environments = environmentRegistry.getAllEnvironments().stream()
+                .map(EnvironmentDTO::getName)
                 .collect(Collectors.toList());
         return ResponseEntity.ok(environments);
     }
-} 
\ No newline at end of file
+
+    @GetMapping("/details")
+    @Operation(summary = "Get all environments with their ids and parents")
+    public ResponseEntity<List<EnvironmentDTO>> getEnvironmentDetails() {
+        return ResponseEntity.ok(environmentRegistry.getAllEnvironments());
+    }
+
+    @PostMapping
+    @PreAuthorize("hasAuthority('ADMIN')")
+    @Operation(summary = "Register a new environment, optionally inheriting from a parent (Admin only)")
+    public ResponseEntity<EnvironmentDTO> createEnvironment(@RequestBody EnvironmentDTO environmentDTO) {
+        return new ResponseEntity<>(environmentRegistry.createEnvironment(environmentDTO), HttpStatus.CREATED);
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.configserver.controller;
+
+import com.example.configserver.model.ConfigurationItem;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+/**
+ * Maps configuration item versions to and from entity tags, so clients can send back the
+ * {@code ETag} they read as {@code If-Match} and have a stale write rejected with 412.
+ */
+final class ItemVersionTags {
+
+    private ItemVersionTags() {
+    }
+
+    /**
+     * @return The item's entity tag, or null if it has not been written yet
+     */
+    static String of(ConfigurationItem item) {
+        return item.getVersion() != null ? "\"" + item.getVersion() + "\"" : null;
+    }
+
+    /**
+     * @param ifMatch The {@code If-Match} header, possibly absent
+     * @return The expected version, or null if any version is acceptable
+     * @throws IllegalArgumentException if the header is not a single item version tag
+     * @throws OptimisticLockingFailureException if the tag is weak: If-Match compares
+     *         strongly, so a weak tag matches no version and the write fails with 412
+     */
+    static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.startsWith("W/")) {
+            throw new OptimisticLockingFailureException("Weak entity tag " + tag + " never matches If-Match");
+        }
+        if (tag.length() >= 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            tag = tag.substring(1, tag.length() - 1);
+        }
+        try {
+            return Long.valueOf(tag);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid If-Match header: " + ifMatch);
+        }
+    }
+}
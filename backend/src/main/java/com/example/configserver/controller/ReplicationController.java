@@ -0,0 +1,98 @@
+package com.example.configserver.controller;
+
+import com.example.configserver.dto.ReplicationSnapshot;
+import com.example.configserver.dto.TenantSnapshot;
+import com.example.configserver.security.TenantContext;
+import com.example.configserver.service.ReplicationService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.List;
+
+/**
+ * What read nodes replicate from. These endpoints span all tenants, so they are not
+ * behind user authentication but behind a token shared with the read nodes
+ * ({@code app.replication.token}); without one configured they do not exist.
+ */
+@RestController
+@RequestMapping("/api/replication")
+@Tag(name = "Replication", description = "Snapshots and change feed for read nodes")
+public class ReplicationController {
+
+    public static final String TOKEN_HEADER = "X-Replication-Token";
+
+    private final ReplicationService replicationService;
+    private final byte[] token;
+
+    public ReplicationController(ReplicationService replicationService,
+                                 @Value("${app.replication.token:}") String token) {
+        this.replicationService = replicationService;
+        this.token = token.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @GetMapping("/snapshot")
+    @Operation(summary = "Get all groups and items of every tenant")
+    public ResponseEntity<ReplicationSnapshot> getSnapshot(@RequestHeader(value = TOKEN_HEADER, required = false)
+                                                           String presented) {
+        HttpStatus rejected = rejection(presented);
+        if (rejected != null) {
+            return ResponseEntity.status(rejected).build();
+        }
+        return ResponseEntity.ok(replicationService.snapshot());
+    }
+
+    @GetMapping("/snapshot/{tenant}")
+    @Operation(summary = "Get the groups of a tenant, each with its items",
+            description = "All groups unless groupIds are given; requested groups that are missing from the "
+                    + "result were deleted")
+    public ResponseEntity<TenantSnapshot> getGroups(@PathVariable String tenant,
+                                                    @RequestParam(required = false) List<Long> groupIds,
+                                                    @RequestHeader(value = TOKEN_HEADER, required = false)
+                                                    String presented) {
+        HttpStatus rejected = rejection(presented);
+        if (rejected != null) {
+            return ResponseEntity.status(rejected).build();
+        }
+        if (!TenantContext.isValid(tenant)) {
+            throw new IllegalArgumentException("Invalid tenant: " + tenant);
+        }
+        return ResponseEntity.ok(replicationService.snapshot(tenant, groupIds));
+    }
+
+    @GetMapping(value = "/feed", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Follow committed changes as server-sent events")
+    public ResponseEntity<SseEmitter> follow(@RequestHeader(value = TOKEN_HEADER, required = false)
+                                             String presented) {
+        HttpStatus rejected = rejection(presented);
+        if (rejected != null) {
+            return ResponseEntity.status(rejected).build();
+        }
+        return ResponseEntity.ok(replicationService.follow());
+    }
+
+    /**
+     * @return Why the presented token is refused, or null if it is accepted
+     */
+    private HttpStatus rejection(String presented) {
+        if (token.length == 0) {
+            return HttpStatus.NOT_FOUND;
+        }
+        if (presented == null || !MessageDigest.isEqual(token, presented.getBytes(StandardCharsets.UTF_8))) {
+            return HttpStatus.UNAUTHORIZED;
+        }
+        return null;
+    }
+}
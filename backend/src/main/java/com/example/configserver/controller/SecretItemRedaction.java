@@ -0,0 +1,61 @@
+package com.example.configserver.controller;
+
+import com.example.configserver.dto.ConfigurationChangeSetResult;
+import com.example.configserver.model.ConfigurationGroup;
+import com.example.configserver.model.ConfigurationItem;
+import com.example.configserver.model.RolloutRule;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Strips the stored envelopes from secret items before they are returned. Item and group
+ * reads are public, and an envelope is of no use to a client: secret values are read
+ * through the effective configuration, and updates that leave them out keep them.
+ */
+final class SecretItemRedaction {
+
+    private SecretItemRedaction() {
+    }
+
+    /**
+     * @return The item, or a copy without its values if it is secret
+     */
+    static ConfigurationItem item(ConfigurationItem item) {
+        if (!item.isSecret()) {
+            return item;
+        }
+        RolloutRule rollout = item.getRollout();
+        return new ConfigurationItem(item.getId(), item.getKey(), null, item.getDescription(), item.getValueType(),
+                true, rollout != null ? new RolloutRule(null, rollout.getPercentage(), rollout.getLabels()) : null,
+                item.getEnvironment(), item.getGroup(), item.getVersion(), item.getGroupId(), item.getTenant());
+    }
+
+    static List<ConfigurationItem> items(List<ConfigurationItem> items) {
+        List<ConfigurationItem> redacted = new ArrayList<>(items.size());
+        for (ConfigurationItem item : items) {
+            redacted.add(item(item));
+        }
+        return redacted;
+    }
+
+    /**
+     * @return A copy of the group with its items redacted
+     */
+    static ConfigurationGroup group(ConfigurationGroup group) {
+        return new ConfigurationGroup(group.getId(), group.getName(), group.getDescription(),
+                group.getItems() != null ? items(group.getItems()) : null, group.getTenant());
+    }
+
+    static List<ConfigurationGroup> groups(List<ConfigurationGroup> groups) {
+        List<ConfigurationGroup> redacted = new ArrayList<>(groups.size());
+        for (ConfigurationGroup group : groups) {
+            redacted.add(group(group));
+        }
+        return redacted;
+    }
+
+    static ConfigurationChangeSetResult changeSetResult(ConfigurationChangeSetResult result) {
+        return new ConfigurationChangeSetResult(result.getRevision(), items(result.getItems()));
+    }
+}
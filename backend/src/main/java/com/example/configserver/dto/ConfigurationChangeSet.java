@@ -0,0 +1,18 @@
+package com.example.configserver.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Item changes that are applied together in one transaction, in order.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ConfigurationChangeSet {
+    private List<ConfigurationItemChange> changes = new ArrayList<>();
+}
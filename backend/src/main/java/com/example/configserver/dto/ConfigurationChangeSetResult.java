@@ -0,0 +1,20 @@
+package com.example.configserver.dto;
+
+import com.example.configserver.model.ConfigurationItem;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * The outcome of an applied change set: the revision it was committed as and the
+ * created and updated items, in the order of their changes.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ConfigurationChangeSetResult {
+    private long revision;
+    private List<ConfigurationItem> items;
+}
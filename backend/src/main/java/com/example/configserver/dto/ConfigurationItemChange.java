@@ -0,0 +1,28 @@
+package com.example.configserver.dto;
+
+import com.example.configserver.model.ConfigurationItem;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One item create, update or delete within a change set.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ConfigurationItemChange {
+
+    public enum Action { CREATE, UPDATE, DELETE }
+
+    private Action action;
+
+    // The item to update or delete; unused for CREATE
+    private Long id;
+
+    // Optional version the item must still be at (as with If-Match); unused for CREATE
+    private Long version;
+
+    // The new item for CREATE and UPDATE; unused for DELETE
+    private ConfigurationItem item;
+}
@@ -0,0 +1,28 @@
+package com.example.configserver.dto;
+
+import com.example.configserver.model.ValueType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A configuration value as seen by an environment after inheritance has been applied.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EffectiveConfigItemDTO {
+    private Long itemId;
+    private String key;
+    private String value;
+    private String description;
+    private String sourceEnvironment;
+    private boolean inherited;
+    // True if the value is an item's staged rollout value rather than its regular one
+    private boolean rollout;
+    private ValueType valueType;
+    // The value parsed per its type (number, boolean, JSON), or the raw string if untyped
+    private Object typedValue;
+    // Secret values are only revealed to authenticated callers; others see a null value
+    private boolean secret;
+}
@@ -0,0 +1,14 @@
+package com.example.configserver.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EnvironmentDTO {
+    private Short id;
+    private String name;
+    private String parent;
+}
@@ -15,7 +15,14 @@ public class LoginResponse {
     private Role role;
     private boolean success;
     private String message;
-    
+    private String refreshToken;
+    /** Access token lifetime in seconds */
+    private Long expiresIn;
+
+    public LoginResponse(Long id, String token, String username, Role role, boolean success, String message) {
+        this(id, token, username, role, success, message, null, null);
+    }
+
     public boolean isSuccess() {
         return success;
     }
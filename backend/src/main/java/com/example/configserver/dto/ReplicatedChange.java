@@ -0,0 +1,22 @@
+package com.example.configserver.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Set;
+
+/**
+ * A committed change on the replication feed: which groups of a tenant changed, and when.
+ * Read nodes fetch the changed groups themselves.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReplicatedChange {
+    private String tenant;
+    private long revision;
+    private Set<Long> groupIds;
+    // Epoch millis on the primary
+    private long committedAt;
+}
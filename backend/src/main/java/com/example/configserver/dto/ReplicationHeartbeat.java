@@ -0,0 +1,24 @@
+package com.example.configserver.dto;
+
+import com.example.configserver.model.EnvironmentDefinition;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sent on the replication feed when a read node connects and periodically after that,
+ * with each tenant's latest committed revision, so read nodes can tell how far behind
+ * they are, and with the environments, which read nodes need to resolve inheritance.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReplicationHeartbeat {
+    // Epoch millis on the primary
+    private long sentAt;
+    private Map<String, Long> revisions;
+    private List<EnvironmentDefinition> environments;
+}
@@ -0,0 +1,18 @@
+package com.example.configserver.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Every tenant's configuration groups and items, which a read node bootstraps from.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReplicationSnapshot {
+    private long takenAt;
+    private List<TenantSnapshot> tenants;
+}
@@ -0,0 +1,26 @@
+package com.example.configserver.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * How far a read node trails its primary.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReplicationStatusDTO {
+    private String primary;
+    private boolean connected;
+    // Null until the primary was first heard from
+    private Long millisSinceLastContact;
+    // Commit on the primary to applied here, for the latest change; includes clock skew
+    private Long lastChangeLagMillis;
+    // Summed over tenants, by the primary's latest heartbeat
+    private long revisionsBehind;
+    private Map<String, Long> appliedRevisions;
+    private Map<String, Long> primaryRevisions;
+}
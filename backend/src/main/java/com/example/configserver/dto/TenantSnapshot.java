@@ -0,0 +1,21 @@
+package com.example.configserver.dto;
+
+import com.example.configserver.model.ConfigurationGroup;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Groups of one tenant, each with its items, as of a revision. Either all of the tenant's
+ * groups or just the requested ones; a requested group that is missing was deleted.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TenantSnapshot {
+    private String tenant;
+    private long revision;
+    private List<ConfigurationGroup> groups;
+}
@@ -0,0 +1,306 @@
+package com.example.configserver.grpc;
+
+import com.example.configserver.dto.EffectiveConfigItemDTO;
+import com.example.configserver.grpc.v1.ConfigItem;
+import com.example.configserver.grpc.v1.ConfigRequest;
+import com.example.configserver.grpc.v1.ConfigServiceGrpc;
+import com.example.configserver.grpc.v1.ConfigSnapshot;
+import com.example.configserver.security.RemoteCaller;
+import com.example.configserver.security.TokenRevocationList;
+import com.example.configserver.service.ConfigurationChangedEvent;
+import com.example.configserver.service.EffectiveConfigService;
+import com.example.configserver.service.RolloutClient;
+import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The gRPC face of {@link EffectiveConfigService}: {@code GetConfig} resolves like the
+ * effective REST endpoint, {@code WatchConfig} streams a new snapshot whenever a
+ * {@link ConfigurationChangedEvent} touches the watched group and the watcher's view of it
+ * actually changed. All watches of a pod share one HTTP/2 connection.
+ * <p>
+ * Snapshots are converted once per view and cohort through
+ * {@link EffectiveConfigService#getRendered}, so a change fans out to its watchers without
+ * re-resolving or re-converting per watcher. Watchers are re-checked on a small pool of
+ * notifier threads, never on the committing thread, and a watcher that cannot keep up
+ * is sent only the latest snapshot once it drains.
+ * <p>
+ * A watch ends with {@code UNAUTHENTICATED} when the caller's access token expires, or
+ * at the next push once the user's tokens were revoked.
+ */
+@Component
+@Slf4j
+public class ConfigGrpcService extends ConfigServiceGrpc.ConfigServiceImplBase {
+
+    private final EffectiveConfigService effectiveConfigService;
+    private final TokenRevocationList revocationList;
+    private final ScheduledThreadPoolExecutor notifier;
+
+    // By tenant and group
+    private final ConcurrentMap<String, Set<Watch>> watches = new ConcurrentHashMap<>();
+
+    public ConfigGrpcService(EffectiveConfigService effectiveConfigService, TokenRevocationList revocationList,
+                             @Value("${app.grpc.notifier-threads:2}") int notifierThreads) {
+        this.effectiveConfigService = effectiveConfigService;
+        this.revocationList = revocationList;
+        AtomicInteger threads = new AtomicInteger();
+        this.notifier = new ScheduledThreadPoolExecutor(notifierThreads, task -> {
+            Thread thread = new Thread(task, "config-watch-notifier-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Expiry timers of cancelled watches would otherwise stay queued until they fire
+        this.notifier.setRemoveOnCancelPolicy(true);
+    }
+
+    @Override
+    public void getConfig(ConfigRequest request, StreamObserver<ConfigSnapshot> responseObserver) {
+        List<ConfigItem> items;
+        try {
+            items = GrpcCallerInterceptor.currentCaller().call(() -> snapshot(request, clientOf(request)));
+        } catch (IllegalArgumentException e) {
+            responseObserver.onError(Status.INVALID_ARGUMENT.withDescription(e.getMessage()).asRuntimeException());
+            return;
+        }
+        responseObserver.onNext(ConfigSnapshot.newBuilder().addAllItems(items).build());
+        responseObserver.onCompleted();
+    }
+
+    @Override
+    public void watchConfig(ConfigRequest request, StreamObserver<ConfigSnapshot> responseObserver) {
+        ServerCallStreamObserver<ConfigSnapshot> observer = (ServerCallStreamObserver<ConfigSnapshot>) responseObserver;
+        RemoteCaller caller = GrpcCallerInterceptor.currentCaller();
+        Watch watch = new Watch(caller, request, clientOf(request), observer);
+        String key = key(caller.getTenant(), request.getGroupId());
+
+        observer.setOnCancelHandler(() -> {
+            unregister(key, watch);
+            watch.cancelExpiry();
+        });
+        observer.setOnReadyHandler(watch::drained);
+        // Registered before the first snapshot, so a change committed meanwhile is not missed.
+        // Added within compute, so unregister cannot drop the set between lookup and add.
+        watches.compute(key, (k, groupWatches) -> {
+            Set<Watch> updated = groupWatches != null ? groupWatches : ConcurrentHashMap.newKeySet();
+            updated.add(watch);
+            return updated;
+        });
+        watch.expireAt(caller.getExpiresAt());
+        watch.schedule();
+    }
+
+    @EventListener
+    public void onConfigurationChanged(ConfigurationChangedEvent event) {
+        for (Long groupId : event.getGroupIds()) {
+            Set<Watch> groupWatches = watches.get(key(event.getTenant(), groupId));
+            if (groupWatches != null) {
+                for (Watch watch : groupWatches) {
+                    watch.changed(event.getRevision());
+                }
+            }
+        }
+    }
+
+    /**
+     * @return The number of open watches, across tenants
+     */
+    public int watchCount() {
+        int count = 0;
+        for (Set<Watch> groupWatches : watches.values()) {
+            count += groupWatches.size();
+        }
+        return count;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        notifier.shutdownNow();
+    }
+
+    private List<ConfigItem> snapshot(ConfigRequest request, RolloutClient client) {
+        List<ConfigItem> items = effectiveConfigService.getRendered(request.getGroupId(), request.getEnvironment(),
+                client, "grpc", ConfigGrpcService::toItems);
+        if (items == null) {
+            // The view has secrets, whose values depend on the caller
+            items = toItems(effectiveConfigService.getEffectiveConfig(request.getGroupId(), request.getEnvironment(),
+                    client));
+        }
+        return items;
+    }
+
+    private void unregister(String key, Watch watch) {
+        watches.computeIfPresent(key, (k, groupWatches) -> {
+            groupWatches.remove(watch);
+            return groupWatches.isEmpty() ? null : groupWatches;
+        });
+    }
+
+    private static RolloutClient clientOf(ConfigRequest request) {
+        return RolloutClient.of(request.getClientId().isEmpty() ? null : request.getClientId(),
+                request.getLabelsList());
+    }
+
+    private static String key(String tenant, long groupId) {
+        return tenant + "/" + groupId;
+    }
+
+    static List<ConfigItem> toItems(Collection<EffectiveConfigItemDTO> items) {
+        List<ConfigItem> converted = new ArrayList<>(items.size());
+        for (EffectiveConfigItemDTO item : items) {
+            ConfigItem.Builder builder = ConfigItem.newBuilder()
+                    .setItemId(item.getItemId() != null ? item.getItemId() : 0)
+                    .setKey(item.getKey())
+                    .setSourceEnvironment(item.getSourceEnvironment())
+                    .setInherited(item.isInherited())
+                    .setRollout(item.isRollout())
+                    .setSecret(item.isSecret());
+            if (item.getValue() != null) {
+                builder.setValue(item.getValue());
+            }
+            if (item.getDescription() != null) {
+                builder.setDescription(item.getDescription());
+            }
+            if (item.getValueType() != null) {
+                builder.setValueType(item.getValueType().name());
+            }
+            converted.add(builder.build());
+        }
+        return Collections.unmodifiableList(converted);
+    }
+
+    private final class Watch {
+
+        private final RemoteCaller caller;
+        private final ConfigRequest request;
+        private final RolloutClient client;
+        private final ServerCallStreamObserver<ConfigSnapshot> observer;
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private volatile ScheduledFuture<?> expiry;
+
+        private volatile long revision;
+        // Set when a push was skipped because the client's buffer was full
+        private volatile boolean blocked;
+        // Guarded by this
+        private List<ConfigItem> sent;
+        private boolean closed;
+
+        Watch(RemoteCaller caller, ConfigRequest request, RolloutClient client,
+              ServerCallStreamObserver<ConfigSnapshot> observer) {
+            this.caller = caller;
+            this.request = request;
+            this.client = client;
+            this.observer = observer;
+        }
+
+        void expireAt(Date expiresAt) {
+            if (expiresAt == null) {
+                return;
+            }
+            long delay = Math.max(0, expiresAt.getTime() - System.currentTimeMillis());
+            try {
+                expiry = notifier.schedule(this::expire, delay, TimeUnit.MILLISECONDS);
+            } catch (RuntimeException e) {
+                log.debug("Watch notifier is shut down: {}", e.getMessage());
+            }
+        }
+
+        void cancelExpiry() {
+            ScheduledFuture<?> scheduledExpiry = expiry;
+            if (scheduledExpiry != null) {
+                scheduledExpiry.cancel(false);
+            }
+        }
+
+        void changed(long revision) {
+            if (revision > this.revision) {
+                this.revision = revision;
+            }
+            schedule();
+        }
+
+        void drained() {
+            if (blocked) {
+                schedule();
+            }
+        }
+
+        // Coalesces: however many changes arrive meanwhile, one push sends the latest state
+        void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                try {
+                    notifier.execute(this::push);
+                } catch (RuntimeException e) {
+                    scheduled.set(false);
+                    log.debug("Watch notifier is shut down: {}", e.getMessage());
+                }
+            }
+        }
+
+        private synchronized void push() {
+            scheduled.set(false);
+            if (closed || observer.isCancelled()) {
+                return;
+            }
+            if (!caller.isCurrent(revocationList)) {
+                close(Status.UNAUTHENTICATED.withDescription("Token expired or revoked"));
+                return;
+            }
+            blocked = !observer.isReady();
+            if (blocked) {
+                // The on-ready handler schedules again once the client drained its buffer
+                return;
+            }
+            try {
+                List<ConfigItem> items = caller.call(() -> snapshot(request, client));
+                if (items.equals(sent)) {
+                    return;
+                }
+                sent = items;
+                observer.onNext(ConfigSnapshot.newBuilder().setRevision(revision).addAllItems(items).build());
+            } catch (IllegalArgumentException e) {
+                close(Status.INVALID_ARGUMENT.withDescription(e.getMessage()));
+            } catch (RuntimeException e) {
+                log.warn("Watch of group {} ({}) failed: {}", request.getGroupId(), request.getEnvironment(),
+                        e.getMessage());
+                close(Status.INTERNAL.withDescription("Configuration could not be resolved"));
+            }
+        }
+
+        private synchronized void expire() {
+            if (!closed && !observer.isCancelled()) {
+                close(Status.UNAUTHENTICATED.withDescription("Token expired"));
+            }
+        }
+
+        private void close(Status status) {
+            closed = true;
+            cancelExpiry();
+            unregister(key(caller.getTenant(), request.getGroupId()), this);
+            try {
+                observer.onError(status.asRuntimeException());
+            } catch (IllegalStateException e) {
+                // Already cancelled by the client
+            }
+        }
+    }
+}
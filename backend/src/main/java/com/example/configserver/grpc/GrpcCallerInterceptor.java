@@ -0,0 +1,66 @@
+package com.example.configserver.grpc;
+
+import com.example.configserver.security.RemoteCaller;
+import com.example.configserver.security.RemoteCallerResolver;
+import com.example.configserver.security.TenantFilter;
+import io.grpc.Context;
+import io.grpc.Contexts;
+import io.grpc.Metadata;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import io.grpc.Status;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Resolves the {@link RemoteCaller} of each call from its tenant and authorization
+ * metadata, and keeps it in the call's {@link Context}: gRPC runs a call's callbacks on
+ * any of its executor threads.
+ */
+@Component
+@RequiredArgsConstructor
+public class GrpcCallerInterceptor implements ServerInterceptor {
+
+    static final Context.Key<RemoteCaller> CALLER = Context.key("configserver-caller");
+
+    static final Metadata.Key<String> TENANT = Metadata.Key.of(TenantFilter.TENANT_HEADER,
+            Metadata.ASCII_STRING_MARSHALLER);
+    static final Metadata.Key<String> AUTHORIZATION = Metadata.Key.of("authorization",
+            Metadata.ASCII_STRING_MARSHALLER);
+
+    private final RemoteCallerResolver callerResolver;
+
+    /**
+     * @return The caller of the current call, anonymous in the default tenant if none was bound
+     */
+    static RemoteCaller currentCaller() {
+        RemoteCaller caller = CALLER.get();
+        return caller != null ? caller : RemoteCaller.ANONYMOUS;
+    }
+
+    @Override
+    public <Q, R> ServerCall.Listener<Q> interceptCall(ServerCall<Q, R> call, Metadata headers,
+                                                      ServerCallHandler<Q, R> next) {
+        RemoteCaller caller;
+        try {
+            caller = callerResolver.resolve(headers.get(TENANT), headers.get(AUTHORIZATION));
+        } catch (RemoteCallerResolver.RejectedException e) {
+            call.close(statusOf(e.getReason()).withDescription(e.getMessage()), new Metadata());
+            return new ServerCall.Listener<Q>() {
+            };
+        }
+        return Contexts.interceptCall(Context.current().withValue(CALLER, caller), call, headers, next);
+    }
+
+    private static Status statusOf(RemoteCallerResolver.Reason reason) {
+        switch (reason) {
+            case INVALID_TENANT:
+                return Status.INVALID_ARGUMENT;
+            case TENANT_MISMATCH:
+                return Status.PERMISSION_DENIED;
+            default:
+                return Status.UNAUTHENTICATED;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.configserver.grpc;
+
+import com.example.configserver.ratelimit.RateLimiter;
+import com.example.configserver.security.RemoteCaller;
+import io.grpc.Grpc;
+import io.grpc.Metadata;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import io.grpc.Status;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+
+/**
+ * Applies the {@link RateLimiter} to each call, as a POST to
+ * {@code /<service>/<method>}; a watch counts once, when it is opened. Runs inside
+ * {@link GrpcCallerInterceptor}, so signed-in callers are throttled per user. Throttled
+ * calls fail with {@code RESOURCE_EXHAUSTED} and a {@code retry-after} trailer.
+ */
+@Component
+@RequiredArgsConstructor
+public class GrpcRateLimitInterceptor implements ServerInterceptor {
+
+    static final Metadata.Key<String> RETRY_AFTER = Metadata.Key.of("retry-after",
+            Metadata.ASCII_STRING_MARSHALLER);
+
+    private final RateLimiter rateLimiter;
+
+    @Override
+    public <Q, R> ServerCall.Listener<Q> interceptCall(ServerCall<Q, R> call, Metadata headers,
+                                                      ServerCallHandler<Q, R> next) {
+        RemoteCaller caller = GrpcCallerInterceptor.currentCaller();
+        String client = RateLimiter.clientOf(caller.getAuthentication(), caller.getTenant(),
+                hostOf(call.getAttributes().get(Grpc.TRANSPORT_ATTR_REMOTE_ADDR)));
+        long waitNanos = rateLimiter.tryAcquire("POST", "/" + call.getMethodDescriptor().getFullMethodName(),
+                client);
+        if (waitNanos == 0) {
+            return next.startCall(call, headers);
+        }
+        long retryAfterSeconds = RateLimiter.retryAfterSeconds(waitNanos);
+        Metadata trailers = new Metadata();
+        trailers.put(RETRY_AFTER, Long.toString(retryAfterSeconds));
+        call.close(Status.RESOURCE_EXHAUSTED.withDescription(
+                "Too many requests, retry after " + retryAfterSeconds + " seconds"), trailers);
+        return new ServerCall.Listener<Q>() {
+        };
+    }
+
+    // The address without the port, like the servlet API's remote address
+    private static String hostOf(SocketAddress address) {
+        if (address instanceof InetSocketAddress) {
+            return ((InetSocketAddress) address).getHostString();
+        }
+        return String.valueOf(address);
+    }
+}
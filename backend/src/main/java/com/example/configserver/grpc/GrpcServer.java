@@ -0,0 +1,88 @@
+package com.example.configserver.grpc;
+
+import io.grpc.Server;
+import io.grpc.ServerInterceptors;
+import io.grpc.netty.shaded.io.grpc.netty.NettyServerBuilder;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serves {@link ConfigGrpcService} over HTTP/2 on its own port ({@code app.grpc.port}),
+ * next to the REST API on Tomcat. A client multiplexes all its calls and watches over
+ * one connection; keepalive pings let idle watches survive proxies and load balancers.
+ */
+@Component
+@ConditionalOnProperty(name = "app.grpc.enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class GrpcServer implements SmartLifecycle {
+
+    private final ConfigGrpcService configGrpcService;
+    private final GrpcCallerInterceptor callerInterceptor;
+    private final GrpcRateLimitInterceptor rateLimitInterceptor;
+
+    @Value("${app.grpc.port:9090}")
+    private int port = 9090;
+
+    @Value("${app.grpc.max-concurrent-calls-per-connection:10000}")
+    private int maxConcurrentCallsPerConnection = 10000;
+
+    @Value("${app.grpc.keepalive-seconds:60}")
+    private long keepAliveSeconds = 60;
+
+    @Value("${app.grpc.shutdown-grace-seconds:5}")
+    private long shutdownGraceSeconds = 5;
+
+    private volatile Server server;
+
+    @Override
+    public void start() {
+        try {
+            server = NettyServerBuilder.forPort(port)
+                    // The last interceptor runs first, so the limiter sees the resolved caller
+                    .addService(ServerInterceptors.intercept(configGrpcService, rateLimitInterceptor,
+                            callerInterceptor))
+                    .maxConcurrentCallsPerConnection(maxConcurrentCallsPerConnection)
+                    .keepAliveTime(keepAliveSeconds, TimeUnit.SECONDS)
+                    .permitKeepAliveTime(keepAliveSeconds / 2, TimeUnit.SECONDS)
+                    .permitKeepAliveWithoutCalls(true)
+                    .build()
+                    .start();
+        } catch (IOException e) {
+            throw new UncheckedIOException("gRPC server could not listen on port " + port, e);
+        }
+        log.info("gRPC server listening on port {}", server.getPort());
+    }
+
+    @Override
+    public void stop() {
+        Server running = server;
+        if (running == null) {
+            return;
+        }
+        // Watches never complete on their own, so they are cut off after the grace period
+        running.shutdown();
+        try {
+            if (!running.awaitTermination(shutdownGraceSeconds, TimeUnit.SECONDS)) {
+                running.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            running.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        server = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return server != null;
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.configserver.logging;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.filter.Filter;
+import ch.qos.logback.core.spi.FilterReply;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Logback filter that lets through a random fraction of events. Attached to the
+ * slow-query appender so a burst of slow statements cannot flood the log.
+ */
+public class SamplingFilter extends Filter<ILoggingEvent> {
+
+    private double sampleRate = 1.0;
+
+    @Override
+    public FilterReply decide(ILoggingEvent event) {
+        if (sampleRate >= 1.0) {
+            return FilterReply.NEUTRAL;
+        }
+        if (sampleRate <= 0.0) {
+            return FilterReply.DENY;
+        }
+        return ThreadLocalRandom.current().nextDouble() < sampleRate ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+
+    public void setSampleRate(double sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+
+    public double getSampleRate() {
+        return sampleRate;
+    }
+}
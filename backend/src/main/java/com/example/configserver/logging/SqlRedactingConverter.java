@@ -0,0 +1,39 @@
+package com.example.configserver.logging;
+
+import ch.qos.logback.classic.pattern.ClassicConverter;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+import java.util.regex.Pattern;
+
+/**
+ * Logback converter that masks literal values in logged SQL. The JDBC driver's statement
+ * {@code toString()} inlines bound parameters, so slow-query messages would otherwise
+ * carry configuration values and credentials. Only the part after the first {@code [}
+ * is redacted, keeping the message prefix (e.g. the elapsed time) readable.
+ * <p>
+ * Registered in {@code logback-spring.xml} as {@code %redactedSql}.
+ */
+public class SqlRedactingConverter extends ClassicConverter {
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMERIC_LITERAL = Pattern.compile("(?<![\\w.$])-?\\d+(?:\\.\\d+)?(?![\\w.])");
+
+    @Override
+    public String convert(ILoggingEvent event) {
+        return redact(event.getFormattedMessage());
+    }
+
+    static String redact(String message) {
+        if (message == null) {
+            return null;
+        }
+        int start = message.indexOf('[');
+        if (start < 0) {
+            start = 0;
+        }
+        String sql = message.substring(start);
+        sql = STRING_LITERAL.matcher(sql).replaceAll("?");
+        sql = NUMERIC_LITERAL.matcher(sql).replaceAll("?");
+        return message.substring(0, start) + sql;
+    }
+}
@@ -4,11 +4,16 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.TenantId;
 
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "audit_logs")
+@Table(name = "audit_logs", indexes = {
+    @Index(name = "idx_audit_logs_entity", columnList = "entity_type, entity_id"),
+    @Index(name = "idx_audit_logs_tenant_timestamp", columnList = "tenant, timestamp DESC"),
+    @Index(name = "idx_audit_logs_tenant_revision", columnList = "tenant, revision")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -21,10 +26,10 @@ public class AuditLog {
     @Column(nullable = false)
     private String action;
     
-    @Column(nullable = false)
+    @Column(name = "entity_type", nullable = false)
     private String entityType;
     
-    @Column(nullable = false)
+    @Column(name = "entity_id", nullable = false)
     private Long entityId;
     
     @Column(columnDefinition = "TEXT")
@@ -36,6 +41,14 @@ public class AuditLog {
     @Column(nullable = false)
     private String userId;
     
-    @Column(nullable = false)
+    @Column(name = "timestamp", nullable = false)
     private LocalDateTime timestamp = LocalDateTime.now();
+
+    // The configuration revision the change was committed as; shared by a change set's rows
+    @Column(name = "revision")
+    private Long revision;
+
+    @TenantId
+    @Column(nullable = false, updatable = false, length = 64)
+    private String tenant;
 } 
\ No newline at end of file
@@ -5,12 +5,19 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.TenantId;
 
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "configuration_groups")
+@Table(name = "configuration_groups", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_configuration_groups_tenant_name", columnNames = {"tenant", "name"})
+})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -20,7 +27,7 @@ public class ConfigurationGroup {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
     
-    @Column(nullable = false, unique = true)
+    @Column(nullable = false)
     private String name;
     
     @Column(columnDefinition = "TEXT")
@@ -29,4 +36,8 @@ public class ConfigurationGroup {
     @OneToMany(mappedBy = "group", cascade = CascadeType.ALL, orphanRemoval = true)
     @JsonIgnoreProperties("group")
     private List<ConfigurationItem> items = new ArrayList<>();
+
+    @TenantId
+    @Column(nullable = false, updatable = false, length = 64)
+    private String tenant;
 } 
\ No newline at end of file
@@ -6,10 +6,13 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.TenantId;
 
 @Entity
 @Table(name = "configuration_items", uniqueConstraints = {
-    @UniqueConstraint(columnNames = {"key", "environment", "group_id"})
+    @UniqueConstraint(columnNames = {"key", "environment_id", "group_id"})
+}, indexes = {
+    @Index(name = "idx_configuration_items_group_environment", columnList = "group_id, environment_id")
 })
 @Data
 @NoArgsConstructor
@@ -29,8 +32,23 @@ public class ConfigurationItem {
 
     @Column(columnDefinition = "TEXT")
     private String description;
-    
+
+    // Null for untyped (string) values
+    @Enumerated(EnumType.STRING)
+    @Column(name = "value_type", length = 16)
+    private ValueType valueType;
+
+    // Secret values (and staged rollout values) are stored as SecretCipher envelopes
     @Column(nullable = false)
+    private boolean secret;
+    
+    // Optional staged value served to a subset of clients; null when not rolling out
+    @Embedded
+    private RolloutRule rollout;
+
+    // Stored as the environment's SMALLINT id, exposed by name
+    @Column(name = "environment_id", nullable = false)
+    @Convert(converter = EnvironmentIdConverter.class)
     private String environment;
     
     @ManyToOne(fetch = FetchType.LAZY)
@@ -38,6 +56,11 @@ public class ConfigurationItem {
     @JsonIgnoreProperties({"items", "hibernateLazyInitializer", "handler"})
     private ConfigurationGroup group;
 
+    // Bumped on every write; updates and deletes only apply while it is unchanged
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     @Transient
     private Long groupId;
 
@@ -62,4 +85,8 @@ public class ConfigurationItem {
     public void setEnvironment(String environment) {
         this.environment = environment;
     }
+
+    @TenantId
+    @Column(nullable = false, updatable = false, length = 64)
+    private String tenant;
 } 
\ No newline at end of file
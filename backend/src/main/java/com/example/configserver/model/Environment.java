@@ -1,11 +1,14 @@
 package com.example.configserver.model;
 
 /**
- * Enum representing different deployment environments
+ * The built-in deployment environments, seeded into the {@code environments} table.
+ * Further environments can be registered at runtime, so code that validates or lists
+ * environments uses the {@code EnvironmentRegistry} instead of this enum.
  */
 public enum Environment {
+    BASE,
     DEV,
     TEST,
     STAGE,
     PROD;
-} 
\ No newline at end of file
+}
@@ -0,0 +1,29 @@
+package com.example.configserver.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A deployment environment (e.g. {@code PROD} or {@code PROD-EU}). Items reference
+ * environments by their small numeric id; a key missing in an environment is inherited
+ * from its parent.
+ */
+@Entity
+@Table(name = "environments")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EnvironmentDefinition {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Short id;
+
+    @Column(nullable = false, unique = true, length = 64)
+    private String name;
+
+    @Column(name = "parent_id")
+    private Short parentId;
+}
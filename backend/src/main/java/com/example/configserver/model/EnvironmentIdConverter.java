@@ -0,0 +1,34 @@
+package com.example.configserver.model;
+
+import com.example.configserver.service.EnvironmentRegistry;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * Stores environment names as the small id assigned by the {@link EnvironmentRegistry}.
+ * Names that are not registered map to null, so queries for them match nothing and
+ * inserts are rejected by the NOT NULL / foreign key constraints.
+ * <p>
+ * Instantiated by Hibernate through Spring's bean container; the registry is resolved
+ * lazily because it is itself backed by the entity manager factory being built.
+ */
+@Converter
+public class EnvironmentIdConverter implements AttributeConverter<String, Short> {
+
+    private final ObjectProvider<EnvironmentRegistry> registry;
+
+    public EnvironmentIdConverter(ObjectProvider<EnvironmentRegistry> registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public Short convertToDatabaseColumn(String environment) {
+        return environment != null ? registry.getObject().idOf(environment) : null;
+    }
+
+    @Override
+    public String convertToEntityAttribute(Short id) {
+        return id != null ? registry.getObject().nameOf(id) : null;
+    }
+}
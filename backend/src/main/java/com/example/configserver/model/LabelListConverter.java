@@ -0,0 +1,28 @@
+package com.example.configserver.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Stores client labels as one comma-separated column. An empty list is stored as null
+ * so that a rollout rule without any value maps back to no rule at all.
+ */
+@Converter
+public class LabelListConverter implements AttributeConverter<List<String>, String> {
+
+    @Override
+    public String convertToDatabaseColumn(List<String> labels) {
+        return labels != null && !labels.isEmpty() ? String.join(",", labels) : null;
+    }
+
+    @Override
+    public List<String> convertToEntityAttribute(String labels) {
+        return labels != null && !labels.isEmpty()
+                ? new ArrayList<>(Arrays.asList(labels.split(",")))
+                : new ArrayList<>();
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.configserver.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A used refresh token or a revoked refresh token family, kept until it expires. Not
+ * tenant scoped: token ids are random and unique across tenants.
+ */
+@Entity
+@Table(name = "revoked_refresh_tokens", indexes = {
+    @Index(name = "idx_revoked_refresh_tokens_expires_at", columnList = "expires_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RevokedRefreshToken {
+
+    @Id
+    @Column(name = "token_id", length = 64)
+    private String tokenId;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+}
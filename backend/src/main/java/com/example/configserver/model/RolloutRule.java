@@ -0,0 +1,35 @@
+package com.example.configserver.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A staged value of a configuration item. Clients in the rollout resolve the item to
+ * {@link #value}, everyone else to the item's regular value. A client is in the rollout
+ * if its client ID hashes into the first {@link #percentage} of 100 buckets, or if it
+ * has any of the {@link #labels}.
+ */
+@Embeddable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RolloutRule {
+
+    @Column(name = "rollout_value", columnDefinition = "TEXT")
+    private String value;
+
+    // 0-100; null rolls out by label only
+    @Column(name = "rollout_percentage")
+    private Integer percentage;
+
+    @Column(name = "rollout_labels", length = 1024)
+    @Convert(converter = LabelListConverter.class)
+    private List<String> labels = new ArrayList<>();
+}
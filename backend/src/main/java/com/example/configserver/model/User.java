@@ -4,11 +4,24 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.TenantId;
 
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = {
+    @Index(name = "idx_users_email", columnList = "email")
+}, uniqueConstraints = {
+    @UniqueConstraint(name = "uk_users_tenant_username", columnNames = {"tenant", "username"})
+})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+// last_login is written in batches by LastLoginRecorder; updating only the changed
+// columns keeps a save of a stale copy from writing an old value back
+@DynamicUpdate
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -18,7 +31,7 @@ public class User {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
     
-    @Column(unique = true, nullable = false)
+    @Column(nullable = false)
     private String username;
     
     @Column(nullable = false)
@@ -33,4 +46,11 @@ public class User {
     private boolean enabled;
     
     private LocalDateTime lastLogin;
+
+    // Tokens issued up to this time are no longer accepted
+    private LocalDateTime tokensRevokedAt;
+
+    @TenantId
+    @Column(nullable = false, updatable = false, length = 64)
+    private String tenant;
 } 
\ No newline at end of file
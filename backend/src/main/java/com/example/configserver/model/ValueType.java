@@ -0,0 +1,85 @@
+package com.example.configserver.model;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.convert.DurationStyle;
+
+import java.net.MalformedURLException;
+import java.net.URI;
+
+/**
+ * The optional type of a configuration item's value. Typed values are validated on
+ * write and parsed once into the form they are served in as native JSON.
+ */
+public enum ValueType {
+    INT {
+        @Override
+        Object parseValue(String raw) {
+            return Integer.valueOf(raw);
+        }
+    },
+    LONG {
+        @Override
+        Object parseValue(String raw) {
+            return Long.valueOf(raw);
+        }
+    },
+    BOOL {
+        @Override
+        Object parseValue(String raw) {
+            if (raw.equalsIgnoreCase("true") || raw.equalsIgnoreCase("false")) {
+                return Boolean.valueOf(raw);
+            }
+            throw new IllegalArgumentException("expected true or false");
+        }
+    },
+    // ISO-8601 (PT30S) or simple (30s, 500ms) notation; served as ISO-8601
+    DURATION {
+        @Override
+        Object parseValue(String raw) {
+            return DurationStyle.detectAndParse(raw).toString();
+        }
+    },
+    URL {
+        @Override
+        Object parseValue(String raw) {
+            // URI.create and toURL reject malformed and relative values with an
+            // IllegalArgumentException of their own
+            try {
+                URI.create(raw).toURL();
+                return raw;
+            } catch (MalformedURLException e) {
+                throw new IllegalArgumentException(e.getMessage(), e);
+            }
+        }
+    },
+    JSON {
+        @Override
+        Object parseValue(String raw) {
+            try {
+                return JSON_MAPPER.readTree(raw);
+            } catch (JsonProcessingException e) {
+                throw new IllegalArgumentException(e.getOriginalMessage(), e);
+            }
+        }
+    };
+
+    private static final ObjectMapper JSON_MAPPER = new ObjectMapper();
+
+    /**
+     * @return The value as a JSON-native object: Integer, Long, Boolean, String or JsonNode
+     * @throws IllegalArgumentException if the value is not valid for this type
+     */
+    public Object parse(String raw) {
+        if (raw == null) {
+            throw new IllegalArgumentException("Value is required for type " + name());
+        }
+        try {
+            return parseValue(raw);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid " + name() + " value '" + raw + "': " + e.getMessage(), e);
+        }
+    }
+
+    abstract Object parseValue(String raw);
+}
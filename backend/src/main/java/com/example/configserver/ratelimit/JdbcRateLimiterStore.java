@@ -0,0 +1,70 @@
+package com.example.configserver.ratelimit;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.List;
+
+/**
+ * Buckets shared by all instances in the {@code rate_limit_buckets} table. Each request
+ * is one upsert that only advances the bucket if a token is available, evaluated against
+ * the database clock so instances need not agree on time. If the database cannot be
+ * reached requests are let through rather than failing.
+ */
+@RequiredArgsConstructor
+@Slf4j
+public class JdbcRateLimiterStore implements RateLimiterStore {
+
+    private static final String NOW_MICROS = "(EXTRACT(EPOCH FROM clock_timestamp()) * 1000000)::BIGINT";
+
+    private static final String ACQUIRE =
+            "INSERT INTO rate_limit_buckets AS b (bucket_key, arrival_micros) "
+            + "VALUES (:key, " + NOW_MICROS + " + :interval) "
+            + "ON CONFLICT (bucket_key) DO UPDATE "
+            + "SET arrival_micros = GREATEST(b.arrival_micros, EXCLUDED.arrival_micros - :interval) + :interval "
+            + "WHERE GREATEST(b.arrival_micros, EXCLUDED.arrival_micros - :interval) + :interval "
+            + "- (EXCLUDED.arrival_micros - :interval) <= :burst "
+            + "RETURNING arrival_micros";
+
+    private static final String WAIT =
+            "SELECT arrival_micros + :interval - " + NOW_MICROS + " - :burst "
+            + "FROM rate_limit_buckets WHERE bucket_key = :key";
+
+    private static final String EVICT =
+            "DELETE FROM rate_limit_buckets WHERE arrival_micros <= " + NOW_MICROS;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Override
+    public long tryAcquire(String key, long intervalNanos, long burstNanos) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("key", key)
+                .addValue("interval", Math.max(1, intervalNanos / 1000))
+                .addValue("burst", burstNanos / 1000);
+        try {
+            if (!jdbcTemplate.queryForList(ACQUIRE, parameters, Long.class).isEmpty()) {
+                return 0;
+            }
+            List<Long> wait = jdbcTemplate.queryForList(WAIT, parameters, Long.class);
+            return wait.isEmpty() ? 0 : Math.max(1, wait.get(0)) * 1000;
+        } catch (DataAccessException e) {
+            log.warn("Rate limiter store unavailable, allowing request: {}", e.getMessage());
+            return 0;
+        }
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${app.rate-limit.evict-interval-ms:60000}")
+    public void evictIdle() {
+        try {
+            int evicted = jdbcTemplate.getJdbcTemplate().update(EVICT);
+            log.debug("Evicted {} idle rate limit buckets", evicted);
+        } catch (DataAccessException e) {
+            log.warn("Could not evict idle rate limit buckets: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.configserver.ratelimit;
+
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Per-instance buckets in a concurrent map. Requests for the same key race on a single
+ * {@link AtomicLong}, so there is no locking on the request path.
+ */
+public class LocalRateLimiterStore implements RateLimiterStore {
+
+    private final ConcurrentMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final LongSupplier nanoClock;
+
+    public LocalRateLimiterStore() {
+        this(System::nanoTime);
+    }
+
+    LocalRateLimiterStore(LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+    }
+
+    @Override
+    public long tryAcquire(String key, long intervalNanos, long burstNanos) {
+        AtomicLong arrival = buckets.computeIfAbsent(key, k -> new AtomicLong(Long.MIN_VALUE));
+        long now = nanoClock.getAsLong();
+        while (true) {
+            long current = arrival.get();
+            long next = Math.max(current, now) + intervalNanos;
+            long wait = next - now - burstNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (arrival.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    // A request racing with the eviction of its bucket may get one token for free
+    @Override
+    @Scheduled(fixedDelayString = "${app.rate-limit.evict-interval-ms:60000}")
+    public void evictIdle() {
+        long now = nanoClock.getAsLong();
+        buckets.values().removeIf(arrival -> arrival.get() <= now);
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.configserver.ratelimit;
+
+import com.example.configserver.security.TenantContext;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UrlPathHelper;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Throttles servlet requests per (policy, client) with the {@link RateLimiter}. Clients
+ * are identified by user and tenant once authenticated, otherwise by remote address.
+ * Throttled requests get a 429 with a {@code Retry-After} header.
+ */
+@Component
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final RateLimiter rateLimiter;
+    private final ObjectMapper objectMapper;
+
+    public RateLimitFilter(RateLimiter rateLimiter, ObjectMapper objectMapper) {
+        this.rateLimiter = rateLimiter;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !rateLimiter.isEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        // Decoded like the handler mappings do, so /api/%69tems/... cannot skip a policy
+        String path = UrlPathHelper.defaultInstance.getPathWithinApplication(request);
+        String client = RateLimiter.clientOf(SecurityContextHolder.getContext().getAuthentication(),
+                TenantContext.getTenant(), request.getRemoteAddr());
+        long waitNanos = rateLimiter.tryAcquire(request.getMethod(), path, client);
+        if (waitNanos == 0) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long retryAfterSeconds = RateLimiter.retryAfterSeconds(waitNanos);
+        log.debug("Rate limit exceeded by {} on {}, retry after {} s", client, path, retryAfterSeconds);
+        writeTooManyRequests(response, retryAfterSeconds);
+    }
+
+    private void writeTooManyRequests(HttpServletResponse response, long retryAfterSeconds) throws IOException {
+        HttpStatus status = HttpStatus.TOO_MANY_REQUESTS;
+        Map<String, Object> errorDetails = new LinkedHashMap<>();
+        errorDetails.put("timestamp", LocalDateTime.now().toString());
+        errorDetails.put("message", "Too many requests, retry after " + retryAfterSeconds + " seconds");
+        errorDetails.put("status", status.value());
+        errorDetails.put("error", status.getReasonPhrase());
+
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), errorDetails);
+    }
+}
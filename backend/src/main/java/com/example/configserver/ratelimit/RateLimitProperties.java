@@ -0,0 +1,44 @@
+package com.example.configserver.ratelimit;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "app.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Where buckets live: {@code local} (per instance) or {@code jdbc} (shared through the
+     * database by all instances).
+     */
+    private String store = "local";
+
+    /**
+     * Named policies, tried in declaration order; the first one matching a request
+     * applies. Requests that match no policy are not limited.
+     */
+    private Map<String, Policy> policies = new LinkedHashMap<>();
+
+    @Data
+    public static class Policy {
+
+        /** HTTP methods the policy applies to; empty means all */
+        private List<String> methods = new ArrayList<>();
+
+        /** Ant-style path patterns */
+        private List<String> paths = new ArrayList<>();
+
+        /** Requests a client can burst before being throttled */
+        private int capacity = 60;
+
+        /** Sustained requests per second a client is allowed */
+        private double refillPerSecond = 1.0;
+    }
+}
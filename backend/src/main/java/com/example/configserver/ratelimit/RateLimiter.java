@@ -0,0 +1,141 @@
+package com.example.configserver.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * The {@code app.rate-limit.policies}, checked against the token buckets of a
+ * {@link RateLimiterStore}. Shared by every way into the read API: {@link RateLimitFilter}
+ * for the servlet API, and the gRPC and reactive servers, so that a client is throttled
+ * the same whichever it uses. Outcomes are counted in the {@value #METRIC} meter per
+ * policy.
+ */
+@Component
+public class RateLimiter {
+
+    static final String METRIC = "rate.limit.requests";
+
+    private static final PathMatcher PATH_MATCHER = new AntPathMatcher();
+
+    private final RateLimiterStore store;
+    private final boolean enabled;
+    private final List<CompiledPolicy> policies = new ArrayList<>();
+
+    public RateLimiter(RateLimitProperties properties, RateLimiterStore store, MeterRegistry meterRegistry) {
+        this.store = store;
+        this.enabled = properties.isEnabled();
+        properties.getPolicies().forEach((name, policy) ->
+                policies.add(new CompiledPolicy(name, policy, meterRegistry)));
+    }
+
+    public boolean isEnabled() {
+        return enabled && !policies.isEmpty();
+    }
+
+    /**
+     * Take a token for the request from the bucket of the first matching policy.
+     *
+     * @param method The HTTP method; gRPC calls are POSTs
+     * @param path The decoded request path; for gRPC calls {@code /<service>/<method>}
+     * @param client The client the bucket belongs to, see {@link #clientOf}
+     * @return 0 if the request may proceed, otherwise the nanoseconds until it may be retried
+     */
+    public long tryAcquire(String method, String path, String client) {
+        if (!isEnabled()) {
+            return 0;
+        }
+        CompiledPolicy policy = match(method, path);
+        if (policy == null) {
+            return 0;
+        }
+        long waitNanos = store.tryAcquire(policy.name + "|" + client, policy.intervalNanos, policy.burstNanos);
+        (waitNanos == 0 ? policy.allowed : policy.rejected).increment();
+        return waitNanos;
+    }
+
+    /**
+     * @param authentication The caller's authentication, or null
+     * @param tenant The caller's tenant
+     * @param remoteAddress The address the request came from
+     * @return The user and tenant once authenticated, otherwise the remote address
+     */
+    public static String clientOf(Authentication authentication, String tenant, String remoteAddress) {
+        if (authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken)) {
+            return "user:" + tenant + ":" + authentication.getName();
+        }
+        return "ip:" + remoteAddress;
+    }
+
+    /**
+     * @return The wait in whole seconds, rounded up, for a {@code Retry-After} header
+     */
+    public static long retryAfterSeconds(long waitNanos) {
+        return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+    }
+
+    private CompiledPolicy match(String method, String path) {
+        for (CompiledPolicy policy : policies) {
+            if (policy.matches(method, path)) {
+                return policy;
+            }
+        }
+        return null;
+    }
+
+    private static final class CompiledPolicy {
+
+        private final String name;
+        private final Set<String> methods;
+        private final List<String> paths;
+        private final long intervalNanos;
+        private final long burstNanos;
+        private final Counter allowed;
+        private final Counter rejected;
+
+        CompiledPolicy(String name, RateLimitProperties.Policy policy, MeterRegistry meterRegistry) {
+            if (policy.getCapacity() < 1 || policy.getRefillPerSecond() <= 0) {
+                throw new IllegalArgumentException("Rate limit policy " + name
+                        + " needs a capacity of at least 1 and a positive refill rate");
+            }
+            this.name = name;
+            this.methods = policy.getMethods().stream().map(String::toUpperCase).collect(Collectors.toSet());
+            this.paths = List.copyOf(policy.getPaths());
+            this.intervalNanos = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / policy.getRefillPerSecond()));
+            this.burstNanos = intervalNanos * policy.getCapacity();
+            this.allowed = counter(meterRegistry, name, "allowed");
+            this.rejected = counter(meterRegistry, name, "rejected");
+        }
+
+        boolean matches(String method, String path) {
+            if (!methods.isEmpty() && !methods.contains(method)) {
+                return false;
+            }
+            for (String pattern : paths) {
+                if (PATH_MATCHER.match(pattern, path)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private static Counter counter(MeterRegistry meterRegistry, String policy, String outcome) {
+            return Counter.builder(METRIC)
+                    .description("Requests checked against a rate limit policy")
+                    .tag("policy", policy)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry);
+        }
+    }
+}
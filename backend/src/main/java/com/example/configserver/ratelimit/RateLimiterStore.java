@@ -0,0 +1,25 @@
+package com.example.configserver.ratelimit;
+
+/**
+ * Holds token buckets, one per (policy, client). Buckets are kept in the GCRA form: a
+ * single "theoretical arrival time" per key, which the bucket is full at or before.
+ * Taking a token advances it by one emission interval, and a request is allowed as long
+ * as that keeps it within {@code burst} of now. This is equivalent to a token bucket of
+ * {@code burst / interval} tokens refilled every {@code interval}, but needs only one
+ * value per key and one compare-and-set per request.
+ */
+public interface RateLimiterStore {
+
+    /**
+     * @param key The bucket key
+     * @param intervalNanos Nanoseconds per refilled token
+     * @param burstNanos Bucket capacity expressed in nanoseconds ({@code capacity * interval})
+     * @return 0 if a token was taken, otherwise the nanoseconds until one is available
+     */
+    long tryAcquire(String key, long intervalNanos, long burstNanos);
+
+    /**
+     * Drop buckets that have refilled completely; they are equivalent to absent ones.
+     */
+    void evictIdle();
+}
@@ -0,0 +1,84 @@
+package com.example.configserver.reactive;
+
+import com.example.configserver.service.ConfigurationChangedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Committed revisions per (tenant, group) as hot streams, fed by
+ * {@link ConfigurationChangedEvent}. A stream exists only while it has subscribers: it is
+ * created by the first and dropped with the last, both under the map's per-key lock, so
+ * a subscriber can never end up on a stream that was just dropped. Tenant and group come
+ * from the caller, so nothing may outlive the watches that asked for it.
+ * <p>
+ * A subscriber without demand misses revisions rather than buffering them; watchers
+ * only need to know that something changed since they last looked.
+ */
+@Component
+public class ConfigChangeStreams {
+
+    // Committing threads emit concurrently; a contended emit retries for at most this long
+    private static final Duration EMIT_RETRY = Duration.ofMillis(100);
+
+    private final ConcurrentMap<String, Stream> streams = new ConcurrentHashMap<>();
+
+    /**
+     * @return The revisions that change the group from now on; never completes
+     */
+    public Flux<Long> changes(String tenant, long groupId) {
+        String key = key(tenant, groupId);
+        return Flux.defer(() -> {
+            Stream stream = streams.compute(key, (k, existing) -> {
+                Stream acquired = existing != null ? existing : new Stream();
+                acquired.subscribers++;
+                return acquired;
+            });
+            return stream.sink.asFlux().doFinally(signal -> release(key, stream));
+        });
+    }
+
+    @EventListener
+    public void onConfigurationChanged(ConfigurationChangedEvent event) {
+        for (Long groupId : event.getGroupIds()) {
+            Stream stream = streams.get(key(event.getTenant(), groupId));
+            if (stream != null) {
+                stream.sink.emitNext(event.getRevision(), Sinks.EmitFailureHandler.busyLooping(EMIT_RETRY));
+            }
+        }
+    }
+
+    /**
+     * @return The number of groups with open streams, across tenants
+     */
+    int streamCount() {
+        return streams.size();
+    }
+
+    private void release(String key, Stream stream) {
+        streams.computeIfPresent(key, (k, current) -> {
+            if (current != stream) {
+                return current;
+            }
+            current.subscribers--;
+            return current.subscribers > 0 ? current : null;
+        });
+    }
+
+    private static String key(String tenant, long groupId) {
+        return tenant + "/" + groupId;
+    }
+
+    private static final class Stream {
+
+        private final Sinks.Many<Long> sink = Sinks.many().multicast().directBestEffort();
+
+        // Only changed within compute on the stream's key
+        private int subscribers;
+    }
+}
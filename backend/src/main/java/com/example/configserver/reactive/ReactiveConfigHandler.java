@@ -0,0 +1,234 @@
+package com.example.configserver.reactive;
+
+import com.example.configserver.dto.EffectiveConfigItemDTO;
+import com.example.configserver.ratelimit.RateLimiter;
+import com.example.configserver.security.RemoteCaller;
+import com.example.configserver.security.RemoteCallerResolver;
+import com.example.configserver.security.TenantFilter;
+import com.example.configserver.security.TokenRevocationList;
+import com.example.configserver.service.EffectiveConfigService;
+import com.example.configserver.service.RolloutClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.HandlerFunction;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.util.UriUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+import static org.springframework.web.reactive.function.server.RequestPredicates.GET;
+
+/**
+ * The reactive read API: the effective and compact endpoints of the REST API at the same
+ * paths, plus {@code /watch}, a server-sent event stream of the effective configuration
+ * that emits whenever a committed change alters it. Writes stay on the MVC API.
+ * <p>
+ * Watches hold no thread while idle. Resolving runs on the bounded elastic scheduler,
+ * not on the event loop: reads are served from the in-memory views, but the first read
+ * of a group loads it from the database.
+ * <p>
+ * Requests count against the same {@link RateLimiter} policies and buckets as on the MVC
+ * API, which serves the same paths; a watch counts once, when it is opened.
+ */
+@Component
+public class ReactiveConfigHandler {
+
+    private static final String GROUP_PATH = "/api/items/group/{groupId}/environment/{environment}";
+
+    private static final String CALLER_ATTRIBUTE = ReactiveConfigHandler.class.getName() + ".caller";
+
+    private final EffectiveConfigService effectiveConfigService;
+    private final ConfigChangeStreams changeStreams;
+    private final RemoteCallerResolver callerResolver;
+    private final TokenRevocationList revocationList;
+    private final RateLimiter rateLimiter;
+    private final Duration heartbeat;
+
+    public ReactiveConfigHandler(EffectiveConfigService effectiveConfigService, ConfigChangeStreams changeStreams,
+                                 RemoteCallerResolver callerResolver, TokenRevocationList revocationList,
+                                 RateLimiter rateLimiter,
+                                 @Value("${app.reactive.heartbeat-seconds:30}") long heartbeatSeconds) {
+        this.effectiveConfigService = effectiveConfigService;
+        this.changeStreams = changeStreams;
+        this.callerResolver = callerResolver;
+        this.revocationList = revocationList;
+        this.rateLimiter = rateLimiter;
+        this.heartbeat = Duration.ofSeconds(heartbeatSeconds);
+    }
+
+    public RouterFunction<ServerResponse> routes() {
+        return RouterFunctions.route(GET(GROUP_PATH + "/effective"), this::effective)
+                .andRoute(GET(GROUP_PATH + "/compact"), this::compact)
+                .andRoute(GET(GROUP_PATH + "/watch"), this::watch)
+                .filter(this::rateLimited);
+    }
+
+    private Mono<ServerResponse> rateLimited(ServerRequest request, HandlerFunction<ServerResponse> next) {
+        RemoteCaller caller = callerOf(request);
+        String address = request.remoteAddress().map(InetSocketAddress::getHostString).orElse("unknown");
+        // Decoded like the MVC API does, so /api/%69tems/... cannot skip a policy
+        long waitNanos = rateLimiter.tryAcquire(request.method().name(),
+                UriUtils.decode(request.path(), StandardCharsets.UTF_8),
+                RateLimiter.clientOf(caller.getAuthentication(), caller.getTenant(), address));
+        if (waitNanos == 0) {
+            return next.handle(request);
+        }
+        long retryAfterSeconds = RateLimiter.retryAfterSeconds(waitNanos);
+        HttpStatus status = HttpStatus.TOO_MANY_REQUESTS;
+        Map<String, Object> errorDetails = new LinkedHashMap<>();
+        errorDetails.put("timestamp", LocalDateTime.now().toString());
+        errorDetails.put("message", "Too many requests, retry after " + retryAfterSeconds + " seconds");
+        errorDetails.put("status", status.value());
+        errorDetails.put("error", status.getReasonPhrase());
+        return ServerResponse.status(status)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds))
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(errorDetails);
+    }
+
+    Mono<ServerResponse> effective(ServerRequest request) {
+        Target target = Target.of(request);
+        return resolve(callerOf(request), () -> effectiveConfigService.getEffectiveConfig(target.groupId,
+                target.environment, target.client))
+                .flatMap(items -> ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(items));
+    }
+
+    Mono<ServerResponse> compact(ServerRequest request) {
+        Target target = Target.of(request);
+        return resolve(callerOf(request), () -> effectiveConfigService.getCompactConfig(target.groupId,
+                target.environment, target.client))
+                .flatMap(values -> ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(values));
+    }
+
+    /**
+     * Each event carries the full effective configuration and, as its id, the revision
+     * that produced it (0 for the first event). Revisions that leave the caller's view
+     * unchanged emit nothing.
+     * <p>
+     * The stream ends when the caller's access token expires, and before the next event
+     * once the user's tokens were revoked; the client reconnects with a fresh token.
+     */
+    Mono<ServerResponse> watch(ServerRequest request) {
+        Target target = Target.of(request);
+        RemoteCaller caller = callerOf(request);
+        Flux<ServerSentEvent<List<EffectiveConfigItemDTO>>> snapshots = changeStreams
+                .changes(caller.getTenant(), target.groupId)
+                .onBackpressureLatest()
+                .startWith(0L)
+                .concatMap(revision -> resolve(caller, () -> effectiveConfigService.getEffectiveConfig(
+                        target.groupId, target.environment, target.client))
+                        .map(items -> new Snapshot(revision, items)), 1)
+                .distinctUntilChanged(snapshot -> snapshot.items)
+                .map(snapshot -> ServerSentEvent.builder(snapshot.items)
+                        .id(Long.toString(snapshot.revision))
+                        .event("config")
+                        .build());
+        // Comments keep idle streams open through proxies that drop silent connections
+        Flux<ServerSentEvent<List<EffectiveConfigItemDTO>>> heartbeats = Flux.interval(heartbeat)
+                .map(tick -> ServerSentEvent.<List<EffectiveConfigItemDTO>>builder().comment("heartbeat").build());
+        Flux<ServerSentEvent<List<EffectiveConfigItemDTO>>> events = Flux.merge(snapshots, heartbeats)
+                .takeWhile(event -> caller.isCurrent(revocationList));
+        if (caller.getExpiresAt() != null) {
+            events = events.take(Duration.ofMillis(
+                    Math.max(0, caller.getExpiresAt().getTime() - System.currentTimeMillis())));
+        }
+        return ServerResponse.ok()
+                .contentType(MediaType.TEXT_EVENT_STREAM)
+                .body(events, ServerSentEvent.class);
+    }
+
+    private static <T> Mono<T> resolve(RemoteCaller caller, Supplier<T> work) {
+        return Mono.fromCallable(() -> caller.call(work))
+                .subscribeOn(Schedulers.boundedElastic())
+                .onErrorMap(IllegalArgumentException.class,
+                        e -> new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage()));
+    }
+
+    // Resolved once per request, by the rate limit filter, and kept for the handler
+    private RemoteCaller callerOf(ServerRequest request) {
+        Object resolved = request.attributes().get(CALLER_ATTRIBUTE);
+        if (resolved != null) {
+            return (RemoteCaller) resolved;
+        }
+        HttpHeaders headers = request.headers().asHttpHeaders();
+        try {
+            RemoteCaller caller = callerResolver.resolve(headers.getFirst(TenantFilter.TENANT_HEADER),
+                    headers.getFirst(HttpHeaders.AUTHORIZATION));
+            request.attributes().put(CALLER_ATTRIBUTE, caller);
+            return caller;
+        } catch (RemoteCallerResolver.RejectedException e) {
+            throw new ResponseStatusException(statusOf(e.getReason()), e.getMessage());
+        }
+    }
+
+    private static HttpStatus statusOf(RemoteCallerResolver.Reason reason) {
+        switch (reason) {
+            case INVALID_TENANT:
+                return HttpStatus.BAD_REQUEST;
+            case TENANT_MISMATCH:
+                return HttpStatus.FORBIDDEN;
+            default:
+                return HttpStatus.UNAUTHORIZED;
+        }
+    }
+
+    private static final class Target {
+
+        private final long groupId;
+        private final String environment;
+        private final RolloutClient client;
+
+        private Target(long groupId, String environment, RolloutClient client) {
+            this.groupId = groupId;
+            this.environment = environment;
+            this.client = client;
+        }
+
+        static Target of(ServerRequest request) {
+            long groupId;
+            try {
+                groupId = Long.parseLong(request.pathVariable("groupId"));
+            } catch (NumberFormatException e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid group id");
+            }
+            // Repeated and comma-separated, as @RequestParam binds them
+            List<String> labels = new ArrayList<>();
+            for (String value : request.queryParams().getOrDefault("labels", List.of())) {
+                labels.addAll(List.of(value.split(",")));
+            }
+            return new Target(groupId, request.pathVariable("environment"),
+                    RolloutClient.of(request.queryParam("clientId").orElse(null), labels));
+        }
+    }
+
+    private static final class Snapshot {
+
+        private final long revision;
+        private final List<EffectiveConfigItemDTO> items;
+
+        Snapshot(long revision, List<EffectiveConfigItemDTO> items) {
+            this.revision = revision;
+            this.items = Objects.requireNonNull(items);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.configserver.reactive;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.server.reactive.HttpHandler;
+import org.springframework.http.server.reactive.ReactorHttpHandlerAdapter;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.resources.LoopResources;
+
+import java.time.Duration;
+
+/**
+ * Serves the {@link ReactiveConfigHandler} routes on Reactor Netty, on their own port
+ * ({@code app.reactive.port}) next to the MVC API on Tomcat. The application itself
+ * stays a servlet application; this server only shares its beans.
+ */
+@Component
+@ConditionalOnProperty(name = "app.reactive.enabled", havingValue = "true")
+@Slf4j
+public class ReactiveConfigServer implements SmartLifecycle {
+
+    private final ReactiveConfigHandler handler;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.reactive.port:8081}")
+    private int port = 8081;
+
+    // 0 for one per CPU
+    @Value("${app.reactive.event-loop-threads:0}")
+    private int eventLoopThreads = 0;
+
+    private volatile DisposableServer server;
+    private LoopResources loops;
+
+    public ReactiveConfigServer(ReactiveConfigHandler handler, ObjectMapper objectMapper) {
+        this.handler = handler;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void start() {
+        // The application's ObjectMapper, so bodies match the MVC API
+        HandlerStrategies strategies = HandlerStrategies.builder()
+                .codecs(codecs -> codecs.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper)))
+                .build();
+        HttpHandler httpHandler = RouterFunctions.toHttpHandler(handler.routes(), strategies);
+        loops = LoopResources.create("config-reactive",
+                eventLoopThreads > 0 ? eventLoopThreads : LoopResources.DEFAULT_IO_WORKER_COUNT, true);
+        server = HttpServer.create()
+                .port(port)
+                .runOn(loops)
+                .handle(new ReactorHttpHandlerAdapter(httpHandler))
+                .bindNow();
+        log.info("Reactive read API listening on port {}", server.port());
+    }
+
+    @Override
+    public void stop() {
+        DisposableServer running = server;
+        if (running == null) {
+            return;
+        }
+        running.disposeNow(Duration.ofSeconds(5));
+        loops.disposeLater().block(Duration.ofSeconds(5));
+        server = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return server != null;
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.configserver.replica;
+
+import com.example.configserver.config.SchedulingConfig;
+import com.example.configserver.controller.ConfigurationGroupController;
+import com.example.configserver.controller.ConfigurationItemController;
+import com.example.configserver.controller.EffectiveConfigController;
+import com.example.configserver.controller.EncodedConfigBodies;
+import com.example.configserver.exception.GlobalExceptionHandler;
+import com.example.configserver.ratelimit.LocalRateLimiterStore;
+import com.example.configserver.ratelimit.RateLimitFilter;
+import com.example.configserver.ratelimit.RateLimitProperties;
+import com.example.configserver.ratelimit.RateLimiter;
+import com.example.configserver.ratelimit.RateLimiterStore;
+import com.example.configserver.security.SecretCipher;
+import com.example.configserver.security.TenantFilter;
+import com.example.configserver.service.ConfigurationService;
+import com.example.configserver.service.EffectiveConfigService;
+import com.example.configserver.service.EnvironmentRegistry;
+import com.example.configserver.service.SecretValueCache;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.ManagementWebSecurityAutoConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.servlet.UserDetailsServiceAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.time.Duration;
+
+/**
+ * The application in read node mode ({@code app.mode=read}): no database, no writes, no
+ * users. It serves the public group and item GET endpoints of the REST API, including
+ * the effective and compact configuration, from a {@link ReplicaStore} that
+ * {@link ReplicationClient} keeps in step with a primary, and reports its lag at
+ * {@code /api/replication/status}. Everything else stays on the primaries.
+ * <p>
+ * Callers are anonymous here and the node has no master key, so secret items are served
+ * without their values.
+ * <p>
+ * Requests are throttled by the same {@code app.rate-limit.policies} as on a primary,
+ * with buckets kept per node: clients are told apart by remote address only, and there
+ * is no database to share buckets through.
+ * <p>
+ * Started next to {@code ConfigServerApplication}, of which exactly one applies.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.mode", havingValue = "read")
+@EnableAutoConfiguration(exclude = {
+        DataSourceAutoConfiguration.class,
+        HibernateJpaAutoConfiguration.class,
+        FlywayAutoConfiguration.class,
+        SecurityAutoConfiguration.class,
+        UserDetailsServiceAutoConfiguration.class,
+        ManagementWebSecurityAutoConfiguration.class
+})
+@EnableConfigurationProperties(RateLimitProperties.class)
+@Import({
+        ConfigurationGroupController.class,
+        ConfigurationItemController.class,
+        EffectiveConfigController.class,
+        EncodedConfigBodies.class,
+        GlobalExceptionHandler.class,
+        TenantFilter.class,
+        RateLimiter.class,
+        RateLimitFilter.class,
+        SchedulingConfig.class,
+        ReplicaStatusController.class
+})
+public class ReadNodeApplication {
+
+    @Bean
+    public ReplicaStore replicaStore() {
+        return new ReplicaStore();
+    }
+
+    @Bean
+    public ConfigurationService replicaConfigurationService(ReplicaStore replicaStore) {
+        return new ReplicaConfigurationService(replicaStore);
+    }
+
+    @Bean
+    public EnvironmentRegistry replicaEnvironmentRegistry(ReplicaStore replicaStore) {
+        return new EnvironmentRegistry(replicaStore::environments);
+    }
+
+    @Bean
+    public EffectiveConfigService effectiveConfigService(ConfigurationService configurationService,
+                                                         EnvironmentRegistry environmentRegistry) {
+        // No master key: secrets stay redacted
+        return new EffectiveConfigService(configurationService, environmentRegistry,
+                new SecretValueCache(new SecretCipher("", "local")));
+    }
+
+    @Bean
+    public RateLimiterStore localRateLimiterStore(MeterRegistry meterRegistry) {
+        LocalRateLimiterStore store = new LocalRateLimiterStore();
+        Gauge.builder("rate.limit.buckets", store, LocalRateLimiterStore::size)
+                .description("Token buckets currently held in memory")
+                .register(meterRegistry);
+        return store;
+    }
+
+    @Bean
+    public ReadOnlyRequestFilter readOnlyRequestFilter() {
+        return new ReadOnlyRequestFilter();
+    }
+
+    @Bean
+    public ReplicationClient replicationClient(
+            ReplicaStore replicaStore,
+            EffectiveConfigService effectiveConfigService,
+            EnvironmentRegistry environmentRegistry,
+            WebClient.Builder webClientBuilder,
+            ObjectMapper objectMapper,
+            @Value("${app.replication.primary-url}") String primaryUrl,
+            @Value("${app.replication.token}") String token,
+            @Value("${app.replication.max-snapshot-bytes:67108864}") int maxSnapshotBytes,
+            @Value("${app.replication.reconnect-min-delay-ms:1000}") long reconnectMinDelayMillis,
+            @Value("${app.replication.reconnect-max-delay-ms:30000}") long reconnectMaxDelayMillis) {
+        if (token.isBlank()) {
+            throw new IllegalStateException("A read node needs app.replication.token (REPLICATION_TOKEN)");
+        }
+        return new ReplicationClient(replicaStore, effectiveConfigService, environmentRegistry,
+                ReplicationClient.primaryClient(webClientBuilder, primaryUrl, token, maxSnapshotBytes),
+                primaryUrl, objectMapper, Duration.ofMillis(reconnectMinDelayMillis),
+                Duration.ofMillis(reconnectMaxDelayMillis));
+    }
+
+    @Bean
+    public MeterBinder replicationLagMetrics(ReplicationClient replicationClient) {
+        return registry -> {
+            Gauge.builder("config.replication.revisions.behind", replicationClient,
+                            client -> client.status().getRevisionsBehind())
+                    .description("Revisions committed on the primary that this read node has not applied")
+                    .register(registry);
+            Gauge.builder("config.replication.staleness", replicationClient, client -> {
+                        Long millis = client.status().getMillisSinceLastContact();
+                        return millis != null ? millis / 1000.0 : Double.NaN;
+                    })
+                    .description("Time since the primary was last heard from")
+                    .baseUnit("seconds")
+                    .register(registry);
+        };
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.configserver.replica;
+
+import com.example.configserver.dto.ConfigurationChangeSetResult;
+import com.example.configserver.dto.ConfigurationItemChange;
+import com.example.configserver.model.ConfigurationGroup;
+import com.example.configserver.model.ConfigurationItem;
+import com.example.configserver.security.TenantContext;
+import com.example.configserver.service.ConfigurationService;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * {@link ConfigurationService} of a read node: reads are answered from the
+ * {@link ReplicaStore}, writes are refused. {@link ReadOnlyRequestFilter} turns writes away
+ * before they get here; this is the backstop.
+ */
+public class ReplicaConfigurationService implements ConfigurationService {
+
+    private static final String READ_ONLY = "This is a read-only node; send writes to a primary";
+
+    private final ReplicaStore store;
+
+    public ReplicaConfigurationService(ReplicaStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public List<ConfigurationGroup> getAllGroups() {
+        return replica().groups();
+    }
+
+    @Override
+    public Optional<ConfigurationGroup> getGroupById(Long id) {
+        return replica().group(id);
+    }
+
+    @Override
+    public Optional<ConfigurationGroup> getGroupByName(String name) {
+        return replica().groupByName(name);
+    }
+
+    @Override
+    public List<ConfigurationItem> getAllItems() {
+        return replica().items();
+    }
+
+    @Override
+    public Optional<ConfigurationItem> getItemById(Long id) {
+        return replica().item(id);
+    }
+
+    @Override
+    public List<ConfigurationItem> getItemsByGroup(Long groupId) {
+        return replica().itemsOf(groupId, null);
+    }
+
+    @Override
+    public List<ConfigurationItem> getItemsByGroupAndEnvironment(Long groupId, String environment) {
+        return replica().itemsOf(groupId, environment);
+    }
+
+    @Override
+    public ConfigurationGroup createGroup(ConfigurationGroup group) {
+        throw new UnsupportedOperationException(READ_ONLY);
+    }
+
+    @Override
+    public Optional<ConfigurationGroup> updateGroup(Long id, ConfigurationGroup group) {
+        throw new UnsupportedOperationException(READ_ONLY);
+    }
+
+    @Override
+    public boolean deleteGroup(Long id) {
+        throw new UnsupportedOperationException(READ_ONLY);
+    }
+
+    @Override
+    public ConfigurationItem createItem(ConfigurationItem item) {
+        throw new UnsupportedOperationException(READ_ONLY);
+    }
+
+    @Override
+    public Optional<ConfigurationItem> updateItem(Long id, ConfigurationItem item) {
+        throw new UnsupportedOperationException(READ_ONLY);
+    }
+
+    @Override
+    public boolean deleteItem(Long id) {
+        throw new UnsupportedOperationException(READ_ONLY);
+    }
+
+    @Override
+    public Optional<ConfigurationItem> updateItem(Long id, ConfigurationItem item, Long expectedVersion) {
+        throw new UnsupportedOperationException(READ_ONLY);
+    }
+
+    @Override
+    public boolean deleteItem(Long id, Long expectedVersion) {
+        throw new UnsupportedOperationException(READ_ONLY);
+    }
+
+    @Override
+    public ConfigurationChangeSetResult applyChangeSet(List<ConfigurationItemChange> changes) {
+        throw new UnsupportedOperationException(READ_ONLY);
+    }
+
+    private ReplicaStore.TenantReplica replica() {
+        return store.tenant(TenantContext.getTenant());
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.configserver.replica;
+
+import com.example.configserver.dto.ReplicationStatusDTO;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@ConditionalOnProperty(name = "app.mode", havingValue = "read")
+@RequestMapping("/api/replication")
+@RequiredArgsConstructor
+@Tag(name = "Replication", description = "Replication state of this read node")
+public class ReplicaStatusController {
+
+    private final ReplicationClient replicationClient;
+
+    @GetMapping("/status")
+    @Operation(summary = "Get how far this read node trails its primary")
+    public ResponseEntity<ReplicationStatusDTO> getStatus() {
+        return ResponseEntity.ok(replicationClient.status());
+    }
+}
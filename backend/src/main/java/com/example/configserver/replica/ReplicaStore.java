@@ -0,0 +1,182 @@
+package com.example.configserver.replica;
+
+import com.example.configserver.dto.ReplicationSnapshot;
+import com.example.configserver.dto.TenantSnapshot;
+import com.example.configserver.model.ConfigurationGroup;
+import com.example.configserver.model.ConfigurationItem;
+import com.example.configserver.model.EnvironmentDefinition;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A read node's copy of every tenant's groups and items, and of the environments. Each tenant's copy is immutable
+ * and replaced whole when groups change, so reads never lock and never see a
+ * half-applied change. Changes are applied by a single thread, {@link ReplicationClient}.
+ */
+public class ReplicaStore {
+
+    private final ConcurrentMap<String, TenantReplica> tenants = new ConcurrentHashMap<>();
+    private volatile List<EnvironmentDefinition> environments = Collections.emptyList();
+
+    /**
+     * Replace everything with a full snapshot; tenants missing from it are dropped.
+     */
+    public void replaceAll(ReplicationSnapshot snapshot) {
+        Map<String, TenantReplica> loaded = new HashMap<>();
+        for (TenantSnapshot tenant : snapshot.getTenants()) {
+            loaded.put(tenant.getTenant(), TenantReplica.EMPTY.with(tenant.getGroups(), null, tenant.getRevision()));
+        }
+        tenants.putAll(loaded);
+        tenants.keySet().retainAll(loaded.keySet());
+    }
+
+    /**
+     * Replace some groups of a tenant.
+     *
+     * @param requestedGroupIds The groups that were fetched; those missing from the
+     *                          snapshot were deleted. Null if the snapshot has all groups.
+     * @param revision The revision the tenant is at afterwards
+     */
+    public void apply(TenantSnapshot snapshot, Collection<Long> requestedGroupIds, long revision) {
+        tenants.compute(snapshot.getTenant(), (name, current) ->
+                (requestedGroupIds != null && current != null ? current : TenantReplica.EMPTY)
+                        .with(snapshot.getGroups(), requestedGroupIds, revision));
+    }
+
+    /**
+     * Record that a tenant reached a revision that changed none of its groups.
+     */
+    public void advance(String tenant, long revision) {
+        tenants.compute(tenant, (name, current) ->
+                (current != null ? current : TenantReplica.EMPTY).with(Collections.emptyList(),
+                        Collections.emptyList(), revision));
+    }
+
+    /**
+     * Replace the environments.
+     *
+     * @return Whether they differ from the ones there were
+     */
+    public boolean replaceEnvironments(List<EnvironmentDefinition> replicated) {
+        List<EnvironmentDefinition> copy = Collections.unmodifiableList(new ArrayList<>(replicated));
+        if (copy.equals(environments)) {
+            return false;
+        }
+        environments = copy;
+        return true;
+    }
+
+    public List<EnvironmentDefinition> environments() {
+        return environments;
+    }
+
+    /**
+     * @return The tenant's copy; empty if nothing of it was replicated
+     */
+    public TenantReplica tenant(String tenant) {
+        return tenants.getOrDefault(tenant, TenantReplica.EMPTY);
+    }
+
+    /**
+     * @return Tenant to the revision its copy is at
+     */
+    public Map<String, Long> revisions() {
+        Map<String, Long> revisions = new TreeMap<>();
+        tenants.forEach((tenant, replica) -> revisions.put(tenant, replica.revision));
+        return revisions;
+    }
+
+    public static final class TenantReplica {
+
+        static final TenantReplica EMPTY = new TenantReplica(0, Collections.emptyMap());
+
+        private final long revision;
+        // By id, ascending
+        private final Map<Long, ConfigurationGroup> groups;
+        private final Map<Long, ConfigurationItem> items;
+
+        private TenantReplica(long revision, Map<Long, ConfigurationGroup> groups) {
+            this.revision = revision;
+            this.groups = groups;
+            Map<Long, ConfigurationItem> byId = new TreeMap<>();
+            for (ConfigurationGroup group : groups.values()) {
+                for (ConfigurationItem item : group.getItems()) {
+                    byId.put(item.getId(), item);
+                }
+            }
+            this.items = Collections.unmodifiableMap(byId);
+        }
+
+        private TenantReplica with(List<ConfigurationGroup> fetched, Collection<Long> requestedGroupIds,
+                                   long revision) {
+            Map<Long, ConfigurationGroup> merged = new TreeMap<>(groups);
+            if (requestedGroupIds != null) {
+                merged.keySet().removeAll(requestedGroupIds);
+            }
+            for (ConfigurationGroup group : fetched) {
+                for (ConfigurationItem item : group.getItems()) {
+                    // As the primary serializes items: with their group, minus its items
+                    item.setGroup(group);
+                    item.setGroupId(group.getId());
+                }
+                merged.put(group.getId(), group);
+            }
+            return new TenantReplica(Math.max(this.revision, revision), Collections.unmodifiableMap(merged));
+        }
+
+        public long getRevision() {
+            return revision;
+        }
+
+        public List<ConfigurationGroup> groups() {
+            return new ArrayList<>(groups.values());
+        }
+
+        public Optional<ConfigurationGroup> group(Long id) {
+            return Optional.ofNullable(groups.get(id));
+        }
+
+        public Optional<ConfigurationGroup> groupByName(String name) {
+            for (ConfigurationGroup group : groups.values()) {
+                if (group.getName().equals(name)) {
+                    return Optional.of(group);
+                }
+            }
+            return Optional.empty();
+        }
+
+        public List<ConfigurationItem> items() {
+            return new ArrayList<>(items.values());
+        }
+
+        public Optional<ConfigurationItem> item(Long id) {
+            return Optional.ofNullable(items.get(id));
+        }
+
+        /**
+         * @param environment The environment, or null for all of them
+         */
+        public List<ConfigurationItem> itemsOf(Long groupId, String environment) {
+            ConfigurationGroup group = groups.get(groupId);
+            if (group == null) {
+                return Collections.emptyList();
+            }
+            List<ConfigurationItem> matching = new ArrayList<>();
+            for (ConfigurationItem item : group.getItems()) {
+                if (environment == null || environment.equals(item.getEnvironment())) {
+                    matching.add(item);
+                }
+            }
+            return matching;
+        }
+    }
+}
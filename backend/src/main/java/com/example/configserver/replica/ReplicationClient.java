@@ -0,0 +1,243 @@
+package com.example.configserver.replica;
+
+import com.example.configserver.controller.ReplicationController;
+import com.example.configserver.dto.ReplicatedChange;
+import com.example.configserver.dto.ReplicationHeartbeat;
+import com.example.configserver.dto.ReplicationSnapshot;
+import com.example.configserver.dto.ReplicationStatusDTO;
+import com.example.configserver.dto.TenantSnapshot;
+import com.example.configserver.service.EffectiveConfigService;
+import com.example.configserver.service.EnvironmentRegistry;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Keeps a read node's {@link ReplicaStore} in step with a primary. It opens the primary's
+ * replication feed first and loads the full snapshot once the feed confirms it is open,
+ * so no change falls between the two; each change after that fetches just the groups it
+ * touched. Feed events are handled one at a time, in order. Whatever a change replaces
+ * is evicted from the node's effective configuration, which is built from the store.
+ * <p>
+ * When the feed drops, the node reconnects with backoff and loads a fresh snapshot,
+ * serving the last state it had meanwhile. A tenant that stays behind the primary's
+ * heartbeat for two heartbeats in a row (a change the feed did not describe fully) is
+ * fetched whole.
+ */
+@Slf4j
+public class ReplicationClient implements SmartLifecycle {
+
+    private static final ParameterizedTypeReference<ServerSentEvent<String>> FEED_EVENT =
+            new ParameterizedTypeReference<ServerSentEvent<String>>() {
+            };
+
+    private final ReplicaStore store;
+    private final EffectiveConfigService effectiveConfig;
+    private final EnvironmentRegistry environments;
+    private final WebClient primary;
+    private final String primaryUrl;
+    private final ObjectMapper objectMapper;
+    private final Duration minBackoff;
+    private final Duration maxBackoff;
+
+    private volatile Disposable following;
+    private volatile boolean connected;
+    private volatile long lastContact;
+    private volatile Long lastChangeLag;
+    private volatile Map<String, Long> primaryRevisions = Collections.emptyMap();
+    // Tenants that were behind at the previous heartbeat, with the revision they were at
+    private Map<String, Long> behind = Collections.emptyMap();
+
+    public ReplicationClient(ReplicaStore store, EffectiveConfigService effectiveConfig,
+                             EnvironmentRegistry environments, WebClient primary, String primaryUrl,
+                             ObjectMapper objectMapper, Duration minBackoff, Duration maxBackoff) {
+        this.store = store;
+        this.effectiveConfig = effectiveConfig;
+        this.environments = environments;
+        this.primary = primary;
+        this.primaryUrl = primaryUrl;
+        this.objectMapper = objectMapper;
+        this.minBackoff = minBackoff;
+        this.maxBackoff = maxBackoff;
+    }
+
+    @Override
+    public void start() {
+        log.info("Replicating from {}", primaryUrl);
+        following = Flux.defer(this::follow)
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, minBackoff)
+                        .maxBackoff(maxBackoff)
+                        .doBeforeRetry(signal -> log.warn("Replication from {} interrupted, reconnecting: {}",
+                                primaryUrl, signal.failure().getMessage())))
+                .subscribe();
+    }
+
+    @Override
+    public void stop() {
+        Disposable running = following;
+        if (running != null) {
+            running.dispose();
+        }
+        following = null;
+        connected = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return following != null;
+    }
+
+    public ReplicationStatusDTO status() {
+        Map<String, Long> applied = store.revisions();
+        Map<String, Long> latest = new TreeMap<>(primaryRevisions);
+        long revisionsBehind = 0;
+        for (Map.Entry<String, Long> entry : latest.entrySet()) {
+            revisionsBehind += Math.max(0, entry.getValue() - applied.getOrDefault(entry.getKey(), 0L));
+        }
+        long contact = lastContact;
+        return new ReplicationStatusDTO(primaryUrl, connected,
+                contact > 0 ? System.currentTimeMillis() - contact : null,
+                lastChangeLag, revisionsBehind, applied, latest);
+    }
+
+    private Flux<Void> follow() {
+        AtomicBoolean bootstrapped = new AtomicBoolean();
+        return primary.get()
+                .uri("/api/replication/feed")
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .retrieve()
+                .bodyToFlux(FEED_EVENT)
+                .concatMap(event -> handle(event, bootstrapped))
+                .concatWith(Mono.error(new IllegalStateException("The primary closed the replication feed")))
+                .doFinally(signal -> connected = false);
+    }
+
+    Mono<Void> handle(ServerSentEvent<String> event, AtomicBoolean bootstrapped) {
+        lastContact = System.currentTimeMillis();
+        if ("heartbeat".equals(event.event())) {
+            ReplicationHeartbeat heartbeat = read(event.data(), ReplicationHeartbeat.class);
+            primaryRevisions = heartbeat.getRevisions();
+            if (heartbeat.getEnvironments() != null && store.replaceEnvironments(heartbeat.getEnvironments())) {
+                environments.scheduledRefresh();
+                // Cached views were resolved with the inheritance there was
+                effectiveConfig.evictAll();
+            }
+            if (bootstrapped.compareAndSet(false, true)) {
+                return bootstrap();
+            }
+            return resyncLagging(heartbeat.getRevisions());
+        }
+        if ("change".equals(event.event()) && bootstrapped.get()) {
+            return apply(read(event.data(), ReplicatedChange.class));
+        }
+        return Mono.empty();
+    }
+
+    private Mono<Void> bootstrap() {
+        return primary.get()
+                .uri("/api/replication/snapshot")
+                .retrieve()
+                .bodyToMono(ReplicationSnapshot.class)
+                .doOnNext(snapshot -> {
+                    store.replaceAll(snapshot);
+                    effectiveConfig.evictAll();
+                    connected = true;
+                    behind = Collections.emptyMap();
+                    log.info("Loaded the configuration of {} tenants from {}", snapshot.getTenants().size(),
+                            primaryUrl);
+                })
+                .then();
+    }
+
+    private Mono<Void> apply(ReplicatedChange change) {
+        Set<Long> groupIds = change.getGroupIds();
+        if (groupIds == null || groupIds.isEmpty()) {
+            store.advance(change.getTenant(), change.getRevision());
+            lastChangeLag = System.currentTimeMillis() - change.getCommittedAt();
+            return Mono.empty();
+        }
+        return fetch(change.getTenant(), groupIds)
+                .doOnNext(snapshot -> {
+                    store.apply(snapshot, groupIds, change.getRevision());
+                    for (Long groupId : groupIds) {
+                        effectiveConfig.evictGroup(change.getTenant(), groupId);
+                    }
+                    lastChangeLag = System.currentTimeMillis() - change.getCommittedAt();
+                })
+                .then();
+    }
+
+    private Mono<Void> resyncLagging(Map<String, Long> latest) {
+        Map<String, Long> applied = store.revisions();
+        Map<String, Long> nowBehind = new HashMap<>();
+        Flux<TenantSnapshot> resyncs = Flux.empty();
+        for (Map.Entry<String, Long> entry : latest.entrySet()) {
+            long revision = applied.getOrDefault(entry.getKey(), 0L);
+            if (revision >= entry.getValue()) {
+                continue;
+            }
+            Long before = behind.get(entry.getKey());
+            if (before != null && before == revision) {
+                log.info("Tenant {} stayed at revision {} while the primary is at {}, fetching it whole",
+                        entry.getKey(), revision, entry.getValue());
+                resyncs = resyncs.concatWith(fetch(entry.getKey(), null));
+            } else {
+                nowBehind.put(entry.getKey(), revision);
+            }
+        }
+        behind = nowBehind;
+        return resyncs.doOnNext(snapshot -> {
+            store.apply(snapshot, null, snapshot.getRevision());
+            effectiveConfig.evictTenant(snapshot.getTenant());
+        }).then();
+    }
+
+    // groupIds null for all of the tenant's groups
+    private Mono<TenantSnapshot> fetch(String tenant, Set<Long> groupIds) {
+        return primary.get()
+                .uri(uri -> {
+                    uri.path("/api/replication/snapshot/{tenant}");
+                    if (groupIds != null) {
+                        uri.queryParam("groupIds", groupIds.toArray());
+                    }
+                    return uri.build(tenant);
+                })
+                .retrieve()
+                .bodyToMono(TenantSnapshot.class);
+    }
+
+    private <T> T read(String data, Class<T> type) {
+        try {
+            return objectMapper.readValue(data, type);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable replication feed event: " + e.getOriginalMessage(), e);
+        }
+    }
+
+    /**
+     * @return A client for the primary at the URL that presents the replication token
+     */
+    static WebClient primaryClient(WebClient.Builder builder, String primaryUrl, String token, int maxSnapshotBytes) {
+        return builder.baseUrl(primaryUrl)
+                .defaultHeader(ReplicationController.TOKEN_HEADER, token)
+                .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize(maxSnapshotBytes))
+                .build();
+    }
+}
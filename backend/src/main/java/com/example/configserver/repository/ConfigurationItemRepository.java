@@ -23,4 +23,6 @@ public interface ConfigurationItemRepository extends JpaRepository<Configuration
     List<ConfigurationItem> findByGroup_Id(Long groupId);
     
     List<ConfigurationItem> findByGroup_IdAndEnvironment(Long groupId, String environment);
+
+    long countByGroup_IdAndRollout_ValueIsNotNull(Long groupId);
 } 
\ No newline at end of file
@@ -0,0 +1,10 @@
+package com.example.configserver.repository;
+
+import com.example.configserver.model.EnvironmentDefinition;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface EnvironmentDefinitionRepository extends JpaRepository<EnvironmentDefinition, Short> {
+    boolean existsByName(String name);
+}
@@ -3,12 +3,34 @@ package com.example.configserver.repository;
 import com.example.configserver.model.PasswordResetToken;
 import com.example.configserver.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 @Repository
 public interface PasswordResetTokenRepository extends JpaRepository<PasswordResetToken, Long> {
     Optional<PasswordResetToken> findByToken(String token);
+    boolean existsByTokenAndExpiryDateAfter(String token, LocalDateTime now);
     void deleteByUser(User user);
-} 
\ No newline at end of file
+
+    /**
+     * Delete at most {@code batchSize} tokens that expired before the cutoff.
+     * Each call runs in its own transaction so a large backlog is purged in short,
+     * index-driven chunks instead of one long lock on the table.
+     *
+     * @param cutoff Tokens with an expiry date before this instant are deleted
+     * @param batchSize Maximum number of rows to delete
+     * @return The number of deleted rows
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM password_reset_tokens WHERE id IN ("
+            + "SELECT id FROM password_reset_tokens WHERE expiry_date < :cutoff "
+            + "ORDER BY expiry_date LIMIT :batchSize)", nativeQuery = true)
+    int deleteExpiredBatch(@Param("cutoff") LocalDateTime cutoff, @Param("batchSize") int batchSize);
+}
@@ -0,0 +1,32 @@
+package com.example.configserver.repository;
+
+import com.example.configserver.model.RevokedRefreshToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface RevokedRefreshTokenRepository extends JpaRepository<RevokedRefreshToken, String> {
+
+    /**
+     * Record the id unless it is recorded already. A single statement, so of two
+     * instances recording the same id at once exactly one succeeds.
+     *
+     * @return 1 if the id was recorded, 0 if it already was
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO revoked_refresh_tokens (token_id, expires_at) VALUES (:tokenId, :expiresAt) "
+            + "ON CONFLICT (token_id) DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("tokenId") String tokenId, @Param("expiresAt") LocalDateTime expiresAt);
+
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM revoked_refresh_tokens WHERE expires_at < :cutoff", nativeQuery = true)
+    int deleteExpired(@Param("cutoff") LocalDateTime cutoff);
+}
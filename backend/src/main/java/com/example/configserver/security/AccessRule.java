@@ -0,0 +1,48 @@
+package com.example.configserver.security;
+
+import com.example.configserver.model.Role;
+import lombok.Getter;
+import org.springframework.http.HttpMethod;
+
+/**
+ * A single URL authorization rule, equivalent to one {@code requestMatchers(...)} entry
+ * of the security filter chain. Rules are evaluated in declaration order and the first
+ * matching rule wins.
+ */
+@Getter
+public final class AccessRule {
+
+    private final HttpMethod method;
+    private final String pattern;
+    private final RouteAccess access;
+
+    private AccessRule(HttpMethod method, String pattern, RouteAccess access) {
+        this.method = method;
+        this.pattern = pattern;
+        this.access = access;
+    }
+
+    public static AccessRule permitAll(String pattern) {
+        return new AccessRule(null, pattern, RouteAccess.PERMIT_ALL);
+    }
+
+    public static AccessRule permitAll(HttpMethod method, String pattern) {
+        return new AccessRule(method, pattern, RouteAccess.PERMIT_ALL);
+    }
+
+    public static AccessRule hasRole(HttpMethod method, String pattern, Role... roles) {
+        return new AccessRule(method, pattern, RouteAccess.roles(roles));
+    }
+
+    /**
+     * @return true if this rule applies to the given HTTP method
+     */
+    public boolean appliesTo(String httpMethod) {
+        return method == null || method.name().equals(httpMethod);
+    }
+
+    @Override
+    public String toString() {
+        return (method != null ? method.name() : "*") + " " + pattern + " -> " + access;
+    }
+}
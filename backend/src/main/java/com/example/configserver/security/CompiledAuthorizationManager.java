@@ -0,0 +1,80 @@
+package com.example.configserver.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+import org.springframework.web.util.UrlPathHelper;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Request authorization backed by a {@link RouteAuthorizationTable}. Until the handler
+ * mappings are available the table only contains the URL rules, which gives the same
+ * result as the classic matcher chain; once all singletons are created the controller
+ * routes and their {@code @PreAuthorize} annotations are compiled in.
+ */
+@Slf4j
+public class CompiledAuthorizationManager
+        implements AuthorizationManager<RequestAuthorizationContext>, SmartInitializingSingleton {
+
+    private static final AuthorizationDecision GRANTED = new AuthorizationDecision(true);
+    private static final AuthorizationDecision DENIED = new AuthorizationDecision(false);
+
+    private final List<AccessRule> rules;
+    private final ListableBeanFactory beanFactory;
+    private volatile RouteAuthorizationTable table;
+
+    public CompiledAuthorizationManager(List<AccessRule> rules, ListableBeanFactory beanFactory) {
+        this.rules = rules;
+        this.beanFactory = beanFactory;
+        this.table = RouteAuthorizationTable.builder(rules).build();
+    }
+
+    /**
+     * Create a manager over a fixed, already compiled table.
+     */
+    public CompiledAuthorizationManager(RouteAuthorizationTable table) {
+        this.rules = null;
+        this.beanFactory = null;
+        this.table = table;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (beanFactory == null) {
+            return;
+        }
+        RouteAuthorizationTable.Builder builder = RouteAuthorizationTable.builder(rules);
+        beanFactory.getBeansOfType(RequestMappingHandlerMapping.class).values()
+                .forEach(mapping -> builder.handlerMethods(mapping.getHandlerMethods()));
+        table = builder.build();
+        log.info("Compiled {} route authorization entries", table.size());
+    }
+
+    @Override
+    public AuthorizationDecision check(Supplier<Authentication> authentication,
+                                       RequestAuthorizationContext context) {
+        HttpServletRequest request = context.getRequest();
+        RouteAccess access = table.lookup(request.getMethod(), pathWithinApplication(request));
+        if (access == RouteAccess.PERMIT_ALL) {
+            return GRANTED;
+        }
+        return access.isGranted(RouteAccess.callerMask(authentication.get())) ? GRANTED : DENIED;
+    }
+
+    /**
+     * The path the handler mappings see: percent-decoded and without {@code ;} parameters.
+     * Looking up the raw request URI would let {@code /api/%75sers/1} miss the table while
+     * still reaching the handler of {@code /api/users/{id}}.
+     */
+    static String pathWithinApplication(HttpServletRequest request) {
+        return UrlPathHelper.defaultInstance.getPathWithinApplication(request);
+    }
+}
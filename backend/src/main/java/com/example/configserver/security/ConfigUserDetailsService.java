@@ -3,17 +3,18 @@ package com.example.configserver.security;
 import com.example.configserver.model.User;
 import com.example.configserver.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
-
-import java.util.Collections;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @RequiredArgsConstructor
-public class ConfigUserDetailsService implements UserDetailsService {
+@Slf4j
+public class ConfigUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
 
@@ -21,15 +22,22 @@ public class ConfigUserDetailsService implements UserDetailsService {
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
+        return new ConfigUserPrincipal(user);
+    }
 
-        return new org.springframework.security.core.userdetails.User(
-                user.getUsername(),
-                user.getPassword(),
-                user.isEnabled(),
-                true, // account non-expired
-                true, // credentials non-expired
-                true, // account non-locked
-                Collections.singletonList(new SimpleGrantedAuthority(user.getRole().name()))
-        );
+    /**
+     * Called by the authentication provider after a successful login whose stored hash
+     * uses an outdated algorithm or cost; the password was just verified, so it is
+     * re-encoded with the current settings.
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        User user = userRepository.findByUsername(userDetails.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException("User not found: " + userDetails.getUsername()));
+        user.setPassword(newPassword);
+        userRepository.save(user);
+        log.info("Rehashed password of user {}", user.getUsername());
+        return new ConfigUserPrincipal(user, newPassword);
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,47 @@
+package com.example.configserver.security;
+
+import com.example.configserver.model.Role;
+import com.example.configserver.model.User;
+import lombok.Getter;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.Collections;
+
+/**
+ * The authenticated user, carrying what login needs to issue a token so that it does
+ * not have to load the user a second time.
+ */
+@Getter
+public class ConfigUserPrincipal extends org.springframework.security.core.userdetails.User {
+
+    private final Long id;
+    private final String tenant;
+    private final Role role;
+
+    public ConfigUserPrincipal(User user) {
+        this(user, user.getPassword());
+    }
+
+    public ConfigUserPrincipal(User user, String password) {
+        super(user.getUsername(),
+                password,
+                user.isEnabled(),
+                true, // account non-expired
+                true, // credentials non-expired
+                true, // account non-locked
+                Collections.singletonList(new SimpleGrantedAuthority(user.getRole().name())));
+        this.id = user.getId();
+        this.tenant = user.getTenant();
+        this.role = user.getRole();
+    }
+
+    /**
+     * A user authenticated from the claims of an access token, without a password.
+     */
+    public ConfigUserPrincipal(Long id, String username, String tenant, Role role) {
+        super(username, "", Collections.singletonList(new SimpleGrantedAuthority(role.name())));
+        this.id = id;
+        this.tenant = tenant;
+        this.role = role;
+    }
+}
@@ -1,11 +1,17 @@
 package com.example.configserver.security;
 
+import com.example.configserver.model.Role;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -24,6 +30,8 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
+    private final TokenRevocationList revocationList;
+    private final ObservationRegistry observationRegistry;
 
     @Override
     protected void doFilterInternal(
@@ -33,7 +41,6 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     ) throws ServletException, IOException {
         final String authHeader = request.getHeader("Authorization");
         final String jwt;
-        final String username;
         
         log.debug("Processing request: {} {}", request.getMethod(), request.getRequestURI());
         
@@ -44,28 +51,71 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
         
         jwt = authHeader.substring(7);
-        username = jwtService.extractUsername(jwt);
-        log.debug("JWT token found, extracted username: {}", username);
-        
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
-            log.debug("User authorities: {}", userDetails.getAuthorities());
-            
-            if (jwtService.isTokenValid(jwt, userDetails)) {
-                UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                        userDetails,
-                        null,
-                        userDetails.getAuthorities()
-                );
-                authToken.setDetails(
-                        new WebAuthenticationDetailsSource().buildDetails(request)
-                );
-                SecurityContextHolder.getContext().setAuthentication(authToken);
-                log.debug("Authentication successful for user: {}", username);
-            } else {
-                log.debug("Invalid token for user: {}", username);
+        Observation observation = Observation.createNotStarted("jwt.authentication", observationRegistry);
+        observation.observe(() -> observation.lowCardinalityKeyValue("outcome", authenticate(request, jwt)));
+        filterChain.doFilter(request, response);
+    }
+
+    /**
+     * Validate the token and populate the security context. Access tokens carry the
+     * user's id, tenant and role, so this does not touch the database; only tokens
+     * issued before role claims existed fall back to loading the user.
+     *
+     * @return The outcome tag for the authentication observation
+     */
+    private String authenticate(HttpServletRequest request, String jwt) {
+        if (SecurityContextHolder.getContext().getAuthentication() != null) {
+            return "skipped";
+        }
+
+        final Claims claims;
+        try {
+            claims = jwtService.parse(jwt);
+        } catch (JwtException | IllegalArgumentException e) {
+            log.debug("Rejected token: {}", e.getMessage());
+            return "invalid";
+        }
+        final String username = claims.getSubject();
+        if (username == null || jwtService.isRefreshToken(claims)) {
+            return "invalid";
+        }
+
+        // A token is only valid in the tenant it was issued for
+        String tenant = jwtService.tenantOf(claims);
+        if (TenantContext.isBound() && !TenantContext.getTenant().equals(tenant)) {
+            log.debug("Token for tenant {} used with tenant header {}", tenant, TenantContext.getTenant());
+            return "tenant_mismatch";
+        }
+        if (revocationList.isUserRevoked(tenant, username, claims.getIssuedAt())) {
+            log.debug("Token of user {} was revoked", username);
+            return "revoked";
+        }
+        TenantContext.setTenant(tenant);
+        MDC.put(TenantFilter.TENANT_MDC_KEY, tenant);
+
+        UserDetails userDetails;
+        String role = claims.get(JwtService.ROLE_CLAIM, String.class);
+        if (role != null) {
+            userDetails = new ConfigUserPrincipal(claims.get(JwtService.USER_ID_CLAIM, Long.class),
+                    username, tenant, Role.valueOf(role));
+        } else {
+            userDetails = this.userDetailsService.loadUserByUsername(username);
+            if (!userDetails.isEnabled()) {
+                return "invalid";
             }
         }
-        filterChain.doFilter(request, response);
+        log.debug("User authorities: {}", userDetails.getAuthorities());
+
+        UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                userDetails,
+                null,
+                userDetails.getAuthorities()
+        );
+        authToken.setDetails(
+                new WebAuthenticationDetailsSource().buildDetails(request)
+        );
+        SecurityContextHolder.getContext().setAuthentication(authToken);
+        log.debug("Authentication successful for user: {}", username);
+        return role != null ? "authenticated" : "authenticated_legacy";
     }
-} 
\ No newline at end of file
+}
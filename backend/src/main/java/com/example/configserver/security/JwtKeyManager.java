@@ -0,0 +1,284 @@
+package com.example.configserver.security;
+
+import com.example.configserver.model.JwtSigningKey;
+import com.example.configserver.repository.JwtSigningKeyRepository;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.math.BigInteger;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * The ES256 key pairs tokens are signed with, kept in the {@code jwt_signing_keys} table
+ * so that every instance signs and verifies with the same keys.
+ * <p>
+ * A new key is generated once the newest is older than the rotation interval. It is
+ * published in the JWKS right away but only used for signing after the activation delay,
+ * so that other instances and clients caching the JWKS know it before the first token
+ * signed with it arrives. A key stays published until no token it signed can still be
+ * valid.
+ * <p>
+ * Private keys are stored wrapped with the secrets master key ({@link SecretCipher}), so
+ * a copy of the table cannot sign tokens. Without a master key no key is generated or
+ * loaded and no token can be issued. Keys stored unwrapped by earlier versions are
+ * wrapped in place the next time the keys are loaded.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class JwtKeyManager {
+
+    public static final SignatureAlgorithm ALGORITHM = SignatureAlgorithm.ES256;
+
+    // Bounds the database reloads that tokens with unknown key ids can trigger
+    private static final long MIN_RELOAD_INTERVAL_MS = 30_000;
+
+    private final JwtSigningKeyRepository keyRepository;
+    private final SecretCipher cipher;
+
+    @Value("${jwt.keys.rotation-interval-ms:2592000000}") // Default: 30 days
+    private long rotationIntervalMs;
+
+    // Must exceed the check interval plus the JWKS max-age
+    @Value("${jwt.keys.activation-delay-ms:7200000}") // Default: 2 hours
+    private long activationDelayMs;
+
+    @Value("${jwt.refresh-expiration:1209600000}")
+    private long maxTokenLifetimeMs;
+
+    // Loaded on first use so that starting the context does not require the database
+    private volatile KeySet keySet;
+    private volatile long lastReload;
+
+    public SigningKey signingKey() {
+        return keySet().active;
+    }
+
+    /**
+     * @return The public key with the given id, or null if there is none
+     */
+    public PublicKey verificationKey(String kid) {
+        PublicKey key = keySet().publicKeys.get(kid);
+        if (key == null && kid != null && System.currentTimeMillis() - lastReload > MIN_RELOAD_INTERVAL_MS) {
+            // Possibly generated by another instance since the last check
+            key = reload().publicKeys.get(kid);
+        }
+        return key;
+    }
+
+    /**
+     * @return The JSON Web Key Set (RFC 7517) of all published public keys
+     */
+    public Map<String, Object> jwks() {
+        return keySet().jwks;
+    }
+
+    /**
+     * @return An entity tag that changes whenever the published keys change
+     */
+    public String jwksETag() {
+        return keySet().etag;
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.keys.check-interval-ms:3600000}",
+            initialDelayString = "${jwt.keys.check-interval-ms:3600000}")
+    public void scheduledRotation() {
+        rotate(LocalDateTime.now());
+    }
+
+    /**
+     * Generate a key if the newest one is due for rotation, drop keys that can no longer
+     * have valid tokens and install the result.
+     */
+    synchronized KeySet rotate(LocalDateTime now) {
+        List<JwtSigningKey> keys = new ArrayList<>(keyRepository.findAll());
+        wrapStoredKeys(keys);
+        keys.sort(Comparator.comparing(JwtSigningKey::getCreatedAt).reversed());
+
+        if (keys.isEmpty() || !keys.get(0).getCreatedAt().plus(rotationIntervalMs, ChronoUnit.MILLIS).isAfter(now)) {
+            JwtSigningKey generated = keyRepository.save(generate(now, cipher));
+            log.info("Generated token signing key {}", generated.getKid());
+            keys.add(0, generated);
+        }
+
+        // A key is retired once its successor is active; tokens it signed expire at most
+        // the maximum token lifetime later
+        for (int i = keys.size() - 1; i > 0; i--) {
+            LocalDateTime retired = keys.get(i - 1).getCreatedAt().plus(activationDelayMs, ChronoUnit.MILLIS);
+            if (retired.plus(maxTokenLifetimeMs, ChronoUnit.MILLIS).isBefore(now)) {
+                JwtSigningKey expired = keys.remove(i);
+                keyRepository.delete(expired);
+                log.info("Removed token signing key {}", expired.getKid());
+            }
+        }
+        return install(keys, now);
+    }
+
+    synchronized KeySet reload() {
+        List<JwtSigningKey> keys = keyRepository.findAll();
+        wrapStoredKeys(keys);
+        return keys.isEmpty() ? rotate(LocalDateTime.now()) : install(keys, LocalDateTime.now());
+    }
+
+    private KeySet install(List<JwtSigningKey> keys, LocalDateTime now) {
+        KeySet loaded = new KeySet(keys, now.minus(activationDelayMs, ChronoUnit.MILLIS), cipher);
+        keySet = loaded;
+        lastReload = System.currentTimeMillis();
+        return loaded;
+    }
+
+    private KeySet keySet() {
+        KeySet current = keySet;
+        if (current == null) {
+            synchronized (this) {
+                current = keySet;
+                if (current == null) {
+                    current = reload();
+                }
+            }
+        }
+        return current;
+    }
+
+    private void wrapStoredKeys(List<JwtSigningKey> keys) {
+        for (JwtSigningKey key : keys) {
+            if (!SecretCipher.isEnvelope(key.getPrivateKey())) {
+                key.setPrivateKey(wrap(cipher, key.getKid(), key.getPrivateKey()));
+                keyRepository.save(key);
+                log.info("Wrapped stored token signing key {} with the secrets master key", key.getKid());
+            }
+        }
+    }
+
+    private static JwtSigningKey generate(LocalDateTime now, SecretCipher cipher) {
+        KeyPair pair = Keys.keyPairFor(ALGORITHM);
+        Base64.Encoder encoder = Base64.getEncoder();
+        String kid = UUID.randomUUID().toString();
+        return new JwtSigningKey(kid, ALGORITHM.getValue(),
+                encoder.encodeToString(pair.getPublic().getEncoded()),
+                wrap(cipher, kid, encoder.encodeToString(pair.getPrivate().getEncoded())),
+                now);
+    }
+
+    private static String wrap(SecretCipher cipher, String kid, String privateKey) {
+        try {
+            return cipher.encrypt(privateKey, keyContext(kid));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalStateException("Token signing keys need app.secrets.master-key to be configured", e);
+        }
+    }
+
+    private static String keyContext(String kid) {
+        return "jwt-signing-key:" + kid;
+    }
+
+    /**
+     * The key id and private key that new tokens are signed with.
+     */
+    public static final class SigningKey {
+        private final String kid;
+        private final PrivateKey privateKey;
+
+        SigningKey(String kid, PrivateKey privateKey) {
+            this.kid = kid;
+            this.privateKey = privateKey;
+        }
+
+        public String getKid() {
+            return kid;
+        }
+
+        public PrivateKey getPrivateKey() {
+            return privateKey;
+        }
+    }
+
+    static final class KeySet {
+
+        private final SigningKey active;
+        private final Map<String, PublicKey> publicKeys;
+        private final Map<String, Object> jwks;
+        private final String etag;
+
+        /**
+         * @param keys The stored keys, at least one
+         * @param activeBefore Keys created up to this time may sign tokens
+         * @param cipher Unwraps the private key of the signing key
+         */
+        KeySet(List<JwtSigningKey> keys, LocalDateTime activeBefore, SecretCipher cipher) {
+            List<JwtSigningKey> sorted = new ArrayList<>(keys);
+            sorted.sort(Comparator.comparing(JwtSigningKey::getCreatedAt).reversed());
+
+            // The newest active key; the oldest if none is active yet, so that instances
+            // that generated keys concurrently agree on it
+            JwtSigningKey signing = sorted.stream()
+                    .filter(key -> !key.getCreatedAt().isAfter(activeBefore))
+                    .findFirst()
+                    .orElse(sorted.get(sorted.size() - 1));
+
+            Map<String, PublicKey> byKid = new HashMap<>();
+            List<Map<String, Object>> jwkList = new ArrayList<>();
+            try {
+                KeyFactory keyFactory = KeyFactory.getInstance("EC");
+                for (JwtSigningKey key : sorted) {
+                    PublicKey publicKey = keyFactory.generatePublic(
+                            new X509EncodedKeySpec(Base64.getDecoder().decode(key.getPublicKey())));
+                    byKid.put(key.getKid(), publicKey);
+                    jwkList.add(toJwk(key, (ECPublicKey) publicKey));
+                }
+                active = new SigningKey(signing.getKid(), keyFactory.generatePrivate(
+                        new PKCS8EncodedKeySpec(Base64.getDecoder().decode(
+                                cipher.decrypt(signing.getPrivateKey(), keyContext(signing.getKid()))))));
+            } catch (GeneralSecurityException | IllegalArgumentException | ClassCastException e) {
+                throw new IllegalStateException("Invalid token signing key in jwt_signing_keys", e);
+            }
+
+            publicKeys = Map.copyOf(byKid);
+            jwks = Map.of("keys", List.copyOf(jwkList));
+            etag = "\"" + Integer.toHexString(byKid.keySet().hashCode()) + "\"";
+        }
+
+        private static Map<String, Object> toJwk(JwtSigningKey key, ECPublicKey publicKey) {
+            Map<String, Object> jwk = new LinkedHashMap<>();
+            jwk.put("kty", "EC");
+            jwk.put("crv", "P-256");
+            jwk.put("kid", key.getKid());
+            jwk.put("use", "sig");
+            jwk.put("alg", key.getAlgorithm());
+            jwk.put("x", coordinate(publicKey.getW().getAffineX()));
+            jwk.put("y", coordinate(publicKey.getW().getAffineY()));
+            return jwk;
+        }
+
+        // P-256 coordinates are encoded as exactly 32 unsigned big-endian bytes
+        private static String coordinate(BigInteger value) {
+            byte[] bytes = value.toByteArray();
+            byte[] fixed = new byte[32];
+            int length = Math.min(bytes.length, fixed.length);
+            System.arraycopy(bytes, bytes.length - length, fixed, fixed.length - length, length);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(fixed);
+        }
+    }
+}
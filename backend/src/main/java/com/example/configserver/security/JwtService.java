@@ -1,80 +1,170 @@
 package com.example.configserver.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
 import java.security.Key;
 import java.util.Date;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.UUID;
 import java.util.function.Function;
 
+/**
+ * Issues and verifies the application's tokens.
+ * <p>
+ * Access tokens are short-lived and carry everything needed to authenticate a request
+ * (user id, tenant and role), so verifying them needs no database access. Refresh tokens
+ * live longer, are single use and belong to a family that starts at login; they can only
+ * be exchanged at {@code /api/auth/refresh}.
+ * <p>
+ * Tokens are signed with ES256 keys from the {@link JwtKeyManager} and name their key
+ * in the {@code kid} header, so anyone holding the published JWKS can verify them
+ * without calling the server. HS256 tokens signed with {@code jwt.secret} are accepted
+ * as long as that legacy secret is configured.
+ */
 @Service
+@RequiredArgsConstructor
+@Slf4j
 public class JwtService {
 
-    @Value("${jwt.secret}")
-    private String secretKey;
+    public static final String TENANT_CLAIM = "tenant";
+    public static final String ROLE_CLAIM = "role";
+    public static final String USER_ID_CLAIM = "uid";
+    public static final String TYPE_CLAIM = "typ";
+    public static final String FAMILY_CLAIM = "fid";
 
-    @Value("${jwt.expiration:86400000}") // Default: 24 hours
+    private static final String REFRESH_TYPE = "refresh";
+
+    private final JwtKeyManager keyManager;
+
+    @Value("${jwt.secret:}")
+    private String legacySecret;
+
+    @Value("${jwt.expiration:900000}") // Default: 15 minutes
     private long jwtExpiration;
 
-    public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
-    }
+    @Value("${jwt.refresh-expiration:1209600000}") // Default: 14 days
+    private long refreshExpiration;
 
-    public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
+    private Key legacyKey;
+    private JwtParser parser;
+
+    @PostConstruct
+    public void init() {
+        if (legacySecret != null && !legacySecret.isBlank()) {
+            legacyKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(legacySecret));
+            log.info("Accepting HS256 tokens signed with the legacy jwt.secret");
+        }
+        parser = Jwts.parserBuilder()
+                .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                    @Override
+                    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                        return verificationKey(header);
+                    }
+                })
+                .build();
     }
 
-    public String generateToken(UserDetails userDetails) {
-        return generateToken(new HashMap<>(), userDetails);
+    public String generateAccessToken(ConfigUserPrincipal user) {
+        long now = System.currentTimeMillis();
+        return signedBuilder()
+                .setSubject(user.getUsername())
+                .claim(USER_ID_CLAIM, user.getId())
+                .claim(TENANT_CLAIM, user.getTenant())
+                .claim(ROLE_CLAIM, user.getRole().name())
+                .setIssuedAt(new Date(now))
+                .setExpiration(new Date(now + jwtExpiration))
+                .compact();
     }
 
-    public String generateToken(
-            Map<String, Object> extraClaims,
-            UserDetails userDetails
-    ) {
-        return Jwts
-                .builder()
-                .setClaims(extraClaims)
-                .setSubject(userDetails.getUsername())
-                .setIssuedAt(new Date(System.currentTimeMillis()))
-                .setExpiration(new Date(System.currentTimeMillis() + jwtExpiration))
-                .signWith(getSignInKey(), SignatureAlgorithm.HS256)
+    /**
+     * @param familyId The family of the refresh token being rotated, or null at login
+     */
+    public String generateRefreshToken(ConfigUserPrincipal user, String familyId) {
+        long now = System.currentTimeMillis();
+        return signedBuilder()
+                .setId(UUID.randomUUID().toString())
+                .setSubject(user.getUsername())
+                .claim(TYPE_CLAIM, REFRESH_TYPE)
+                .claim(FAMILY_CLAIM, familyId != null ? familyId : UUID.randomUUID().toString())
+                .claim(TENANT_CLAIM, user.getTenant())
+                .setIssuedAt(new Date(now))
+                .setExpiration(new Date(now + refreshExpiration))
                 .compact();
     }
 
-    public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
+    /**
+     * Verify the signature and expiry of a token.
+     *
+     * @throws io.jsonwebtoken.JwtException if the token is invalid or expired
+     */
+    public Claims parse(String token) {
+        return parser.parseClaimsJws(token).getBody();
+    }
+
+    public boolean isRefreshToken(Claims claims) {
+        return REFRESH_TYPE.equals(claims.get(TYPE_CLAIM, String.class));
+    }
+
+    /**
+     * @return The tenant the token was issued for; tokens issued before tenants existed
+     *         belong to the default tenant
+     */
+    public String tenantOf(Claims claims) {
+        String tenant = claims.get(TENANT_CLAIM, String.class);
+        return tenant != null ? tenant : TenantContext.DEFAULT_TENANT;
+    }
+
+    private JwtBuilder signedBuilder() {
+        JwtKeyManager.SigningKey key = keyManager.signingKey();
+        return Jwts.builder()
+                .setHeaderParam(JwsHeader.KEY_ID, key.getKid())
+                .signWith(key.getPrivateKey(), JwtKeyManager.ALGORITHM);
     }
 
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    private Key verificationKey(JwsHeader<?> header) {
+        String kid = header.getKeyId();
+        if (kid != null) {
+            Key key = keyManager.verificationKey(kid);
+            if (key == null) {
+                throw new JwtException("Unknown signing key");
+            }
+            return key;
+        }
+        if (legacyKey != null && SignatureAlgorithm.HS256.getValue().equals(header.getAlgorithm())) {
+            return legacyKey;
+        }
+        throw new JwtException("Token has no key id");
     }
 
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    public String extractUsername(String token) {
+        return extractClaim(token, Claims::getSubject);
+    }
+
+    public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
+        return claimsResolver.apply(parse(token));
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts
-                .parserBuilder()
-                .setSigningKey(getSignInKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    /**
+     * @return Access token lifetime in seconds
+     */
+    public long getAccessTokenLifetimeSeconds() {
+        return jwtExpiration / 1000;
     }
 
-    private Key getSignInKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
-        return Keys.hmacShaKeyFor(keyBytes);
+    public long getRefreshTokenLifetimeMillis() {
+        return refreshExpiration;
     }
-} 
\ No newline at end of file
+}
@@ -1,90 +0,0 @@
-package com.example.configserver.security;
-
-import com.example.configserver.model.Role;
-import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.SignatureAlgorithm;
-import io.jsonwebtoken.security.Keys;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
-import org.springframework.stereotype.Component;
-
-import javax.crypto.SecretKey;
-import java.util.Base64;
-import java.util.Date;
-import java.util.List;
-
-@Component
-public class JwtTokenProvider {
-
-    @Value("${app.jwt.secret:default-secret-key-for-testing-only-should-be-changed}")
-    private String jwtSecret;
-
-    @Value("${app.jwt.expiration-ms:86400000}") // Default: 24 hours
-    private long jwtExpirationMs;
-
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = Base64.getEncoder().encode(jwtSecret.getBytes());
-        return Keys.hmacShaKeyFor(keyBytes);
-    }
-
-    public String generateToken(String username, Role role) {
-        Date now = new Date();
-        Date expiryDate = new Date(now.getTime() + jwtExpirationMs);
-
-        return Jwts.builder()
-                .setSubject(username)
-                .claim("role", role.name())
-                .setIssuedAt(now)
-                .setExpiration(expiryDate)
-                .signWith(getSigningKey(), SignatureAlgorithm.HS512)
-                .compact();
-    }
-
-    public boolean validateToken(String token) {
-        try {
-            Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(token);
-            return true;
-        } catch (Exception ex) {
-            return false;
-        }
-    }
-
-    public String getUsernameFromToken(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-
-        return claims.getSubject();
-    }
-
-    public Role getRoleFromToken(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-
-        return Role.valueOf(claims.get("role", String.class));
-    }
-
-    public Authentication getAuthentication(String token) {
-        String username = getUsernameFromToken(token);
-        Role role = getRoleFromToken(token);
-        
-        SimpleGrantedAuthority authority = new SimpleGrantedAuthority("ROLE_" + role.name());
-        
-        return new UsernamePasswordAuthenticationToken(
-                username,
-                null,
-                List.of(authority)
-        );
-    }
-} 
\ No newline at end of file
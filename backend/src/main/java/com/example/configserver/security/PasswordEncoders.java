@@ -0,0 +1,81 @@
+package com.example.configserver.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Builds the application's password encoder. New hashes are written as
+ * {@code {bcrypt}...} so the algorithm can be changed later without invalidating stored
+ * passwords; hashes without a prefix, written before the delegating encoder was
+ * introduced, are read as bcrypt. Any hash whose cost differs from the configured one is
+ * reported for upgrade, so changing the cost in either direction is applied on each
+ * user's next login.
+ */
+@Slf4j
+public final class PasswordEncoders {
+
+    public static final String BCRYPT = "bcrypt";
+
+    private static final int MAX_BCRYPT_STRENGTH = 31;
+
+    private PasswordEncoders() {
+    }
+
+    public static PasswordEncoder delegating(int bcryptStrength) {
+        PasswordEncoder bcrypt = new CostMatchingBCryptPasswordEncoder(bcryptStrength);
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder(BCRYPT, Map.of(BCRYPT, bcrypt));
+        encoder.setDefaultPasswordEncoderForMatches(bcrypt);
+        return encoder;
+    }
+
+    /**
+     * Pick the highest bcrypt cost whose hashing time stays within the target on this
+     * machine, but never below the given minimum. Each cost step doubles the work, so one
+     * measurement at the minimum is enough to extrapolate.
+     */
+    public static int calibrateBcryptStrength(int minimumStrength, long targetMillis) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(minimumStrength);
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < 3; i++) {
+            long start = System.nanoTime();
+            encoder.encode("calibration");
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        long targetNanos = targetMillis * 1_000_000;
+        int strength = minimumStrength;
+        long estimate = best;
+        while (strength < MAX_BCRYPT_STRENGTH && estimate * 2 <= targetNanos) {
+            strength++;
+            estimate *= 2;
+        }
+        log.info("Using bcrypt cost {} (~{} ms per hash, target {} ms)", strength, estimate / 1_000_000, targetMillis);
+        return strength;
+    }
+
+    static final class CostMatchingBCryptPasswordEncoder extends BCryptPasswordEncoder {
+
+        private static final Pattern COST = Pattern.compile("\\A\\$2[aby]?\\$(\\d\\d)\\$");
+
+        private final int strength;
+
+        CostMatchingBCryptPasswordEncoder(int strength) {
+            super(strength);
+            this.strength = strength;
+        }
+
+        @Override
+        public boolean upgradeEncoding(String encodedPassword) {
+            if (encodedPassword == null || encodedPassword.isEmpty()) {
+                return false;
+            }
+            Matcher matcher = COST.matcher(encodedPassword);
+            return matcher.find() && Integer.parseInt(matcher.group(1)) != strength;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.configserver.security;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Date;
+import java.util.function.Supplier;
+
+/**
+ * The tenant and authentication of a call that does not pass the servlet filter chain,
+ * such as a gRPC call or a reactive request. Those run their work on any of a pool's
+ * threads, so the caller is kept with the call and bound to the thread around each piece
+ * of work, as {@link TenantFilter} and {@link JwtAuthenticationFilter} do per request.
+ * <p>
+ * A caller may outlive its access token, e.g. in a watch, so it keeps the token's issue
+ * and expiry times; long-lived work checks {@link #isCurrent} before acting for it again.
+ */
+public final class RemoteCaller {
+
+    public static final RemoteCaller ANONYMOUS = new RemoteCaller(TenantContext.DEFAULT_TENANT, null);
+
+    private final String tenant;
+    private final Authentication authentication;
+    private final Date issuedAt;
+    private final Date expiresAt;
+
+    public RemoteCaller(String tenant, Authentication authentication) {
+        this(tenant, authentication, null, null);
+    }
+
+    /**
+     * @param issuedAt When the caller's token was issued, or null
+     * @param expiresAt When the caller's token expires, or null if it does not
+     */
+    public RemoteCaller(String tenant, Authentication authentication, Date issuedAt, Date expiresAt) {
+        this.tenant = tenant;
+        this.authentication = authentication;
+        this.issuedAt = issuedAt;
+        this.expiresAt = expiresAt;
+    }
+
+    public String getTenant() {
+        return tenant;
+    }
+
+    /**
+     * @return The authentication, or null for anonymous callers
+     */
+    public Authentication getAuthentication() {
+        return authentication;
+    }
+
+    /**
+     * @return When the caller's token expires, or null if it does not
+     */
+    public Date getExpiresAt() {
+        return expiresAt;
+    }
+
+    /**
+     * @return false once the caller's token has expired or the user's tokens were revoked;
+     *         always true for anonymous callers
+     */
+    public boolean isCurrent(TokenRevocationList revocationList) {
+        if (authentication == null) {
+            return true;
+        }
+        if (expiresAt != null && expiresAt.getTime() <= System.currentTimeMillis()) {
+            return false;
+        }
+        return !revocationList.isUserRevoked(tenant, authentication.getName(), issuedAt);
+    }
+
+    public <T> T call(Supplier<T> work) {
+        TenantContext.setTenant(tenant);
+        SecurityContext context = SecurityContextHolder.createEmptyContext();
+        context.setAuthentication(authentication);
+        SecurityContextHolder.setContext(context);
+        try {
+            return work.get();
+        } finally {
+            SecurityContextHolder.clearContext();
+            TenantContext.clear();
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.configserver.security;
+
+import com.example.configserver.model.Role;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.stereotype.Component;
+
+/**
+ * Resolves a {@link RemoteCaller} from an optional tenant header and an optional bearer
+ * access token, which must belong to that tenant. Unlike {@link JwtAuthenticationFilter},
+ * a bad token rejects the call instead of degrading to anonymous access, since a
+ * long-lived watch would otherwise silently lose its secrets. Tokens issued before role
+ * claims existed are not accepted.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RemoteCallerResolver {
+
+    private static final String BEARER = "Bearer ";
+
+    private final JwtService jwtService;
+    private final TokenRevocationList revocationList;
+
+    /**
+     * @param tenantHeader The {@value TenantFilter#TENANT_HEADER} value, or null
+     * @param authorization The Authorization value, or null
+     * @throws RejectedException if the tenant is invalid or the token is not acceptable
+     */
+    public RemoteCaller resolve(String tenantHeader, String authorization) throws RejectedException {
+        if (tenantHeader != null && !TenantContext.isValid(tenantHeader)) {
+            throw new RejectedException(Reason.INVALID_TENANT, "Invalid tenant: " + tenantHeader);
+        }
+        if (authorization == null) {
+            return tenantHeader != null ? new RemoteCaller(tenantHeader, null) : RemoteCaller.ANONYMOUS;
+        }
+        if (!authorization.startsWith(BEARER)) {
+            throw new RejectedException(Reason.UNAUTHENTICATED, "Expected a bearer token");
+        }
+
+        Claims claims;
+        try {
+            claims = jwtService.parse(authorization.substring(BEARER.length()));
+        } catch (JwtException | IllegalArgumentException e) {
+            log.debug("Rejected token: {}", e.getMessage());
+            throw new RejectedException(Reason.UNAUTHENTICATED, "Invalid token");
+        }
+        String username = claims.getSubject();
+        String role = claims.get(JwtService.ROLE_CLAIM, String.class);
+        if (username == null || role == null || jwtService.isRefreshToken(claims)) {
+            throw new RejectedException(Reason.UNAUTHENTICATED, "Invalid token");
+        }
+        String tenant = jwtService.tenantOf(claims);
+        if (tenantHeader != null && !tenantHeader.equals(tenant)) {
+            throw new RejectedException(Reason.TENANT_MISMATCH, "Token belongs to another tenant");
+        }
+        if (revocationList.isUserRevoked(tenant, username, claims.getIssuedAt())) {
+            throw new RejectedException(Reason.UNAUTHENTICATED, "Token was revoked");
+        }
+
+        ConfigUserPrincipal principal = new ConfigUserPrincipal(claims.get(JwtService.USER_ID_CLAIM, Long.class),
+                username, tenant, Role.valueOf(role));
+        return new RemoteCaller(tenant,
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()),
+                claims.getIssuedAt(), claims.getExpiration());
+    }
+
+    public enum Reason {
+        INVALID_TENANT,
+        UNAUTHENTICATED,
+        TENANT_MISMATCH
+    }
+
+    public static final class RejectedException extends Exception {
+
+        private final Reason reason;
+
+        public RejectedException(Reason reason, String message) {
+            super(message, null, false, false);
+            this.reason = reason;
+        }
+
+        public Reason getReason() {
+            return reason;
+        }
+    }
+}
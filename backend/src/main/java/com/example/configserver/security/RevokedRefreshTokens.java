@@ -0,0 +1,45 @@
+package com.example.configserver.security;
+
+import com.example.configserver.repository.RevokedRefreshTokenRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+
+/**
+ * Used refresh tokens and revoked refresh token families, by id, kept in the
+ * {@code revoked_refresh_tokens} table until they expire. Marking a refresh token as used
+ * doubles as replay detection, and holds across instances: a token refreshed on one
+ * instance and replayed on another is caught there.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RevokedRefreshTokens {
+
+    private final RevokedRefreshTokenRepository repository;
+
+    /**
+     * @return false if the id was already revoked, on this or another instance
+     */
+    public boolean revoke(String id, Date expiresAt) {
+        return repository.insertIfAbsent(id, LocalDateTime.ofInstant(expiresAt.toInstant(), ZoneId.systemDefault()))
+                > 0;
+    }
+
+    public boolean isRevoked(String id) {
+        return id != null && repository.existsById(id);
+    }
+
+    @Scheduled(fixedDelayString = "${app.security.revocation-purge-interval-ms:60000}")
+    public void purgeExpired() {
+        int purged = repository.deleteExpired(LocalDateTime.now());
+        if (purged > 0) {
+            log.debug("Purged {} expired refresh token revocations", purged);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.configserver.security;
+
+import com.example.configserver.model.Role;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Precomputed access requirement for a route. Callers are reduced to a bit mask with one
+ * bit per {@link Role} plus an "authenticated" bit, so a decision is a single AND.
+ */
+public final class RouteAccess {
+
+    static final int AUTHENTICATED_BIT = 1 << 31;
+
+    public static final RouteAccess PERMIT_ALL = new RouteAccess(true, 0);
+    public static final RouteAccess AUTHENTICATED = new RouteAccess(false, AUTHENTICATED_BIT);
+    public static final RouteAccess DENY_ALL = new RouteAccess(false, 0);
+
+    private static final Map<String, Integer> AUTHORITY_BITS = new HashMap<>();
+
+    static {
+        for (Role role : Role.values()) {
+            AUTHORITY_BITS.put(role.name(), bit(role));
+            AUTHORITY_BITS.put("ROLE_" + role.name(), bit(role));
+        }
+    }
+
+    private final boolean permitAll;
+    private final int requiredMask;
+
+    private RouteAccess(boolean permitAll, int requiredMask) {
+        this.permitAll = permitAll;
+        this.requiredMask = requiredMask;
+    }
+
+    public static RouteAccess roles(Role... roles) {
+        int mask = 0;
+        for (Role role : roles) {
+            mask |= bit(role);
+        }
+        return new RouteAccess(false, mask);
+    }
+
+    /**
+     * Combine two requirements so that both must be satisfied, e.g. a URL rule and a
+     * {@code @PreAuthorize} annotation on the handler method.
+     */
+    public RouteAccess and(RouteAccess other) {
+        if (other.permitAll || other.requiredMask == AUTHENTICATED_BIT && !permitAll) {
+            return this;
+        }
+        if (permitAll || requiredMask == AUTHENTICATED_BIT) {
+            return other;
+        }
+        return new RouteAccess(false, requiredMask & other.requiredMask);
+    }
+
+    public boolean isPermitAll() {
+        return permitAll;
+    }
+
+    public boolean isAuthenticatedOnly() {
+        return !permitAll && requiredMask == AUTHENTICATED_BIT;
+    }
+
+    /**
+     * @return The roles that are granted access, empty for permitAll and authenticated-only
+     */
+    public Set<Role> getRoles() {
+        EnumSet<Role> roles = EnumSet.noneOf(Role.class);
+        for (Role role : Role.values()) {
+            if ((requiredMask & bit(role)) != 0) {
+                roles.add(role);
+            }
+        }
+        return roles;
+    }
+
+    public boolean isGranted(int callerMask) {
+        return permitAll || (callerMask & requiredMask) != 0;
+    }
+
+    /**
+     * Reduce an authentication to the caller mask used by {@link #isGranted(int)}.
+     * Authorities are matched by role name with or without the {@code ROLE_} prefix.
+     */
+    public static int callerMask(Authentication authentication) {
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return 0;
+        }
+        int mask = AUTHENTICATED_BIT;
+        for (GrantedAuthority authority : authentication.getAuthorities()) {
+            Integer bit = AUTHORITY_BITS.get(authority.getAuthority());
+            if (bit != null) {
+                mask |= bit;
+            }
+        }
+        return mask;
+    }
+
+    private static int bit(Role role) {
+        return 1 << role.ordinal();
+    }
+
+    @Override
+    public String toString() {
+        if (permitAll) {
+            return "permitAll";
+        }
+        if (isAuthenticatedOnly()) {
+            return "authenticated";
+        }
+        Set<Role> roles = getRoles();
+        return roles.isEmpty() ? "denyAll" : "hasRole" + roles;
+    }
+}
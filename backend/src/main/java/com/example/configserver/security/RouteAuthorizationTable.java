@@ -0,0 +1,293 @@
+package com.example.configserver.security;
+
+import com.example.configserver.model.Role;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfo;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Authorization decisions compiled once per (HTTP method, route template).
+ * <p>
+ * The ordered URL rules from {@code SecurityConfig} are evaluated against every route
+ * template exposed by the controllers, and the result is intersected with the handler's
+ * {@code @PreAuthorize} expression. Requests are then resolved with a segment trie walk
+ * instead of re-running the matcher chain and SpEL expressions. Paths that do not belong
+ * to any known route (e.g. Swagger resources) fall back to the rule chain.
+ */
+public final class RouteAuthorizationTable {
+
+    private static final PathMatcher PATH_MATCHER = new AntPathMatcher();
+
+    private static final Pattern ROLE_EXPRESSION =
+            Pattern.compile("^has(?:Any)?(?:Role|Authority)\\((.*)\\)$");
+
+    private static final Pattern QUOTED = Pattern.compile("'([^']*)'");
+
+    private final List<AccessRule> rules;
+    private final Node root;
+    private final int routeCount;
+
+    private RouteAuthorizationTable(List<AccessRule> rules, Node root, int routeCount) {
+        this.rules = rules;
+        this.root = root;
+        this.routeCount = routeCount;
+    }
+
+    public static Builder builder(List<AccessRule> rules) {
+        return new Builder(rules);
+    }
+
+    /**
+     * Resolve the access requirement for a request.
+     *
+     * @param method The HTTP method
+     * @param path The request path within the application
+     * @return The access requirement, never null
+     */
+    public RouteAccess lookup(String method, String path) {
+        RouteAccess access = find(root, method, path, path.startsWith("/") ? 1 : 0);
+        return access != null ? access : evaluateRules(rules, method, path);
+    }
+
+    /**
+     * @return The number of compiled (method, path) entries
+     */
+    public int size() {
+        return routeCount;
+    }
+
+    private static RouteAccess find(Node node, String method, String path, int from) {
+        if (from >= path.length()) {
+            return node.accessFor(method);
+        }
+        int end = path.indexOf('/', from);
+        if (end < 0) {
+            end = path.length();
+        }
+        String segment = path.substring(from, end);
+
+        Node literal = node.literals.get(segment);
+        if (literal != null) {
+            RouteAccess access = find(literal, method, path, end + 1);
+            if (access != null) {
+                return access;
+            }
+        }
+        if (node.variable != null && !segment.isEmpty()) {
+            return find(node.variable, method, path, end + 1);
+        }
+        return null;
+    }
+
+    static RouteAccess evaluateRules(List<AccessRule> rules, String method, String path) {
+        for (AccessRule rule : rules) {
+            if (rule.appliesTo(method) && PATH_MATCHER.match(rule.getPattern(), path)) {
+                return rule.getAccess();
+            }
+        }
+        return RouteAccess.AUTHENTICATED;
+    }
+
+    /**
+     * Translate a {@code @PreAuthorize} expression into a route requirement. Only the
+     * role/authority checks used by the controllers are supported; anything else fails at
+     * startup rather than being silently ignored.
+     */
+    static RouteAccess parsePreAuthorize(String expression) {
+        String trimmed = expression.replace(" ", "");
+        switch (trimmed) {
+            case "permitAll":
+            case "permitAll()":
+                return RouteAccess.PERMIT_ALL;
+            case "isAuthenticated()":
+                return RouteAccess.AUTHENTICATED;
+            case "denyAll":
+            case "denyAll()":
+                return RouteAccess.DENY_ALL;
+            default:
+                break;
+        }
+
+        Matcher matcher = ROLE_EXPRESSION.matcher(trimmed);
+        if (!matcher.matches()) {
+            throw new IllegalStateException("Unsupported @PreAuthorize expression: " + expression);
+        }
+        List<Role> roles = new ArrayList<>();
+        Matcher quoted = QUOTED.matcher(matcher.group(1));
+        while (quoted.find()) {
+            String name = quoted.group(1);
+            if (name.startsWith("ROLE_")) {
+                name = name.substring("ROLE_".length());
+            }
+            for (Role role : Role.values()) {
+                if (role.name().equals(name)) {
+                    roles.add(role);
+                }
+            }
+        }
+        return roles.isEmpty() ? RouteAccess.DENY_ALL : RouteAccess.roles(roles.toArray(new Role[0]));
+    }
+
+    private static final class Node {
+        private final Map<String, Node> literals = new HashMap<>();
+        private final Map<String, RouteAccess> byMethod = new HashMap<>();
+        private Node variable;
+
+        private RouteAccess accessFor(String method) {
+            return byMethod.get(method);
+        }
+    }
+
+    public static final class Builder {
+
+        private final List<AccessRule> rules;
+        private final Node root = new Node();
+        private int routeCount;
+
+        private Builder(List<AccessRule> rules) {
+            this.rules = List.copyOf(rules);
+        }
+
+        /**
+         * Register every route exposed by a handler mapping.
+         */
+        public Builder handlerMethods(Map<RequestMappingInfo, HandlerMethod> handlerMethods) {
+            handlerMethods.forEach((info, handlerMethod) -> {
+                PreAuthorize preAuthorize = findPreAuthorize(handlerMethod);
+                String expression = preAuthorize != null ? preAuthorize.value() : null;
+                Set<RequestMethod> methods = info.getMethodsCondition().getMethods();
+                if (methods.isEmpty()) {
+                    methods = EnumSet.allOf(RequestMethod.class);
+                }
+                for (String template : info.getPatternValues()) {
+                    for (RequestMethod method : methods) {
+                        route(method.name(), template, expression);
+                    }
+                }
+            });
+            return this;
+        }
+
+        /**
+         * Register a single route.
+         *
+         * @param method The HTTP method
+         * @param template The route template, e.g. {@code /api/items/{id}}
+         * @param preAuthorize The handler's {@code @PreAuthorize} expression, or null
+         */
+        public Builder route(String method, String template, String preAuthorize) {
+            String[] segments = segments(template);
+            if (segments == null) {
+                // Wildcard templates are left to the rule chain
+                return this;
+            }
+            RouteAccess annotation = preAuthorize != null
+                    ? parsePreAuthorize(preAuthorize)
+                    : RouteAccess.PERMIT_ALL;
+
+            insert(segments, method, evaluateRules(rules, method, template).and(annotation));
+
+            // A literal rule pattern may be more specific than a template variable,
+            // e.g. "/api/users/forgot-password" against "/api/users/{id}"; compile it
+            // as its own literal entry so the trie still honours rule order.
+            for (AccessRule rule : rules) {
+                String[] literal = literalSegments(rule.getPattern());
+                if (literal != null && specializes(literal, segments)) {
+                    insert(literal, method, evaluateRules(rules, method, rule.getPattern()).and(annotation));
+                }
+            }
+            return this;
+        }
+
+        public RouteAuthorizationTable build() {
+            return new RouteAuthorizationTable(rules, root, routeCount);
+        }
+
+        private void insert(String[] segments, String method, RouteAccess access) {
+            Node node = root;
+            for (String segment : segments) {
+                if (isVariable(segment)) {
+                    if (node.variable == null) {
+                        node.variable = new Node();
+                    }
+                    node = node.variable;
+                } else {
+                    node = node.literals.computeIfAbsent(segment, key -> new Node());
+                }
+            }
+            if (node.byMethod.put(method, access) == null) {
+                routeCount++;
+            }
+        }
+
+        private static PreAuthorize findPreAuthorize(HandlerMethod handlerMethod) {
+            PreAuthorize annotation = handlerMethod.getMethodAnnotation(PreAuthorize.class);
+            if (annotation == null) {
+                annotation = handlerMethod.getBeanType().getAnnotation(PreAuthorize.class);
+            }
+            return annotation;
+        }
+
+        private static String[] segments(String template) {
+            if (template.contains("*") || template.contains("?")) {
+                return null;
+            }
+            String[] segments = split(template);
+            for (String segment : segments) {
+                if (segment.contains("{") && !isVariable(segment)) {
+                    return null;
+                }
+            }
+            return segments;
+        }
+
+        private static String[] literalSegments(String pattern) {
+            if (pattern.contains("*") || pattern.contains("?") || pattern.contains("{")) {
+                return null;
+            }
+            return split(pattern);
+        }
+
+        private static boolean specializes(String[] literal, String[] template) {
+            if (literal.length != template.length) {
+                return false;
+            }
+            boolean narrower = false;
+            for (int i = 0; i < literal.length; i++) {
+                if (isVariable(template[i])) {
+                    narrower = true;
+                } else if (!template[i].equals(literal[i])) {
+                    return false;
+                }
+            }
+            return narrower;
+        }
+
+        private static boolean isVariable(String segment) {
+            return segment.startsWith("{") && segment.endsWith("}");
+        }
+
+        private static String[] split(String path) {
+            Collection<String> segments = new ArrayList<>();
+            for (String segment : path.split("/")) {
+                if (!segment.isEmpty()) {
+                    segments.add(segment);
+                }
+            }
+            return segments.toArray(new String[0]);
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.configserver.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/**
+ * Envelope encryption of secret configuration values. Each value is encrypted with its
+ * own random AES-256 data key, and the data key is stored next to it wrapped with the
+ * locally configured master key ({@code app.secrets.master-key}). The master key never
+ * touches the database.
+ * <p>
+ * An envelope reads {@code enc:v2:<master key id>:<wrapped data key>:<ciphertext>}, both
+ * parts Base64 with the 12-byte GCM nonce in front. Each envelope is bound to a context
+ * naming what it belongs to, e.g. {@link #itemContext}; it only opens under that context,
+ * so it cannot be copied to another item or tenant and decrypted there.
+ */
+@Component
+public class SecretCipher {
+
+    public static final String PREFIX = "enc:v2:";
+
+    // Envelopes of any version, so ones this version cannot open are not taken for plaintext
+    private static final String ANY_VERSION_PREFIX = "enc:v";
+
+    private static final String TRANSFORMATION = "AES/GCM/NoPadding";
+    private static final int NONCE_BYTES = 12;
+    private static final int TAG_BITS = 128;
+    private static final int DATA_KEY_BYTES = 32;
+
+    private final SecretKey masterKey;
+    private final String masterKeyId;
+    private final SecureRandom random = new SecureRandom();
+
+    public SecretCipher(@Value("${app.secrets.master-key:}") String masterKey,
+                        @Value("${app.secrets.master-key-id:local}") String masterKeyId) {
+        this.masterKey = masterKey == null || masterKey.isEmpty()
+                ? null
+                : new SecretKeySpec(Base64.getDecoder().decode(masterKey), "AES");
+        if (this.masterKey != null && this.masterKey.getEncoded().length != DATA_KEY_BYTES) {
+            throw new IllegalStateException("app.secrets.master-key must be a Base64 encoded 256-bit key");
+        }
+        if (masterKeyId == null || masterKeyId.isEmpty() || masterKeyId.contains(":")) {
+            throw new IllegalStateException("app.secrets.master-key-id must be non-empty and free of ':'");
+        }
+        this.masterKeyId = masterKeyId;
+    }
+
+    public static boolean isEnvelope(String value) {
+        return value != null && value.startsWith(ANY_VERSION_PREFIX);
+    }
+
+    /**
+     * @return The context of a configuration item's values
+     */
+    public static String itemContext(String tenant, Long itemId) {
+        return "item:" + tenant + ":" + itemId;
+    }
+
+    /**
+     * @param context What the value belongs to; decrypting needs the same context
+     * @throws IllegalArgumentException if no master key is configured
+     */
+    public String encrypt(String plaintext, String context) {
+        byte[] aad = aad(masterKeyId, context);
+        byte[] dataKey = new byte[DATA_KEY_BYTES];
+        random.nextBytes(dataKey);
+        byte[] wrappedKey = seal(requireMasterKey(), dataKey, aad);
+        byte[] ciphertext = seal(new SecretKeySpec(dataKey, "AES"), plaintext.getBytes(StandardCharsets.UTF_8),
+                aad);
+        Base64.Encoder base64 = Base64.getEncoder();
+        return PREFIX + masterKeyId + ":" + base64.encodeToString(wrappedKey) + ":"
+                + base64.encodeToString(ciphertext);
+    }
+
+    /**
+     * @param context The context the value was encrypted with
+     * @throws IllegalArgumentException if the value is not an envelope this instance can
+     *         open under the context
+     */
+    public String decrypt(String envelope, String context) {
+        if (!isEnvelope(envelope)) {
+            throw new IllegalArgumentException("Not an encrypted value");
+        }
+        if (!envelope.startsWith(PREFIX)) {
+            throw new IllegalArgumentException("Unsupported encrypted value version");
+        }
+        String[] parts = envelope.substring(PREFIX.length()).split(":");
+        if (parts.length != 3) {
+            throw new IllegalArgumentException("Malformed encrypted value");
+        }
+        if (!parts[0].equals(masterKeyId)) {
+            throw new IllegalArgumentException("Value is encrypted with unknown master key " + parts[0]);
+        }
+        try {
+            Base64.Decoder base64 = Base64.getDecoder();
+            byte[] aad = aad(parts[0], context);
+            byte[] dataKey = open(requireMasterKey(), base64.decode(parts[1]), aad);
+            byte[] plaintext = open(new SecretKeySpec(dataKey, "AES"), base64.decode(parts[2]), aad);
+            return new String(plaintext, StandardCharsets.UTF_8);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalArgumentException("Encrypted value cannot be decrypted", e);
+        }
+    }
+
+    private SecretKey requireMasterKey() {
+        if (masterKey == null) {
+            throw new IllegalArgumentException("Secret values need app.secrets.master-key to be configured");
+        }
+        return masterKey;
+    }
+
+    // The key id and the context are authenticated, so an envelope can be neither
+    // relabelled to another key nor moved to another context
+    private static byte[] aad(String keyId, String context) {
+        return (keyId + "\n" + context).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private byte[] seal(SecretKey key, byte[] plaintext, byte[] aad) {
+        try {
+            byte[] nonce = new byte[NONCE_BYTES];
+            random.nextBytes(nonce);
+            Cipher cipher = Cipher.getInstance(TRANSFORMATION);
+            cipher.init(Cipher.ENCRYPT_MODE, key, new GCMParameterSpec(TAG_BITS, nonce));
+            cipher.updateAAD(aad);
+            byte[] ciphertext = cipher.doFinal(plaintext);
+            return ByteBuffer.allocate(nonce.length + ciphertext.length).put(nonce).put(ciphertext).array();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("AES-GCM is not available", e);
+        }
+    }
+
+    private static byte[] open(SecretKey key, byte[] sealed, byte[] aad) throws GeneralSecurityException {
+        if (sealed.length <= NONCE_BYTES) {
+            throw new GeneralSecurityException("Truncated encrypted value");
+        }
+        Cipher cipher = Cipher.getInstance(TRANSFORMATION);
+        cipher.init(Cipher.DECRYPT_MODE, key, new GCMParameterSpec(TAG_BITS, sealed, 0, NONCE_BYTES));
+        cipher.updateAAD(aad);
+        return cipher.doFinal(sealed, NONCE_BYTES, sealed.length - NONCE_BYTES);
+    }
+}
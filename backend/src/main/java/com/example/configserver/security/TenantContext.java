@@ -0,0 +1,50 @@
+package com.example.configserver.security;
+
+import java.util.regex.Pattern;
+
+/**
+ * The tenant (namespace) the current thread works on behalf of. Bound per request by
+ * {@link TenantFilter} and {@link JwtAuthenticationFilter}; work outside a request, such
+ * as startup seeding and scheduled jobs, runs in the {@link #DEFAULT_TENANT}.
+ */
+public final class TenantContext {
+
+    public static final String DEFAULT_TENANT = "default";
+
+    private static final Pattern VALID_TENANT = Pattern.compile("[a-z0-9][a-z0-9_-]{0,63}");
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private TenantContext() {
+    }
+
+    /**
+     * @return The bound tenant, or {@link #DEFAULT_TENANT} if none is bound
+     */
+    public static String getTenant() {
+        String tenant = CURRENT.get();
+        return tenant != null ? tenant : DEFAULT_TENANT;
+    }
+
+    public static boolean isBound() {
+        return CURRENT.get() != null;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the tenant is not a valid namespace name
+     */
+    public static void setTenant(String tenant) {
+        if (!isValid(tenant)) {
+            throw new IllegalArgumentException("Invalid tenant: " + tenant);
+        }
+        CURRENT.set(tenant);
+    }
+
+    public static boolean isValid(String tenant) {
+        return tenant != null && VALID_TENANT.matcher(tenant).matches();
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+}
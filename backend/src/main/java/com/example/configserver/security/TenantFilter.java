@@ -0,0 +1,53 @@
+package com.example.configserver.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+import org.springframework.http.HttpStatus;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Binds the tenant named in the {@value #TENANT_HEADER} header for the duration of the
+ * request. Authenticated requests may omit the header, the tenant is then taken from
+ * the token by {@link JwtAuthenticationFilter}.
+ */
+@Component
+@Slf4j
+public class TenantFilter extends OncePerRequestFilter {
+
+    public static final String TENANT_HEADER = "X-Tenant-ID";
+
+    static final String TENANT_MDC_KEY = "tenant";
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        String tenant = request.getHeader(TENANT_HEADER);
+        try {
+            if (tenant != null) {
+                try {
+                    TenantContext.setTenant(tenant);
+                } catch (IllegalArgumentException e) {
+                    log.debug("Rejecting request with tenant header {}", tenant);
+                    response.sendError(HttpStatus.BAD_REQUEST.value(), e.getMessage());
+                    return;
+                }
+            }
+            MDC.put(TENANT_MDC_KEY, TenantContext.getTenant());
+            filterChain.doFilter(request, response);
+        } finally {
+            TenantContext.clear();
+            MDC.remove(TENANT_MDC_KEY);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.configserver.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * In-memory record of users whose access tokens must stop working (disabled, deleted,
+ * role or password changed), kept until every access token issued before the revocation
+ * has expired. Checked on every request, so it stays out of the database.
+ * <p>
+ * Each instance keeps its own list; the durable {@code tokens_revoked_at} column on
+ * users stops refresh everywhere, so another instance honours a revocation at the
+ * latest when the user's current access token expires. Refresh tokens are revoked
+ * durably, see {@link RevokedRefreshTokens}.
+ */
+@Component
+@Slf4j
+public class TokenRevocationList {
+
+    private final ConcurrentMap<String, Long> revokedUsers = new ConcurrentHashMap<>();
+
+    @Value("${jwt.expiration:900000}")
+    private long accessTokenLifetimeMs = 900000;
+
+    /**
+     * Reject every access token the user was issued up to now.
+     */
+    public void revokeUser(String tenant, String username) {
+        revokedUsers.put(userKey(tenant, username), System.currentTimeMillis());
+    }
+
+    public boolean isUserRevoked(String tenant, String username, Date issuedAt) {
+        Long revokedAt = revokedUsers.get(userKey(tenant, username));
+        // Issue times have second precision, so a token from the same second is rejected too
+        return revokedAt != null && (issuedAt == null || issuedAt.getTime() <= revokedAt);
+    }
+
+    @Scheduled(fixedDelayString = "${app.security.revocation-purge-interval-ms:60000}")
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        revokedUsers.values().removeIf(revokedAt -> revokedAt + accessTokenLifetimeMs < now);
+    }
+
+    int size() {
+        return revokedUsers.size();
+    }
+
+    private static String userKey(String tenant, String username) {
+        return tenant + ":" + username;
+    }
+}
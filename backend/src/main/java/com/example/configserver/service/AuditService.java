@@ -1,9 +1,12 @@
 package com.example.configserver.service;
 
+import com.example.configserver.model.ConfigurationGroup;
 import com.example.configserver.model.ConfigurationItem;
 
 /**
- * Service for logging audit events related to configuration items
+ * Service for recording audit events for configuration items and groups. Every write
+ * path goes through {@link ConfigurationService}, which records its changes here in the
+ * same transaction.
  */
 public interface AuditService {
     
@@ -31,4 +34,29 @@ public interface AuditService {
      * @param userId The ID of the user who deleted the item
      */
     void logItemDeletion(ConfigurationItem item, String userId);
-} 
\ No newline at end of file
+
+    /**
+     * Logs the creation of a configuration group
+     *
+     * @param group The group that was created
+     * @param userId The ID of the user who created the group
+     */
+    void logGroupCreation(ConfigurationGroup group, String userId);
+
+    /**
+     * Logs an update to a configuration group
+     *
+     * @param oldGroup The group before the update
+     * @param newGroup The group after the update
+     * @param userId The ID of the user who updated the group
+     */
+    void logGroupUpdate(ConfigurationGroup oldGroup, ConfigurationGroup newGroup, String userId);
+
+    /**
+     * Logs the deletion of a configuration group
+     *
+     * @param group The group that was deleted
+     * @param userId The ID of the user who deleted the group
+     */
+    void logGroupDeletion(ConfigurationGroup group, String userId);
+}
@@ -1,33 +1,111 @@
 package com.example.configserver.service;
 
+import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
+import com.example.configserver.model.AuditLog;
+import com.example.configserver.model.ConfigurationGroup;
 import com.example.configserver.model.ConfigurationItem;
+import com.example.configserver.model.RolloutRule;
+import com.example.configserver.repository.AuditLogRepository;
 
+import java.time.LocalDateTime;
+
+/**
+ * Writes an {@code audit_logs} row and an AUDIT log line per change. Called inside the
+ * caller's transaction, so the audit row commits or rolls back with the change itself,
+ * and is tagged with the configuration revision that transaction commits as.
+ */
 @Service
+@RequiredArgsConstructor
 public class AuditServiceImpl implements AuditService {
     
     private static final Logger logger = LoggerFactory.getLogger(AuditServiceImpl.class);
+
+    private static final String ITEM = "ConfigItem";
+    private static final String GROUP = "Group";
+    private static final String REDACTED = "<redacted>";
+
+    private final AuditLogRepository auditLogRepository;
+    private final ConfigurationRevisions revisions;
     
     @Override
     public void logItemCreation(ConfigurationItem item, String userId) {
         logger.info("AUDIT: User {} created item {} with key={}, env={}, groupId={}",
                 userId, item.getId(), item.getKey(), item.getEnvironment(), item.getGroupId());
+        save("CREATE", ITEM, item.getId(), null, describe(item), userId);
     }
     
     @Override
     public void logItemUpdate(ConfigurationItem oldItem, ConfigurationItem newItem, String userId) {
         logger.info("AUDIT: User {} updated item {} from [key={}, value={}, env={}] to [key={}, value={}, env={}]",
                 userId, newItem.getId(), 
-                oldItem.getKey(), oldItem.getValue(), oldItem.getEnvironment(),
-                newItem.getKey(), newItem.getValue(), newItem.getEnvironment());
+                oldItem.getKey(), valueOf(oldItem), oldItem.getEnvironment(),
+                newItem.getKey(), valueOf(newItem), newItem.getEnvironment());
+        save("UPDATE", ITEM, newItem.getId(), describe(oldItem), describe(newItem), userId);
     }
     
     @Override
     public void logItemDeletion(ConfigurationItem item, String userId) {
         logger.info("AUDIT: User {} deleted item {} with key={}, env={}, groupId={}",
                 userId, item.getId(), item.getKey(), item.getEnvironment(), item.getGroupId());
+        save("DELETE", ITEM, item.getId(), describe(item), null, userId);
+    }
+
+    @Override
+    public void logGroupCreation(ConfigurationGroup group, String userId) {
+        logger.info("AUDIT: User {} created group {} with name={}", userId, group.getId(), group.getName());
+        save("CREATE", GROUP, group.getId(), null, describe(group), userId);
+    }
+
+    @Override
+    public void logGroupUpdate(ConfigurationGroup oldGroup, ConfigurationGroup newGroup, String userId) {
+        logger.info("AUDIT: User {} updated group {} from [name={}] to [name={}]",
+                userId, newGroup.getId(), oldGroup.getName(), newGroup.getName());
+        save("UPDATE", GROUP, newGroup.getId(), describe(oldGroup), describe(newGroup), userId);
+    }
+
+    @Override
+    public void logGroupDeletion(ConfigurationGroup group, String userId) {
+        logger.info("AUDIT: User {} deleted group {} with name={}", userId, group.getId(), group.getName());
+        save("DELETE", GROUP, group.getId(), describe(group), null, userId);
+    }
+
+    private void save(String action, String entityType, Long entityId, String oldValue, String newValue,
+                      String userId) {
+        AuditLog log = new AuditLog();
+        log.setAction(action);
+        log.setEntityType(entityType);
+        log.setEntityId(entityId);
+        log.setOldValue(oldValue);
+        log.setNewValue(newValue);
+        log.setTimestamp(LocalDateTime.now());
+        log.setUserId(userId);
+        log.setRevision(revisions.pendingRevision());
+        auditLogRepository.save(log);
+    }
+
+    private static String describe(ConfigurationItem item) {
+        RolloutRule rollout = item.getRollout();
+        return "key: " + item.getKey() +
+                ", value: " + valueOf(item) +
+                (item.getValueType() != null ? ", type: " + item.getValueType() : "") +
+                (item.isSecret() ? ", secret" : "") +
+                ", env: " + item.getEnvironment() +
+                ", groupId: " + item.getGroupId() +
+                (rollout == null ? ""
+                        : item.isSecret() ? ", rollout: " + new RolloutRule(REDACTED, rollout.getPercentage(), rollout.getLabels())
+                        : ", rollout: " + rollout);
+    }
+
+    // Neither the log nor the audit trail carries secret values, not even encrypted
+    private static String valueOf(ConfigurationItem item) {
+        return item.isSecret() ? REDACTED : item.getValue();
+    }
+
+    private static String describe(ConfigurationGroup group) {
+        return "name: " + group.getName() + ", description: " + group.getDescription();
     }
-} 
\ No newline at end of file
+}
@@ -5,8 +5,14 @@ import com.example.configserver.dto.LoginResponse;
 import com.example.configserver.model.Role;
 import com.example.configserver.model.User;
 import com.example.configserver.repository.UserRepository;
+import com.example.configserver.security.ConfigUserPrincipal;
 import com.example.configserver.security.JwtService;
+import com.example.configserver.security.TenantContext;
+import com.example.configserver.security.RevokedRefreshTokens;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
@@ -15,15 +21,21 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class AuthenticationService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtService jwtService;
     private final AuthenticationManager authenticationManager;
+    private final LastLoginRecorder lastLoginRecorder;
+    private final RevokedRefreshTokens revokedRefreshTokens;
 
     public LoginResponse login(LoginRequest request) {
         try {
@@ -33,34 +45,12 @@ public class AuthenticationService {
                             request.getPassword()
                     )
             );
-            
-            User user = userRepository.findByUsername(request.getUsername())
-                    .orElseThrow();
-            
-            // Update last login timestamp
-            user.setLastLogin(LocalDateTime.now());
-            userRepository.save(user);
-            
-            var jwtToken = jwtService.generateToken(
-                    org.springframework.security.core.userdetails.User
-                            .withUsername(user.getUsername())
-                            .password(user.getPassword())
-                            .authorities(user.getRole().name())
-                            .accountExpired(false)
-                            .accountLocked(false)
-                            .credentialsExpired(false)
-                            .disabled(!user.isEnabled())
-                            .build()
-            );
-            
-            return new LoginResponse(
-                    user.getId(),
-                    jwtToken,
-                    user.getUsername(),
-                    user.getRole(),
-                    true,
-                    "Login successful"
-            );
+            ConfigUserPrincipal user = (ConfigUserPrincipal) authentication.getPrincipal();
+
+            // Written in batches in the background
+            lastLoginRecorder.record(user.getId(), LocalDateTime.now());
+
+            return issueTokens(user, null, "Login successful");
         } catch (AuthenticationException e) {
             return new LoginResponse(
                     null,
@@ -73,6 +63,99 @@ public class AuthenticationService {
         }
     }
 
+    /**
+     * Exchange a refresh token for a new access token and a new refresh token of the same
+     * family. Each refresh token can be used once; presenting a used one again means it
+     * was copied, and the whole family is revoked.
+     */
+    public LoginResponse refresh(String refreshToken) {
+        Claims claims = parseRefreshToken(refreshToken);
+        if (claims == null) {
+            return refreshFailed(null);
+        }
+        String username = claims.getSubject();
+        String family = claims.get(JwtService.FAMILY_CLAIM, String.class);
+        if (revokedRefreshTokens.isRevoked(family)) {
+            return refreshFailed(username);
+        }
+        if (!revokedRefreshTokens.revoke(claims.getId(), claims.getExpiration())) {
+            log.warn("Refresh token of user {} was used twice, revoking its family", username);
+            revokeFamily(family);
+            return refreshFailed(username);
+        }
+
+        // Refresh is where account changes are enforced durably, so check the stored user
+        Optional<User> user = userRepository.findByUsername(username);
+        if (user.isEmpty() || !user.get().isEnabled() || revokedSince(user.get(), claims.getIssuedAt())) {
+            revokeFamily(family);
+            return refreshFailed(username);
+        }
+        return issueTokens(new ConfigUserPrincipal(user.get()), family, "Token refreshed");
+    }
+
+    /**
+     * Revoke the refresh token family, ending the session on every device it was shared to.
+     */
+    public void logout(String refreshToken) {
+        Claims claims = parseRefreshToken(refreshToken);
+        if (claims != null) {
+            revokeFamily(claims.get(JwtService.FAMILY_CLAIM, String.class));
+        }
+    }
+
+    private LoginResponse issueTokens(ConfigUserPrincipal user, String family, String message) {
+        LoginResponse response = new LoginResponse(
+                user.getId(),
+                jwtService.generateAccessToken(user),
+                user.getUsername(),
+                user.getRole(),
+                true,
+                message
+        );
+        response.setRefreshToken(jwtService.generateRefreshToken(user, family));
+        response.setExpiresIn(jwtService.getAccessTokenLifetimeSeconds());
+        return response;
+    }
+
+    private Claims parseRefreshToken(String refreshToken) {
+        if (refreshToken == null) {
+            return null;
+        }
+        try {
+            Claims claims = jwtService.parse(refreshToken);
+            if (!jwtService.isRefreshToken(claims)) {
+                return null;
+            }
+            // Bind the token's tenant so the user is looked up in it
+            String tenant = jwtService.tenantOf(claims);
+            if (TenantContext.isBound() && !TenantContext.getTenant().equals(tenant)) {
+                return null;
+            }
+            TenantContext.setTenant(tenant);
+            return claims;
+        } catch (JwtException | IllegalArgumentException e) {
+            log.debug("Rejected refresh token: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private void revokeFamily(String family) {
+        if (family != null) {
+            revokedRefreshTokens.revoke(family,
+                    new Date(System.currentTimeMillis() + jwtService.getRefreshTokenLifetimeMillis()));
+        }
+    }
+
+    private static boolean revokedSince(User user, Date issuedAt) {
+        LocalDateTime revokedAt = user.getTokensRevokedAt();
+        return revokedAt != null
+                && !issuedAt.toInstant().isAfter(revokedAt.atZone(ZoneId.systemDefault()).toInstant());
+    }
+
+    private static LoginResponse refreshFailed(String username) {
+        return new LoginResponse(null, null, username, null, false, "Invalid or expired refresh token");
+    }
+
     public User createAdminUser(String username, String password, String email) {
         if (userRepository.existsByUsername(username)) {
             throw new IllegalStateException("Username already exists");
@@ -0,0 +1,44 @@
+package com.example.configserver.service;
+
+import com.example.configserver.dto.CacheRegionStatisticsDTO;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Exposes Hibernate second-level and query cache statistics per region.
+ */
+@Service
+@RequiredArgsConstructor
+public class CacheStatisticsService {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    public List<CacheRegionStatisticsDTO> getRegionStatistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        String[] regionNames = statistics.getSecondLevelCacheRegionNames();
+        Arrays.sort(regionNames);
+
+        List<CacheRegionStatisticsDTO> result = new ArrayList<>();
+        for (String regionName : regionNames) {
+            CacheRegionStatistics region = statistics.getCacheRegionStatistics(regionName);
+            if (region != null) {
+                result.add(new CacheRegionStatisticsDTO(
+                        regionName,
+                        region.getHitCount(),
+                        region.getMissCount(),
+                        region.getPutCount(),
+                        region.getElementCountInMemory()
+                ));
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.configserver.service;
+
+import lombok.Value;
+
+import java.util.Set;
+
+/**
+ * Published once after a transaction that changed a tenant's groups or items commits,
+ * however many rows it touched, so watchers reload once per change set.
+ */
+@Value
+public class ConfigurationChangedEvent {
+    String tenant;
+    long revision;
+    Set<Long> groupIds;
+}
@@ -0,0 +1,110 @@
+package com.example.configserver.service;
+
+import com.example.configserver.cluster.ConfigChangeNotifier;
+import com.example.configserver.security.TenantContext;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The per-tenant configuration revision. The first change a transaction records bumps
+ * the revision; later changes in the same transaction share it, and one
+ * {@link ConfigurationChangedEvent} is published after commit.
+ * <p>
+ * The bump locks the tenant's revision row until commit, so concurrent writers of one
+ * tenant commit in revision order.
+ * <p>
+ * Just before commit, the change is also announced to the other nodes through
+ * {@link ConfigChangeNotifier}.
+ */
+@Service
+@RequiredArgsConstructor
+public class ConfigurationRevisions {
+
+    private static final String BUMP =
+            "INSERT INTO configuration_revisions AS r (tenant, revision) VALUES (?, 1) "
+            + "ON CONFLICT (tenant) DO UPDATE SET revision = r.revision + 1 "
+            + "RETURNING revision";
+
+    private static final String CURRENT = "SELECT revision FROM configuration_revisions WHERE tenant = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ConfigChangeNotifier changeNotifier;
+
+    /**
+     * Record that the current transaction changes a group or one of its items.
+     *
+     * @param groupId The changed group
+     * @return The revision the transaction commits as
+     * @throws IllegalStateException if no transaction is active
+     */
+    public long recordChange(Long groupId) {
+        PendingRevision pending = (PendingRevision) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+                throw new IllegalStateException("Configuration changes must be recorded in a transaction");
+            }
+            String tenant = TenantContext.getTenant();
+            pending = new PendingRevision(tenant, jdbcTemplate.queryForObject(BUMP, Long.class, tenant));
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        if (groupId != null) {
+            pending.groupIds.add(groupId);
+        }
+        return pending.revision;
+    }
+
+    /**
+     * @return The revision the current transaction commits as, or null if it recorded no change
+     */
+    public Long pendingRevision() {
+        PendingRevision pending = (PendingRevision) TransactionSynchronizationManager.getResource(this);
+        return pending != null ? pending.revision : null;
+    }
+
+    /**
+     * @return The current tenant's latest committed revision, 0 if it never changed
+     */
+    public long currentRevision() {
+        List<Long> revision = jdbcTemplate.queryForList(CURRENT, Long.class, TenantContext.getTenant());
+        return revision.isEmpty() ? 0 : revision.get(0);
+    }
+
+    private final class PendingRevision implements TransactionSynchronization {
+
+        private final String tenant;
+        private final long revision;
+        private final Set<Long> groupIds = new LinkedHashSet<>();
+
+        PendingRevision(String tenant, long revision) {
+            this.tenant = tenant;
+            this.revision = revision;
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            changeNotifier.notifyChange(tenant, revision, Collections.unmodifiableSet(new LinkedHashSet<>(groupIds)));
+        }
+
+        @Override
+        public void afterCommit() {
+            eventPublisher.publishEvent(new ConfigurationChangedEvent(tenant, revision,
+                    Collections.unmodifiableSet(new LinkedHashSet<>(groupIds))));
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(ConfigurationRevisions.this);
+        }
+    }
+}
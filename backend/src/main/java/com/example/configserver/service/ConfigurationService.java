@@ -1,25 +1,63 @@
 package com.example.configserver.service;
 
-import com.example.configserver.dto.ConfigurationGroupDTO;
-import com.example.configserver.dto.ConfigurationItemDTO;
+import com.example.configserver.dto.ConfigurationChangeSetResult;
+import com.example.configserver.dto.ConfigurationItemChange;
+import com.example.configserver.model.ConfigurationGroup;
+import com.example.configserver.model.ConfigurationItem;
+
+import org.springframework.dao.OptimisticLockingFailureException;
 
 import java.util.List;
+import java.util.Optional;
 
+/**
+ * The one read/write path for configuration groups and items. Every endpoint goes
+ * through it, so validation, auditing and the change feed into the effective
+ * configuration cache behave the same whichever URL a client uses.
+ * <p>
+ * Lookups of missing entities return an empty result; invalid writes (unknown group or
+ * environment, duplicate names or keys) throw {@link IllegalArgumentException}.
+ * <p>
+ * Item writes are optimistic: the row is only changed while its version is the one that
+ * was read, so a concurrent edit makes the later write fail with
+ * {@link OptimisticLockingFailureException} instead of silently overwriting it.
+ */
 public interface ConfigurationService {
     // Group operations
-    List<ConfigurationGroupDTO> getAllGroups();
-    ConfigurationGroupDTO getGroupById(Long id);
-    ConfigurationGroupDTO getGroupByName(String name);
-    ConfigurationGroupDTO createGroup(ConfigurationGroupDTO groupDTO);
-    ConfigurationGroupDTO updateGroup(Long id, ConfigurationGroupDTO groupDTO);
-    void deleteGroup(Long id);
+    List<ConfigurationGroup> getAllGroups();
+    Optional<ConfigurationGroup> getGroupById(Long id);
+    Optional<ConfigurationGroup> getGroupByName(String name);
+    ConfigurationGroup createGroup(ConfigurationGroup group);
+    Optional<ConfigurationGroup> updateGroup(Long id, ConfigurationGroup group);
+    boolean deleteGroup(Long id);
     
     // Item operations
-    List<ConfigurationItemDTO> getAllItems();
-    List<ConfigurationItemDTO> getItemsByGroup(Long groupId);
-    List<ConfigurationItemDTO> getItemsByGroupAndEnvironment(Long groupId, String environment);
-    ConfigurationItemDTO getItemById(Long id);
-    ConfigurationItemDTO createItem(ConfigurationItemDTO itemDTO);
-    ConfigurationItemDTO updateItem(Long id, ConfigurationItemDTO itemDTO);
-    void deleteItem(Long id);
-} 
\ No newline at end of file
+    List<ConfigurationItem> getAllItems();
+    Optional<ConfigurationItem> getItemById(Long id);
+    List<ConfigurationItem> getItemsByGroup(Long groupId);
+    List<ConfigurationItem> getItemsByGroupAndEnvironment(Long groupId, String environment);
+    ConfigurationItem createItem(ConfigurationItem item);
+    Optional<ConfigurationItem> updateItem(Long id, ConfigurationItem item);
+    boolean deleteItem(Long id);
+
+    /**
+     * @param expectedVersion The version the caller last saw, or null to update whatever is current
+     * @throws OptimisticLockingFailureException if the item is no longer at the expected version
+     */
+    Optional<ConfigurationItem> updateItem(Long id, ConfigurationItem item, Long expectedVersion);
+
+    /**
+     * @param expectedVersion The version the caller last saw, or null to delete whatever is current
+     * @throws OptimisticLockingFailureException if the item is no longer at the expected version
+     */
+    boolean deleteItem(Long id, Long expectedVersion);
+
+    /**
+     * Apply item creates, updates and deletes, across any groups, in one transaction: all
+     * of them or none are committed, as one revision with one change notification.
+     *
+     * @throws jakarta.persistence.EntityNotFoundException if an updated or deleted item does not exist
+     * @throws OptimisticLockingFailureException if an item is no longer at its expected version
+     */
+    ConfigurationChangeSetResult applyChangeSet(List<ConfigurationItemChange> changes);
+}
@@ -1,54 +1,46 @@
 package com.example.configserver.service;
 
-import com.example.configserver.dto.ConfigurationGroupDTO;
-import com.example.configserver.dto.ConfigurationItemDTO;
-import com.example.configserver.model.AuditLog;
+import com.example.configserver.dto.ConfigurationChangeSetResult;
+import com.example.configserver.dto.ConfigurationItemChange;
 import com.example.configserver.model.ConfigurationGroup;
 import com.example.configserver.model.ConfigurationItem;
-import com.example.configserver.model.Environment;
-import com.example.configserver.repository.AuditLogRepository;
+import com.example.configserver.model.RolloutRule;
 import com.example.configserver.repository.ConfigurationGroupRepository;
 import com.example.configserver.repository.ConfigurationItemRepository;
-import com.example.configserver.service.ConfigurationService;
+import com.example.configserver.security.SecretCipher;
+import com.example.configserver.security.TenantContext;
+import io.micrometer.observation.annotation.Observed;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Objects;
+import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
+@Observed(name = "config.service")
 public class ConfigurationServiceImpl implements ConfigurationService {
 
     private final ConfigurationGroupRepository groupRepository;
     private final ConfigurationItemRepository itemRepository;
-    private final AuditLogRepository auditLogRepository;
-
-    // Helper methods for conversion
-    private ConfigurationGroupDTO mapToGroupDTO(ConfigurationGroup group) {
-        return new ConfigurationGroupDTO(
-                group.getId(),
-                group.getName(),
-                group.getDescription()
-        );
-    }
+    private final AuditService auditService;
+    private final EnvironmentRegistry environmentRegistry;
+    private final ConfigurationRevisions revisions;
+    private final SecretCipher secretCipher;
 
-    private ConfigurationItemDTO mapToItemDTO(ConfigurationItem item) {
-        return new ConfigurationItemDTO(
-                item.getId(),
-                item.getKey(),
-                item.getValue(),
-                item.getDescription(),
-                item.getEnvironment(),
-                item.getGroupId(),
-                item.getGroup() != null ? item.getGroup().getName() : null
-        );
-    }
+    // Held by a secret item between its insert and the encryption of its values
+    private static final String PENDING_SECRET = "";
+
+    @Value("${app.config.change-set.max-changes:1000}")
+    private int maxChangeSetSize = 1000;
 
     // Method to get the current user ID from the security context
     private String getCurrentUserId() {
@@ -59,227 +51,384 @@ public class ConfigurationServiceImpl implements ConfigurationService {
         return "system"; // Default user for system operations
     }
 
-    private AuditLog createAuditLog(String action, String entityType, Long entityId, String oldValue, String newValue) {
-        AuditLog log = new AuditLog();
-        log.setAction(action);
-        log.setEntityType(entityType);
-        log.setEntityId(entityId);
-        log.setOldValue(oldValue);
-        log.setNewValue(newValue);
-        log.setTimestamp(LocalDateTime.now());
-        log.setUserId(getCurrentUserId());
-        return log;
+    // Group operations
+    @Override
+    public List<ConfigurationGroup> getAllGroups() {
+        return groupRepository.findAll();
+    }
+
+    @Override
+    public Optional<ConfigurationGroup> getGroupById(Long id) {
+        return groupRepository.findById(id);
     }
 
     @Override
-    public ConfigurationItemDTO getItemById(Long id) {
-        return itemRepository.findById(id)
-                .map(this::mapToItemDTO)
-                .orElseThrow(() -> new EntityNotFoundException("Configuration item not found with id: " + id));
+    public Optional<ConfigurationGroup> getGroupByName(String name) {
+        return groupRepository.findByName(name);
     }
 
     @Override
     @Transactional
-    public ConfigurationItemDTO createItem(ConfigurationItemDTO itemDTO) {
-        ConfigurationGroup group = groupRepository.findById(itemDTO.getGroupId())
-                .orElseThrow(() -> new EntityNotFoundException("Group not found with id: " + itemDTO.getGroupId()));
-        
-        if (itemRepository.existsByKeyAndGroupAndEnvironment(itemDTO.getKey(), group, itemDTO.getEnvironment())) {
-            throw new IllegalArgumentException(
-                    "Configuration item with key " + itemDTO.getKey() + 
-                    " already exists for group " + group.getName() + 
-                    " in environment " + itemDTO.getEnvironment());
+    public ConfigurationGroup createGroup(ConfigurationGroup group) {
+        if (group.getName() != null && groupRepository.existsByName(group.getName())) {
+            throw new IllegalArgumentException("Group with name " + group.getName() + " already exists");
         }
-        
-        ConfigurationItem item = new ConfigurationItem();
-        item.setKey(itemDTO.getKey());
-        item.setValue(itemDTO.getValue());
-        item.setDescription(itemDTO.getDescription());
-        // Convert the String environment to the Environment enum
-        item.setEnvironment(Environment.valueOf(itemDTO.getEnvironment()));
-        item.setGroup(group);
-        
-        ConfigurationItem savedItem = itemRepository.save(item);
-        
-        createAuditLog("CREATE", "ConfigItem", savedItem.getId(),
-                null,
-                "key: " + savedItem.getKey() + 
-                ", value: " + savedItem.getValue() + 
-                ", env: " + savedItem.getEnvironment() + 
-                ", groupId: " + savedItem.getGroup().getId());
-        
-        return mapToItemDTO(savedItem);
+
+        ConfigurationGroup savedGroup = groupRepository.save(group);
+        revisions.recordChange(savedGroup.getId());
+        auditService.logGroupCreation(savedGroup, getCurrentUserId());
+        return savedGroup;
     }
 
     @Override
     @Transactional
-    public ConfigurationItemDTO updateItem(Long id, ConfigurationItemDTO itemDTO) {
-        ConfigurationItem item = itemRepository.findById(id)
-                .orElseThrow(() -> new EntityNotFoundException("Configuration item not found with id: " + id));
-        
-        ConfigurationGroup group = groupRepository.findById(itemDTO.getGroupId())
-                .orElseThrow(() -> new EntityNotFoundException("Group not found with id: " + itemDTO.getGroupId()));
-        
-        String oldKey = item.getKey();
-        String oldValue = item.getValue();
-        String oldEnvironment = item.getEnvironment();
-        Long oldGroupId = item.getGroup().getId();
-        
-        // Check if key update conflicts with existing items
-        if (!item.getKey().equals(itemDTO.getKey()) || 
-            !item.getEnvironment().equals(itemDTO.getEnvironment()) ||
-            !item.getGroup().getId().equals(itemDTO.getGroupId())) {
-            
-            if (itemRepository.existsByKeyAndGroupAndEnvironment(itemDTO.getKey(), group, itemDTO.getEnvironment())) {
-                throw new IllegalArgumentException(
-                        "Configuration item with key " + itemDTO.getKey() + 
-                        " already exists for group " + group.getName() + 
-                        " in environment " + itemDTO.getEnvironment());
-            }
-        }
-        
-        item.setKey(itemDTO.getKey());
-        item.setValue(itemDTO.getValue());
-        item.setDescription(itemDTO.getDescription());
-        // Convert the String environment to the Environment enum
-        item.setEnvironment(Environment.valueOf(itemDTO.getEnvironment()));
-        item.setGroup(group);
-        
-        ConfigurationItem updatedItem = itemRepository.save(item);
-        
-        createAuditLog("UPDATE", "ConfigItem", updatedItem.getId(),
-                "key: " + oldKey + 
-                ", value: " + oldValue + 
-                ", env: " + oldEnvironment + 
-                ", groupId: " + oldGroupId,
-                
-                "key: " + updatedItem.getKey() + 
-                ", value: " + updatedItem.getValue() + 
-                ", env: " + updatedItem.getEnvironment() + 
-                ", groupId: " + updatedItem.getGroup().getId());
-        
-        return mapToItemDTO(updatedItem);
+    public Optional<ConfigurationGroup> updateGroup(Long id, ConfigurationGroup updatedGroup) {
+        return groupRepository.findById(id)
+                .map(existingGroup -> {
+                    ConfigurationGroup groupBeforeUpdate = new ConfigurationGroup();
+                    groupBeforeUpdate.setId(existingGroup.getId());
+                    groupBeforeUpdate.setName(existingGroup.getName());
+                    groupBeforeUpdate.setDescription(existingGroup.getDescription());
+
+                    // Check if new name conflicts with existing groups
+                    if (updatedGroup.getName() != null
+                            && !updatedGroup.getName().equals(existingGroup.getName())
+                            && groupRepository.existsByName(updatedGroup.getName())) {
+                        throw new IllegalArgumentException("Group with name " + updatedGroup.getName() + " already exists");
+                    }
+
+                    existingGroup.setName(updatedGroup.getName());
+                    existingGroup.setDescription(updatedGroup.getDescription());
+                    ConfigurationGroup savedGroup = groupRepository.save(existingGroup);
+                    revisions.recordChange(savedGroup.getId());
+                    auditService.logGroupUpdate(groupBeforeUpdate, savedGroup, getCurrentUserId());
+                    return savedGroup;
+                });
     }
 
     @Override
     @Transactional
-    public void deleteItem(Long id) {
-        ConfigurationItem item = itemRepository.findById(id)
-                .orElseThrow(() -> new EntityNotFoundException("Configuration item not found with id: " + id));
-        
-        itemRepository.delete(item);
-        
-        createAuditLog("DELETE", "ConfigItem", id,
-                "key: " + item.getKey() + 
-                ", value: " + item.getValue() + 
-                ", env: " + item.getEnvironment() + 
-                ", groupId: " + item.getGroup().getId(),
-                null);
+    public boolean deleteGroup(Long id) {
+        Optional<ConfigurationGroup> group = groupRepository.findById(id);
+        if (group.isEmpty()) {
+            return false;
+        }
+        groupRepository.delete(group.get());
+        revisions.recordChange(id);
+        auditService.logGroupDeletion(group.get(), getCurrentUserId());
+        return true;
     }
 
+    // Item operations
     @Override
-    public List<ConfigurationItemDTO> getItemsByGroup(Long groupId) {
-        ConfigurationGroup group = groupRepository.findById(groupId)
-                .orElseThrow(() -> new EntityNotFoundException("Group not found with id: " + groupId));
-        
-        return itemRepository.findByGroup(group).stream()
-                .map(this::mapToItemDTO)
-                .collect(Collectors.toList());
+    public List<ConfigurationItem> getAllItems() {
+        return itemRepository.findAll();
     }
 
     @Override
-    public List<ConfigurationItemDTO> getItemsByGroupAndEnvironment(Long groupId, String environment) {
-        ConfigurationGroup group = groupRepository.findById(groupId)
-                .orElseThrow(() -> new EntityNotFoundException("Group not found with id: " + groupId));
-        
-        return itemRepository.findByGroupAndEnvironment(group, environment).stream()
-                .map(this::mapToItemDTO)
-                .collect(Collectors.toList());
+    public Optional<ConfigurationItem> getItemById(Long id) {
+        return itemRepository.findById(id);
     }
 
     @Override
-    public List<ConfigurationItemDTO> getAllItems() {
-        return itemRepository.findAll().stream()
-                .map(this::mapToItemDTO)
-                .collect(Collectors.toList());
+    public List<ConfigurationItem> getItemsByGroup(Long groupId) {
+        return itemRepository.findByGroup_Id(groupId);
     }
 
-    // Group operations
     @Override
-    public List<ConfigurationGroupDTO> getAllGroups() {
-        return groupRepository.findAll().stream()
-                .map(this::mapToGroupDTO)
-                .collect(Collectors.toList());
+    public List<ConfigurationItem> getItemsByGroupAndEnvironment(Long groupId, String environment) {
+        return itemRepository.findByGroup_IdAndEnvironment(groupId, environment);
     }
 
     @Override
-    public ConfigurationGroupDTO getGroupById(Long id) {
-        return groupRepository.findById(id)
-                .map(this::mapToGroupDTO)
-                .orElseThrow(() -> new EntityNotFoundException("Group not found with id: " + id));
+    @Transactional
+    public ConfigurationItem createItem(ConfigurationItem item) {
+        ConfigurationGroup group = requireGroup(item.getGroupId());
+        item.setEnvironment(environmentRegistry.requireKnown(item.getEnvironment()));
+        requireUniqueKey(item.getKey(), group, item.getEnvironment());
+        item.setGroup(group);
+        item.setRollout(normalizeRollout(item.getRollout(), group, false));
+        String value = plaintextOf(item, item.getValue());
+        String stagedValue = item.getRollout() != null ? plaintextOf(item, item.getRollout().getValue()) : null;
+        // Envelopes are bound to the item ID, which the insert assigns; the plaintext must
+        // not reach the database meanwhile
+        boolean encryptAfterInsert = item.isSecret() && value != null;
+        if (encryptAfterInsert) {
+            item.setValue(PENDING_SECRET);
+            if (item.getRollout() != null) {
+                item.getRollout().setValue(PENDING_SECRET);
+            }
+        }
+
+        ConfigurationItem savedItem = itemRepository.save(item);
+        if (encryptAfterInsert) {
+            savedItem.setValue(secretCipher.encrypt(value, contextOf(savedItem)));
+            if (savedItem.getRollout() != null) {
+                savedItem.getRollout().setValue(secretCipher.encrypt(stagedValue, contextOf(savedItem)));
+            }
+        }
+        revisions.recordChange(group.getId());
+        auditService.logItemCreation(savedItem, getCurrentUserId());
+        return savedItem;
     }
 
     @Override
-    public ConfigurationGroupDTO getGroupByName(String name) {
-        return groupRepository.findByName(name)
-                .map(this::mapToGroupDTO)
-                .orElseThrow(() -> new EntityNotFoundException("Group not found with name: " + name));
+    @Transactional
+    public Optional<ConfigurationItem> updateItem(Long id, ConfigurationItem updatedItem) {
+        return updateItem(id, updatedItem, null);
     }
 
+    // The flush is a single UPDATE ... WHERE id = ? AND version = ?, so an edit committed
+    // between our read and that statement fails the write rather than being overwritten
     @Override
     @Transactional
-    public ConfigurationGroupDTO createGroup(ConfigurationGroupDTO groupDTO) {
-        if (groupRepository.existsByName(groupDTO.getName())) {
-            throw new IllegalArgumentException("Group with name " + groupDTO.getName() + " already exists");
+    public Optional<ConfigurationItem> updateItem(Long id, ConfigurationItem updatedItem, Long expectedVersion) {
+        Optional<ConfigurationItem> existingItemOpt = itemRepository.findById(id);
+        if (existingItemOpt.isEmpty()) {
+            return Optional.empty();
         }
 
-        ConfigurationGroup group = new ConfigurationGroup();
-        group.setName(groupDTO.getName());
-        group.setDescription(groupDTO.getDescription());
-        
-        ConfigurationGroup savedGroup = groupRepository.save(group);
-        
-        createAuditLog("CREATE", "Group", savedGroup.getId(), null, savedGroup.getName());
-        
-        return mapToGroupDTO(savedGroup);
+        ConfigurationItem existingItem = existingItemOpt.get();
+        requireVersion(existingItem, expectedVersion);
+        // Copy the existing item before updating for audit purposes
+        ConfigurationItem itemBeforeUpdate = new ConfigurationItem();
+        copyItem(existingItem, itemBeforeUpdate);
+
+        ConfigurationGroup group = updatedItem.getGroupId() == null
+                || updatedItem.getGroupId().equals(existingItem.getGroupId())
+                ? existingItem.getGroup()
+                : requireGroup(updatedItem.getGroupId());
+        String environment = environmentRegistry.requireKnown(updatedItem.getEnvironment());
+
+        // Check if the new slot conflicts with an existing item
+        if (!Objects.equals(existingItem.getKey(), updatedItem.getKey())
+                || !Objects.equals(existingItem.getEnvironment(), environment)
+                || group != existingItem.getGroup()) {
+            requireUniqueKey(updatedItem.getKey(), group, environment);
+        }
+
+        // Secret values are never served, so an update that leaves them out keeps them
+        boolean keepsSecret = existingItem.isSecret() && updatedItem.isSecret();
+        RolloutRule rollout = updatedItem.getRollout();
+        if (keepsSecret && rollout != null && rollout.getValue() == null && existingItem.getRollout() != null) {
+            rollout.setValue(existingItem.getRollout().getValue());
+        }
+
+        existingItem.setKey(updatedItem.getKey());
+        if (!keepsSecret || updatedItem.getValue() != null) {
+            existingItem.setValue(updatedItem.getValue());
+        }
+        existingItem.setValueType(updatedItem.getValueType());
+        existingItem.setSecret(updatedItem.isSecret());
+        existingItem.setDescription(updatedItem.getDescription());
+        existingItem.setEnvironment(environment);
+        existingItem.setRollout(normalizeRollout(rollout, group,
+                itemBeforeUpdate.getRollout() != null && group == existingItem.getGroup()));
+        existingItem.setGroup(group);
+        storeValues(existingItem);
+
+        ConfigurationItem savedItem = itemRepository.save(existingItem);
+        revisions.recordChange(itemBeforeUpdate.getGroupId());
+        revisions.recordChange(group.getId());
+        auditService.logItemUpdate(itemBeforeUpdate, savedItem, getCurrentUserId());
+        return Optional.of(savedItem);
     }
 
     @Override
     @Transactional
-    public ConfigurationGroupDTO updateGroup(Long id, ConfigurationGroupDTO groupDTO) {
-        ConfigurationGroup group = groupRepository.findById(id)
-                .orElseThrow(() -> new EntityNotFoundException("Group not found with id: " + id));
-        
-        String oldName = group.getName();
-        String oldDescription = group.getDescription();
-        
-        // Check if new name conflicts with existing groups
-        if (!group.getName().equals(groupDTO.getName()) && groupRepository.existsByName(groupDTO.getName())) {
-            throw new IllegalArgumentException("Group with name " + groupDTO.getName() + " already exists");
+    public boolean deleteItem(Long id) {
+        return deleteItem(id, null);
+    }
+
+    @Override
+    @Transactional
+    public boolean deleteItem(Long id, Long expectedVersion) {
+        Optional<ConfigurationItem> item = itemRepository.findById(id);
+        if (item.isEmpty()) {
+            return false;
         }
-        
-        group.setName(groupDTO.getName());
-        group.setDescription(groupDTO.getDescription());
-        
-        ConfigurationGroup updatedGroup = groupRepository.save(group);
-        
-        createAuditLog("UPDATE", "Group", updatedGroup.getId(), 
-                "name: " + oldName + ", description: " + oldDescription,
-                "name: " + updatedGroup.getName() + ", description: " + updatedGroup.getDescription());
-        
-        return mapToGroupDTO(updatedGroup);
+        requireVersion(item.get(), expectedVersion);
+        itemRepository.delete(item.get());
+        revisions.recordChange(item.get().getGroupId());
+        auditService.logItemDeletion(item.get(), getCurrentUserId());
+        return true;
     }
 
+    // Calls the single-item operations directly: they run in this transaction, so the set
+    // shares one revision, one audit batch and one change notification
     @Override
     @Transactional
-    public void deleteGroup(Long id) {
-        ConfigurationGroup group = groupRepository.findById(id)
-                .orElseThrow(() -> new EntityNotFoundException("Group not found with id: " + id));
-        
-        groupRepository.delete(group);
-        
-        createAuditLog("DELETE", "Group", id, 
-                "name: " + group.getName() + ", description: " + group.getDescription(),
-                null);
+    public ConfigurationChangeSetResult applyChangeSet(List<ConfigurationItemChange> changes) {
+        if (changes == null || changes.isEmpty()) {
+            throw new IllegalArgumentException("A change set needs at least one change");
+        }
+        if (changes.size() > maxChangeSetSize) {
+            throw new IllegalArgumentException("A change set can have at most " + maxChangeSetSize + " changes");
+        }
+
+        List<ConfigurationItem> written = new ArrayList<>();
+        for (ConfigurationItemChange change : changes) {
+            if (change.getAction() == null) {
+                throw new IllegalArgumentException("Change action is required");
+            }
+            if (change.getAction() != ConfigurationItemChange.Action.CREATE && change.getId() == null) {
+                throw new IllegalArgumentException(change.getAction() + " change needs an item id");
+            }
+            switch (change.getAction()) {
+                case CREATE:
+                    written.add(createItem(requireChangedItem(change)));
+                    break;
+                case UPDATE:
+                    written.add(updateItem(change.getId(), requireChangedItem(change), change.getVersion())
+                            .orElseThrow(() -> itemNotFound(change.getId())));
+                    break;
+                case DELETE:
+                    if (!deleteItem(change.getId(), change.getVersion())) {
+                        throw itemNotFound(change.getId());
+                    }
+                    break;
+            }
+        }
+        return new ConfigurationChangeSetResult(revisions.recordChange(null), written);
+    }
+
+    private static ConfigurationItem requireChangedItem(ConfigurationItemChange change) {
+        if (change.getItem() == null) {
+            throw new IllegalArgumentException(change.getAction() + " change needs an item");
+        }
+        return change.getItem();
+    }
+
+    private static EntityNotFoundException itemNotFound(Long id) {
+        return new EntityNotFoundException("Configuration item not found: " + id);
+    }
+
+    /**
+     * Validate the value and staged value of an existing item against its type, then
+     * store them encrypted if the item is secret and in the clear otherwise.
+     */
+    private void storeValues(ConfigurationItem item) {
+        item.setValue(storeValue(item, item.getValue()));
+        if (item.getRollout() != null) {
+            item.getRollout().setValue(storeValue(item, item.getRollout().getValue()));
+        }
+    }
+
+    private String storeValue(ConfigurationItem item, String value) {
+        String plaintext = plaintextOf(item, value);
+        if (plaintext == null || !item.isSecret()) {
+            return plaintext;
+        }
+        return SecretCipher.isEnvelope(value) ? value : secretCipher.encrypt(plaintext, contextOf(item));
+    }
+
+    /**
+     * @return The value validated against the item's type, decrypted if it is an
+     *         envelope. Envelopes are only accepted back into the secret item they
+     *         belong to, such as a kept value, and must open under that item's context.
+     */
+    private String plaintextOf(ConfigurationItem item, String value) {
+        if (value == null) {
+            return null;
+        }
+        String plaintext = value;
+        if (SecretCipher.isEnvelope(value)) {
+            if (!item.isSecret() || item.getId() == null) {
+                throw new IllegalArgumentException("Encrypted values are only accepted for the secret item they "
+                        + "were encrypted for");
+            }
+            plaintext = secretCipher.decrypt(value, contextOf(item));
+        }
+        // Parsing on write keeps invalid typed values out of the effective views entirely
+        if (item.getValueType() != null) {
+            try {
+                item.getValueType().parse(plaintext);
+            } catch (IllegalArgumentException e) {
+                if (item.isSecret()) {
+                    // The parse error quotes the value
+                    throw new IllegalArgumentException("Invalid " + item.getValueType() + " value for secret item "
+                            + item.getKey());
+                }
+                throw e;
+            }
+        }
+        return plaintext;
+    }
+
+    private static String contextOf(ConfigurationItem item) {
+        return SecretCipher.itemContext(TenantContext.getTenant(), item.getId());
+    }
+
+    /**
+     * @param countedInGroup Whether the item already counts towards the group's rollouts
+     * @return The validated rule with trimmed labels, or null if it stages nothing
+     */
+    private RolloutRule normalizeRollout(RolloutRule rollout, ConfigurationGroup group, boolean countedInGroup) {
+        if (rollout == null || (rollout.getValue() == null && rollout.getPercentage() == null
+                && (rollout.getLabels() == null || rollout.getLabels().isEmpty()))) {
+            return null;
+        }
+        if (rollout.getValue() == null) {
+            throw new IllegalArgumentException("Rollout value is required");
+        }
+        if (rollout.getPercentage() != null && (rollout.getPercentage() < 0 || rollout.getPercentage() > 100)) {
+            throw new IllegalArgumentException("Rollout percentage must be between 0 and 100");
+        }
+        List<String> labels = new ArrayList<>();
+        if (rollout.getLabels() != null) {
+            for (String label : rollout.getLabels()) {
+                String trimmed = label != null ? label.trim() : "";
+                if (trimmed.contains(",")) {
+                    throw new IllegalArgumentException("Rollout labels cannot contain commas: " + trimmed);
+                }
+                if (!trimmed.isEmpty() && !labels.contains(trimmed)) {
+                    labels.add(trimmed);
+                }
+            }
+        }
+        if (!countedInGroup && itemRepository.countByGroup_IdAndRollout_ValueIsNotNull(group.getId())
+                >= EffectiveConfigService.MAX_ROLLOUTS_PER_VIEW) {
+            throw new IllegalArgumentException("Group " + group.getName() + " already has "
+                    + EffectiveConfigService.MAX_ROLLOUTS_PER_VIEW + " items rolling out");
+        }
+        return new RolloutRule(rollout.getValue(), rollout.getPercentage(), labels);
+    }
+
+    private ConfigurationGroup requireGroup(Long groupId) {
+        if (groupId == null) {
+            throw new IllegalArgumentException("Group id is required");
+        }
+        return groupRepository.findById(groupId)
+                .orElseThrow(() -> new IllegalArgumentException("Group not found for id: " + groupId));
+    }
+
+    private static void requireVersion(ConfigurationItem item, Long expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(item.getVersion())) {
+            throw new OptimisticLockingFailureException(
+                    "Configuration item " + item.getId() + " is at version " + item.getVersion() +
+                    ", not " + expectedVersion);
+        }
+    }
+
+    private void requireUniqueKey(String key, ConfigurationGroup group, String environment) {
+        if (itemRepository.existsByKeyAndGroupAndEnvironment(key, group, environment)) {
+            throw new IllegalArgumentException(
+                    "Configuration item with key " + key +
+                    " already exists for group " + group.getName() +
+                    " in environment " + environment);
+        }
+    }
+
+    private void copyItem(ConfigurationItem source, ConfigurationItem target) {
+        target.setId(source.getId());
+        target.setKey(source.getKey());
+        target.setValue(source.getValue());
+        target.setDescription(source.getDescription());
+        target.setEnvironment(source.getEnvironment());
+        target.setGroupId(source.getGroupId());
+        target.setVersion(source.getVersion());
+        target.setRollout(source.getRollout());
+        target.setValueType(source.getValueType());
+        target.setSecret(source.isSecret());
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,638 @@
+package com.example.configserver.service;
+
+import com.example.configserver.dto.EffectiveConfigItemDTO;
+import com.example.configserver.model.ConfigurationItem;
+import com.example.configserver.model.RolloutRule;
+import com.example.configserver.model.ValueType;
+import com.example.configserver.security.SecretCipher;
+import com.example.configserver.security.TenantContext;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Effective configuration per (group, environment), i.e. the items of an environment
+ * merged with the items inherited from its ancestors (see {@link EnvironmentRegistry#lineageOf}).
+ * <p>
+ * The items of a group are loaded with one query and kept per environment layer; the
+ * merged view of each requested environment is materialized once and then maintained
+ * per key as items change, so reads never walk the inheritance chain or hit the
+ * database. Changes are applied after commit by {@code EffectiveConfigChangeListener};
+ * read nodes evict what their replication feed changed instead.
+ * <p>
+ * Each tenant has its own partition, so flushing or bulk-loading one tenant's groups
+ * neither evicts nor blocks the views of another.
+ * <p>
+ * Only groups that exist and environments that are registered are cached, up to
+ * {@code app.effective-config.max-cached-groups} groups; anything else is built per
+ * request. The path and tenant header are caller input, so they must not be able to grow
+ * the cache.
+ * <p>
+ * Items with a {@link RolloutRule} are compiled into each view they appear in. A client
+ * is matched against them with array scans only, giving a bit mask of the rollouts it
+ * is in; that mask is its cohort, and the view of each cohort is materialized once.
+ * <p>
+ * Secret items stay encrypted in the views. Their values are decrypted per read through
+ * {@link SecretValueCache}, and only for callers with the role
+ * {@code app.secrets.reveal-role}.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class EffectiveConfigService {
+
+    // The database on primaries, the replicated copy on read nodes
+    private final ConfigurationService configurationService;
+    private final EnvironmentRegistry environmentRegistry;
+    private final SecretValueCache secretValues;
+
+    // A cohort is a bit mask over the rollouts of a view; ConfigurationService caps the
+    // rollouts per group accordingly
+    public static final int MAX_ROLLOUTS_PER_VIEW = Long.SIZE;
+
+    // Label combinations can create many cohorts; past this, views are built per request
+    private static final int MAX_CACHED_COHORTS_PER_VIEW = 256;
+
+    // A few formats and encodings per cached cohort
+    private static final int MAX_CACHED_RENDERINGS_PER_VIEW = 4 * MAX_CACHED_COHORTS_PER_VIEW;
+
+    private final ConcurrentMap<String, Partition> partitions = new ConcurrentHashMap<>();
+
+    @Value("${app.effective-config.max-cached-groups:10000}")
+    private int maxCachedGroups = 10000;
+
+    @Value("${app.secrets.reveal-role:ADMIN}")
+    private String revealRole = "ADMIN";
+
+    /**
+     * @param groupId The group ID, within the current tenant
+     * @param environment The environment name
+     * @return The effective items of the environment, sorted by key, as seen by a client
+     *         that is in no rollout
+     */
+    public List<EffectiveConfigItemDTO> getEffectiveConfig(Long groupId, String environment) {
+        return getEffectiveConfig(groupId, environment, RolloutClient.ANONYMOUS);
+    }
+
+    /**
+     * @param groupId The group ID, within the current tenant
+     * @param environment The environment name
+     * @param client The client whose rollouts apply
+     * @return The effective items of the environment, sorted by key
+     */
+    public List<EffectiveConfigItemDTO> getEffectiveConfig(Long groupId, String environment, RolloutClient client) {
+        Collection<EffectiveConfigItemDTO> items = resolve(groupId, environment, client).values();
+        List<EffectiveConfigItemDTO> result = new ArrayList<>(items.size());
+        Boolean mayReveal = null;
+        for (EffectiveConfigItemDTO item : items) {
+            if (item.isSecret()) {
+                if (mayReveal == null) {
+                    mayReveal = mayRevealSecrets();
+                }
+                item = revealed(item, mayReveal);
+            }
+            result.add(item);
+        }
+        return result;
+    }
+
+    /**
+     * @return Key to value, sorted by key, with typed values as native JSON types
+     */
+    public Map<String, Object> getCompactConfig(Long groupId, String environment, RolloutClient client) {
+        return compactOf(getEffectiveConfig(groupId, environment, client));
+    }
+
+    /**
+     * A rendering of the effective configuration, such as an encoded response body, made
+     * once per view and cohort. It is dropped with the view when an item changes, so it
+     * never outlives the items it was rendered from.
+     *
+     * @param variant Tells renderings of the same items apart, e.g. by format
+     * @param renderer Renders the effective items, sorted by key
+     * @return The rendering, or null if the view has secrets, which are revealed per caller
+     */
+    public <T> T getRendered(Long groupId, String environment, RolloutClient client, String variant,
+                             Function<Collection<EffectiveConfigItemDTO>, T> renderer) {
+        View view = view(groupId, environment);
+        if (view.hasSecrets) {
+            return null;
+        }
+        return view.rendered(view.cohortOf(client), variant, renderer);
+    }
+
+    /**
+     * @return Key to typed value of the items, in their order
+     */
+    public static Map<String, Object> compactOf(Collection<EffectiveConfigItemDTO> items) {
+        Map<String, Object> compact = new LinkedHashMap<>(items.size() * 4 / 3 + 1);
+        for (EffectiveConfigItemDTO item : items) {
+            compact.put(item.getKey(), item.getTypedValue());
+        }
+        return compact;
+    }
+
+    // A copy, so the plaintext never ends up in a shared view
+    private EffectiveConfigItemDTO revealed(EffectiveConfigItemDTO item, boolean mayReveal) {
+        EffectiveConfigItemDTO copy = new EffectiveConfigItemDTO(item.getItemId(), item.getKey(), null,
+                item.getDescription(), item.getSourceEnvironment(), item.isInherited(), item.isRollout(),
+                item.getValueType(), null, true);
+        if (!mayReveal || item.getValue() == null) {
+            return copy;
+        }
+        String plaintext;
+        try {
+            plaintext = secretValues.decrypt(item.getValue(),
+                    SecretCipher.itemContext(TenantContext.getTenant(), item.getItemId()));
+        } catch (IllegalArgumentException e) {
+            log.warn("Secret item {} ({}) cannot be decrypted, serving it without a value: {}",
+                    item.getItemId(), item.getKey(), e.getMessage());
+            return copy;
+        }
+        copy.setValue(plaintext);
+        copy.setTypedValue(typed(item.getItemId(), item.getKey(), item.getValueType(), plaintext));
+        return copy;
+    }
+
+    /**
+     * @return The value parsed as its type, or as is if it has none or does not parse
+     */
+    private static Object typed(Long id, String key, ValueType type, String raw) {
+        if (type == null || raw == null) {
+            return raw;
+        }
+        try {
+            return type.parse(raw);
+        } catch (IllegalArgumentException e) {
+            // Validated on write; only rows edited around the service get here
+            log.warn("Item {} ({}) has an invalid value, serving it untyped: {}", id, key, e.getMessage());
+            return raw;
+        }
+    }
+
+    private boolean mayRevealSecrets() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return false;
+        }
+        String authority = "ROLE_" + revealRole;
+        for (GrantedAuthority granted : authentication.getAuthorities()) {
+            if (authority.equals(granted.getAuthority())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Map<String, EffectiveConfigItemDTO> resolve(Long groupId, String environment, RolloutClient client) {
+        View view = view(groupId, environment);
+        return view.forCohort(view.cohortOf(client));
+    }
+
+    private View view(Long groupId, String environment) {
+        String tenant = TenantContext.getTenant();
+        Partition partition = partitions.get(tenant);
+        GroupConfig group = partition != null ? partition.groups.get(groupId) : null;
+        if (group == null) {
+            group = load(tenant, groupId);
+        }
+        return environmentRegistry.contains(environment)
+                ? group.effective(environment)
+                : group.uncached(environment);
+    }
+
+    /**
+     * Apply a committed item change. Either side may be null for inserts and deletes.
+     */
+    public void itemChanged(ItemState before, ItemState after) {
+        if (before != null && after != null && before.sameSlot(after)) {
+            apply(after, after.environment, after.key, after);
+            return;
+        }
+        if (before != null) {
+            apply(before, before.environment, before.key, null);
+        }
+        if (after != null) {
+            apply(after, after.environment, after.key, after);
+        }
+    }
+
+    /**
+     * Drop everything cached for a group, e.g. after it was deleted.
+     */
+    public void evictGroup(String tenant, Long groupId) {
+        Partition partition = partitions.get(tenant);
+        if (partition != null) {
+            partition.modifications.incrementAndGet();
+            partition.groups.remove(groupId);
+        }
+    }
+
+    /**
+     * Drop everything cached for a tenant; other tenants' views are untouched.
+     *
+     * @return The number of groups that were cached
+     */
+    public int evictTenant(String tenant) {
+        Partition partition = partitions.remove(tenant);
+        if (partition == null) {
+            return 0;
+        }
+        partition.modifications.incrementAndGet();
+        int evicted = partition.groups.size();
+        log.info("Evicted effective configuration of {} groups of tenant {}", evicted, tenant);
+        return evicted;
+    }
+
+    /**
+     * Drop everything cached, e.g. after a read node reloaded all of its configuration.
+     */
+    public void evictAll() {
+        for (String tenant : partitions.keySet()) {
+            evictTenant(tenant);
+        }
+    }
+
+    /**
+     * @return The IDs of the tenant's groups that are cached
+     */
+    public Set<Long> cachedGroups(String tenant) {
+        Partition partition = partitions.get(tenant);
+        return partition != null
+                ? Collections.unmodifiableSet(new HashSet<>(partition.groups.keySet()))
+                : Collections.emptySet();
+    }
+
+    private void apply(ItemState item, String environment, String key, ItemState value) {
+        Partition partition = partitions.get(item.tenant);
+        if (partition == null) {
+            return;
+        }
+        partition.modifications.incrementAndGet();
+        GroupConfig group = item.groupId != null ? partition.groups.get(item.groupId) : null;
+        if (group != null) {
+            group.put(environment, key, value);
+        }
+    }
+
+    private GroupConfig load(String tenant, Long groupId) {
+        Partition partition = partitions.computeIfAbsent(tenant, key -> new Partition());
+        long version = partition.modifications.get();
+        GroupConfig group = new GroupConfig(environmentRegistry::lineageOf);
+        List<ConfigurationItem> items = configurationService.getItemsByGroup(groupId);
+        for (ConfigurationItem item : items) {
+            group.layer(item.getEnvironment()).put(item.getKey(), ItemState.of(item));
+        }
+        if (items.isEmpty() && !configurationService.getGroupById(groupId).isPresent()) {
+            // Unknown group, or unknown tenant: drop the partition again unless another
+            // group got cached in it meanwhile
+            partitions.computeIfPresent(tenant, (key, current) ->
+                    current == partition && current.groups.isEmpty() ? null : current);
+            return group;
+        }
+        if (partition.modifications.get() != version) {
+            log.debug("Configuration of group {} changed while loading, not caching it", groupId);
+            return group;
+        }
+        if (cachedGroupCount() >= maxCachedGroups) {
+            log.debug("{} groups cached, not caching group {} of tenant {}", maxCachedGroups, groupId, tenant);
+            return group;
+        }
+        GroupConfig existing = partition.groups.putIfAbsent(groupId, group);
+        return existing != null ? existing : group;
+    }
+
+    // Only counted on a cache miss, so summing over the tenants is cheap enough
+    private int cachedGroupCount() {
+        int count = 0;
+        for (Partition partition : partitions.values()) {
+            count += partition.groups.size();
+        }
+        return count;
+    }
+
+    private static final class Partition {
+
+        private final ConcurrentMap<Long, GroupConfig> groups = new ConcurrentHashMap<>();
+
+        // Bumped on every change so a load racing with a commit is not cached
+        private final AtomicLong modifications = new AtomicLong();
+    }
+
+    /**
+     * The raw layers of one group plus the materialized views derived from them. Views
+     * are immutable and replaced on change, so readers never lock.
+     */
+    private static final class GroupConfig {
+
+        private final Function<String, List<String>> lineageOf;
+        private final Map<String, Map<String, ItemState>> layers = new HashMap<>();
+        private final ConcurrentMap<String, View> views = new ConcurrentHashMap<>();
+
+        GroupConfig(Function<String, List<String>> lineageOf) {
+            this.lineageOf = lineageOf;
+        }
+
+        View effective(String environment) {
+            View view = views.get(environment);
+            if (view != null) {
+                return view;
+            }
+            synchronized (this) {
+                return views.computeIfAbsent(environment, this::materialize);
+            }
+        }
+
+        /**
+         * The view of an environment that is not registered (yet), built without caching it.
+         */
+        synchronized View uncached(String environment) {
+            View view = views.get(environment);
+            return view != null ? view : materialize(environment);
+        }
+
+        synchronized void put(String environment, String key, ItemState item) {
+            if (item != null) {
+                layer(environment).put(key, item);
+            } else if (layers.containsKey(environment)) {
+                layers.get(environment).remove(key);
+            }
+            // Only views that inherit from the changed environment are affected, and
+            // within those only the changed key
+            views.replaceAll((viewEnvironment, view) -> {
+                if (!lineageOf.apply(viewEnvironment).contains(environment)) {
+                    return view;
+                }
+                return view.with(key, resolve(viewEnvironment, key));
+            });
+        }
+
+        Map<String, ItemState> layer(String environment) {
+            return layers.computeIfAbsent(environment, name -> new HashMap<>());
+        }
+
+        private View materialize(String environment) {
+            Map<String, ItemState> resolved = new TreeMap<>();
+            List<String> lineage = lineageOf.apply(environment);
+            // Farthest ancestor first so nearer layers override it
+            for (int i = lineage.size() - 1; i >= 0; i--) {
+                Map<String, ItemState> layer = layers.get(lineage.get(i));
+                if (layer != null) {
+                    resolved.putAll(layer);
+                }
+            }
+            return View.of(environment, resolved);
+        }
+
+        private ItemState resolve(String environment, String key) {
+            for (String ancestor : lineageOf.apply(environment)) {
+                Map<String, ItemState> layer = layers.get(ancestor);
+                ItemState item = layer != null ? layer.get(key) : null;
+                if (item != null) {
+                    return item;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * The materialized view of one environment: the items everyone sees, the rollouts
+     * compiled from it, and the views and renderings of the cohorts seen so far.
+     * Immutable apart from those caches; a change produces a new view.
+     */
+    private static final class View {
+
+        private final String environment;
+        private final Map<String, EffectiveConfigItemDTO> items;
+        private final CompiledRollout[] rollouts;
+        private final boolean hasSecrets;
+        private final ConcurrentMap<Long, Map<String, EffectiveConfigItemDTO>> cohorts = new ConcurrentHashMap<>();
+        private final ConcurrentMap<String, Object> renderings = new ConcurrentHashMap<>();
+
+        private View(String environment, Map<String, EffectiveConfigItemDTO> items, CompiledRollout[] rollouts) {
+            this.environment = environment;
+            this.items = Collections.unmodifiableMap(items);
+            this.rollouts = rollouts;
+            this.hasSecrets = items.values().stream().anyMatch(EffectiveConfigItemDTO::isSecret);
+        }
+
+        static View of(String environment, Map<String, ItemState> resolved) {
+            Map<String, EffectiveConfigItemDTO> items = new TreeMap<>();
+            List<CompiledRollout> rollouts = new ArrayList<>();
+            resolved.forEach((key, item) -> {
+                items.put(key, item.toEffective(environment));
+                if (item.rollout != null) {
+                    rollouts.add(new CompiledRollout(item, environment));
+                }
+            });
+            return new View(environment, items, limit(rollouts));
+        }
+
+        View with(String key, ItemState item) {
+            Map<String, EffectiveConfigItemDTO> updated = new TreeMap<>(items);
+            List<CompiledRollout> updatedRollouts = new ArrayList<>(rollouts.length + 1);
+            for (CompiledRollout rollout : rollouts) {
+                if (!rollout.key.equals(key)) {
+                    updatedRollouts.add(rollout);
+                }
+            }
+            if (item != null) {
+                updated.put(key, item.toEffective(environment));
+                if (item.rollout != null) {
+                    updatedRollouts.add(new CompiledRollout(item, environment));
+                    updatedRollouts.sort((a, b) -> a.key.compareTo(b.key));
+                }
+            } else {
+                updated.remove(key);
+            }
+            return new View(environment, updated, limit(updatedRollouts));
+        }
+
+        /**
+         * @return Bit i is set if the client is in rollout i; 0 if it is in none
+         */
+        long cohortOf(RolloutClient client) {
+            long cohort = 0;
+            for (int i = 0; i < rollouts.length; i++) {
+                if (rollouts[i].includes(client)) {
+                    cohort |= 1L << i;
+                }
+            }
+            return cohort;
+        }
+
+        Map<String, EffectiveConfigItemDTO> forCohort(long cohort) {
+            if (cohort == 0) {
+                return items;
+            }
+            Map<String, EffectiveConfigItemDTO> view = cohorts.get(cohort);
+            if (view != null) {
+                return view;
+            }
+            view = materializeCohort(cohort);
+            if (cohorts.size() < MAX_CACHED_COHORTS_PER_VIEW) {
+                Map<String, EffectiveConfigItemDTO> existing = cohorts.putIfAbsent(cohort, view);
+                return existing != null ? existing : view;
+            }
+            return view;
+        }
+
+        @SuppressWarnings("unchecked")
+        <T> T rendered(long cohort, String variant, Function<Collection<EffectiveConfigItemDTO>, T> renderer) {
+            String key = cohort + "/" + variant;
+            Object rendering = renderings.get(key);
+            if (rendering != null) {
+                return (T) rendering;
+            }
+            rendering = renderer.apply(forCohort(cohort).values());
+            if (renderings.size() < MAX_CACHED_RENDERINGS_PER_VIEW) {
+                Object existing = renderings.putIfAbsent(key, rendering);
+                if (existing != null) {
+                    return (T) existing;
+                }
+            }
+            return (T) rendering;
+        }
+
+        private Map<String, EffectiveConfigItemDTO> materializeCohort(long cohort) {
+            Map<String, EffectiveConfigItemDTO> view = new TreeMap<>(items);
+            for (int i = 0; i < rollouts.length; i++) {
+                if ((cohort & (1L << i)) != 0) {
+                    view.put(rollouts[i].key, rollouts[i].staged);
+                }
+            }
+            return Collections.unmodifiableMap(view);
+        }
+
+        private static CompiledRollout[] limit(List<CompiledRollout> rollouts) {
+            if (rollouts.size() > MAX_ROLLOUTS_PER_VIEW) {
+                log.warn("{} rollouts in one view, only the first {} by key apply",
+                        rollouts.size(), MAX_ROLLOUTS_PER_VIEW);
+                return rollouts.subList(0, MAX_ROLLOUTS_PER_VIEW).toArray(new CompiledRollout[0]);
+            }
+            return rollouts.toArray(new CompiledRollout[0]);
+        }
+    }
+
+    /**
+     * A rollout rule reduced to what matching a client needs, plus the item as the
+     * clients in the rollout see it.
+     */
+    private static final class CompiledRollout {
+
+        private final String key;
+        private final int percentage;
+        private final String[] labels;
+        private final EffectiveConfigItemDTO staged;
+
+        CompiledRollout(ItemState item, String environment) {
+            this.key = item.key;
+            this.percentage = item.rollout.getPercentage() != null ? item.rollout.getPercentage() : 0;
+            this.labels = item.rollout.getLabels() != null
+                    ? item.rollout.getLabels().toArray(new String[0])
+                    : new String[0];
+            this.staged = item.toStaged(environment);
+        }
+
+        boolean includes(RolloutClient client) {
+            return percentage >= RolloutClient.BUCKETS
+                    || client.bucket() < percentage
+                    || (labels.length > 0 && client.hasAnyLabel(labels));
+        }
+    }
+
+    /**
+     * The part of a configuration item the effective view depends on.
+     */
+    public static final class ItemState {
+        private final Long id;
+        private final String tenant;
+        private final Long groupId;
+        private final String environment;
+        private final String key;
+        private final String value;
+        private final String description;
+        private final RolloutRule rollout;
+        private final ValueType valueType;
+        // Values of secret items are envelopes; they are decrypted per read, never kept in views
+        private final boolean secret;
+        // Parsed once here, so views and every read share the parsed values
+        private final Object typedValue;
+        private final Object typedRolloutValue;
+
+        public ItemState(Long id, String tenant, Long groupId, String environment, String key, String value,
+                         String description) {
+            this(id, tenant, groupId, environment, key, value, description, null, null, false);
+        }
+
+        public ItemState(Long id, String tenant, Long groupId, String environment, String key, String value,
+                         String description, RolloutRule rollout, ValueType valueType, boolean secret) {
+            this.id = id;
+            this.tenant = tenant;
+            this.groupId = groupId;
+            this.environment = environment;
+            this.key = key;
+            this.value = value;
+            this.description = description;
+            this.rollout = rollout;
+            this.valueType = valueType;
+            this.secret = secret;
+            this.typedValue = secret ? null : typed(id, key, valueType, value);
+            this.typedRolloutValue = rollout != null && !secret
+                    ? typed(id, key, valueType, rollout.getValue())
+                    : null;
+        }
+
+        public static ItemState of(ConfigurationItem item) {
+            RolloutRule rollout = item.getRollout();
+            // Copied so later changes to the entity cannot leak into the views
+            return new ItemState(item.getId(), item.getTenant(), item.getGroupId(), item.getEnvironment(),
+                    item.getKey(), item.getValue(), item.getDescription(),
+                    rollout != null && rollout.getValue() != null
+                            ? new RolloutRule(rollout.getValue(), rollout.getPercentage(),
+                                    rollout.getLabels() != null ? new ArrayList<>(rollout.getLabels()) : new ArrayList<>())
+                            : null,
+                    item.getValueType(), item.isSecret());
+        }
+
+        private boolean sameSlot(ItemState other) {
+            return Objects.equals(tenant, other.tenant)
+                    && Objects.equals(groupId, other.groupId)
+                    && Objects.equals(environment, other.environment)
+                    && Objects.equals(key, other.key);
+        }
+
+        private EffectiveConfigItemDTO toEffective(String requestedEnvironment) {
+            return new EffectiveConfigItemDTO(id, key, value, description, environment,
+                    !environment.equals(requestedEnvironment), false, valueType, typedValue, secret);
+        }
+
+        private EffectiveConfigItemDTO toStaged(String requestedEnvironment) {
+            return new EffectiveConfigItemDTO(id, key, rollout.getValue(), description, environment,
+                    !environment.equals(requestedEnvironment), true, valueType, typedRolloutValue, secret);
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package com.example.configserver.service;
+
+import com.example.configserver.dto.EnvironmentDTO;
+import com.example.configserver.model.EnvironmentDefinition;
+import com.example.configserver.repository.EnvironmentDefinitionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Immutable in-memory view of the {@code environments} table. Lookups by name or id and
+ * inheritance chains are served from a snapshot that is replaced as a whole when an
+ * environment is added, or when the periodic refresh picks up environments added by
+ * other instances. Read nodes build one over the environments they replicate, which
+ * cannot be added to.
+ */
+@Service
+@Slf4j
+public class EnvironmentRegistry {
+
+    private static final int MAX_NAME_LENGTH = 64;
+
+    // Null if environments are read-only here
+    private final EnvironmentDefinitionRepository environmentRepository;
+    private final Supplier<List<EnvironmentDefinition>> definitions;
+
+    // Loaded on first use so that starting the context does not require the database
+    private volatile Snapshot snapshot;
+
+    @Autowired
+    public EnvironmentRegistry(EnvironmentDefinitionRepository environmentRepository) {
+        this.environmentRepository = environmentRepository;
+        this.definitions = environmentRepository::findAll;
+    }
+
+    /**
+     * @param definitions The environments, read again on every refresh
+     */
+    public EnvironmentRegistry(Supplier<List<EnvironmentDefinition>> definitions) {
+        this.environmentRepository = null;
+        this.definitions = definitions;
+    }
+
+    public List<EnvironmentDTO> getAllEnvironments() {
+        return snapshot().environments;
+    }
+
+    public boolean contains(String name) {
+        return snapshot().idsByName.containsKey(name);
+    }
+
+    /**
+     * @return The id of the environment, or null if it is not registered
+     */
+    public Short idOf(String name) {
+        return snapshot().idsByName.get(name);
+    }
+
+    /**
+     * @return The name of the environment, or null if it is not registered
+     */
+    public String nameOf(Short id) {
+        String name = snapshot().nameOf(id);
+        if (name == null) {
+            // Rows only reference existing environments, so one we have not seen was
+            // added by another instance since the last refresh
+            name = refresh().nameOf(id);
+        }
+        return name;
+    }
+
+    /**
+     * @return The environment followed by its ancestors, nearest first; unknown names
+     *         do not inherit from anything
+     */
+    public List<String> lineageOf(String name) {
+        List<String> lineage = snapshot().lineages.get(name);
+        return lineage != null ? lineage : Collections.singletonList(name);
+    }
+
+    /**
+     * Validate an environment name used for a write.
+     *
+     * @throws IllegalArgumentException if the environment is not registered
+     */
+    public String requireKnown(String name) {
+        if (name == null || (!contains(name) && !refresh().idsByName.containsKey(name))) {
+            throw new IllegalArgumentException("Unknown environment: " + name);
+        }
+        return name;
+    }
+
+    public EnvironmentDTO createEnvironment(EnvironmentDTO environmentDTO) {
+        if (environmentRepository == null) {
+            throw new UnsupportedOperationException("Environments are read-only on this node");
+        }
+        String name = environmentDTO.getName() != null ? environmentDTO.getName().trim() : "";
+        if (name.isEmpty() || name.length() > MAX_NAME_LENGTH) {
+            throw new IllegalArgumentException("Environment name must be 1 to " + MAX_NAME_LENGTH + " characters");
+        }
+        if (environmentRepository.existsByName(name)) {
+            throw new IllegalArgumentException("Environment " + name + " already exists");
+        }
+        Short parentId = null;
+        if (environmentDTO.getParent() != null) {
+            parentId = snapshot().idsByName.get(environmentDTO.getParent());
+            if (parentId == null) {
+                throw new IllegalArgumentException("Unknown parent environment: " + environmentDTO.getParent());
+            }
+        }
+
+        EnvironmentDefinition saved = environmentRepository.save(new EnvironmentDefinition(null, name, parentId));
+        log.info("Registered environment {} (id {}, parent {})", name, saved.getId(), environmentDTO.getParent());
+        refresh();
+        return new EnvironmentDTO(saved.getId(), saved.getName(), environmentDTO.getParent());
+    }
+
+    @Scheduled(fixedDelayString = "${app.environments.refresh-interval-ms:60000}",
+            initialDelayString = "${app.environments.refresh-interval-ms:60000}")
+    public void scheduledRefresh() {
+        refresh();
+    }
+
+    synchronized Snapshot refresh() {
+        Snapshot loaded = new Snapshot(definitions.get());
+        snapshot = loaded;
+        return loaded;
+    }
+
+    private Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            synchronized (this) {
+                current = snapshot;
+                if (current == null) {
+                    current = refresh();
+                }
+            }
+        }
+        return current;
+    }
+
+    static final class Snapshot {
+
+        private final String[] namesById;
+        private final Map<String, Short> idsByName;
+        private final Map<String, List<String>> lineages;
+        private final List<EnvironmentDTO> environments;
+
+        Snapshot(List<EnvironmentDefinition> definitions) {
+            Map<Short, EnvironmentDefinition> byId = new HashMap<>();
+            Map<String, Short> ids = new HashMap<>();
+            int maxId = 0;
+            for (EnvironmentDefinition definition : definitions) {
+                byId.put(definition.getId(), definition);
+                ids.put(definition.getName(), definition.getId());
+                maxId = Math.max(maxId, definition.getId());
+            }
+
+            namesById = new String[maxId + 1];
+            Map<String, List<String>> chains = new HashMap<>();
+            List<EnvironmentDTO> dtos = new ArrayList<>();
+            for (EnvironmentDefinition definition : definitions) {
+                namesById[definition.getId()] = definition.getName();
+
+                List<String> lineage = new ArrayList<>();
+                EnvironmentDefinition current = definition;
+                // Bounded by the number of environments in case of a parent cycle
+                while (current != null && lineage.size() <= definitions.size()) {
+                    lineage.add(current.getName());
+                    current = current.getParentId() != null ? byId.get(current.getParentId()) : null;
+                }
+                chains.put(definition.getName(), Collections.unmodifiableList(lineage));
+
+                EnvironmentDefinition parent = definition.getParentId() != null ? byId.get(definition.getParentId()) : null;
+                dtos.add(new EnvironmentDTO(definition.getId(), definition.getName(),
+                        parent != null ? parent.getName() : null));
+            }
+            dtos.sort(Comparator.comparing(EnvironmentDTO::getId));
+
+            idsByName = Map.copyOf(ids);
+            lineages = Map.copyOf(chains);
+            environments = Collections.unmodifiableList(dtos);
+        }
+
+        String nameOf(Short id) {
+            return id >= 0 && id < namesById.length ? namesById[id] : null;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.configserver.service;
+
+import com.example.configserver.model.User;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Records login times off the login path. Logins only note the time in memory, keeping
+ * the latest one per user, and the pending times are written periodically with batched
+ * updates. A login storm therefore costs one statement per batch instead of one
+ * transaction per login.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class LastLoginRecorder {
+
+    private static final String UPDATE_LAST_LOGIN = "UPDATE users SET last_login = ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+
+    private final ConcurrentMap<Long, LocalDateTime> pending = new ConcurrentHashMap<>();
+
+    @Value("${app.security.last-login.batch-size:500}")
+    private int batchSize = 500;
+
+    public void record(Long userId, LocalDateTime loginTime) {
+        pending.merge(userId, loginTime, (previous, latest) -> latest.isAfter(previous) ? latest : previous);
+    }
+
+    @Scheduled(fixedDelayString = "${app.security.last-login.flush-interval-ms:5000}")
+    @PreDestroy
+    public void flush() {
+        int written = flushPending();
+        if (written > 0) {
+            log.debug("Recorded last login of {} users", written);
+        }
+    }
+
+    /**
+     * @return The number of users whose last login was written
+     */
+    int flushPending() {
+        List<Object[]> batch = new ArrayList<>();
+        int written = 0;
+        for (Long userId : pending.keySet()) {
+            LocalDateTime loginTime = pending.remove(userId);
+            if (loginTime != null) {
+                batch.add(new Object[]{Timestamp.valueOf(loginTime), userId});
+            }
+            if (batch.size() == batchSize) {
+                written += write(batch);
+                batch = new ArrayList<>();
+            }
+        }
+        if (!batch.isEmpty()) {
+            written += write(batch);
+        }
+        return written;
+    }
+
+    private int write(List<Object[]> batch) {
+        try {
+            jdbcTemplate.batchUpdate(UPDATE_LAST_LOGIN, batch);
+        } catch (DataAccessException e) {
+            log.warn("Could not record last login of {} users, retrying later: {}", batch.size(), e.getMessage());
+            for (Object[] row : batch) {
+                record((Long) row[1], ((Timestamp) row[0]).toLocalDateTime());
+            }
+            return 0;
+        }
+        // Written behind Hibernate's back, so drop the cached copies. Cache keys include the
+        // tenant, which evicting by ID alone would not match, so the whole region goes
+        entityManagerFactory.getCache().evict(User.class);
+        return batch.size();
+    }
+
+    int pendingCount() {
+        return pending.size();
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.configserver.service;
+
+import com.example.configserver.repository.PasswordResetTokenRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+
+/**
+ * Periodically removes expired password reset tokens so abandoned reset requests
+ * do not accumulate in the token table.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PasswordResetTokenPurgeService {
+
+    private final PasswordResetTokenRepository tokenRepository;
+
+    @Value("${app.password-reset-purge.batch-size:500}")
+    private int batchSize = 500;
+
+    @Value("${app.password-reset-purge.max-batches:100}")
+    private int maxBatches = 100;
+
+    @Scheduled(cron = "${app.password-reset-purge.cron:0 0 * * * *}")
+    public void purgeExpiredTokens() {
+        int purged = purgeExpiredTokens(LocalDateTime.now());
+        if (purged > 0) {
+            log.info("Purged {} expired password reset tokens", purged);
+        }
+    }
+
+    /**
+     * Delete expired tokens in batches until none are left or the batch limit is reached.
+     *
+     * @param cutoff Tokens that expired before this instant are deleted
+     * @return The total number of deleted tokens
+     */
+    public int purgeExpiredTokens(LocalDateTime cutoff) {
+        int total = 0;
+        for (int batch = 0; batch < maxBatches; batch++) {
+            int deleted = tokenRepository.deleteExpiredBatch(cutoff, batchSize);
+            total += deleted;
+            if (deleted < batchSize) {
+                break;
+            }
+        }
+        return total;
+    }
+}
@@ -0,0 +1,329 @@
+package com.example.configserver.service;
+
+import com.example.configserver.dto.ReplicatedChange;
+import com.example.configserver.dto.ReplicationHeartbeat;
+import com.example.configserver.dto.ReplicationSnapshot;
+import com.example.configserver.dto.TenantSnapshot;
+import com.example.configserver.model.ConfigurationGroup;
+import com.example.configserver.model.ConfigurationItem;
+import com.example.configserver.repository.ConfigurationGroupRepository;
+import com.example.configserver.repository.ConfigurationItemRepository;
+import com.example.configserver.repository.EnvironmentDefinitionRepository;
+import com.example.configserver.security.RemoteCaller;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The primary's side of read node replication: full and per-group snapshots of the
+ * configuration, and a feed of {@link ReplicatedChange}s that read nodes follow to know
+ * which groups to fetch again.
+ * <p>
+ * The feed carries every change this node learns of, including those committed on other
+ * nodes (see {@code ConfigChangeSubscriber}), so a read node can follow any primary.
+ * <p>
+ * Each read node has its own queue of feed events, sent in the order the changes were
+ * published, so a read node that stops reading holds up only itself. One that falls
+ * {@code app.replication.max-pending-events} behind, or whose send has been stuck for
+ * {@code app.replication.send-timeout-ms}, is dropped; it reconnects and loads a fresh
+ * snapshot.
+ */
+@Service
+@Slf4j
+public class ReplicationService {
+
+    private static final String TENANTS =
+            "SELECT tenant FROM configuration_groups UNION SELECT tenant FROM configuration_revisions";
+
+    private static final String REVISIONS = "SELECT tenant, revision FROM configuration_revisions";
+
+    private final ConfigurationGroupRepository groupRepository;
+    private final ConfigurationItemRepository itemRepository;
+    private final EnvironmentDefinitionRepository environmentRepository;
+    private final ConfigurationRevisions revisions;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate snapshotTransaction;
+
+    private final Set<Follower> followers = new CopyOnWriteArraySet<>();
+    // A thread per follower at most, as each sends to its read node one event at a time
+    private final AtomicInteger senderCount = new AtomicInteger();
+    private final ExecutorService senders = Executors.newCachedThreadPool(task -> {
+        Thread thread = new Thread(task, "replication-feed-" + senderCount.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Value("${app.replication.max-pending-events:256}")
+    private int maxPendingEvents = 256;
+
+    @Value("${app.replication.send-timeout-ms:30000}")
+    private long sendTimeoutMillis = 30000;
+
+    public ReplicationService(ConfigurationGroupRepository groupRepository,
+                              ConfigurationItemRepository itemRepository,
+                              EnvironmentDefinitionRepository environmentRepository,
+                              ConfigurationRevisions revisions, JdbcTemplate jdbcTemplate,
+                              PlatformTransactionManager transactionManager) {
+        this.groupRepository = groupRepository;
+        this.itemRepository = itemRepository;
+        this.environmentRepository = environmentRepository;
+        this.revisions = revisions;
+        this.jdbcTemplate = jdbcTemplate;
+        // The revision and the rows it describes are read from one database snapshot
+        this.snapshotTransaction = new TransactionTemplate(transactionManager);
+        snapshotTransaction.setReadOnly(true);
+        snapshotTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+    }
+
+    /**
+     * Each tenant is read in a REPEATABLE READ transaction of its own, together with its
+     * revision: a Hibernate session is bound to one tenant. Tenants' revisions are
+     * independent, so the snapshot is consistent per tenant, not across tenants; changes
+     * to a tenant already read reach the read node through the feed it opened first.
+     *
+     * @return All groups and items of every tenant
+     */
+    public ReplicationSnapshot snapshot() {
+        long takenAt = System.currentTimeMillis();
+        List<String> tenants = jdbcTemplate.queryForList(TENANTS, String.class);
+        List<TenantSnapshot> snapshots = new ArrayList<>(tenants.size());
+        for (String tenant : tenants) {
+            snapshots.add(snapshot(tenant, null));
+        }
+        return new ReplicationSnapshot(takenAt, snapshots);
+    }
+
+    /**
+     * @param groupIds The groups to include, or null for all of the tenant's groups
+     * @return The tenant's groups, each with its items; requested groups that do not
+     *         exist are left out
+     */
+    public TenantSnapshot snapshot(String tenant, Collection<Long> groupIds) {
+        return new RemoteCaller(tenant, null).call(() -> snapshotTransaction.execute(status -> {
+            long revision = revisions.currentRevision();
+            List<ConfigurationGroup> groups = groupIds != null
+                    ? groupRepository.findAllById(groupIds)
+                    : groupRepository.findAll();
+            List<ConfigurationItem> items = new ArrayList<>();
+            if (groupIds != null) {
+                for (ConfigurationGroup group : groups) {
+                    items.addAll(itemRepository.findByGroup_Id(group.getId()));
+                }
+            } else {
+                items.addAll(itemRepository.findAll());
+            }
+            return new TenantSnapshot(tenant, revision, detached(groups, items));
+        }));
+    }
+
+    /**
+     * Add a read node to the feed. It is sent a {@link ReplicationHeartbeat} straight away,
+     * so it knows the feed is open before it takes its snapshot.
+     */
+    public SseEmitter follow() {
+        // No timeout; heartbeats find connections that died
+        return follow(new SseEmitter(0L));
+    }
+
+    SseEmitter follow(SseEmitter emitter) {
+        Follower follower = new Follower(emitter);
+        emitter.onCompletion(() -> followers.remove(follower));
+        emitter.onTimeout(() -> followers.remove(follower));
+        emitter.onError(e -> followers.remove(follower));
+        followers.add(follower);
+        follower.enqueue("heartbeat", heartbeat());
+        log.info("Read node joined the replication feed ({} following)", followers.size());
+        return emitter;
+    }
+
+    @EventListener
+    public void onConfigurationChanged(ConfigurationChangedEvent event) {
+        if (followers.isEmpty()) {
+            return;
+        }
+        ReplicatedChange change = new ReplicatedChange(event.getTenant(), event.getRevision(), event.getGroupIds(),
+                System.currentTimeMillis());
+        broadcast("change", change);
+    }
+
+    @Scheduled(fixedDelayString = "${app.replication.heartbeat-interval-ms:10000}")
+    public void sendHeartbeats() {
+        if (!followers.isEmpty()) {
+            broadcast("heartbeat", heartbeat());
+        }
+    }
+
+    public int followerCount() {
+        return followers.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        senders.shutdownNow();
+        for (Follower follower : followers) {
+            follower.emitter.complete();
+        }
+    }
+
+    private ReplicationHeartbeat heartbeat() {
+        Map<String, Long> latest = new HashMap<>();
+        jdbcTemplate.query(REVISIONS, (RowCallbackHandler) rs -> {
+            latest.put(rs.getString("tenant"), rs.getLong("revision"));
+        });
+        return new ReplicationHeartbeat(System.currentTimeMillis(), latest, environmentRepository.findAll());
+    }
+
+    private void broadcast(String name, Object data) {
+        for (Follower follower : followers) {
+            follower.enqueue(name, data);
+        }
+    }
+
+    /**
+     * A read node on the feed and the events not yet sent to it. At most one sender
+     * drains the queue at a time, so events go out in order.
+     */
+    private final class Follower {
+
+        private final SseEmitter emitter;
+        private final Queue<SseEmitter.SseEventBuilder> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger pendingCount = new AtomicInteger();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        // Epoch millis the send in progress started at, 0 if none is
+        private volatile long sendingSince;
+        private volatile boolean dropped;
+
+        Follower(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        void enqueue(String name, Object data) {
+            if (dropped) {
+                return;
+            }
+            long since = sendingSince;
+            if (since > 0 && System.currentTimeMillis() - since > sendTimeoutMillis) {
+                drop("a send has been stuck for over " + sendTimeoutMillis + " ms");
+                return;
+            }
+            if (pendingCount.incrementAndGet() > maxPendingEvents) {
+                drop("it is " + maxPendingEvents + " events behind");
+                return;
+            }
+            pending.add(SseEmitter.event().name(name).data(data));
+            schedule();
+        }
+
+        private void schedule() {
+            if (!draining.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                senders.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                draining.set(false);
+                log.debug("Replication feed is shut down: {}", e.getMessage());
+            }
+        }
+
+        private void drain() {
+            try {
+                SseEmitter.SseEventBuilder event;
+                while (!dropped && (event = pending.poll()) != null) {
+                    pendingCount.decrementAndGet();
+                    sendingSince = System.currentTimeMillis();
+                    try {
+                        emitter.send(event);
+                    } catch (IOException | IllegalStateException e) {
+                        log.info("Read node left the replication feed: {}", e.getMessage());
+                        dropped = true;
+                        followers.remove(this);
+                        emitter.completeWithError(e);
+                        return;
+                    } finally {
+                        sendingSince = 0;
+                    }
+                }
+                if (dropped) {
+                    // Completed here rather than by whoever dropped it, who would block
+                    // on the emitter while a send is stuck
+                    emitter.complete();
+                    return;
+                }
+            } finally {
+                draining.set(false);
+            }
+            // Queued after the last poll, while this sender still looked busy
+            if (!pending.isEmpty()) {
+                schedule();
+            }
+        }
+
+        private void drop(String reason) {
+            dropped = true;
+            followers.remove(this);
+            pending.clear();
+            log.warn("Dropped a read node from the replication feed: {}", reason);
+            schedule();
+        }
+    }
+
+    // Plain copies, so serializing them never touches a lazy association
+    private static List<ConfigurationGroup> detached(List<ConfigurationGroup> groups, List<ConfigurationItem> items) {
+        List<ConfigurationGroup> sortedGroups = new ArrayList<>(groups);
+        sortedGroups.sort(Comparator.comparing(ConfigurationGroup::getId));
+        Map<Long, ConfigurationGroup> copies = new LinkedHashMap<>();
+        for (ConfigurationGroup group : sortedGroups) {
+            copies.put(group.getId(), new ConfigurationGroup(group.getId(), group.getName(), group.getDescription(),
+                    new ArrayList<>(), group.getTenant()));
+        }
+        List<ConfigurationItem> sortedItems = new ArrayList<>(items);
+        sortedItems.sort(Comparator.comparing(ConfigurationItem::getId));
+        for (ConfigurationItem item : sortedItems) {
+            ConfigurationGroup group = copies.get(item.getGroupId());
+            if (group != null) {
+                ConfigurationItem copy = new ConfigurationItem();
+                copy.setId(item.getId());
+                copy.setKey(item.getKey());
+                copy.setValue(item.getValue());
+                copy.setDescription(item.getDescription());
+                copy.setValueType(item.getValueType());
+                copy.setSecret(item.isSecret());
+                copy.setRollout(item.getRollout());
+                copy.setEnvironment(item.getEnvironment());
+                copy.setVersion(item.getVersion());
+                copy.setGroupId(group.getId());
+                copy.setTenant(item.getTenant());
+                group.getItems().add(copy);
+            }
+        }
+        return new ArrayList<>(copies.values());
+    }
+}
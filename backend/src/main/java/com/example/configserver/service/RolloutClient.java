@@ -0,0 +1,70 @@
+package com.example.configserver.service;
+
+import java.util.Collection;
+
+/**
+ * The identity a client resolves configuration as: the rollout bucket its client ID
+ * hashes to and its labels. Built once per request, so matching it against the compiled
+ * rollout rules of a view does not allocate.
+ */
+public final class RolloutClient {
+
+    public static final int BUCKETS = 100;
+
+    /** A client without ID or labels; it only sees rollouts at 100%. */
+    public static final RolloutClient ANONYMOUS = new RolloutClient(BUCKETS, new String[0]);
+
+    private final int bucket;
+    private final String[] labels;
+
+    private RolloutClient(int bucket, String[] labels) {
+        this.bucket = bucket;
+        this.labels = labels;
+    }
+
+    /**
+     * @param clientId A stable client ID, e.g. the pod or host name; may be null
+     * @param labels The client's labels; may be null
+     */
+    public static RolloutClient of(String clientId, Collection<String> labels) {
+        if ((clientId == null || clientId.isEmpty()) && (labels == null || labels.isEmpty())) {
+            return ANONYMOUS;
+        }
+        String[] normalized = labels == null ? new String[0] : labels.stream()
+                .filter(label -> label != null && !label.trim().isEmpty())
+                .map(String::trim)
+                .distinct()
+                .toArray(String[]::new);
+        return new RolloutClient(clientId == null || clientId.isEmpty() ? BUCKETS : bucketOf(clientId), normalized);
+    }
+
+    /**
+     * @return The client's bucket in [0, 100), stable across instances and restarts
+     */
+    static int bucketOf(String clientId) {
+        // String.hashCode is specified, so every instance agrees; the finalizer from
+        // MurmurHash3 spreads similar IDs (pod-1, pod-2, ...) across buckets
+        int h = clientId.hashCode();
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return Math.floorMod(h, BUCKETS);
+    }
+
+    int bucket() {
+        return bucket;
+    }
+
+    boolean hasAnyLabel(String[] candidates) {
+        for (String candidate : candidates) {
+            for (String label : labels) {
+                if (label.equals(candidate)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
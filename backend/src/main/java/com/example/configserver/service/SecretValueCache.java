@@ -0,0 +1,72 @@
+package com.example.configserver.service;
+
+import com.example.configserver.security.SecretCipher;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Decrypted secret values, kept briefly so that reading a group with many secrets does
+ * not cost a decryption per item per read. Entries are keyed by the envelope, so a
+ * changed secret is a new entry, and plaintext never outlives the TTL by more than one
+ * purge interval.
+ */
+@Service
+@RequiredArgsConstructor
+public class SecretValueCache {
+
+    private final SecretCipher cipher;
+
+    private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+    @Value("${app.secrets.cache-ttl-ms:60000}")
+    private long ttlMs = 60000;
+
+    @Value("${app.secrets.cache-max-entries:10000}")
+    private int maxEntries = 10000;
+
+    /**
+     * @param context The context the envelope was encrypted with, see {@link SecretCipher}
+     * @throws IllegalArgumentException if the envelope cannot be decrypted under the context
+     */
+    public String decrypt(String envelope, String context) {
+        long now = System.currentTimeMillis();
+        Entry entry = entries.get(envelope);
+        // An envelope opens under one context only, so a hit under another is no hit
+        if (entry != null && entry.expiresAt > now && entry.context.equals(context)) {
+            return entry.plaintext;
+        }
+        String plaintext = cipher.decrypt(envelope, context);
+        if (entries.size() < maxEntries) {
+            entries.put(envelope, new Entry(context, plaintext, now + ttlMs));
+        }
+        return plaintext;
+    }
+
+    @Scheduled(fixedDelayString = "${app.secrets.cache-purge-interval-ms:30000}")
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        entries.values().removeIf(entry -> entry.expiresAt <= now);
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private static final class Entry {
+
+        private final String context;
+        private final String plaintext;
+        private final long expiresAt;
+
+        Entry(String context, String plaintext, long expiresAt) {
+            this.context = context;
+            this.plaintext = plaintext;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -6,6 +6,7 @@ import com.example.configserver.model.PasswordResetToken;
 import com.example.configserver.model.User;
 import com.example.configserver.repository.PasswordResetTokenRepository;
 import com.example.configserver.repository.UserRepository;
+import com.example.configserver.security.TokenRevocationList;
 import com.example.configserver.service.EmailService;
 import com.example.configserver.service.UserService;
 import jakarta.persistence.EntityNotFoundException;
@@ -31,6 +32,7 @@ public class UserServiceImpl implements UserService {
     private final PasswordResetTokenRepository tokenRepository;
     private final PasswordEncoder passwordEncoder;
     private final EmailService emailService;
+    private final TokenRevocationList revocationList;
     
     @Value("${app.url}")
     private String appUrl;
@@ -76,6 +78,10 @@ public class UserServiceImpl implements UserService {
         if(user.isPresent()) {
             // Update the user with a temporary password
             user.get().setEmail(request.getEmail());
+            if (user.get().getRole() != request.getRole()) {
+                // Outstanding tokens still carry the old role
+                revokeTokens(user.get());
+            }
             user.get().setRole(request.getRole());
             user.get().setEnabled(true);
             User savedUser = userRepository.save(user.get());
@@ -100,9 +106,7 @@ public class UserServiceImpl implements UserService {
     @Override
     @Transactional(readOnly = true)
     public boolean validatePasswordResetToken(String token) {
-        return tokenRepository.findByToken(token)
-                .map(resetToken -> !resetToken.isExpired())
-                .orElse(false);
+        return tokenRepository.existsByTokenAndExpiryDateAfter(token, LocalDateTime.now());
     }
 
     @Override
@@ -122,6 +126,7 @@ public class UserServiceImpl implements UserService {
         
         User user = resetToken.getUser();
         user.setPassword(passwordEncoder.encode(request.getPassword()));
+        revokeTokens(user);
         userRepository.save(user);
         
         tokenRepository.delete(resetToken);
@@ -146,6 +151,7 @@ public class UserServiceImpl implements UserService {
             User user = userRepository.findById(id).get();
             // Delete any associated password reset tokens
             tokenRepository.deleteByUser(user);
+            revocationList.revokeUser(user.getTenant(), user.getUsername());
             // Delete the user
             userRepository.deleteById(id);
             return true;
@@ -153,6 +159,11 @@ public class UserServiceImpl implements UserService {
         return false;
     }
 
+    private void revokeTokens(User user) {
+        user.setTokensRevokedAt(LocalDateTime.now());
+        revocationList.revokeUser(user.getTenant(), user.getUsername());
+    }
+
     private String generateTokenForUser(User user) {
         // Delete any existing tokens for this user
         tokenRepository.deleteByUser(user);
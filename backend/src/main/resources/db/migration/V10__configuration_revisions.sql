@@ -0,0 +1,11 @@
+-- Revision of each tenant's configuration, bumped once per committed change: a single
+-- group or item write, or a whole change set. Audit rows record the revision they were
+-- written in, so the rows of one change set can be read back together.
+CREATE TABLE configuration_revisions (
+    tenant   VARCHAR(64) PRIMARY KEY,
+    revision BIGINT      NOT NULL
+);
+
+ALTER TABLE audit_logs ADD COLUMN revision BIGINT;
+
+CREATE INDEX idx_audit_logs_tenant_revision ON audit_logs (tenant, revision);
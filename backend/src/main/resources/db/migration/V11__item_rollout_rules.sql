@@ -0,0 +1,6 @@
+-- Staged rollout of an item's value to a share of clients (by client ID hash) and/or to
+-- clients with given labels. All three are null for items that are not rolling out.
+ALTER TABLE configuration_items
+    ADD COLUMN rollout_value      TEXT,
+    ADD COLUMN rollout_percentage INTEGER CHECK (rollout_percentage BETWEEN 0 AND 100),
+    ADD COLUMN rollout_labels     VARCHAR(1024);
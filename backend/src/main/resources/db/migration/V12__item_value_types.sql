@@ -0,0 +1,3 @@
+-- Optional type of an item's value, validated on write; null for untyped strings
+ALTER TABLE configuration_items
+    ADD COLUMN value_type VARCHAR(16) CHECK (value_type IN ('INT', 'LONG', 'BOOL', 'DURATION', 'URL', 'JSON'));
@@ -0,0 +1,3 @@
+-- Secret items store their values envelope-encrypted (see SecretCipher)
+ALTER TABLE configuration_items
+    ADD COLUMN secret BOOLEAN NOT NULL DEFAULT FALSE;
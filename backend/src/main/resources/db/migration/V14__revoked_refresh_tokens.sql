@@ -0,0 +1,9 @@
+-- Used refresh tokens and revoked refresh token families, by id, until they expire.
+-- Shared by all instances, so a refresh token replayed against another instance is
+-- still caught and a family revoked on one instance is revoked on all of them.
+CREATE TABLE revoked_refresh_tokens (
+    token_id   VARCHAR(64)  PRIMARY KEY,
+    expires_at TIMESTAMP(6) NOT NULL
+);
+
+CREATE INDEX idx_revoked_refresh_tokens_expires_at ON revoked_refresh_tokens (expires_at);
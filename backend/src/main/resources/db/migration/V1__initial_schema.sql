@@ -0,0 +1,49 @@
+-- Schema previously generated by ddl-auto: update. IF NOT EXISTS lets databases created
+-- that way be adopted (baseline-on-migrate) without recreating their tables.
+
+CREATE TABLE IF NOT EXISTS configuration_groups (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name        VARCHAR(255) NOT NULL,
+    description TEXT,
+    CONSTRAINT uk_configuration_groups_name UNIQUE (name)
+);
+
+CREATE TABLE IF NOT EXISTS configuration_items (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    key         VARCHAR(255) NOT NULL,
+    value       TEXT         NOT NULL,
+    description TEXT,
+    environment VARCHAR(255) NOT NULL,
+    group_id    BIGINT       NOT NULL REFERENCES configuration_groups (id),
+    CONSTRAINT uk_configuration_items_key_environment_group UNIQUE (key, environment, group_id)
+);
+
+CREATE TABLE IF NOT EXISTS users (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    username   VARCHAR(255) NOT NULL,
+    password   VARCHAR(255) NOT NULL,
+    email      VARCHAR(255) NOT NULL,
+    role       VARCHAR(255) CHECK (role IN ('ADMIN', 'EDITOR', 'READ_ONLY')),
+    enabled    BOOLEAN      NOT NULL DEFAULT FALSE,
+    last_login TIMESTAMP(6),
+    CONSTRAINT uk_users_username UNIQUE (username)
+);
+
+CREATE TABLE IF NOT EXISTS password_reset_tokens (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    token       VARCHAR(255) NOT NULL,
+    user_id     BIGINT       NOT NULL REFERENCES users (id),
+    expiry_date TIMESTAMP(6) NOT NULL,
+    CONSTRAINT uk_password_reset_tokens_token UNIQUE (token)
+);
+
+CREATE TABLE IF NOT EXISTS audit_logs (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    action      VARCHAR(255) NOT NULL,
+    entity_type VARCHAR(255) NOT NULL,
+    entity_id   BIGINT       NOT NULL,
+    old_value   TEXT,
+    new_value   TEXT,
+    user_id     VARCHAR(255) NOT NULL,
+    timestamp   TIMESTAMP(6) NOT NULL
+);
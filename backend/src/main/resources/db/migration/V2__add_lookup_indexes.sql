@@ -0,0 +1,23 @@
+-- Indexes for the repository lookups that previously fell back to sequential scans.
+
+-- findByGroup_Id / findByGroup_IdAndEnvironment (the unique key leads with "key")
+CREATE INDEX IF NOT EXISTS idx_configuration_items_group_environment
+    ON configuration_items (group_id, environment);
+
+-- AuditLogRepository.findByEntityTypeAndEntityId
+CREATE INDEX IF NOT EXISTS idx_audit_logs_entity
+    ON audit_logs (entity_type, entity_id);
+
+-- AuditLogRepository.findTop100ByOrderByTimestampDesc
+CREATE INDEX IF NOT EXISTS idx_audit_logs_timestamp
+    ON audit_logs (timestamp DESC);
+
+-- UserRepository.findByEmail (forgot-password)
+CREATE INDEX IF NOT EXISTS idx_users_email
+    ON users (email);
+
+-- Scheduled purge of expired tokens and deleteByUser
+CREATE INDEX IF NOT EXISTS idx_password_reset_tokens_expiry_date
+    ON password_reset_tokens (expiry_date);
+CREATE INDEX IF NOT EXISTS idx_password_reset_tokens_user
+    ON password_reset_tokens (user_id);
@@ -0,0 +1,31 @@
+-- Sample configuration groups and items, previously created one by one through the
+-- service layer on every boot. Set-based and conflict-tolerant, so databases that were
+-- already seeded that way are left untouched.
+
+INSERT INTO configuration_groups (name, description)
+VALUES ('api-service', 'API Gateway Configuration'),
+       ('user-service', 'User Management Service Configuration'),
+       ('payment-service', 'Payment Processing Service Configuration'),
+       ('notification-service', 'Notification Service Configuration')
+ON CONFLICT (name) DO NOTHING;
+
+INSERT INTO configuration_items (key, value, description, environment, group_id)
+SELECT seed.key, env.value, seed.description, env.environment, g.id
+FROM (VALUES
+        ('api-service', 'api.timeout', 'Connection timeout in seconds', '30', '20', '10'),
+        ('api-service', 'api.max-connections', 'Maximum number of concurrent connections', '100', '200', '500'),
+        ('user-service', 'user.session.timeout', 'User session timeout in minutes', '60', '45', '30'),
+        ('user-service', 'user.password.expiry', 'Password expiry in days', '90', '60', '30'),
+        ('payment-service', 'payment.retry.count', 'Number of payment retry attempts', '3', '3', '5'),
+        ('payment-service', 'payment.gateway.url', 'Payment gateway URL',
+         'https://dev-payment-gateway.example.com', 'https://stage-payment-gateway.example.com',
+         'https://payment-gateway.example.com'),
+        ('notification-service', 'notification.email.from', 'From email address for notifications',
+         'dev-noreply@example.com', 'stage-noreply@example.com', 'noreply@example.com'),
+        ('notification-service', 'notification.sms.enabled', 'Flag to enable SMS notifications', 'true', 'true', 'true')
+     ) AS seed (group_name, key, description, dev_value, stage_value, prod_value)
+CROSS JOIN LATERAL (VALUES ('DEV', seed.dev_value),
+                           ('STAGE', seed.stage_value),
+                           ('PROD', seed.prod_value)) AS env (environment, value)
+JOIN configuration_groups g ON g.name = seed.group_name
+ON CONFLICT (key, environment, group_id) DO NOTHING;
@@ -0,0 +1,37 @@
+-- Environments become data: a small table referenced by SMALLINT id instead of the
+-- environment name being repeated as VARCHAR on every item and index entry.
+
+CREATE TABLE environments (
+    id        SMALLINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name      VARCHAR(64) NOT NULL,
+    parent_id SMALLINT REFERENCES environments (id),
+    CONSTRAINT uk_environments_name UNIQUE (name)
+);
+
+INSERT INTO environments (name) VALUES ('BASE');
+INSERT INTO environments (name, parent_id)
+SELECT name, (SELECT id FROM environments WHERE name = 'BASE')
+FROM (VALUES ('DEV'), ('TEST'), ('STAGE'), ('PROD')) AS builtin (name);
+
+-- Keep any other environment names already used by items, without a parent
+INSERT INTO environments (name)
+SELECT DISTINCT environment FROM configuration_items
+ON CONFLICT (name) DO NOTHING;
+
+ALTER TABLE configuration_items ADD COLUMN environment_id SMALLINT REFERENCES environments (id);
+
+UPDATE configuration_items ci
+SET environment_id = e.id
+FROM environments e
+WHERE e.name = ci.environment;
+
+ALTER TABLE configuration_items ALTER COLUMN environment_id SET NOT NULL;
+
+-- Also drops the unique key and index that include the old column
+ALTER TABLE configuration_items DROP COLUMN environment;
+
+ALTER TABLE configuration_items
+    ADD CONSTRAINT uk_configuration_items_key_environment_group UNIQUE (key, environment_id, group_id);
+
+CREATE INDEX idx_configuration_items_group_environment
+    ON configuration_items (group_id, environment_id);
@@ -0,0 +1,22 @@
+-- Tenant (namespace) dimension. Existing rows belong to the "default" tenant; the
+-- column default also covers rows written by native SQL, Hibernate always sets it.
+
+ALTER TABLE configuration_groups ADD COLUMN tenant VARCHAR(64) NOT NULL DEFAULT 'default';
+ALTER TABLE configuration_items  ADD COLUMN tenant VARCHAR(64) NOT NULL DEFAULT 'default';
+ALTER TABLE users                ADD COLUMN tenant VARCHAR(64) NOT NULL DEFAULT 'default';
+ALTER TABLE audit_logs           ADD COLUMN tenant VARCHAR(64) NOT NULL DEFAULT 'default';
+
+-- Group names and usernames are unique per tenant; the keys lead with tenant so they
+-- also serve the tenant-filtered findByName / findByUsername lookups
+ALTER TABLE configuration_groups DROP CONSTRAINT IF EXISTS uk_configuration_groups_name;
+ALTER TABLE configuration_groups
+    ADD CONSTRAINT uk_configuration_groups_tenant_name UNIQUE (tenant, name);
+
+ALTER TABLE users DROP CONSTRAINT IF EXISTS uk_users_username;
+ALTER TABLE users
+    ADD CONSTRAINT uk_users_tenant_username UNIQUE (tenant, username);
+
+-- findTop100ByOrderByTimestampDesc, now per tenant
+DROP INDEX IF EXISTS idx_audit_logs_timestamp;
+CREATE INDEX IF NOT EXISTS idx_audit_logs_tenant_timestamp
+    ON audit_logs (tenant, timestamp DESC);
@@ -0,0 +1,7 @@
+-- Token buckets shared by all instances when app.rate-limit.store=jdbc. A bucket is
+-- the time (epoch microseconds, database clock) at which it will be full again.
+-- UNLOGGED: buckets are throwaway state and are written on every limited request.
+CREATE UNLOGGED TABLE IF NOT EXISTS rate_limit_buckets (
+    bucket_key     VARCHAR(512) PRIMARY KEY,
+    arrival_micros BIGINT       NOT NULL
+);
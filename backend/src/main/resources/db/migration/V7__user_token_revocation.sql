@@ -0,0 +1,3 @@
+-- Tokens issued to a user up to this time are rejected at refresh (account disabled,
+-- role or password changed, user deleted)
+ALTER TABLE users ADD COLUMN tokens_revoked_at TIMESTAMP(6);
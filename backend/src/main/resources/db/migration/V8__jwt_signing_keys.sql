@@ -0,0 +1,9 @@
+-- Asymmetric token signing keys shared by all instances. Public keys are published at
+-- /.well-known/jwks.json; a key is removed once no token it signed can still be valid.
+CREATE TABLE jwt_signing_keys (
+    kid         VARCHAR(64)  PRIMARY KEY,
+    algorithm   VARCHAR(16)  NOT NULL,
+    public_key  TEXT         NOT NULL,
+    private_key TEXT         NOT NULL,
+    created_at  TIMESTAMP(6) NOT NULL
+);
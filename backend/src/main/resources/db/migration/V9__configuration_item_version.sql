@@ -0,0 +1,2 @@
+-- Optimistic lock column; writes are conditional on it (UPDATE ... WHERE id = ? AND version = ?)
+ALTER TABLE configuration_items ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,156 @@
+package com.example.configserver.benchmark;
+
+import com.example.configserver.config.SecurityConfig;
+import com.example.configserver.security.AccessRule;
+import com.example.configserver.security.CompiledAuthorizationManager;
+import com.example.configserver.security.RouteAccess;
+import com.example.configserver.security.RouteAuthorizationTable;
+import jakarta.servlet.http.HttpServletRequest;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.Expression;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.access.expression.ExpressionUtils;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authorization.AuthenticatedAuthorizationManager;
+import org.springframework.security.authorization.AuthorityAuthorizationManager;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.web.access.expression.DefaultHttpSecurityExpressionHandler;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+import org.springframework.security.web.access.intercept.RequestMatcherDelegatingAuthorizationManager;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.AnyRequestMatcher;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Per-request authorization cost of the classic matcher chain plus {@code @PreAuthorize}
+ * SpEL evaluation ("before") versus the compiled route table ("after").
+ * <p>
+ * Run {@link #main(String[])} from the IDE, or from {@code backend/}:
+ * <pre>
+ * mvn test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ * java -cp target/test-classes:target/classes:$(cat target/cp.txt) \
+ *     com.example.configserver.benchmark.AuthorizationBenchmark
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AuthorizationBenchmark {
+
+    /**
+     * Representative traffic mix: public reads, admin writes and user management.
+     */
+    private static final String[][] REQUESTS = {
+            {"GET", "/api/items/group/3/environment/PROD", null},
+            {"GET", "/api/groups/2", null},
+            {"PUT", "/api/items/17", "hasRole('ADMIN')"},
+            {"POST", "/api/config-items", "hasRole('ADMIN')"},
+            {"DELETE", "/api/users/5", "hasAuthority('ADMIN')"},
+            {"GET", "/api/users", "hasAuthority('ADMIN')"}
+    };
+
+    private final Supplier<Authentication> admin = () -> new UsernamePasswordAuthenticationToken(
+            "admin", null, AuthorityUtils.createAuthorityList("ADMIN"));
+
+    private RequestAuthorizationContext[] contexts;
+    private Expression[] preAuthorize;
+    private AuthorizationManager<HttpServletRequest> matcherChain;
+    private DefaultHttpSecurityExpressionHandler expressionHandler;
+    private CompiledAuthorizationManager compiled;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        contexts = new RequestAuthorizationContext[REQUESTS.length];
+        preAuthorize = new Expression[REQUESTS.length];
+        SpelExpressionParser parser = new SpelExpressionParser();
+        for (int i = 0; i < REQUESTS.length; i++) {
+            MockHttpServletRequest request = new MockHttpServletRequest(REQUESTS[i][0], REQUESTS[i][1]);
+            request.setServletPath(REQUESTS[i][1]);
+            contexts[i] = new RequestAuthorizationContext(request, Map.of());
+            preAuthorize[i] = REQUESTS[i][2] != null
+                    ? parser.parseExpression(REQUESTS[i][2].replace("hasRole('", "hasAuthority('"))
+                    : null;
+        }
+
+        RequestMatcherDelegatingAuthorizationManager.Builder chain = RequestMatcherDelegatingAuthorizationManager.builder();
+        for (AccessRule rule : SecurityConfig.ACCESS_RULES) {
+            AntPathRequestMatcher matcher = new AntPathRequestMatcher(rule.getPattern(),
+                    rule.getMethod() != null ? rule.getMethod().name() : null);
+            chain.add(matcher, toManager(rule.getAccess()));
+        }
+        chain.add(AnyRequestMatcher.INSTANCE, AuthenticatedAuthorizationManager.authenticated());
+        matcherChain = chain.build();
+        expressionHandler = new DefaultHttpSecurityExpressionHandler();
+
+        // No web application context here, so register the routes the controllers'
+        // handler mappings would otherwise contribute
+        compiled = new CompiledAuthorizationManager(RouteAuthorizationTable.builder(SecurityConfig.ACCESS_RULES)
+                .route("GET", "/api/items/group/{groupId}/environment/{environment}", null)
+                .route("GET", "/api/groups/{id}", null)
+                .route("PUT", "/api/items/{id}", "hasRole('ADMIN')")
+                .route("POST", "/api/config-items", "hasRole('ADMIN')")
+                .route("DELETE", "/api/users/{id}", "hasAuthority('ADMIN')")
+                .route("GET", "/api/users", "hasAuthority('ADMIN')")
+                .build());
+    }
+
+    @Benchmark
+    public boolean matcherChainWithSpel() {
+        int i = next();
+        RequestAuthorizationContext context = contexts[i];
+        AuthorizationDecision decision = matcherChain.check(admin, context.getRequest());
+        if (decision == null || !decision.isGranted()) {
+            return false;
+        }
+        if (preAuthorize[i] == null) {
+            return true;
+        }
+        EvaluationContext evaluationContext = expressionHandler.createEvaluationContext(admin, context);
+        return ExpressionUtils.evaluateAsBoolean(preAuthorize[i], evaluationContext);
+    }
+
+    @Benchmark
+    public boolean compiledTable() {
+        return compiled.check(admin, contexts[next()]).isGranted();
+    }
+
+    private int next() {
+        int i = next;
+        next = i + 1 == REQUESTS.length ? 0 : i + 1;
+        return i;
+    }
+
+    private static AuthorizationManager<RequestAuthorizationContext> toManager(RouteAccess access) {
+        if (access.isPermitAll()) {
+            return (authentication, context) -> new AuthorizationDecision(true);
+        }
+        if (access.isAuthenticatedOnly()) {
+            return AuthenticatedAuthorizationManager.authenticated();
+        }
+        return AuthorityAuthorizationManager.hasAnyAuthority(
+                access.getRoles().stream().map(Enum::name).toArray(String[]::new));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(AuthorizationBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,166 @@
+package com.example.configserver.benchmark;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.jar.JarEntry;
+import java.util.jar.JarInputStream;
+import java.util.jar.JarOutputStream;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Boot time of the packaged application with and without a class data sharing archive
+ * and AOT processing. Every run uses the {@code training} profile, which refreshes the
+ * context without a database and exits as soon as the application is ready; the time
+ * reported by {@code StartupExitListener} and the process wall time are printed per run.
+ * <p>
+ * The fat jar is unpacked the same way as in the Dockerfile. Run from {@code backend/}:
+ * <pre>
+ * mvn package -DskipTests          (add -Paot for the aot variants)
+ * java -cp target/test-classes com.example.configserver.benchmark.StartupBenchmark [iterations] [variants]
+ * </pre>
+ * Variants are a comma separated subset of {@code default,cds,aot,aot-cds}. AOT freezes
+ * auto-configuration conditions at build time, so the aot variants ignore the training
+ * profile's {@code spring.flyway.enabled=false} and need a reachable database.
+ */
+public class StartupBenchmark {
+
+    private static final String MAIN_CLASS = "com.example.configserver.ConfigServerApplication";
+    private static final Pattern READY = Pattern.compile("Application ready after (\\d+) ms");
+
+    public static void main(String[] args) throws Exception {
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 3;
+        List<String> variants = Arrays.asList((args.length > 1 ? args[1] : "default,cds").split(","));
+
+        Path workDir = Paths.get("target", "startup-benchmark");
+        String classPath = unpack(findJar(), workDir);
+        Path archive = workDir.resolve("app.jsa");
+        if (variants.stream().anyMatch(variant -> variant.endsWith("cds"))) {
+            createArchive(workDir, classPath, archive);
+        }
+
+        for (String variant : variants) {
+            List<String> jvmOptions = new ArrayList<>();
+            if (variant.endsWith("cds")) {
+                jvmOptions.add("-XX:SharedArchiveFile=" + archive.toAbsolutePath());
+            }
+            if (variant.startsWith("aot")) {
+                jvmOptions.add("-Dspring.aot.enabled=true");
+            }
+            long readyTotal = 0;
+            long wallTotal = 0;
+            for (int i = 0; i < iterations; i++) {
+                long start = System.nanoTime();
+                long ready = boot(classPath, jvmOptions);
+                long wall = (System.nanoTime() - start) / 1_000_000;
+                System.out.printf("%-8s run %d: ready %5d ms, process %5d ms%n", variant, i + 1, ready, wall);
+                readyTotal += ready;
+                wallTotal += wall;
+            }
+            System.out.printf("%-8s mean:  ready %5d ms, process %5d ms%n",
+                    variant, readyTotal / iterations, wallTotal / iterations);
+        }
+    }
+
+    private static long boot(String classPath, List<String> jvmOptions) throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        command.add(javaExecutable());
+        command.addAll(jvmOptions);
+        command.addAll(List.of("-cp", classPath, MAIN_CLASS, "--spring.profiles.active=training"));
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+
+        long ready = -1;
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                Matcher matcher = READY.matcher(line);
+                if (matcher.find()) {
+                    ready = Long.parseLong(matcher.group(1));
+                }
+            }
+        }
+        if (process.waitFor() != 0 || ready < 0) {
+            throw new IllegalStateException("Startup failed: " + String.join(" ", command));
+        }
+        return ready;
+    }
+
+    /**
+     * Static archive from the class list of a training run; dynamic archives
+     * ({@code -XX:ArchiveClassesAtExit}) crash on JDK 17 when archived lambda proxies
+     * are loaded.
+     */
+    private static void createArchive(Path workDir, String classPath, Path archive)
+            throws IOException, InterruptedException {
+        Path classList = workDir.resolve("classes.lst");
+        run(javaExecutable(), "-XX:DumpLoadedClassList=" + classList, "-cp", classPath, MAIN_CLASS,
+                "--spring.profiles.active=training");
+        run(javaExecutable(), "-Xshare:dump", "-XX:SharedClassListFile=" + classList,
+                "-XX:SharedArchiveFile=" + archive, "-cp", classPath);
+    }
+
+    private static void run(String... command) throws IOException, InterruptedException {
+        Process process = new ProcessBuilder(command).redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD).start();
+        if (process.waitFor() != 0) {
+            throw new IllegalStateException("Command failed: " + String.join(" ", command));
+        }
+    }
+
+    private static Path findJar() throws IOException {
+        try (DirectoryStream<Path> jars = Files.newDirectoryStream(Paths.get("target"), "configserver-*.jar")) {
+            for (Path jar : jars) {
+                return jar;
+            }
+        }
+        throw new IllegalStateException("No packaged jar in target/, run mvn package first");
+    }
+
+    /**
+     * Copy the nested libraries out of the fat jar and repackage BOOT-INF/classes as
+     * lib/application.jar; CDS does not archive classes loaded from directories.
+     */
+    private static String unpack(Path fatJar, Path workDir) throws IOException {
+        if (Files.exists(workDir)) {
+            try (Stream<Path> paths = Files.walk(workDir)) {
+                for (Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+                    Files.delete(path);
+                }
+            }
+        }
+        Path lib = Files.createDirectories(workDir.resolve("lib"));
+        String classesPrefix = "BOOT-INF/classes/";
+        try (JarInputStream in = new JarInputStream(Files.newInputStream(fatJar));
+             JarOutputStream application = new JarOutputStream(
+                     Files.newOutputStream(lib.resolve("application.jar")))) {
+            JarEntry entry;
+            while ((entry = in.getNextJarEntry()) != null) {
+                String name = entry.getName();
+                if (name.startsWith("BOOT-INF/lib/") && !entry.isDirectory()) {
+                    Files.copy(in, lib.resolve(name.substring("BOOT-INF/lib/".length())));
+                } else if (name.startsWith(classesPrefix) && name.length() > classesPrefix.length()) {
+                    application.putNextEntry(new JarEntry(name.substring(classesPrefix.length())));
+                    in.transferTo(application);
+                    application.closeEntry();
+                }
+            }
+        }
+        return lib.toAbsolutePath() + "/*";
+    }
+
+    private static String javaExecutable() {
+        return Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.configserver.cluster;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ConfigChangeNotificationTest {
+
+    @Test
+    void encode_ShouldRoundTrip() {
+        // Arrange
+        ConfigChangeNotification change = new ConfigChangeNotification("node-a", "acme", 42L, Set.of(3L, 7L));
+
+        // Act
+        ConfigChangeNotification decoded = ConfigChangeNotification.decode(change.encode());
+
+        // Assert
+        assertThat(decoded).isEqualTo(change);
+        assertThat(decoded.isWholeTenant()).isFalse();
+    }
+
+    @Test
+    void encode_NoGroups_ShouldRoundTripAsEmpty() {
+        // Act
+        ConfigChangeNotification decoded = ConfigChangeNotification.decode(
+                new ConfigChangeNotification("node-a", "acme", 5L, Set.of()).encode());
+
+        // Assert
+        assertThat(decoded.getGroupIds()).isEmpty();
+        assertThat(decoded.isWholeTenant()).isFalse();
+    }
+
+    @Test
+    void encode_TooManyGroups_ShouldFallBackToWholeTenant() {
+        // Arrange
+        Set<Long> groupIds = new LinkedHashSet<>();
+        for (long groupId = 1_000_000_000L; groupIds.size() < 1000; groupId++) {
+            groupIds.add(groupId);
+        }
+
+        // Act
+        String payload = new ConfigChangeNotification("node-a", "acme", 9L, groupIds).encode();
+        ConfigChangeNotification decoded = ConfigChangeNotification.decode(payload);
+
+        // Assert
+        assertThat(payload).isEqualTo("node-a:acme:9:*");
+        assertThat(decoded.isWholeTenant()).isTrue();
+        assertThat(decoded.getRevision()).isEqualTo(9L);
+    }
+
+    @Test
+    void decode_Malformed_ShouldBeRejected() {
+        assertThatThrownBy(() -> ConfigChangeNotification.decode("node-a:acme:x:1"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ConfigChangeNotification.decode("node-a:Not A Tenant:1:1"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ConfigChangeNotification.decode("node-a:acme:1"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
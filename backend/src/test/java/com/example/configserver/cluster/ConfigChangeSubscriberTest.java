@@ -0,0 +1,147 @@
+package com.example.configserver.cluster;
+
+import com.example.configserver.service.ConfigurationChangedEvent;
+import com.example.configserver.service.EffectiveConfigService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ConfigChangeSubscriberTest {
+
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private EffectiveConfigService effectiveConfigService;
+
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+
+    @Mock
+    private SessionFactory sessionFactory;
+
+    @Mock
+    private Cache cache;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private ConfigChangeNotifier notifier;
+
+    private ConfigChangeSubscriber subscriber;
+
+    @BeforeEach
+    void setUp() {
+        when(notifier.getNode()).thenReturn("node-a");
+        subscriber = new ConfigChangeSubscriber(dataSource, jdbcTemplate, effectiveConfigService,
+                entityManagerFactory, eventPublisher, notifier);
+        lenient().when(entityManagerFactory.unwrap(SessionFactory.class)).thenReturn(sessionFactory);
+        lenient().when(sessionFactory.getCache()).thenReturn(cache);
+    }
+
+    @Test
+    void received_FromAnotherNode_ShouldEvictGroupsAndWakeWatchers() {
+        // Act
+        subscriber.received("node-b:acme:12:3,7");
+
+        // Assert
+        verify(effectiveConfigService).evictGroup("acme", 3L);
+        verify(effectiveConfigService).evictGroup("acme", 7L);
+        ArgumentCaptor<ConfigurationChangedEvent> event = ArgumentCaptor.forClass(ConfigurationChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertThat(event.getValue().getTenant()).isEqualTo("acme");
+        assertThat(event.getValue().getRevision()).isEqualTo(12L);
+        assertThat(event.getValue().getGroupIds()).containsExactly(3L, 7L);
+    }
+
+    @Test
+    void receivedEntityChange_FromAnotherNode_ShouldEvictEntityAndQueryCaches() {
+        // Act
+        subscriber.receivedEntityChange("node-b:com.example.configserver.model.User");
+
+        // Assert
+        verify(cache).evictEntityData("com.example.configserver.model.User");
+        verify(cache).evictQueryRegions();
+        verifyNoInteractions(effectiveConfigService, eventPublisher);
+    }
+
+    @Test
+    void receivedEntityChange_FromThisNode_ShouldBeSkipped() {
+        // Act
+        subscriber.receivedEntityChange("node-a:com.example.configserver.model.User");
+        subscriber.receivedEntityChange("malformed");
+
+        // Assert
+        verifyNoInteractions(cache);
+    }
+
+    @Test
+    void received_FromThisNode_ShouldBeSkipped() {
+        // Act
+        subscriber.received("node-a:acme:12:3");
+
+        // Assert
+        verifyNoInteractions(effectiveConfigService, eventPublisher);
+    }
+
+    @Test
+    void received_WholeTenant_ShouldEvictTenant() {
+        // Arrange
+        when(effectiveConfigService.cachedGroups("acme")).thenReturn(Set.of(3L));
+
+        // Act
+        subscriber.received("node-b:acme:13:*");
+
+        // Assert
+        verify(effectiveConfigService).evictTenant("acme");
+        verify(eventPublisher).publishEvent(new ConfigurationChangedEvent("acme", 13L, Set.of(3L)));
+    }
+
+    @Test
+    void reconcile_ShouldReloadOnlyTenantsAheadOfWhatWasSeen() throws Exception {
+        // Arrange
+        subscriber.onConfigurationChanged(new ConfigurationChangedEvent("acme", 20L, Set.of(1L)));
+        subscriber.onConfigurationChanged(new ConfigurationChangedEvent("globex", 8L, Set.of(2L)));
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getString("tenant")).thenReturn("acme", "globex");
+        when(rs.getLong("revision")).thenReturn(20L, 9L);
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            handler.processRow(rs);
+            handler.processRow(rs);
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class));
+        when(effectiveConfigService.cachedGroups("globex")).thenReturn(Set.of(2L, 4L));
+
+        // Act
+        subscriber.reconcile();
+
+        // Assert
+        verify(effectiveConfigService).evictTenant("globex");
+        verify(effectiveConfigService, never()).evictTenant("acme");
+        verify(eventPublisher).publishEvent(new ConfigurationChangedEvent("globex", 9L, Set.of(2L, 4L)));
+    }
+}
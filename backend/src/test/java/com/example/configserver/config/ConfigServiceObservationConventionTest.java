@@ -0,0 +1,73 @@
+package com.example.configserver.config;
+
+import com.example.configserver.dto.ConfigurationItemDTO;
+import io.micrometer.common.KeyValue;
+import io.micrometer.common.KeyValues;
+import io.micrometer.observation.aop.ObservedAspect.ObservedAspectContext;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ConfigServiceObservationConventionTest {
+
+    private final ConfigServiceObservationConvention convention = new ConfigServiceObservationConvention();
+
+    @Test
+    void getLowCardinalityKeyValues_WithGroupAndEnvironmentParameters_ShouldTagBoth() {
+        KeyValues keyValues = convention.getLowCardinalityKeyValues(
+                context(new String[] {"groupId", "environment"}, new Object[] {3L, "PROD"}));
+
+        assertEquals("3", value(keyValues, "group"));
+        assertEquals("PROD", value(keyValues, "environment"));
+    }
+
+    @Test
+    void getLowCardinalityKeyValues_WithItemArgument_ShouldTagFromItem() {
+        ConfigurationItemDTO item = new ConfigurationItemDTO(null, "api.timeout", "30", null, "DEV", 1L, null);
+
+        KeyValues keyValues = convention.getLowCardinalityKeyValues(
+                context(new String[] {"itemDTO"}, new Object[] {item}));
+
+        assertEquals("1", value(keyValues, "group"));
+        assertEquals("DEV", value(keyValues, "environment"));
+    }
+
+    @Test
+    void getLowCardinalityKeyValues_WithUnknownEnvironment_ShouldCollapseToOther() {
+        KeyValues keyValues = convention.getLowCardinalityKeyValues(
+                context(new String[] {"groupId", "environment"}, new Object[] {3L, "random-value"}));
+
+        assertEquals("other", value(keyValues, "environment"));
+    }
+
+    @Test
+    void getLowCardinalityKeyValues_WithoutGroupOrEnvironment_ShouldTagNone() {
+        KeyValues keyValues = convention.getLowCardinalityKeyValues(
+                context(new String[] {"id"}, new Object[] {5L}));
+
+        assertEquals("none", value(keyValues, "group"));
+        assertEquals("none", value(keyValues, "environment"));
+    }
+
+    private static ObservedAspectContext context(String[] names, Object[] args) {
+        ProceedingJoinPoint joinPoint = mock(ProceedingJoinPoint.class);
+        MethodSignature signature = mock(MethodSignature.class);
+        when(joinPoint.getSignature()).thenReturn(signature);
+        when(signature.getParameterNames()).thenReturn(names);
+        when(joinPoint.getArgs()).thenReturn(args);
+        return new ObservedAspectContext(joinPoint);
+    }
+
+    private static String value(KeyValues keyValues, String key) {
+        for (KeyValue keyValue : keyValues) {
+            if (keyValue.getKey().equals(key)) {
+                return keyValue.getValue();
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.configserver.config;
+
+import com.example.configserver.security.TenantContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TenantConnectionQuotaDataSourceTest {
+
+    @Mock
+    private DataSource pool;
+
+    @Mock
+    private Connection connection;
+
+    private TenantConnectionQuotaDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        when(pool.getConnection()).thenReturn(connection);
+        dataSource = new TenantConnectionQuotaDataSource(pool, Map.of("bulk", 1), 10);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
+    @Test
+    void getConnection_OverQuota_ShouldFailUntilReleased() throws Exception {
+        // Arrange
+        TenantContext.setTenant("bulk");
+        Connection first = dataSource.getConnection();
+
+        // Act & Assert
+        assertThatThrownBy(() -> dataSource.getConnection())
+                .isInstanceOf(SQLTransientConnectionException.class)
+                .hasMessageContaining("bulk");
+
+        first.close();
+        first.close(); // closing twice must not free a second permit
+        Connection second = dataSource.getConnection();
+        assertThatThrownBy(() -> dataSource.getConnection()).isInstanceOf(SQLTransientConnectionException.class);
+        verify(connection, times(2)).close();
+        assertThat(second).isNotNull();
+    }
+
+    @Test
+    void getConnection_TenantWithoutQuota_ShouldNotBeLimited() throws Exception {
+        // Arrange
+        TenantContext.setTenant("bulk");
+        dataSource.getConnection();
+        TenantContext.clear();
+
+        // Act
+        Connection first = dataSource.getConnection();
+        Connection second = dataSource.getConnection();
+
+        // Assert
+        assertThat(first).isSameAs(connection);
+        assertThat(second).isSameAs(connection);
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.configserver.config;
+
+import com.example.configserver.model.User;
+import com.example.configserver.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserInitializerTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    @InjectMocks
+    private UserInitializer userInitializer;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void initialize_ShouldOnlyCreateMissingUsers() {
+        // Arrange
+        when(userRepository.findExistingUsernames(anyCollection())).thenReturn(Set.of("admin"));
+        when(passwordEncoder.encode("user123")).thenReturn("hashed");
+
+        // Act
+        userInitializer.initialize();
+
+        // Assert
+        ArgumentCaptor<List<User>> saved = ArgumentCaptor.forClass(List.class);
+        verify(userRepository).saveAll(saved.capture());
+        assertEquals(1, saved.getValue().size());
+        assertEquals("user", saved.getValue().get(0).getUsername());
+        assertEquals("hashed", saved.getValue().get(0).getPassword());
+        verify(passwordEncoder, times(1)).encode(any());
+    }
+
+    @Test
+    void initialize_WhenAllUsersExist_ShouldNotHashOrSave() {
+        // Arrange
+        when(userRepository.findExistingUsernames(anyCollection())).thenReturn(Set.of("admin", "user"));
+
+        // Act
+        userInitializer.initialize();
+
+        // Assert
+        verify(userRepository, never()).saveAll(any());
+        verifyNoInteractions(passwordEncoder);
+    }
+}
@@ -1,7 +1,7 @@
 package com.example.configserver.controller;
 
 import com.example.configserver.model.ConfigurationGroup;
-import com.example.configserver.service.ConfigurationGroupService;
+import com.example.configserver.service.ConfigurationService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -30,7 +30,7 @@ public class ConfigGroupControllerTest {
     private MockMvc mockMvc;
 
     @MockBean
-    private ConfigurationGroupService groupService;
+    private ConfigurationService groupService;
 
     @Autowired
     private ObjectMapper objectMapper;
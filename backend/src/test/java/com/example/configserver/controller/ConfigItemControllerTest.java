@@ -1,7 +1,7 @@
 package com.example.configserver.controller;
 
 import com.example.configserver.model.ConfigurationItem;
-import com.example.configserver.service.ConfigItemService;
+import com.example.configserver.service.ConfigurationService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -30,7 +30,7 @@ public class ConfigItemControllerTest {
     private MockMvc mockMvc;
 
     @MockBean
-    private ConfigItemService itemService;
+    private ConfigurationService itemService;
 
     @Autowired
     private ObjectMapper objectMapper;
@@ -124,7 +124,7 @@ public class ConfigItemControllerTest {
     @WithMockUser(roles = "USER", username = "testuser")
     void getItemsByGroupAndEnvironment_ShouldReturnFilteredItems() throws Exception {
         when(itemService.getItemsByGroupAndEnvironment(groupId, "DEV"))
-                .thenReturn(Optional.of(Arrays.asList(testItem)));
+                .thenReturn(Arrays.asList(testItem));
 
         mockMvc.perform(get("/api/items/byGroupAndEnv/{groupId}/{env}", groupId, "DEV"))
                 .andExpect(status().isOk())
@@ -139,7 +139,7 @@ public class ConfigItemControllerTest {
     @Test
     @WithMockUser(roles = "ADMIN", username = "admin")
     void createItem_WithValidData_ShouldReturnCreatedItem() throws Exception {
-        when(itemService.createItem(any(ConfigurationItem.class), eq("admin"))).thenReturn(Optional.ofNullable(testItem));
+        when(itemService.createItem(any(ConfigurationItem.class))).thenReturn(testItem);
 
         mockMvc.perform(post("/api/items")
                 .contentType(MediaType.APPLICATION_JSON)
@@ -149,7 +149,7 @@ public class ConfigItemControllerTest {
                 .andExpect(jsonPath("$.key", is("auth.timeout")))
                 .andExpect(jsonPath("$.value", is("30")));
 
-        verify(itemService, times(1)).createItem(any(ConfigurationItem.class), eq("admin"));
+        verify(itemService, times(1)).createItem(any(ConfigurationItem.class));
     }
 
     @Test
@@ -160,7 +160,7 @@ public class ConfigItemControllerTest {
                 .content(objectMapper.writeValueAsString(testItem)))
                 .andExpect(status().isForbidden());
 
-        verify(itemService, never()).createItem(any(ConfigurationItem.class), anyString());
+        verify(itemService, never()).createItem(any(ConfigurationItem.class));
     }
 
     @Test
@@ -174,7 +174,7 @@ public class ConfigItemControllerTest {
         updatedItem.setGroupId(groupId);
         updatedItem.setEnvironment("DEV");
 
-        when(itemService.updateItem(eq(testItem.getId()), any(ConfigurationItem.class), eq("admin")))
+        when(itemService.updateItem(eq(testItem.getId()), any(ConfigurationItem.class), isNull()))
                 .thenReturn(Optional.of(updatedItem));
 
         mockMvc.perform(put("/api/items/{id}", testItem.getId())
@@ -185,22 +185,22 @@ public class ConfigItemControllerTest {
                 .andExpect(jsonPath("$.value", is("60")))
                 .andExpect(jsonPath("$.description", is("Updated authentication timeout")));
 
-        verify(itemService, times(1)).updateItem(eq(testItem.getId()), any(ConfigurationItem.class), eq("admin"));
+        verify(itemService, times(1)).updateItem(eq(testItem.getId()), any(ConfigurationItem.class), isNull());
     }
 
     @Test
     @WithMockUser(roles = "ADMIN", username = "admin")
     void updateItem_WhenItemDoesNotExist_ShouldReturnNotFound() throws Exception {
         Long nonExistentId = 999L;
-        when(itemService.updateItem(eq(nonExistentId), any(ConfigurationItem.class), eq("admin")))
-                .thenReturn(null);
+        when(itemService.updateItem(eq(nonExistentId), any(ConfigurationItem.class), isNull()))
+                .thenReturn(Optional.empty());
 
         mockMvc.perform(put("/api/items/{id}", nonExistentId)
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(testItem)))
                 .andExpect(status().isNotFound());
 
-        verify(itemService, times(1)).updateItem(eq(nonExistentId), any(ConfigurationItem.class), eq("admin"));
+        verify(itemService, times(1)).updateItem(eq(nonExistentId), any(ConfigurationItem.class), isNull());
     }
 
     @Test
@@ -211,30 +211,30 @@ public class ConfigItemControllerTest {
                 .content(objectMapper.writeValueAsString(testItem)))
                 .andExpect(status().isForbidden());
 
-        verify(itemService, never()).updateItem(any(Long.class), any(ConfigurationItem.class), anyString());
+        verify(itemService, never()).updateItem(any(Long.class), any(ConfigurationItem.class), any());
     }
 
     @Test
     @WithMockUser(roles = "ADMIN", username = "admin")
     void deleteItem_WhenItemExists_ShouldReturnNoContent() throws Exception {
-        doNothing().when(itemService).deleteItem(testItem.getId(), "admin");
+        when(itemService.deleteItem(testItem.getId(), null)).thenReturn(true);
 
         mockMvc.perform(delete("/api/items/{id}", testItem.getId()))
                 .andExpect(status().isNoContent());
 
-        verify(itemService, times(1)).deleteItem(testItem.getId(), "admin");
+        verify(itemService, times(1)).deleteItem(testItem.getId(), null);
     }
 
     @Test
     @WithMockUser(roles = "ADMIN", username = "admin")
     void deleteItem_WhenItemDoesNotExist_ShouldReturnNotFound() throws Exception {
         Long nonExistentId = 999L;
-        doThrow(new RuntimeException("Item not found")).when(itemService).deleteItem(nonExistentId, "admin");
+        when(itemService.deleteItem(nonExistentId, null)).thenReturn(false);
 
         mockMvc.perform(delete("/api/items/{id}", nonExistentId))
                 .andExpect(status().isNotFound());
 
-        verify(itemService, times(1)).deleteItem(nonExistentId, "admin");
+        verify(itemService, times(1)).deleteItem(nonExistentId, null);
     }
 
     @Test
@@ -243,7 +243,7 @@ public class ConfigItemControllerTest {
         mockMvc.perform(delete("/api/items/{id}", testItem.getId()))
                 .andExpect(status().isForbidden());
 
-        verify(itemService, never()).deleteItem(any(Long.class), anyString());
+        verify(itemService, never()).deleteItem(any(Long.class), any());
     }
 
     @Test
@@ -259,7 +259,7 @@ public class ConfigItemControllerTest {
                 .content(objectMapper.writeValueAsString(invalidItem)))
                 .andExpect(status().isBadRequest());
 
-        verify(itemService, never()).createItem(any(ConfigurationItem.class), anyString());
+        verify(itemService, never()).createItem(any(ConfigurationItem.class));
     }
 
     @Test
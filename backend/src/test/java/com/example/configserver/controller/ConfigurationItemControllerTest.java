@@ -3,13 +3,14 @@ package com.example.configserver.controller;
 import com.example.configserver.model.ConfigurationGroup;
 import com.example.configserver.model.ConfigurationItem;
 import com.example.configserver.model.Environment;
-import com.example.configserver.service.ConfigurationItemService;
+import com.example.configserver.service.ConfigurationService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
@@ -35,7 +36,7 @@ public class ConfigurationItemControllerTest {
     private ObjectMapper objectMapper;
 
     @MockBean
-    private ConfigurationItemService itemService;
+    private ConfigurationService itemService;
 
     private ConfigurationGroup testGroup;
     private ConfigurationItem testItem;
@@ -108,6 +109,22 @@ public class ConfigurationItemControllerTest {
         verify(itemService).getItemById(1L);
     }
 
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void getItemById_Secret_ShouldOmitTheStoredValue() throws Exception {
+        // Arrange
+        testItem.setSecret(true);
+        testItem.setValue("enc:v2:local:k1:c1");
+        when(itemService.getItemById(1L)).thenReturn(Optional.of(testItem));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/items/1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.key", is("test.key")))
+                .andExpect(jsonPath("$.secret", is(true)))
+                .andExpect(jsonPath("$.value", nullValue()));
+    }
+
     @Test
     @WithMockUser(roles = "ADMIN")
     void getItemById_WithNonExistingId_ShouldReturnNotFound() throws Exception {
@@ -185,7 +202,7 @@ public class ConfigurationItemControllerTest {
     @WithMockUser(roles = "ADMIN")
     void updateItem_WithExistingIdAndValidData_ShouldReturnUpdatedItem() throws Exception {
         // Arrange
-        when(itemService.updateItem(eq(1L), any(ConfigurationItem.class))).thenReturn(Optional.of(testItem));
+        when(itemService.updateItem(eq(1L), any(ConfigurationItem.class), isNull())).thenReturn(Optional.of(testItem));
 
         // Act & Assert
         mockMvc.perform(put("/api/items/1")
@@ -199,14 +216,14 @@ public class ConfigurationItemControllerTest {
                 .andExpect(jsonPath("$.group.id", is(1)))
                 .andExpect(jsonPath("$.environment", is("DEV")));
 
-        verify(itemService).updateItem(eq(1L), any(ConfigurationItem.class));
+        verify(itemService).updateItem(eq(1L), any(ConfigurationItem.class), isNull());
     }
 
     @Test
     @WithMockUser(roles = "ADMIN")
     void updateItem_WithNonExistingId_ShouldReturnNotFound() throws Exception {
         // Arrange
-        when(itemService.updateItem(eq(999L), any(ConfigurationItem.class))).thenReturn(Optional.empty());
+        when(itemService.updateItem(eq(999L), any(ConfigurationItem.class), isNull())).thenReturn(Optional.empty());
 
         // Act & Assert
         mockMvc.perform(put("/api/items/999")
@@ -214,33 +231,75 @@ public class ConfigurationItemControllerTest {
                 .content(objectMapper.writeValueAsString(testItemDTO)))
                 .andExpect(status().isNotFound());
 
-        verify(itemService).updateItem(eq(999L), any(ConfigurationItem.class));
+        verify(itemService).updateItem(eq(999L), any(ConfigurationItem.class), isNull());
     }
 
     @Test
     @WithMockUser(roles = "ADMIN")
     void deleteItem_WithExistingId_ShouldReturnNoContent() throws Exception {
         // Arrange
-        when(itemService.deleteItem(1L)).thenReturn(true);
+        when(itemService.deleteItem(1L, null)).thenReturn(true);
 
         // Act & Assert
         mockMvc.perform(delete("/api/items/1"))
                 .andExpect(status().isNoContent());
 
-        verify(itemService).deleteItem(1L);
+        verify(itemService).deleteItem(1L, null);
     }
 
     @Test
     @WithMockUser(roles = "ADMIN")
     void deleteItem_WithNonExistingId_ShouldReturnNotFound() throws Exception {
         // Arrange
-        when(itemService.deleteItem(999L)).thenReturn(false);
+        when(itemService.deleteItem(999L, null)).thenReturn(false);
 
         // Act & Assert
         mockMvc.perform(delete("/api/items/999"))
                 .andExpect(status().isNotFound());
 
-        verify(itemService).deleteItem(999L);
+        verify(itemService).deleteItem(999L, null);
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void updateItem_WithIfMatch_ShouldPassExpectedVersionAndReturnNewETag() throws Exception {
+        // Arrange
+        testItem.setVersion(4L);
+        when(itemService.updateItem(eq(1L), any(ConfigurationItem.class), eq(3L))).thenReturn(Optional.of(testItem));
+
+        // Act & Assert
+        mockMvc.perform(put("/api/items/1")
+                .header("If-Match", "\"3\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(testItemDTO)))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"4\""));
+
+        verify(itemService).updateItem(eq(1L), any(ConfigurationItem.class), eq(3L));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void deleteItem_WithStaleIfMatch_ShouldReturnPreconditionFailed() throws Exception {
+        // Arrange
+        when(itemService.deleteItem(1L, 3L)).thenThrow(new OptimisticLockingFailureException("stale"));
+
+        // Act & Assert
+        mockMvc.perform(delete("/api/items/1").header("If-Match", "\"3\""))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void updateItem_WithWeakIfMatch_ShouldReturnPreconditionFailed() throws Exception {
+        // Act & Assert
+        mockMvc.perform(put("/api/items/1")
+                .header("If-Match", "W/\"3\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(testItemDTO)))
+                .andExpect(status().isPreconditionFailed());
+
+        verify(itemService, never()).updateItem(any(), any(), any());
     }
 
     @Test
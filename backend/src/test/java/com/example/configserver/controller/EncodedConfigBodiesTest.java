@@ -0,0 +1,138 @@
+package com.example.configserver.controller;
+
+import com.example.configserver.dto.EffectiveConfigItemDTO;
+import com.example.configserver.service.EffectiveConfigService;
+import com.example.configserver.service.RolloutClient;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EncodedConfigBodiesTest {
+
+    @Mock
+    private EffectiveConfigService effectiveConfigService;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private EncodedConfigBodies bodies;
+
+    private List<EffectiveConfigItemDTO> items;
+
+    @BeforeEach
+    void setUp() {
+        bodies = new EncodedConfigBodies(effectiveConfigService, objectMapper);
+        items = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            items.add(new EffectiveConfigItemDTO((long) i, "api.key" + i, "value" + i, null, "BASE",
+                    true, false, null, "value" + i, false));
+        }
+    }
+
+    @Test
+    void respond_ShouldServeRenderedGzipBodyWhenAccepted() throws IOException {
+        // Arrange
+        renderItems();
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.ACCEPT_ENCODING, "br;q=1.0, gzip;q=0.8");
+
+        // Act
+        ResponseEntity<byte[]> response = respond(headers);
+
+        // Assert
+        assertThat(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+        JsonNode body = objectMapper.readTree(new GZIPInputStream(new ByteArrayInputStream(response.getBody())));
+        assertThat(body).hasSize(50);
+        assertThat(body.get(0).get("key").asText()).isEqualTo("api.key0");
+    }
+
+    @Test
+    void respond_ShouldServeCborWhenPreferred() throws IOException {
+        // Arrange
+        renderItems();
+        HttpHeaders headers = new HttpHeaders();
+        headers.setAccept(List.of(MediaType.APPLICATION_CBOR, MediaType.valueOf("application/json;q=0.5")));
+
+        // Act
+        ResponseEntity<byte[]> response = respond(headers);
+
+        // Assert
+        assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_CBOR);
+        assertThat(response.getHeaders().containsKey(HttpHeaders.CONTENT_ENCODING)).isFalse();
+        JsonNode body = new ObjectMapper(new CBORFactory()).readTree(response.getBody());
+        assertThat(body.get(49).get("value").asText()).isEqualTo("value49");
+        verify(effectiveConfigService).getRendered(eq(1L), eq("PROD"), any(), eq("effective:cbor"), any());
+    }
+
+    @Test
+    void respond_ViewWithSecrets_ShouldEncodePerRequest() throws IOException {
+        // Arrange: views with secrets are not rendered
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.ACCEPT_ENCODING, "gzip");
+
+        // Act
+        ResponseEntity<byte[]> response = respond(headers);
+
+        // Assert
+        assertThat(response.getHeaders().containsKey(HttpHeaders.CONTENT_ENCODING)).isFalse();
+        assertThat(objectMapper.readTree(response.getBody())).hasSize(50);
+    }
+
+    @Test
+    void formatFor_ShouldDefaultToJson() {
+        assertThat(EncodedConfigBodies.formatFor(List.of())).isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(EncodedConfigBodies.formatFor(List.of(MediaType.ALL))).isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(EncodedConfigBodies.formatFor(MediaType.parseMediaTypes("application/cbor;q=0.5, */*")))
+                .isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(EncodedConfigBodies.formatFor(MediaType.parseMediaTypes("application/cbor, */*;q=0.1")))
+                .isEqualTo(MediaType.APPLICATION_CBOR);
+    }
+
+    @Test
+    void acceptsGzip_ShouldHonourQualityValues() {
+        assertThat(EncodedConfigBodies.acceptsGzip("gzip, deflate")).isTrue();
+        assertThat(EncodedConfigBodies.acceptsGzip("*")).isTrue();
+        assertThat(EncodedConfigBodies.acceptsGzip("gzip;q=0, br")).isFalse();
+        assertThat(EncodedConfigBodies.acceptsGzip("gzip;q=0, *")).isFalse();
+        assertThat(EncodedConfigBodies.acceptsGzip("*, gzip;q=0")).isFalse();
+        assertThat(EncodedConfigBodies.acceptsGzip("*;q=0, gzip")).isTrue();
+        assertThat(EncodedConfigBodies.acceptsGzip("*;q=0")).isFalse();
+        assertThat(EncodedConfigBodies.acceptsGzip("identity")).isFalse();
+        assertThat(EncodedConfigBodies.acceptsGzip(null)).isFalse();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void renderItems() {
+        when(effectiveConfigService.getRendered(eq(1L), eq("PROD"), any(), anyString(), any()))
+                .thenAnswer(invocation -> ((Function<Collection<EffectiveConfigItemDTO>, Object>)
+                        invocation.getArgument(4)).apply(items));
+    }
+
+    private ResponseEntity<byte[]> respond(HttpHeaders headers) {
+        return bodies.respond(1L, "PROD", RolloutClient.ANONYMOUS, "effective", found -> found,
+                () -> items, headers);
+    }
+}
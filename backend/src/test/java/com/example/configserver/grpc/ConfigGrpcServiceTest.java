@@ -0,0 +1,220 @@
+package com.example.configserver.grpc;
+
+import com.example.configserver.dto.EffectiveConfigItemDTO;
+import com.example.configserver.grpc.v1.ConfigRequest;
+import com.example.configserver.grpc.v1.ConfigServiceGrpc;
+import com.example.configserver.grpc.v1.ConfigSnapshot;
+import com.example.configserver.security.RemoteCaller;
+import com.example.configserver.security.TokenRevocationList;
+import com.example.configserver.service.ConfigurationChangedEvent;
+import com.example.configserver.service.EffectiveConfigService;
+import com.example.configserver.service.RolloutClient;
+import io.grpc.Context;
+import io.grpc.Contexts;
+import io.grpc.ManagedChannel;
+import io.grpc.Metadata;
+import io.grpc.Server;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import io.grpc.ServerInterceptors;
+import io.grpc.Status;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.StreamObserver;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+
+import java.io.IOException;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ConfigGrpcServiceTest {
+
+    @Mock
+    private EffectiveConfigService effectiveConfigService;
+
+    private final TokenRevocationList revocationList = new TokenRevocationList();
+    // The caller every call is made as; anonymous unless a test sets one
+    private final AtomicReference<RemoteCaller> caller = new AtomicReference<>(RemoteCaller.ANONYMOUS);
+
+    private ConfigGrpcService service;
+    private Server server;
+    private ManagedChannel channel;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        service = new ConfigGrpcService(effectiveConfigService, revocationList, 1);
+        ServerInterceptor asCaller = new ServerInterceptor() {
+            @Override
+            public <Q, R> ServerCall.Listener<Q> interceptCall(ServerCall<Q, R> call, Metadata headers,
+                                                              ServerCallHandler<Q, R> next) {
+                return Contexts.interceptCall(Context.current().withValue(GrpcCallerInterceptor.CALLER, caller.get()),
+                        call, headers, next);
+            }
+        };
+        String name = InProcessServerBuilder.generateName();
+        server = InProcessServerBuilder.forName(name).directExecutor()
+                .addService(ServerInterceptors.intercept(service, asCaller)).build().start();
+        channel = InProcessChannelBuilder.forName(name).directExecutor().build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        channel.shutdownNow();
+        server.shutdownNow();
+        service.shutdown();
+    }
+
+    @Test
+    void getConfig_ShouldReturnEffectiveItems() {
+        // Arrange
+        when(effectiveConfigService.getEffectiveConfig(eq(1L), eq("PROD"), any(RolloutClient.class)))
+                .thenReturn(List.of(item("api.timeout", "30")));
+
+        // Act
+        ConfigSnapshot snapshot = ConfigServiceGrpc.newBlockingStub(channel).getConfig(request());
+
+        // Assert
+        assertThat(snapshot.getItemsCount()).isEqualTo(1);
+        assertThat(snapshot.getItems(0).getKey()).isEqualTo("api.timeout");
+        assertThat(snapshot.getItems(0).getValue()).isEqualTo("30");
+        assertThat(snapshot.getItems(0).getInherited()).isTrue();
+    }
+
+    @Test
+    void watchConfig_ShouldStreamChangesOfTheWatchedGroupOnly() throws InterruptedException {
+        // Arrange
+        when(effectiveConfigService.getEffectiveConfig(eq(1L), eq("PROD"), any(RolloutClient.class)))
+                .thenReturn(List.of(item("api.timeout", "30")))
+                .thenReturn(List.of(item("api.timeout", "60")));
+        BlockingQueue<ConfigSnapshot> received = new LinkedBlockingQueue<>();
+
+        // Act
+        ConfigServiceGrpc.newStub(channel).watchConfig(request(), collector(received));
+        ConfigSnapshot initial = received.poll(5, TimeUnit.SECONDS);
+        service.onConfigurationChanged(new ConfigurationChangedEvent("default", 7, Set.of(2L)));
+        service.onConfigurationChanged(new ConfigurationChangedEvent("default", 8, Set.of(1L)));
+        ConfigSnapshot changed = received.poll(5, TimeUnit.SECONDS);
+
+        // Assert
+        assertThat(initial.getRevision()).isZero();
+        assertThat(initial.getItems(0).getValue()).isEqualTo("30");
+        assertThat(changed.getRevision()).isEqualTo(8);
+        assertThat(changed.getItems(0).getValue()).isEqualTo("60");
+        assertThat(service.watchCount()).isEqualTo(1);
+    }
+
+    @Test
+    void watchConfig_UnchangedView_ShouldNotResend() throws InterruptedException {
+        // Arrange
+        when(effectiveConfigService.getEffectiveConfig(eq(1L), eq("PROD"), any(RolloutClient.class)))
+                .thenReturn(List.of(item("api.timeout", "30")));
+        BlockingQueue<ConfigSnapshot> received = new LinkedBlockingQueue<>();
+
+        // Act
+        ConfigServiceGrpc.newStub(channel).watchConfig(request(), collector(received));
+        assertThat(received.poll(5, TimeUnit.SECONDS)).isNotNull();
+        service.onConfigurationChanged(new ConfigurationChangedEvent("default", 3, Set.of(1L)));
+
+        // Assert
+        verify(effectiveConfigService, timeout(5000).times(2))
+                .getRendered(eq(1L), eq("PROD"), any(), anyString(), any());
+        assertThat(received.poll(200, TimeUnit.MILLISECONDS)).isNull();
+    }
+
+    @Test
+    void watchConfig_RevokedUser_ShouldEndAtTheNextPush() throws InterruptedException {
+        // Arrange
+        caller.set(authenticated("alice", 60000));
+        when(effectiveConfigService.getEffectiveConfig(eq(1L), eq("PROD"), any(RolloutClient.class)))
+                .thenReturn(List.of(item("api.timeout", "30")));
+        BlockingQueue<ConfigSnapshot> received = new LinkedBlockingQueue<>();
+        BlockingQueue<Throwable> errors = new LinkedBlockingQueue<>();
+
+        // Act
+        ConfigServiceGrpc.newStub(channel).watchConfig(request(), collector(received, errors));
+        assertThat(received.poll(5, TimeUnit.SECONDS)).isNotNull();
+        revocationList.revokeUser("default", "alice");
+        service.onConfigurationChanged(new ConfigurationChangedEvent("default", 3, Set.of(1L)));
+
+        // Assert
+        assertThat(Status.fromThrowable(errors.poll(5, TimeUnit.SECONDS)).getCode())
+                .isEqualTo(Status.Code.UNAUTHENTICATED);
+        assertThat(service.watchCount()).isZero();
+    }
+
+    @Test
+    void watchConfig_ShouldEndWhenTheTokenExpires() throws InterruptedException {
+        // Arrange
+        caller.set(authenticated("alice", 500));
+        when(effectiveConfigService.getEffectiveConfig(eq(1L), eq("PROD"), any(RolloutClient.class)))
+                .thenReturn(List.of(item("api.timeout", "30")));
+        BlockingQueue<ConfigSnapshot> received = new LinkedBlockingQueue<>();
+        BlockingQueue<Throwable> errors = new LinkedBlockingQueue<>();
+
+        // Act
+        ConfigServiceGrpc.newStub(channel).watchConfig(request(), collector(received, errors));
+
+        // Assert: ends without any change arriving
+        assertThat(received.poll(5, TimeUnit.SECONDS)).isNotNull();
+        assertThat(Status.fromThrowable(errors.poll(5, TimeUnit.SECONDS)).getCode())
+                .isEqualTo(Status.Code.UNAUTHENTICATED);
+        assertThat(service.watchCount()).isZero();
+    }
+
+    private static RemoteCaller authenticated(String username, long validForMillis) {
+        long now = System.currentTimeMillis();
+        return new RemoteCaller("default", new UsernamePasswordAuthenticationToken(username, null,
+                AuthorityUtils.createAuthorityList("ROLE_ADMIN")), new Date(now - 1000), new Date(now + validForMillis));
+    }
+
+    private static ConfigRequest request() {
+        return ConfigRequest.newBuilder().setGroupId(1L).setEnvironment("PROD").build();
+    }
+
+    private static EffectiveConfigItemDTO item(String key, String value) {
+        return new EffectiveConfigItemDTO(1L, key, value, null, "BASE", true, false, null, value, false);
+    }
+
+    private static StreamObserver<ConfigSnapshot> collector(BlockingQueue<ConfigSnapshot> received) {
+        return collector(received, new LinkedBlockingQueue<>());
+    }
+
+    private static StreamObserver<ConfigSnapshot> collector(BlockingQueue<ConfigSnapshot> received,
+                                                            BlockingQueue<Throwable> errors) {
+        return new StreamObserver<ConfigSnapshot>() {
+            @Override
+            public void onNext(ConfigSnapshot snapshot) {
+                received.add(snapshot);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                errors.add(t);
+            }
+
+            @Override
+            public void onCompleted() {
+            }
+        };
+    }
+}
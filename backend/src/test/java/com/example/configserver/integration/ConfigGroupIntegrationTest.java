@@ -1,9 +1,9 @@
 package com.example.configserver.integration;
 
 import com.example.configserver.model.ConfigurationGroup;
-import com.example.configserver.repository.ConfigGroupRepository;
+import com.example.configserver.repository.ConfigurationGroupRepository;
 import com.example.configserver.security.JwtAuthenticationFilter;
-import com.example.configserver.security.JwtTokenProvider;
+import com.example.configserver.security.JwtService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -19,10 +19,8 @@ import org.springframework.web.reactive.function.BodyInserters;
 import java.util.List;
 import java.util.UUID;
 
-import static org.mockito.ArgumentMatchers.anyString;
-import static org.mockito.Mockito.when;
 
-@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "app.grpc.port=0")
 @AutoConfigureWebTestClient
 @ActiveProfiles("test")
 public class ConfigGroupIntegrationTest {
@@ -31,10 +29,10 @@ public class ConfigGroupIntegrationTest {
     private WebTestClient webTestClient;
 
     @Autowired
-    private ConfigGroupRepository groupRepository;
+    private ConfigurationGroupRepository groupRepository;
 
     @MockBean
-    private JwtTokenProvider jwtTokenProvider;
+    private JwtService jwtService;
 
     @MockBean
     private JwtAuthenticationFilter jwtAuthenticationFilter;
@@ -51,10 +49,6 @@ public class ConfigGroupIntegrationTest {
         testGroup.setName("test-group");
         testGroup.setDescription("Test group for integration tests");
         testGroup = groupRepository.save(testGroup);
-
-        // Mock JWT token validation
-        when(jwtTokenProvider.validateToken(anyString())).thenReturn(true);
-        when(jwtTokenProvider.getUsernameFromToken(anyString())).thenReturn("admin");
     }
 
     @Test
@@ -0,0 +1,47 @@
+package com.example.configserver.logging;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.spi.FilterReply;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+class SqlRedactingConverterTest {
+
+    @Test
+    void convert_ShouldMaskInlinedParameters() {
+        // Arrange
+        ILoggingEvent event = Mockito.mock(ILoggingEvent.class);
+        when(event.getFormattedMessage()).thenReturn("Slow query took 812 milliseconds "
+                + "[select c1_0.id from configuration_items c1_0 where c1_0.group_id=42 "
+                + "and c1_0.environment='PROD' and c1_0.config_value='it''s secret' and c1_0.v2=1.5]");
+
+        // Act
+        String result = new SqlRedactingConverter().convert(event);
+
+        // Assert
+        assertEquals("Slow query took 812 milliseconds "
+                + "[select c1_0.id from configuration_items c1_0 where c1_0.group_id=? "
+                + "and c1_0.environment=? and c1_0.config_value=? and c1_0.v2=?]", result);
+    }
+
+    @Test
+    void redact_ShouldKeepIdentifiersContainingDigits() {
+        assertEquals("[select c1_0.id from t1 where t1.x=?]",
+                SqlRedactingConverter.redact("[select c1_0.id from t1 where t1.x=7]"));
+    }
+
+    @Test
+    void filter_ShouldHonourSampleRateBounds() {
+        ILoggingEvent event = Mockito.mock(ILoggingEvent.class);
+        SamplingFilter filter = new SamplingFilter();
+
+        filter.setSampleRate(1.0);
+        assertEquals(FilterReply.NEUTRAL, filter.decide(event));
+
+        filter.setSampleRate(0.0);
+        assertEquals(FilterReply.DENY, filter.decide(event));
+    }
+}
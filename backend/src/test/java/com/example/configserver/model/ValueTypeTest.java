@@ -0,0 +1,36 @@
+package com.example.configserver.model;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ValueTypeTest {
+
+    @Test
+    void parse_ShouldReturnJsonNativeValues() {
+        assertThat(ValueType.INT.parse("30")).isEqualTo(30);
+        assertThat(ValueType.LONG.parse("9000000000")).isEqualTo(9_000_000_000L);
+        assertThat(ValueType.BOOL.parse("TRUE")).isEqualTo(true);
+        assertThat(ValueType.DURATION.parse("30s")).isEqualTo("PT30S");
+        assertThat(ValueType.DURATION.parse("PT1M")).isEqualTo("PT1M");
+        assertThat(ValueType.URL.parse("https://gateway.example.com/api")).isEqualTo("https://gateway.example.com/api");
+        assertThat(((JsonNode) ValueType.JSON.parse("{\"retries\": [1, 2]}")).get("retries").size()).isEqualTo(2);
+    }
+
+    @Test
+    void parse_WithInvalidValues_ShouldBeRejected() {
+        assertThatThrownBy(() -> ValueType.INT.parse("30s")).isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("INT");
+        assertThatThrownBy(() -> ValueType.INT.parse("3000000000")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ValueType.BOOL.parse("yes")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ValueType.DURATION.parse("soon")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ValueType.URL.parse("gateway:8080/api")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ValueType.URL.parse("/api/v1")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ValueType.URL.parse("https://gateway example.com"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ValueType.JSON.parse("{retries: 1")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ValueType.INT.parse(null)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
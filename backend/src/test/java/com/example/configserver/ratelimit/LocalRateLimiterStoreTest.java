@@ -0,0 +1,58 @@
+package com.example.configserver.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LocalRateLimiterStoreTest {
+
+    private static final long INTERVAL = 1_000;
+    private static final long BURST = 3 * INTERVAL;
+
+    private final AtomicLong clock = new AtomicLong(1_000_000);
+    private final LocalRateLimiterStore store = new LocalRateLimiterStore(clock::get);
+
+    @Test
+    void tryAcquire_ShouldAllowBurstThenThrottle() {
+        // Act & Assert
+        assertThat(store.tryAcquire("client", INTERVAL, BURST)).isZero();
+        assertThat(store.tryAcquire("client", INTERVAL, BURST)).isZero();
+        assertThat(store.tryAcquire("client", INTERVAL, BURST)).isZero();
+        assertThat(store.tryAcquire("client", INTERVAL, BURST)).isEqualTo(INTERVAL);
+        assertThat(store.tryAcquire("other", INTERVAL, BURST)).isZero();
+    }
+
+    @Test
+    void tryAcquire_ShouldRefillOverTime() {
+        // Arrange
+        for (int i = 0; i < 3; i++) {
+            store.tryAcquire("client", INTERVAL, BURST);
+        }
+
+        // Act
+        clock.addAndGet(INTERVAL / 2);
+        long early = store.tryAcquire("client", INTERVAL, BURST);
+        clock.addAndGet(INTERVAL / 2);
+        long refilled = store.tryAcquire("client", INTERVAL, BURST);
+
+        // Assert
+        assertThat(early).isEqualTo(INTERVAL / 2);
+        assertThat(refilled).isZero();
+    }
+
+    @Test
+    void evictIdle_ShouldOnlyDropFullBuckets() {
+        // Arrange
+        store.tryAcquire("idle", INTERVAL, BURST);
+        clock.addAndGet(5 * INTERVAL);
+        store.tryAcquire("busy", INTERVAL, BURST);
+
+        // Act
+        store.evictIdle();
+
+        // Assert
+        assertThat(store.size()).isEqualTo(1);
+    }
+}
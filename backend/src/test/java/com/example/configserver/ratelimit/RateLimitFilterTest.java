@@ -0,0 +1,87 @@
+package com.example.configserver.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimitFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        RateLimitProperties.Policy login = new RateLimitProperties.Policy();
+        login.setMethods(List.of("POST"));
+        login.setPaths(List.of("/api/auth/login"));
+        login.setCapacity(2);
+        login.setRefillPerSecond(0.5);
+
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.getPolicies().put("login", login);
+        filter = new RateLimitFilter(new RateLimiter(properties, new LocalRateLimiterStore(), meterRegistry),
+                new ObjectMapper());
+    }
+
+    @Test
+    void doFilter_OverLimit_ShouldReturn429WithRetryAfter() throws Exception {
+        // Act
+        MockHttpServletResponse first = login("10.0.0.1");
+        MockHttpServletResponse second = login("10.0.0.1");
+        MockHttpServletResponse third = login("10.0.0.1");
+        MockHttpServletResponse otherClient = login("10.0.0.2");
+
+        // Assert
+        assertThat(first.getStatus()).isEqualTo(200);
+        assertThat(second.getStatus()).isEqualTo(200);
+        assertThat(third.getStatus()).isEqualTo(429);
+        assertThat(third.getHeader("Retry-After")).isEqualTo("2");
+        assertThat(third.getContentAsString()).contains("\"status\":429");
+        assertThat(otherClient.getStatus()).isEqualTo(200);
+        assertThat(meterRegistry.get(RateLimiter.METRIC).tag("outcome", "rejected").counter().count())
+                .isEqualTo(1.0);
+        assertThat(meterRegistry.get(RateLimiter.METRIC).tag("outcome", "allowed").counter().count())
+                .isEqualTo(3.0);
+    }
+
+    @Test
+    void doFilter_PercentEncodedPath_ShouldMatchTheDecodedRoute() throws Exception {
+        // Act
+        login("10.0.0.1");
+        login("10.0.0.1");
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/auth/%6Cogin");
+        request.setRemoteAddr("10.0.0.1");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+
+        // Assert
+        assertThat(response.getStatus()).isEqualTo(429);
+    }
+
+    @Test
+    void doFilter_UnmatchedRoute_ShouldNotBeLimited() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/auth/login");
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(request, response, new MockFilterChain());
+            assertThat(response.getStatus()).isEqualTo(200);
+        }
+    }
+
+    private MockHttpServletResponse login(String remoteAddress) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/auth/login");
+        request.setRemoteAddr(remoteAddress);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+}
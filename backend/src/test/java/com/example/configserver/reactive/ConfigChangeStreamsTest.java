@@ -0,0 +1,47 @@
+package com.example.configserver.reactive;
+
+import com.example.configserver.service.ConfigurationChangedEvent;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConfigChangeStreamsTest {
+
+    private final ConfigChangeStreams changeStreams = new ConfigChangeStreams();
+
+    @Test
+    void changes_ShouldDeliverRevisionsOfTheGroupOnly() {
+        StepVerifier.create(changeStreams.changes("default", 1L))
+                .then(() -> {
+                    changeStreams.onConfigurationChanged(new ConfigurationChangedEvent("default", 3, Set.of(2L)));
+                    changeStreams.onConfigurationChanged(new ConfigurationChangedEvent("other", 4, Set.of(1L)));
+                    changeStreams.onConfigurationChanged(new ConfigurationChangedEvent("default", 5, Set.of(1L)));
+                })
+                .expectNext(5L)
+                .thenCancel()
+                .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void changes_ShouldDropTheStreamWithItsLastSubscriber() {
+        // Arrange
+        Disposable first = changeStreams.changes("default", 1L).subscribe();
+        Disposable second = changeStreams.changes("default", 1L).subscribe();
+        Disposable other = changeStreams.changes("random-tenant", 99L).subscribe();
+
+        // Act
+        first.dispose();
+        int afterFirst = changeStreams.streamCount();
+        second.dispose();
+        other.dispose();
+
+        // Assert
+        assertThat(afterFirst).isEqualTo(2);
+        assertThat(changeStreams.streamCount()).isZero();
+    }
+}
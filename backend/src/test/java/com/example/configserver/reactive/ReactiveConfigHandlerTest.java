@@ -0,0 +1,216 @@
+package com.example.configserver.reactive;
+
+import com.example.configserver.dto.EffectiveConfigItemDTO;
+import com.example.configserver.ratelimit.LocalRateLimiterStore;
+import com.example.configserver.ratelimit.RateLimitProperties;
+import com.example.configserver.ratelimit.RateLimiter;
+import com.example.configserver.security.RemoteCaller;
+import com.example.configserver.security.RemoteCallerResolver;
+import com.example.configserver.security.TokenRevocationList;
+import com.example.configserver.service.ConfigurationChangedEvent;
+import com.example.configserver.service.EffectiveConfigService;
+import com.example.configserver.service.RolloutClient;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveConfigHandlerTest {
+
+    @Mock
+    private EffectiveConfigService effectiveConfigService;
+
+    @Mock
+    private RemoteCallerResolver callerResolver;
+
+    private final ConfigChangeStreams changeStreams = new ConfigChangeStreams();
+    private final TokenRevocationList revocationList = new TokenRevocationList();
+
+    private WebTestClient client;
+
+    @BeforeEach
+    void setUp() throws RemoteCallerResolver.RejectedException {
+        client = client(new RateLimitProperties());
+        lenient().when(callerResolver.resolve(isNull(), isNull())).thenReturn(RemoteCaller.ANONYMOUS);
+    }
+
+    @Test
+    void effective_ShouldResolveForTheRolloutClient() {
+        // Arrange
+        when(effectiveConfigService.getEffectiveConfig(eq(1L), eq("PROD"), any(RolloutClient.class)))
+                .thenReturn(List.of(item("api.timeout", "30")));
+
+        // Act & Assert
+        client.get().uri("/api/items/group/1/environment/PROD/effective?clientId=pod-1&labels=canary,eu")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$[0].key").isEqualTo("api.timeout")
+                .jsonPath("$[0].value").isEqualTo("30");
+    }
+
+    @Test
+    void effective_RejectedCaller_ShouldBeUnauthorized() throws RemoteCallerResolver.RejectedException {
+        // Arrange
+        when(callerResolver.resolve(isNull(), eq("Bearer bad")))
+                .thenThrow(new RemoteCallerResolver.RejectedException(RemoteCallerResolver.Reason.UNAUTHENTICATED,
+                        "Invalid token"));
+
+        // Act & Assert
+        client.get().uri("/api/items/group/1/environment/PROD/effective")
+                .header("Authorization", "Bearer bad")
+                .exchange()
+                .expectStatus().isUnauthorized();
+        verifyNoInteractions(effectiveConfigService);
+    }
+
+    @Test
+    void effective_OverRateLimit_ShouldBeTooManyRequests() {
+        // Arrange
+        RateLimitProperties.Policy publicRead = new RateLimitProperties.Policy();
+        publicRead.setMethods(List.of("GET"));
+        publicRead.setPaths(List.of("/api/items/**"));
+        publicRead.setCapacity(1);
+        publicRead.setRefillPerSecond(0.5);
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.getPolicies().put("public-read", publicRead);
+        WebTestClient limited = client(properties);
+        when(effectiveConfigService.getEffectiveConfig(eq(1L), eq("PROD"), any(RolloutClient.class)))
+                .thenReturn(List.of(item("api.timeout", "30")));
+
+        // Act & Assert
+        limited.get().uri("/api/items/group/1/environment/PROD/effective")
+                .exchange()
+                .expectStatus().isOk();
+        limited.get().uri("/api/items/group/1/environment/PROD/effective")
+                .exchange()
+                .expectStatus().isEqualTo(429)
+                .expectHeader().valueEquals("Retry-After", "2");
+        verify(effectiveConfigService, times(1)).getEffectiveConfig(eq(1L), eq("PROD"), any(RolloutClient.class));
+    }
+
+    @Test
+    void watch_ShouldStreamChangedSnapshotsOnly() {
+        // Arrange
+        AtomicReference<String> value = new AtomicReference<>("30");
+        when(effectiveConfigService.getEffectiveConfig(eq(1L), eq("PROD"), any(RolloutClient.class)))
+                .thenAnswer(invocation -> List.of(item("api.timeout", value.get())));
+
+        // Act
+        Flux<ServerSentEvent<List<EffectiveConfigItemDTO>>> events = client.get()
+                .uri("/api/items/group/1/environment/PROD/watch")
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(new ParameterizedTypeReference<ServerSentEvent<List<EffectiveConfigItemDTO>>>() {
+                })
+                .getResponseBody();
+
+        // Assert: revision 4 leaves the view as it was, revision 5 changes it
+        StepVerifier.create(events)
+                .assertNext(event -> {
+                    assertThat(event.id()).isEqualTo("0");
+                    assertThat(event.data().get(0).getValue()).isEqualTo("30");
+                })
+                .then(() -> {
+                    changeStreams.onConfigurationChanged(new ConfigurationChangedEvent("default", 4, Set.of(1L)));
+                    verify(effectiveConfigService, timeout(5000).times(2))
+                            .getEffectiveConfig(eq(1L), eq("PROD"), any(RolloutClient.class));
+                    value.set("60");
+                    changeStreams.onConfigurationChanged(new ConfigurationChangedEvent("default", 5, Set.of(1L)));
+                })
+                .assertNext(event -> {
+                    assertThat(event.id()).isEqualTo("5");
+                    assertThat(event.data().get(0).getValue()).isEqualTo("60");
+                })
+                .thenCancel()
+                .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void watch_RevokedUser_ShouldEndBeforeTheNextEvent() throws RemoteCallerResolver.RejectedException {
+        // Arrange
+        when(callerResolver.resolve(isNull(), eq("Bearer alice"))).thenReturn(caller("alice", 60000));
+        when(effectiveConfigService.getEffectiveConfig(eq(1L), eq("PROD"), any(RolloutClient.class)))
+                .thenReturn(List.of(item("db.password", "hunter2")));
+
+        // Act
+        Flux<ServerSentEvent<List<EffectiveConfigItemDTO>>> events = watch("Bearer alice");
+
+        // Assert
+        StepVerifier.create(events)
+                .assertNext(event -> assertThat(event.id()).isEqualTo("0"))
+                .then(() -> {
+                    revocationList.revokeUser("default", "alice");
+                    changeStreams.onConfigurationChanged(new ConfigurationChangedEvent("default", 4, Set.of(1L)));
+                })
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void watch_ShouldEndWhenTheTokenExpires() throws RemoteCallerResolver.RejectedException {
+        // Arrange
+        when(callerResolver.resolve(isNull(), eq("Bearer alice"))).thenReturn(caller("alice", 500));
+        when(effectiveConfigService.getEffectiveConfig(eq(1L), eq("PROD"), any(RolloutClient.class)))
+                .thenReturn(List.of(item("api.timeout", "30")));
+
+        // Act & Assert: no change and no heartbeat is due, the stream ends by itself
+        StepVerifier.create(watch("Bearer alice"))
+                .assertNext(event -> assertThat(event.id()).isEqualTo("0"))
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+    }
+
+    private Flux<ServerSentEvent<List<EffectiveConfigItemDTO>>> watch(String authorization) {
+        return client.get()
+                .uri("/api/items/group/1/environment/PROD/watch")
+                .header("Authorization", authorization)
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(new ParameterizedTypeReference<ServerSentEvent<List<EffectiveConfigItemDTO>>>() {
+                })
+                .getResponseBody();
+    }
+
+    private static RemoteCaller caller(String username, long validForMillis) {
+        long now = System.currentTimeMillis();
+        return new RemoteCaller("default", new UsernamePasswordAuthenticationToken(username, null,
+                AuthorityUtils.createAuthorityList("ROLE_ADMIN")), new Date(now - 1000), new Date(now + validForMillis));
+    }
+
+    private static EffectiveConfigItemDTO item(String key, String value) {
+        return new EffectiveConfigItemDTO(1L, key, value, null, "BASE", true, false, null, value, false);
+    }
+
+    private WebTestClient client(RateLimitProperties rateLimits) {
+        RateLimiter rateLimiter = new RateLimiter(rateLimits, new LocalRateLimiterStore(), new SimpleMeterRegistry());
+        ReactiveConfigHandler handler = new ReactiveConfigHandler(effectiveConfigService, changeStreams,
+                callerResolver, revocationList, rateLimiter, 30);
+        return WebTestClient.bindToRouterFunction(handler.routes()).build();
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.configserver.replica;
+
+import com.example.configserver.dto.ReplicationSnapshot;
+import com.example.configserver.dto.TenantSnapshot;
+import com.example.configserver.model.ConfigurationGroup;
+import com.example.configserver.model.ConfigurationItem;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReplicaStoreTest {
+
+    private final ReplicaStore store = new ReplicaStore();
+
+    @Test
+    void replaceAll_ShouldServeGroupsAndItemsPerTenant() {
+        // Act
+        store.replaceAll(new ReplicationSnapshot(0L, List.of(
+                new TenantSnapshot("acme", 3L, List.of(group(1L, "api", item(10L, "PROD", "30")))),
+                new TenantSnapshot("globex", 1L, List.of(group(2L, "web"))))));
+
+        // Assert
+        ReplicaStore.TenantReplica acme = store.tenant("acme");
+        assertThat(acme.getRevision()).isEqualTo(3L);
+        assertThat(acme.groupByName("api")).isPresent();
+        assertThat(acme.item(10L)).hasValueSatisfying(item -> {
+            assertThat(item.getValue()).isEqualTo("30");
+            assertThat(item.getGroupId()).isEqualTo(1L);
+            assertThat(item.getGroup().getName()).isEqualTo("api");
+        });
+        assertThat(acme.itemsOf(1L, "PROD")).hasSize(1);
+        assertThat(acme.itemsOf(1L, "DEV")).isEmpty();
+        assertThat(store.tenant("globex").group(1L)).isEmpty();
+        assertThat(store.tenant("initech").groups()).isEmpty();
+    }
+
+    @Test
+    void apply_ShouldReplaceFetchedGroupsAndDropDeletedOnes() {
+        // Arrange
+        store.replaceAll(new ReplicationSnapshot(0L, List.of(new TenantSnapshot("acme", 3L, List.of(
+                group(1L, "api", item(10L, "PROD", "30")),
+                group(2L, "web", item(20L, "PROD", "on")))))));
+        ReplicaStore.TenantReplica before = store.tenant("acme");
+
+        // Act: group 1 changed, group 2 was deleted
+        store.apply(new TenantSnapshot("acme", 4L, List.of(group(1L, "api", item(10L, "PROD", "60")))),
+                Set.of(1L, 2L), 4L);
+
+        // Assert
+        ReplicaStore.TenantReplica after = store.tenant("acme");
+        assertThat(after.getRevision()).isEqualTo(4L);
+        assertThat(after.item(10L).map(ConfigurationItem::getValue)).contains("60");
+        assertThat(after.group(2L)).isEmpty();
+        assertThat(after.item(20L)).isEmpty();
+        assertThat(before.item(10L).map(ConfigurationItem::getValue)).contains("30");
+        assertThat(store.revisions()).containsEntry("acme", 4L);
+    }
+
+    @Test
+    void replaceAll_ShouldDropTenantsMissingFromTheSnapshot() {
+        // Arrange
+        store.replaceAll(new ReplicationSnapshot(0L, List.of(new TenantSnapshot("acme", 3L, List.of()))));
+
+        // Act
+        store.replaceAll(new ReplicationSnapshot(0L, List.of(new TenantSnapshot("globex", 1L, List.of()))));
+
+        // Assert
+        assertThat(store.revisions()).containsOnlyKeys("globex");
+    }
+
+    static ConfigurationGroup group(Long id, String name, ConfigurationItem... items) {
+        return new ConfigurationGroup(id, name, null, new ArrayList<>(List.of(items)), "acme");
+    }
+
+    static ConfigurationItem item(Long id, String environment, String value) {
+        ConfigurationItem item = new ConfigurationItem();
+        item.setId(id);
+        item.setKey("key." + id);
+        item.setValue(value);
+        item.setEnvironment(environment);
+        item.setVersion(0L);
+        return item;
+    }
+}
@@ -0,0 +1,177 @@
+package com.example.configserver.replica;
+
+import com.example.configserver.dto.ReplicatedChange;
+import com.example.configserver.dto.ReplicationHeartbeat;
+import com.example.configserver.dto.ReplicationSnapshot;
+import com.example.configserver.dto.TenantSnapshot;
+import com.example.configserver.dto.EffectiveConfigItemDTO;
+import com.example.configserver.model.ConfigurationItem;
+import com.example.configserver.model.EnvironmentDefinition;
+import com.example.configserver.security.SecretCipher;
+import com.example.configserver.security.TenantContext;
+import com.example.configserver.service.EffectiveConfigService;
+import com.example.configserver.service.EnvironmentRegistry;
+import com.example.configserver.service.SecretValueCache;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.example.configserver.replica.ReplicaStoreTest.group;
+import static com.example.configserver.replica.ReplicaStoreTest.item;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReplicationClientTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    // Request path and query to response body
+    private final Map<String, Object> responses = new ConcurrentHashMap<>();
+
+    private ReplicaStore store;
+    private EffectiveConfigService effectiveConfig;
+    private ReplicationClient client;
+
+    @BeforeEach
+    void setUp() {
+        store = new ReplicaStore();
+        EnvironmentRegistry environments = new EnvironmentRegistry(store::environments);
+        effectiveConfig = new EffectiveConfigService(new ReplicaConfigurationService(store), environments,
+                new SecretValueCache(new SecretCipher("", "local")));
+        WebClient primary = WebClient.builder()
+                .exchangeFunction(request -> {
+                    String target = request.url().getRawPath()
+                            + (request.url().getRawQuery() != null ? "?" + request.url().getRawQuery() : "");
+                    Object body = responses.get(target);
+                    if (body == null) {
+                        return Mono.just(ClientResponse.create(HttpStatus.NOT_FOUND).build());
+                    }
+                    try {
+                        return Mono.just(ClientResponse.create(HttpStatus.OK)
+                                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                                .body(objectMapper.writeValueAsString(body))
+                                .build());
+                    } catch (Exception e) {
+                        return Mono.error(e);
+                    }
+                })
+                .build();
+        client = new ReplicationClient(store, effectiveConfig, environments, primary, "http://primary",
+                objectMapper, Duration.ofMillis(10), Duration.ofMillis(10));
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
+    @Test
+    void handle_FirstHeartbeat_ShouldLoadTheSnapshot() throws Exception {
+        // Arrange
+        responses.put("/api/replication/snapshot", new ReplicationSnapshot(0L, List.of(
+                new TenantSnapshot("acme", 3L, List.of(group(1L, "api", item(10L, "PROD", "30")))))));
+
+        // Act
+        client.handle(heartbeat(Map.of("acme", 3L)), new AtomicBoolean()).block(Duration.ofSeconds(5));
+
+        // Assert
+        assertThat(store.tenant("acme").item(10L).map(ConfigurationItem::getValue)).contains("30");
+        assertThat(client.status().isConnected()).isTrue();
+        assertThat(client.status().getRevisionsBehind()).isZero();
+        assertThat(client.status().getMillisSinceLastContact()).isNotNull();
+    }
+
+    @Test
+    void handle_Change_ShouldFetchOnlyTheChangedGroups() throws Exception {
+        // Arrange
+        responses.put("/api/replication/snapshot", new ReplicationSnapshot(0L, List.of(
+                new TenantSnapshot("acme", 3L, List.of(group(1L, "api", item(10L, "PROD", "30")),
+                        group(2L, "web", item(20L, "PROD", "on")))))));
+        responses.put("/api/replication/snapshot/acme?groupIds=1",
+                new TenantSnapshot("acme", 4L, List.of(group(1L, "api", item(10L, "PROD", "60")))));
+        AtomicBoolean bootstrapped = new AtomicBoolean();
+        client.handle(heartbeat(Map.of("acme", 3L)), bootstrapped).block(Duration.ofSeconds(5));
+
+        // Act
+        client.handle(change(new ReplicatedChange("acme", 4L, Set.of(1L), System.currentTimeMillis())), bootstrapped)
+                .block(Duration.ofSeconds(5));
+
+        // Assert
+        assertThat(store.tenant("acme").getRevision()).isEqualTo(4L);
+        assertThat(store.tenant("acme").item(10L).map(ConfigurationItem::getValue)).contains("60");
+        assertThat(store.tenant("acme").item(20L).map(ConfigurationItem::getValue)).contains("on");
+        assertThat(client.status().getLastChangeLagMillis()).isNotNull();
+    }
+
+    @Test
+    void handle_Change_ShouldRefreshTheEffectiveConfig() throws Exception {
+        // Arrange
+        responses.put("/api/replication/snapshot", new ReplicationSnapshot(0L, List.of(
+                new TenantSnapshot("acme", 3L, List.of(group(1L, "api", item(10L, "BASE", "30"),
+                        item(11L, "PROD", "on")))))));
+        responses.put("/api/replication/snapshot/acme?groupIds=1",
+                new TenantSnapshot("acme", 4L, List.of(group(1L, "api", item(10L, "BASE", "60"),
+                        item(11L, "PROD", "on")))));
+        AtomicBoolean bootstrapped = new AtomicBoolean();
+        client.handle(heartbeat(Map.of("acme", 3L)), bootstrapped).block(Duration.ofSeconds(5));
+        TenantContext.setTenant("acme");
+        List<EffectiveConfigItemDTO> before = effectiveConfig.getEffectiveConfig(1L, "PROD");
+
+        // Act
+        client.handle(change(new ReplicatedChange("acme", 4L, Set.of(1L), System.currentTimeMillis())), bootstrapped)
+                .block(Duration.ofSeconds(5));
+        List<EffectiveConfigItemDTO> after = effectiveConfig.getEffectiveConfig(1L, "PROD");
+
+        // Assert: PROD inherits key.10 from BASE
+        assertThat(effectiveConfig.cachedGroups("acme")).containsExactly(1L);
+        assertThat(before).extracting(EffectiveConfigItemDTO::getValue).containsExactly("30", "on");
+        assertThat(after).extracting(EffectiveConfigItemDTO::getValue).containsExactly("60", "on");
+    }
+
+    @Test
+    void handle_TenantBehindForTwoHeartbeats_ShouldBeFetchedWhole() throws Exception {
+        // Arrange
+        responses.put("/api/replication/snapshot", new ReplicationSnapshot(0L, List.of(
+                new TenantSnapshot("acme", 3L, List.of(group(1L, "api", item(10L, "PROD", "30")))))));
+        responses.put("/api/replication/snapshot/acme",
+                new TenantSnapshot("acme", 5L, List.of(group(1L, "api", item(10L, "PROD", "90")))));
+        AtomicBoolean bootstrapped = new AtomicBoolean();
+        client.handle(heartbeat(Map.of("acme", 3L)), bootstrapped).block(Duration.ofSeconds(5));
+
+        // Act
+        client.handle(heartbeat(Map.of("acme", 5L)), bootstrapped).block(Duration.ofSeconds(5));
+        long behindAfterOne = client.status().getRevisionsBehind();
+        client.handle(heartbeat(Map.of("acme", 5L)), bootstrapped).block(Duration.ofSeconds(5));
+
+        // Assert
+        assertThat(behindAfterOne).isEqualTo(2L);
+        assertThat(store.tenant("acme").getRevision()).isEqualTo(5L);
+        assertThat(store.tenant("acme").item(10L).map(ConfigurationItem::getValue)).contains("90");
+        assertThat(client.status().getRevisionsBehind()).isZero();
+    }
+
+    private ServerSentEvent<String> heartbeat(Map<String, Long> revisions) throws Exception {
+        return ServerSentEvent.builder(objectMapper.writeValueAsString(
+                new ReplicationHeartbeat(System.currentTimeMillis(), revisions, List.of(
+                        new EnvironmentDefinition((short) 1, "BASE", null),
+                        new EnvironmentDefinition((short) 2, "PROD", (short) 1)))))
+                .event("heartbeat").build();
+    }
+
+    private ServerSentEvent<String> change(ReplicatedChange change) throws Exception {
+        return ServerSentEvent.builder(objectMapper.writeValueAsString(change)).event("change").build();
+    }
+}
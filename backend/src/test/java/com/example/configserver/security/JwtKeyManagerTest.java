@@ -0,0 +1,169 @@
+package com.example.configserver.security;
+
+import com.example.configserver.model.JwtSigningKey;
+import com.example.configserver.model.Role;
+import com.example.configserver.repository.JwtSigningKeyRepository;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.security.KeyPair;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class JwtKeyManagerTest {
+
+    private static final long HOUR_MS = 3_600_000L;
+    private static final String MASTER_KEY = Base64.getEncoder().encodeToString(new byte[32]);
+
+    @Mock
+    private JwtSigningKeyRepository keyRepository;
+
+    private JwtKeyManager keyManager;
+
+    private final List<JwtSigningKey> stored = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        keyManager = new JwtKeyManager(keyRepository, new SecretCipher(MASTER_KEY, "local"));
+        ReflectionTestUtils.setField(keyManager, "rotationIntervalMs", 720 * HOUR_MS);
+        ReflectionTestUtils.setField(keyManager, "activationDelayMs", 2 * HOUR_MS);
+        ReflectionTestUtils.setField(keyManager, "maxTokenLifetimeMs", 336 * HOUR_MS);
+        lenient().when(keyRepository.findAll()).thenAnswer(invocation -> new ArrayList<>(stored));
+        lenient().when(keyRepository.save(any())).thenAnswer(invocation -> {
+            stored.add(invocation.getArgument(0));
+            return invocation.getArgument(0);
+        });
+        lenient().doAnswer(invocation -> stored.remove(invocation.<JwtSigningKey>getArgument(0)))
+                .when(keyRepository).delete(any());
+    }
+
+    @Test
+    void firstUse_ShouldGenerateKeyAndPublishIt() {
+        // Act
+        JwtKeyManager.SigningKey signingKey = keyManager.signingKey();
+        Map<String, Object> jwks = keyManager.jwks();
+
+        // Assert
+        assertThat(stored).hasSize(1);
+        List<?> keys = (List<?>) jwks.get("keys");
+        assertThat(keys).hasSize(1);
+        Map<?, ?> jwk = (Map<?, ?>) keys.get(0);
+        assertThat(jwk.get("kid")).isEqualTo(signingKey.getKid());
+        assertThat(jwk.get("kty")).isEqualTo("EC");
+        assertThat(jwk.get("alg")).isEqualTo("ES256");
+        assertThat((String) jwk.get("x")).hasSize(43);
+        assertThat(jwk.containsKey("d")).isFalse();
+    }
+
+    @Test
+    void firstUse_ShouldStoreThePrivateKeyWrapped() {
+        // Act
+        keyManager.signingKey();
+
+        // Assert
+        assertThat(stored.get(0).getPrivateKey()).startsWith(SecretCipher.PREFIX);
+    }
+
+    @Test
+    void firstUse_WithoutMasterKey_ShouldFailWithoutStoringAKey() {
+        // Arrange
+        JwtKeyManager unkeyed = new JwtKeyManager(keyRepository, new SecretCipher("", "local"));
+
+        // Act & Assert
+        assertThatThrownBy(unkeyed::signingKey).isInstanceOf(IllegalStateException.class);
+        assertThat(stored).isEmpty();
+    }
+
+    @Test
+    void reload_ShouldWrapKeysStoredUnwrapped() {
+        // Arrange
+        KeyPair pair = Keys.keyPairFor(JwtKeyManager.ALGORITHM);
+        Base64.Encoder base64 = Base64.getEncoder();
+        stored.add(new JwtSigningKey("legacy", "ES256", base64.encodeToString(pair.getPublic().getEncoded()),
+                base64.encodeToString(pair.getPrivate().getEncoded()), LocalDateTime.now().minusDays(1)));
+
+        // Act
+        JwtKeyManager.SigningKey signingKey = keyManager.signingKey();
+
+        // Assert
+        assertThat(signingKey.getKid()).isEqualTo("legacy");
+        assertThat(signingKey.getPrivateKey()).isEqualTo(pair.getPrivate());
+        assertThat(stored.get(0).getPrivateKey()).startsWith(SecretCipher.PREFIX);
+    }
+
+    @Test
+    void rotate_ShouldPublishNewKeyBeforeSigningWithIt() {
+        // Arrange
+        LocalDateTime start = LocalDateTime.now().minusDays(31);
+        keyManager.rotate(start);
+        String oldKid = keyManager.signingKey().getKid();
+
+        // Act
+        LocalDateTime now = start.plusDays(31);
+        keyManager.rotate(now);
+        String pendingKid = keyManager.signingKey().getKid();
+        keyManager.rotate(now.plusHours(3));
+
+        // Assert
+        assertThat(stored).hasSize(2);
+        assertThat(pendingKid).isEqualTo(oldKid);
+        assertThat(keyManager.signingKey().getKid()).isNotEqualTo(oldKid);
+        assertThat(keyManager.verificationKey(oldKid)).isNotNull();
+        assertThat((List<?>) keyManager.jwks().get("keys")).hasSize(2);
+    }
+
+    @Test
+    void rotate_ShouldRemoveKeyOnceItsTokensHaveExpired() {
+        // Arrange
+        LocalDateTime start = LocalDateTime.now().minusDays(60);
+        keyManager.rotate(start);
+        String oldKid = keyManager.signingKey().getKid();
+        keyManager.rotate(start.plusDays(31));
+
+        // Act
+        keyManager.rotate(start.plusDays(46));
+
+        // Assert
+        assertThat(stored).extracting(JwtSigningKey::getKid).doesNotContain(oldKid);
+        verify(keyRepository).delete(any());
+    }
+
+    @Test
+    void jwtService_ShouldVerifyWithPublishedKeyAndRejectUnknownKeys() {
+        // Arrange
+        JwtService jwtService = new JwtService(keyManager);
+        ReflectionTestUtils.setField(jwtService, "jwtExpiration", 900_000L);
+        jwtService.init();
+        String token = jwtService.generateAccessToken(new ConfigUserPrincipal(1L, "admin", "default",
+                Role.ADMIN));
+        String foreign = Jwts.builder()
+                .setHeaderParam("kid", "unknown")
+                .setSubject("admin")
+                .signWith(Keys.keyPairFor(JwtKeyManager.ALGORITHM).getPrivate())
+                .compact();
+
+        // Act
+        Claims claims = jwtService.parse(token);
+
+        // Assert
+        assertThat(claims.getSubject()).isEqualTo("admin");
+        assertThatThrownBy(() -> jwtService.parse(foreign)).isInstanceOf(JwtException.class);
+    }
+}
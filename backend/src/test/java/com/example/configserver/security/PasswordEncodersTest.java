@@ -0,0 +1,50 @@
+package com.example.configserver.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PasswordEncodersTest {
+
+    private final PasswordEncoder encoder = PasswordEncoders.delegating(5);
+
+    @Test
+    void encode_ShouldWritePrefixedHashWithConfiguredCost() {
+        // Act
+        String hash = encoder.encode("secret");
+
+        // Assert
+        assertThat(hash).startsWith("{bcrypt}$2a$05$");
+        assertThat(encoder.matches("secret", hash)).isTrue();
+        assertThat(encoder.upgradeEncoding(hash)).isFalse();
+    }
+
+    @Test
+    void legacyHash_ShouldMatchAndBeUpgraded() {
+        // Arrange: hashes stored before the delegating encoder have no prefix
+        String legacy = new BCryptPasswordEncoder(4).encode("secret");
+
+        // Act & Assert
+        assertThat(encoder.matches("secret", legacy)).isTrue();
+        assertThat(encoder.matches("wrong", legacy)).isFalse();
+        assertThat(encoder.upgradeEncoding(legacy)).isTrue();
+    }
+
+    @Test
+    void upgradeEncoding_ShouldRehashWhenCostIsLowered() {
+        // Arrange
+        String stronger = PasswordEncoders.delegating(6).encode("secret");
+
+        // Act & Assert
+        assertThat(encoder.matches("secret", stronger)).isTrue();
+        assertThat(encoder.upgradeEncoding(stronger)).isTrue();
+    }
+
+    @Test
+    void calibrateBcryptStrength_ShouldNotGoBelowMinimum() {
+        assertThat(PasswordEncoders.calibrateBcryptStrength(4, 0)).isEqualTo(4);
+        assertThat(PasswordEncoders.calibrateBcryptStrength(4, 10_000)).isGreaterThan(4);
+    }
+}
@@ -0,0 +1,146 @@
+package com.example.configserver.security;
+
+import com.example.configserver.config.SecurityConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RouteAuthorizationTableTest {
+
+    private static final int ANONYMOUS = RouteAccess.callerMask(new AnonymousAuthenticationToken(
+            "key", "anonymous", AuthorityUtils.createAuthorityList("ROLE_ANONYMOUS")));
+    private static final int ADMIN = RouteAccess.callerMask(authenticated("ADMIN"));
+    private static final int READ_ONLY = RouteAccess.callerMask(authenticated("READ_ONLY"));
+
+    private RouteAuthorizationTable table;
+
+    @BeforeEach
+    void setUp() {
+        table = RouteAuthorizationTable.builder(SecurityConfig.ACCESS_RULES)
+                .route("GET", "/api/groups/{id}", null)
+                .route("GET", "/api/groups/name/{name}", null)
+                .route("PUT", "/api/groups/{id}", "hasRole('ADMIN')")
+                .route("GET", "/api/items/group/{groupId}/environment/{environment}", null)
+                .route("POST", "/api/config-items", "hasRole('ADMIN')")
+                .route("GET", "/api/config-items/{id}", null)
+                .route("PUT", "/api/users/{id}", "hasAuthority('ADMIN')")
+                .route("DELETE", "/api/users/{id}", null)
+                .route("POST", "/api/users/forgot-password", null)
+                .build();
+    }
+
+    @Test
+    void lookup_PublicReadRoute_ShouldPermitAnonymous() {
+        assertTrue(table.lookup("GET", "/api/groups/7").isGranted(ANONYMOUS));
+        assertTrue(table.lookup("GET", "/api/groups/name/api-service").isGranted(ANONYMOUS));
+        assertTrue(table.lookup("GET", "/api/items/group/1/environment/PROD").isGranted(ANONYMOUS));
+    }
+
+    @Test
+    void lookup_AdminWriteRoute_ShouldOnlyGrantAdmin() {
+        RouteAccess access = table.lookup("PUT", "/api/groups/7");
+
+        assertTrue(access.isGranted(ADMIN));
+        assertFalse(access.isGranted(READ_ONLY));
+        assertFalse(access.isGranted(ANONYMOUS));
+    }
+
+    @Test
+    void lookup_ShouldIntersectUrlRuleWithPreAuthorize() {
+        // URL rules only require authentication for /api/config-items
+        assertTrue(table.lookup("GET", "/api/config-items/3").isGranted(READ_ONLY));
+        assertFalse(table.lookup("GET", "/api/config-items/3").isGranted(ANONYMOUS));
+
+        // @PreAuthorize narrows the write route to admins
+        assertTrue(table.lookup("POST", "/api/config-items").isGranted(ADMIN));
+        assertFalse(table.lookup("POST", "/api/config-items").isGranted(READ_ONLY));
+    }
+
+    @Test
+    void lookup_LiteralRuleUnderVariableSegment_ShouldKeepRuleOrder() {
+        // "/api/users/forgot-password" is public for any method even though it also
+        // matches the admin-only URL rule for DELETE "/api/users/**"
+        assertTrue(table.lookup("DELETE", "/api/users/forgot-password").isGranted(READ_ONLY));
+        assertFalse(table.lookup("DELETE", "/api/users/42").isGranted(READ_ONLY));
+        assertTrue(table.lookup("DELETE", "/api/users/42").isGranted(ADMIN));
+
+        // The handler's @PreAuthorize still applies on top of the public URL rule
+        assertFalse(table.lookup("PUT", "/api/users/forgot-password").isGranted(READ_ONLY));
+    }
+
+    @Test
+    void lookup_UnknownRoute_ShouldFallBackToRuleChain() {
+        assertTrue(table.lookup("GET", "/swagger-ui/index.html").isGranted(ANONYMOUS));
+        assertTrue(table.lookup("OPTIONS", "/api/groups/7").isGranted(ANONYMOUS));
+        assertFalse(table.lookup("GET", "/api/unknown").isGranted(ANONYMOUS));
+        assertTrue(table.lookup("GET", "/api/unknown").isGranted(READ_ONLY));
+    }
+
+    @Test
+    void lookup_ShouldMatchRuleChainForEveryCompiledRoute() {
+        String[][] requests = {
+                {"GET", "/api/groups/7"}, {"PUT", "/api/groups/7"}, {"DELETE", "/api/groups/7"},
+                {"GET", "/api/items/group/1/environment/DEV"}, {"POST", "/api/users/forgot-password"},
+                {"PUT", "/api/users/9"}, {"DELETE", "/api/users/forgot-password"},
+                {"GET", "/api/config-items/3"}
+        };
+        for (String[] request : requests) {
+            RouteAccess expected = RouteAuthorizationTable.evaluateRules(
+                    SecurityConfig.ACCESS_RULES, request[0], request[1]);
+            RouteAccess compiled = table.lookup(request[0], request[1]);
+            for (int caller : new int[] {ANONYMOUS, READ_ONLY, ADMIN}) {
+                assertEquals(expected.isGranted(caller), compiled.isGranted(caller),
+                        request[0] + " " + request[1]);
+            }
+        }
+    }
+
+    @Test
+    void check_PercentEncodedPath_ShouldBeDecidedOnTheDecodedRoute() {
+        CompiledAuthorizationManager manager = new CompiledAuthorizationManager(table);
+
+        // The handler mappings decode "/api/%75sers/1" to "/api/users/1"
+        assertFalse(manager.check(() -> authenticated("READ_ONLY"),
+                context("DELETE", "/api/%75sers/1")).isGranted());
+        assertTrue(manager.check(() -> authenticated("ADMIN"),
+                context("DELETE", "/api/%75sers/1")).isGranted());
+        assertFalse(manager.check(() -> authenticated("READ_ONLY"),
+                context("PUT", "/api/%67roups/7")).isGranted());
+        assertFalse(manager.check(() -> authenticated("READ_ONLY"),
+                context("POST", "/api/config-%69tems")).isGranted());
+    }
+
+    @Test
+    void check_PathUnderContextPath_ShouldBeDecidedWithinTheApplication() {
+        CompiledAuthorizationManager manager = new CompiledAuthorizationManager(table);
+        MockHttpServletRequest request = new MockHttpServletRequest("PUT", "/config/api/group%73/7");
+        request.setContextPath("/config");
+
+        assertFalse(manager.check(() -> authenticated("READ_ONLY"),
+                new RequestAuthorizationContext(request)).isGranted());
+        assertTrue(manager.check(() -> authenticated("ADMIN"),
+                new RequestAuthorizationContext(request)).isGranted());
+    }
+
+    @Test
+    void parsePreAuthorize_WithUnsupportedExpression_ShouldFail() {
+        assertThrows(IllegalStateException.class,
+                () -> RouteAuthorizationTable.parsePreAuthorize("#id == principal.id"));
+    }
+
+    private static RequestAuthorizationContext context(String method, String uri) {
+        return new RequestAuthorizationContext(new MockHttpServletRequest(method, uri));
+    }
+
+    private static Authentication authenticated(String authority) {
+        return new UsernamePasswordAuthenticationToken("user", null,
+                AuthorityUtils.createAuthorityList(authority));
+    }
+}
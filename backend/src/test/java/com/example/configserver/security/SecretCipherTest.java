@@ -0,0 +1,80 @@
+package com.example.configserver.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SecretCipherTest {
+
+    private static final String KEY = Base64.getEncoder().encodeToString(new byte[32]);
+
+    private static final String CONTEXT = SecretCipher.itemContext("acme", 7L);
+
+    private final SecretCipher cipher = new SecretCipher(KEY, "k1");
+
+    @Test
+    void encrypt_ShouldRoundTripWithFreshEnvelopes() {
+        // Act
+        String first = cipher.encrypt("s3crét", CONTEXT);
+        String second = cipher.encrypt("s3crét", CONTEXT);
+
+        // Assert
+        assertThat(first).startsWith("enc:v2:k1:").doesNotContain("s3cr");
+        assertThat(first).isNotEqualTo(second);
+        assertThat(cipher.decrypt(first, CONTEXT)).isEqualTo("s3crét");
+        assertThat(SecretCipher.isEnvelope(first)).isTrue();
+        assertThat(SecretCipher.isEnvelope("plain")).isFalse();
+    }
+
+    @Test
+    void decrypt_TamperedEnvelope_ShouldBeRejected() {
+        // Arrange
+        String envelope = cipher.encrypt("value", CONTEXT);
+        int split = envelope.lastIndexOf(':') + 1;
+        byte[] ciphertext = Base64.getDecoder().decode(envelope.substring(split));
+        ciphertext[ciphertext.length - 1] ^= 1;
+        String tampered = envelope.substring(0, split) + Base64.getEncoder().encodeToString(ciphertext);
+
+        // Act & Assert
+        assertThatThrownBy(() -> cipher.decrypt(tampered, CONTEXT)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void decrypt_OtherContext_ShouldBeRejected() {
+        // Arrange
+        String envelope = cipher.encrypt("value", CONTEXT);
+
+        // Act & Assert: neither another item nor the same item ID in another tenant
+        assertThatThrownBy(() -> cipher.decrypt(envelope, SecretCipher.itemContext("acme", 8L)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> cipher.decrypt(envelope, SecretCipher.itemContext("other", 7L)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void decrypt_OtherMasterKey_ShouldBeRejected() {
+        // Arrange
+        byte[] otherKey = new byte[32];
+        otherKey[0] = 1;
+        SecretCipher other = new SecretCipher(Base64.getEncoder().encodeToString(otherKey), "k1");
+        String envelope = cipher.encrypt("value", CONTEXT);
+
+        // Act & Assert
+        assertThatThrownBy(() -> other.decrypt(envelope, CONTEXT)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new SecretCipher(KEY, "k2").decrypt(envelope, CONTEXT))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("k1");
+    }
+
+    @Test
+    void encrypt_WithoutMasterKey_ShouldBeRejected() {
+        assertThatThrownBy(() -> new SecretCipher("", "local").encrypt("value", CONTEXT))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("master-key");
+        assertThatThrownBy(() -> new SecretCipher(Base64.getEncoder().encodeToString(new byte[16]), "local"))
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
@@ -4,24 +4,39 @@ import com.example.configserver.dto.LoginRequest;
 import com.example.configserver.dto.LoginResponse;
 import com.example.configserver.model.Role;
 import com.example.configserver.model.User;
+import com.example.configserver.repository.JwtSigningKeyRepository;
 import com.example.configserver.repository.UserRepository;
-import com.example.configserver.security.JwtTokenProvider;
+import com.example.configserver.security.ConfigUserPrincipal;
+import com.example.configserver.security.JwtKeyManager;
+import com.example.configserver.security.JwtService;
+import com.example.configserver.security.RevokedRefreshTokens;
+import com.example.configserver.security.SecretCipher;
+import com.example.configserver.security.TenantContext;
+import io.jsonwebtoken.Claims;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HashSet;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -30,8 +45,11 @@ public class AuthenticationServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Spy
+    private JwtService jwtService = jwtService();
+
     @Mock
-    private JwtTokenProvider tokenProvider;
+    private RevokedRefreshTokens revokedRefreshTokens;
 
     @Mock
     private AuthenticationManager authenticationManager;
@@ -39,17 +57,28 @@ public class AuthenticationServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private LastLoginRecorder lastLoginRecorder;
+
     @Mock
     private Authentication authentication;
 
     @InjectMocks
     private AuthenticationService authenticationService;
 
+    // The revoked_refresh_tokens table shared by all instances
+    private final Set<String> revokedIds = new HashSet<>();
+
     private User testUser;
     private LoginRequest loginRequest;
 
     @BeforeEach
     void setUp() {
+        lenient().when(revokedRefreshTokens.revoke(any(), any()))
+                .thenAnswer(invocation -> revokedIds.add(invocation.getArgument(0)));
+        lenient().when(revokedRefreshTokens.isRevoked(any()))
+                .thenAnswer(invocation -> revokedIds.contains(invocation.<String>getArgument(0)));
+
         // Setup test user
         testUser = new User();
         testUser.setId(1L);
@@ -57,6 +86,8 @@ public class AuthenticationServiceTest {
         testUser.setPassword("encodedPassword");
         testUser.setEmail("test@example.com");
         testUser.setRole(Role.READ_ONLY);
+        testUser.setEnabled(true);
+        testUser.setTenant("default");
 
         // Setup login request
         loginRequest = new LoginRequest();
@@ -69,53 +100,134 @@ public class AuthenticationServiceTest {
         // Arrange
         when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
                 .thenReturn(authentication);
-        when(userRepository.findByUsername(loginRequest.getUsername()))
-                .thenReturn(Optional.of(testUser));
-        when(tokenProvider.generateToken(testUser.getUsername(), testUser.getRole()))
-                .thenReturn("jwt-token");
+        when(authentication.getPrincipal()).thenReturn(new ConfigUserPrincipal(testUser));
 
         // Act
         LoginResponse response = authenticationService.login(loginRequest);
 
         // Assert
         assertNotNull(response);
+        assertTrue(response.isSuccess());
         assertEquals(testUser.getId(), response.getId());
         assertEquals(testUser.getUsername(), response.getUsername());
         assertEquals(testUser.getRole(), response.getRole());
-        assertEquals("jwt-token", response.getToken());
+        assertNotNull(response.getRefreshToken());
+        assertEquals(900, response.getExpiresIn());
 
+        Claims claims = jwtService.parse(response.getToken());
+        assertEquals("testuser", claims.getSubject());
+        assertEquals("READ_ONLY", claims.get(JwtService.ROLE_CLAIM));
+        assertEquals("default", claims.get(JwtService.TENANT_CLAIM));
         verify(authenticationManager).authenticate(any(UsernamePasswordAuthenticationToken.class));
-        verify(userRepository).findByUsername(loginRequest.getUsername());
-        verify(tokenProvider).generateToken(testUser.getUsername(), testUser.getRole());
     }
 
     @Test
-    void login_WithInvalidCredentials_ShouldThrowException() {
+    void login_WithInvalidCredentials_ShouldReturnFailedResponse() {
         // Arrange
         when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
                 .thenThrow(new BadCredentialsException("Invalid credentials"));
 
-        // Act & Assert
-        assertThrows(RuntimeException.class, () -> authenticationService.login(loginRequest));
+        // Act
+        LoginResponse response = authenticationService.login(loginRequest);
 
-        verify(authenticationManager).authenticate(any(UsernamePasswordAuthenticationToken.class));
-        verify(userRepository, never()).findByUsername(anyString());
-        verify(tokenProvider, never()).generateToken(anyString(), any(Role.class));
+        // Assert
+        assertFalse(response.isSuccess());
+        assertNull(response.getToken());
+        verify(jwtService, never()).generateAccessToken(any());
+        verifyNoInteractions(lastLoginRecorder);
     }
 
     @Test
-    void login_WithNonExistentUser_ShouldThrowException() {
+    void login_ShouldRecordLastLoginWithoutWritingTheUser() {
         // Arrange
         when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
                 .thenReturn(authentication);
-        when(userRepository.findByUsername(loginRequest.getUsername()))
-                .thenReturn(Optional.empty());
+        when(authentication.getPrincipal()).thenReturn(new ConfigUserPrincipal(testUser));
+
+        // Act
+        authenticationService.login(loginRequest);
+
+        // Assert
+        verify(lastLoginRecorder).record(eq(1L), any(LocalDateTime.class));
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void refresh_ShouldRotateTokenAndRejectReuseOfWholeFamily() {
+        // Arrange
+        testUser.setTenant(TenantContext.DEFAULT_TENANT);
+        String refreshToken = jwtService.generateRefreshToken(new ConfigUserPrincipal(testUser), null);
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
+
+        // Act
+        LoginResponse rotated = authenticationService.refresh(refreshToken);
+        LoginResponse replayed = authenticationService.refresh(refreshToken);
+        LoginResponse afterReplay = authenticationService.refresh(rotated.getRefreshToken());
+
+        // Assert
+        assertTrue(rotated.isSuccess());
+        assertNotEquals(refreshToken, rotated.getRefreshToken());
+        assertEquals(jwtService.parse(refreshToken).get(JwtService.FAMILY_CLAIM),
+                jwtService.parse(rotated.getRefreshToken()).get(JwtService.FAMILY_CLAIM));
+        assertFalse(replayed.isSuccess());
+        assertFalse(afterReplay.isSuccess());
+    }
+
+    @Test
+    void refresh_TokenUsedOnAnotherInstance_ShouldRevokeItsFamily() {
+        // Arrange
+        testUser.setTenant(TenantContext.DEFAULT_TENANT);
+        String refreshToken = jwtService.generateRefreshToken(new ConfigUserPrincipal(testUser), null);
+        Claims claims = jwtService.parse(refreshToken);
+        revokedIds.add(claims.getId());
+
+        // Act
+        LoginResponse replayed = authenticationService.refresh(refreshToken);
+
+        // Assert
+        assertFalse(replayed.isSuccess());
+        assertTrue(revokedIds.contains(claims.get(JwtService.FAMILY_CLAIM, String.class)));
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void refresh_AfterTokensWereRevoked_ShouldFail() {
+        // Arrange
+        String refreshToken = jwtService.generateRefreshToken(new ConfigUserPrincipal(testUser), null);
+        testUser.setTokensRevokedAt(LocalDateTime.now().plusSeconds(1));
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
+
+        // Act
+        LoginResponse response = authenticationService.refresh(refreshToken);
+
+        // Assert
+        assertFalse(response.isSuccess());
+        assertNull(response.getToken());
+    }
+
+    @Test
+    void refresh_WithAccessToken_ShouldFail() {
+        // Arrange
+        String accessToken = jwtService.generateAccessToken(new ConfigUserPrincipal(testUser));
 
         // Act & Assert
-        assertThrows(RuntimeException.class, () -> authenticationService.login(loginRequest));
+        assertFalse(authenticationService.refresh(accessToken).isSuccess());
+        verifyNoInteractions(userRepository);
+    }
 
-        verify(authenticationManager).authenticate(any(UsernamePasswordAuthenticationToken.class));
-        verify(userRepository).findByUsername(loginRequest.getUsername());
-        verify(tokenProvider, never()).generateToken(anyString(), any(Role.class));
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
+    private static JwtService jwtService() {
+        JwtSigningKeyRepository keyRepository = mock(JwtSigningKeyRepository.class);
+        lenient().when(keyRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        JwtService service = new JwtService(new JwtKeyManager(keyRepository,
+                new SecretCipher(Base64.getEncoder().encodeToString(new byte[32]), "local")));
+        ReflectionTestUtils.setField(service, "jwtExpiration", 900_000L);
+        ReflectionTestUtils.setField(service, "refreshExpiration", 1_209_600_000L);
+        service.init();
+        return service;
     }
-}
\ No newline at end of file
+}
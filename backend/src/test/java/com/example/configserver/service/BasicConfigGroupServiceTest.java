@@ -2,7 +2,6 @@ package com.example.configserver.service;
 
 import com.example.configserver.model.ConfigurationGroup;
 import com.example.configserver.repository.ConfigurationGroupRepository;
-import com.example.configserver.service.impl.ConfigGroupServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -25,8 +24,14 @@ class BasicConfigGroupServiceTest {
     @Mock
     private ConfigurationGroupRepository groupRepository;
 
+    @Mock
+    private AuditService auditService;
+
+    @Mock
+    private ConfigurationRevisions revisions;
+
     @InjectMocks
-    private ConfigGroupServiceImpl groupService;
+    private ConfigurationServiceImpl groupService;
 
     @Mock
     private ConfigurationGroup mockGroup;
@@ -161,29 +166,28 @@ class BasicConfigGroupServiceTest {
     @Test
     void deleteGroup_WithExistingId_ShouldReturnTrue() {
         // Arrange
-        when(groupRepository.existsById(1L)).thenReturn(true);
-        doNothing().when(groupRepository).deleteById(1L);
+        when(groupRepository.findById(1L)).thenReturn(Optional.of(new ConfigurationGroup()));
 
         // Act
         boolean result = groupService.deleteGroup(1L);
 
         // Assert
         assertTrue(result);
-        verify(groupRepository).existsById(1L);
-        verify(groupRepository).deleteById(1L);
+        verify(groupRepository).findById(1L);
+        verify(groupRepository).delete(any(ConfigurationGroup.class));
     }
 
     @Test
     void deleteGroup_WithNonExistingId_ShouldReturnFalse() {
         // Arrange
-        when(groupRepository.existsById(999L)).thenReturn(false);
+        when(groupRepository.findById(999L)).thenReturn(Optional.empty());
 
         // Act
         boolean result = groupService.deleteGroup(999L);
 
         // Assert
         assertFalse(result);
-        verify(groupRepository).existsById(999L);
-        verify(groupRepository, never()).deleteById(anyLong());
+        verify(groupRepository).findById(999L);
+        verify(groupRepository, never()).delete(any(ConfigurationGroup.class));
     }
 } 
\ No newline at end of file
@@ -0,0 +1,59 @@
+package com.example.configserver.service;
+
+import com.example.configserver.dto.CacheRegionStatisticsDTO;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CacheStatisticsServiceTest {
+
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+
+    @Mock
+    private Statistics statistics;
+
+    @InjectMocks
+    private CacheStatisticsService cacheStatisticsService;
+
+    @Test
+    void getRegionStatistics_ShouldReturnSortedRegionCounters() {
+        // Arrange
+        SessionFactory sessionFactory = mock(SessionFactory.class);
+        CacheRegionStatistics userRegion = mock(CacheRegionStatistics.class);
+        when(userRegion.getHitCount()).thenReturn(40L);
+        when(userRegion.getMissCount()).thenReturn(2L);
+        when(userRegion.getPutCount()).thenReturn(2L);
+        when(userRegion.getElementCountInMemory()).thenReturn(2L);
+
+        when(entityManagerFactory.unwrap(SessionFactory.class)).thenReturn(sessionFactory);
+        when(sessionFactory.getStatistics()).thenReturn(statistics);
+        when(statistics.getSecondLevelCacheRegionNames()).thenReturn(new String[] {
+                "com.example.configserver.model.User", "com.example.configserver.model.ConfigurationGroup"});
+        when(statistics.getCacheRegionStatistics("com.example.configserver.model.User")).thenReturn(userRegion);
+        when(statistics.getCacheRegionStatistics("com.example.configserver.model.ConfigurationGroup")).thenReturn(null);
+
+        // Act
+        List<CacheRegionStatisticsDTO> result = cacheStatisticsService.getRegionStatistics();
+
+        // Assert
+        assertEquals(1, result.size());
+        CacheRegionStatisticsDTO region = result.get(0);
+        assertEquals("com.example.configserver.model.User", region.getRegionName());
+        assertEquals(40L, region.getHitCount());
+        assertEquals(2L, region.getMissCount());
+        verify(statistics).getCacheRegionStatistics("com.example.configserver.model.ConfigurationGroup");
+    }
+}
@@ -21,7 +21,7 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 
-@SpringBootTest
+@SpringBootTest(properties = "app.grpc.port=0")
 @Testcontainers
 @ContextConfiguration(initializers = {ConfigGroupServiceContainerTest.Initializer.class})
 class ConfigGroupServiceContainerTest {
@@ -43,7 +43,7 @@ class ConfigGroupServiceContainerTest {
     }
 
     @Autowired
-    private ConfigurationGroupService groupService;
+    private ConfigurationService groupService;
 
     @Autowired
     private ConfigurationGroupRepository groupRepository;
@@ -14,13 +14,13 @@ import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
-@SpringBootTest
+@SpringBootTest(properties = "app.grpc.port=0")
 @Transactional
 @DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
 class ConfigGroupServiceIntegrationTest {
 
     @Autowired
-    private ConfigurationGroupService groupService;
+    private ConfigurationService groupService;
 
     @Autowired
     private ConfigurationGroupRepository groupRepository;
@@ -2,8 +2,8 @@ package com.example.configserver.service;
 
 import com.example.configserver.model.ConfigurationGroup;
 import com.example.configserver.model.ConfigurationItem;
-import com.example.configserver.repository.ConfigGroupRepository;
-import com.example.configserver.repository.ConfigItemRepository;
+import com.example.configserver.repository.ConfigurationGroupRepository;
+import com.example.configserver.repository.ConfigurationItemRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -19,9 +19,8 @@ import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
-@SpringBootTest
+@SpringBootTest(properties = "app.grpc.port=0")
 @Testcontainers
 @ActiveProfiles("test")
 public class ConfigItemServiceWithDbTest {
@@ -40,17 +39,16 @@ public class ConfigItemServiceWithDbTest {
     }
 
     @Autowired
-    private ConfigItemService itemService;
+    private ConfigurationService itemService;
 
     @Autowired
-    private ConfigItemRepository itemRepository;
+    private ConfigurationItemRepository itemRepository;
 
     @Autowired
-    private ConfigGroupRepository groupRepository;
+    private ConfigurationGroupRepository groupRepository;
 
     private ConfigurationGroup testGroup;
     private ConfigurationItem testItem;
-    private final String testUserId = "test-user";
 
     @BeforeEach
     void setUp() {
@@ -147,17 +145,17 @@ public class ConfigItemServiceWithDbTest {
         itemRepository.save(prodItem);
 
         // Act
-        Optional<List<ConfigurationItem>> devItems = itemService.getItemsByGroupAndEnvironment(testGroup.getId(), "DEV");
-        Optional<List<ConfigurationItem>> prodItems = itemService.getItemsByGroupAndEnvironment(testGroup.getId(), "PROD");
+        List<ConfigurationItem> devItems = itemService.getItemsByGroupAndEnvironment(testGroup.getId(), "DEV");
+        List<ConfigurationItem> prodItems = itemService.getItemsByGroupAndEnvironment(testGroup.getId(), "PROD");
 
         // Assert
-        assertThat(devItems.get()).hasSize(1);
-        assertThat(devItems.get().get(0).getKey()).isEqualTo("test.key");
-        assertThat(devItems.get().get(0).getEnvironment()).isEqualTo("DEV");
+        assertThat(devItems).hasSize(1);
+        assertThat(devItems.get(0).getKey()).isEqualTo("test.key");
+        assertThat(devItems.get(0).getEnvironment()).isEqualTo("DEV");
 
-        assertThat(prodItems.get()).hasSize(1);
-        assertThat(prodItems.get().get(0).getKey()).isEqualTo("test.key.prod");
-        assertThat(prodItems.get().get(0).getEnvironment()).isEqualTo("PROD");
+        assertThat(prodItems).hasSize(1);
+        assertThat(prodItems.get(0).getKey()).isEqualTo("test.key.prod");
+        assertThat(prodItems.get(0).getEnvironment()).isEqualTo("PROD");
     }
 
     @Test
@@ -171,16 +169,16 @@ public class ConfigItemServiceWithDbTest {
         newItem.setEnvironment("STAGE");
 
         // Act
-        Optional<ConfigurationItem> createdItem = itemService.createItem(newItem, testUserId);
+        ConfigurationItem createdItem = itemService.createItem(newItem);
 
         // Assert
-        assertThat(createdItem.get().getId()).isNotNull();
-        assertThat(createdItem.get().getKey()).isEqualTo("new.key");
-        assertThat(createdItem.get().getValue()).isEqualTo("new-value");
-        assertThat(createdItem.get().getEnvironment()).isEqualTo("STAGE");
+        assertThat(createdItem.getId()).isNotNull();
+        assertThat(createdItem.getKey()).isEqualTo("new.key");
+        assertThat(createdItem.getValue()).isEqualTo("new-value");
+        assertThat(createdItem.getEnvironment()).isEqualTo("STAGE");
 
         // Verify it was saved in the database
-        Optional<ConfigurationItem> fromDb = itemRepository.findById(createdItem.get().getId());
+        Optional<ConfigurationItem> fromDb = itemRepository.findById(createdItem.getId());
         assertThat(fromDb).isPresent();
         assertThat(fromDb.get().getKey()).isEqualTo("new.key");
     }
@@ -196,7 +194,7 @@ public class ConfigItemServiceWithDbTest {
         updatedItem.setEnvironment("DEV");
 
         // Act
-        Optional<ConfigurationItem> result = itemService.updateItem(testItem.getId(), updatedItem, testUserId);
+        Optional<ConfigurationItem> result = itemService.updateItem(testItem.getId(), updatedItem);
 
         // Assert
         assertThat(result).isPresent();
@@ -220,7 +218,7 @@ public class ConfigItemServiceWithDbTest {
         updatedItem.setValue("updated-value");
 
         // Act
-        Optional<ConfigurationItem> result = itemService.updateItem(999L, updatedItem, testUserId); // Changed from String to Long
+        Optional<ConfigurationItem> result = itemService.updateItem(999L, updatedItem); // Changed from String to Long
 
         // Assert
         assertThat(result).isEmpty();
@@ -229,17 +227,16 @@ public class ConfigItemServiceWithDbTest {
     @Test
     void deleteItem_WhenItemExists_DeletesItem() {
         // Act
-        itemService.deleteItem(testItem.getId(), testUserId);
+        boolean deleted = itemService.deleteItem(testItem.getId());
 
         // Assert
+        assertThat(deleted).isTrue();
         assertThat(itemRepository.existsById(testItem.getId())).isFalse();
     }
 
     @Test
-    void deleteItem_WhenItemDoesNotExist_ThrowsException() {
+    void deleteItem_WhenItemDoesNotExist_ReturnsFalse() {
         // Act & Assert
-        assertThatThrownBy(() -> 
-            itemService.deleteItem(999L, testUserId) // Changed from String to Long
-        ).isInstanceOf(Exception.class);
+        assertThat(itemService.deleteItem(999L)).isFalse();
     }
 }
\ No newline at end of file
@@ -1,23 +1,35 @@
 package com.example.configserver.service;
 
+import com.example.configserver.dto.ConfigurationChangeSetResult;
+import com.example.configserver.dto.ConfigurationItemChange;
 import com.example.configserver.model.ConfigurationGroup;
 import com.example.configserver.model.ConfigurationItem;
 import com.example.configserver.model.Environment;
+import com.example.configserver.model.RolloutRule;
+import com.example.configserver.model.ValueType;
 import com.example.configserver.repository.ConfigurationGroupRepository;
 import com.example.configserver.repository.ConfigurationItemRepository;
+import com.example.configserver.security.SecretCipher;
+import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.OptimisticLockingFailureException;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
@@ -30,8 +42,20 @@ public class ConfigurationItemServiceTest {
     @Mock
     private ConfigurationGroupRepository groupRepository;
 
+    @Mock
+    private AuditService auditService;
+
+    @Mock
+    private ConfigurationRevisions revisions;
+
+    @Mock
+    private EnvironmentRegistry environmentRegistry;
+
+    @Mock
+    private SecretCipher secretCipher;
+
     @InjectMocks
-    private ConfigurationItemServiceImpl itemService;
+    private ConfigurationServiceImpl itemService;
 
     private ConfigurationGroup testGroup;
     private ConfigurationItem testItem;
@@ -70,6 +94,8 @@ public class ConfigurationItemServiceTest {
         itemToUpdate.setDescription("Updated description");
         itemToUpdate.setEnvironment(Environment.DEV.name());
         // GroupId will be set in the test
+
+        lenient().when(environmentRegistry.requireKnown(anyString())).thenAnswer(invocation -> invocation.getArgument(0));
     }
 
     @Test
@@ -200,31 +226,358 @@ public class ConfigurationItemServiceTest {
     }
 
     @Test
-    void deleteItem_WithExistingId_ShouldReturnTrue() {
+    void deleteItem_WithExistingId_ShouldDeleteAndAudit() {
         // Arrange
-        when(itemRepository.existsById(1L)).thenReturn(true);
-        doNothing().when(itemRepository).deleteById(1L);
+        when(itemRepository.findById(1L)).thenReturn(Optional.of(testItem));
 
         // Act
         boolean result = itemService.deleteItem(1L);
 
         // Assert
         assertThat(result).isTrue();
-        verify(itemRepository).existsById(1L);
-        verify(itemRepository).deleteById(1L);
+        verify(itemRepository).delete(testItem);
+        verify(auditService).logItemDeletion(eq(testItem), anyString());
     }
 
     @Test
     void deleteItem_WithNonExistingId_ShouldReturnFalse() {
         // Arrange
-        when(itemRepository.existsById(999L)).thenReturn(false);
+        when(itemRepository.findById(999L)).thenReturn(Optional.empty());
 
         // Act
         boolean result = itemService.deleteItem(999L);
 
         // Assert
         assertThat(result).isFalse();
-        verify(itemRepository).existsById(999L);
-        verify(itemRepository, never()).deleteById(999L);
+        verify(itemRepository, never()).delete(any(ConfigurationItem.class));
+        verifyNoInteractions(auditService);
+    }
+
+    @Test
+    void createItem_ShouldResolveGroupAndAudit() {
+        // Arrange
+        itemToCreate.setGroupId(1L);
+        when(groupRepository.findById(1L)).thenReturn(Optional.of(testGroup));
+        when(itemRepository.save(itemToCreate)).thenReturn(itemToCreate);
+
+        // Act
+        ConfigurationItem result = itemService.createItem(itemToCreate);
+
+        // Assert
+        assertThat(result.getGroup()).isSameAs(testGroup);
+        verify(environmentRegistry).requireKnown(Environment.DEV.name());
+        verify(auditService).logItemCreation(eq(itemToCreate), anyString());
+    }
+
+    @Test
+    void createItem_WithDuplicateKey_ShouldBeRejected() {
+        // Arrange
+        itemToCreate.setGroupId(1L);
+        when(groupRepository.findById(1L)).thenReturn(Optional.of(testGroup));
+        when(itemRepository.existsByKeyAndGroupAndEnvironment("test.key", testGroup, Environment.DEV.name()))
+                .thenReturn(true);
+
+        // Act & Assert
+        assertThatThrownBy(() -> itemService.createItem(itemToCreate))
+                .isInstanceOf(IllegalArgumentException.class);
+        verify(itemRepository, never()).save(any(ConfigurationItem.class));
+        verifyNoInteractions(auditService);
+    }
+
+    @Test
+    void createItem_WithUnknownGroup_ShouldBeRejected() {
+        // Arrange
+        itemToCreate.setGroupId(42L);
+        when(groupRepository.findById(42L)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThatThrownBy(() -> itemService.createItem(itemToCreate))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("42");
+    }
+
+    @Test
+    void updateItem_ShouldAuditPreviousAndNewValues() {
+        // Arrange
+        itemToUpdate.setGroupId(1L);
+        when(itemRepository.findById(1L)).thenReturn(Optional.of(testItem));
+        when(itemRepository.save(testItem)).thenReturn(testItem);
+
+        // Act
+        itemService.updateItem(1L, itemToUpdate);
+
+        // Assert
+        ArgumentCaptor<ConfigurationItem> before = ArgumentCaptor.forClass(ConfigurationItem.class);
+        verify(auditService).logItemUpdate(before.capture(), eq(testItem), anyString());
+        assertThat(before.getValue().getValue()).isEqualTo("test-value");
+        assertThat(testItem.getValue()).isEqualTo("updated-value");
+    }
+
+    @Test
+    void updateItem_WithStaleExpectedVersion_ShouldBeRejected() {
+        // Arrange
+        testItem.setVersion(5L);
+        itemToUpdate.setGroupId(1L);
+        when(itemRepository.findById(1L)).thenReturn(Optional.of(testItem));
+
+        // Act & Assert
+        assertThatThrownBy(() -> itemService.updateItem(1L, itemToUpdate, 4L))
+                .isInstanceOf(OptimisticLockingFailureException.class);
+        assertThat(testItem.getValue()).isEqualTo("test-value");
+        verify(itemRepository, never()).save(any(ConfigurationItem.class));
+        verifyNoInteractions(auditService);
+    }
+
+    @Test
+    void updateItem_WithCurrentExpectedVersion_ShouldUpdate() {
+        // Arrange
+        testItem.setVersion(5L);
+        itemToUpdate.setGroupId(1L);
+        when(itemRepository.findById(1L)).thenReturn(Optional.of(testItem));
+        when(itemRepository.save(testItem)).thenReturn(testItem);
+
+        // Act
+        Optional<ConfigurationItem> result = itemService.updateItem(1L, itemToUpdate, 5L);
+
+        // Assert
+        assertThat(result).containsSame(testItem);
+        assertThat(testItem.getValue()).isEqualTo("updated-value");
+    }
+
+    @Test
+    void deleteItem_WithStaleExpectedVersion_ShouldBeRejected() {
+        // Arrange
+        testItem.setVersion(5L);
+        when(itemRepository.findById(1L)).thenReturn(Optional.of(testItem));
+
+        // Act & Assert
+        assertThatThrownBy(() -> itemService.deleteItem(1L, 4L))
+                .isInstanceOf(OptimisticLockingFailureException.class);
+        verify(itemRepository, never()).delete(any(ConfigurationItem.class));
+        verifyNoInteractions(auditService);
+    }
+
+    @Test
+    void applyChangeSet_ShouldApplyAllChangesAsOneRevision() {
+        // Arrange
+        itemToCreate.setGroupId(1L);
+        itemToUpdate.setGroupId(1L);
+        ConfigurationItem itemToDelete = new ConfigurationItem();
+        itemToDelete.setId(2L);
+        itemToDelete.setGroup(testGroup);
+        when(groupRepository.findById(1L)).thenReturn(Optional.of(testGroup));
+        when(itemRepository.save(itemToCreate)).thenReturn(itemToCreate);
+        when(itemRepository.findById(1L)).thenReturn(Optional.of(testItem));
+        when(itemRepository.save(testItem)).thenReturn(testItem);
+        when(itemRepository.findById(2L)).thenReturn(Optional.of(itemToDelete));
+        when(revisions.recordChange(any())).thenReturn(9L);
+
+        // Act
+        ConfigurationChangeSetResult result = itemService.applyChangeSet(Arrays.asList(
+                new ConfigurationItemChange(ConfigurationItemChange.Action.CREATE, null, null, itemToCreate),
+                new ConfigurationItemChange(ConfigurationItemChange.Action.UPDATE, 1L, null, itemToUpdate),
+                new ConfigurationItemChange(ConfigurationItemChange.Action.DELETE, 2L, null, null)));
+
+        // Assert
+        assertThat(result.getRevision()).isEqualTo(9L);
+        assertThat(result.getItems()).containsExactly(itemToCreate, testItem);
+        verify(itemRepository).delete(itemToDelete);
+        verify(auditService).logItemCreation(eq(itemToCreate), anyString());
+        verify(auditService).logItemUpdate(any(ConfigurationItem.class), eq(testItem), anyString());
+        verify(auditService).logItemDeletion(eq(itemToDelete), anyString());
+    }
+
+    @Test
+    void applyChangeSet_WithMissingItem_ShouldFailTheWholeSet() {
+        // Arrange
+        when(itemRepository.findById(999L)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThatThrownBy(() -> itemService.applyChangeSet(Arrays.asList(
+                new ConfigurationItemChange(ConfigurationItemChange.Action.DELETE, 999L, null, null))))
+                .isInstanceOf(EntityNotFoundException.class)
+                .hasMessageContaining("999");
+    }
+
+    @Test
+    void applyChangeSet_WithoutChanges_ShouldBeRejected() {
+        assertThatThrownBy(() -> itemService.applyChangeSet(Collections.emptyList()))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(itemRepository, revisions);
+    }
+
+    @Test
+    void createItem_WithRollout_ShouldNormalizeLabels() {
+        // Arrange
+        itemToCreate.setGroupId(1L);
+        itemToCreate.setRollout(new RolloutRule("5", 10, Arrays.asList(" canary ", "canary", "")));
+        when(groupRepository.findById(1L)).thenReturn(Optional.of(testGroup));
+        when(itemRepository.save(itemToCreate)).thenReturn(itemToCreate);
+
+        // Act
+        ConfigurationItem result = itemService.createItem(itemToCreate);
+
+        // Assert
+        assertThat(result.getRollout().getLabels()).containsExactly("canary");
+        assertThat(result.getRollout().getPercentage()).isEqualTo(10);
+    }
+
+    @Test
+    void createItem_WithInvalidRolloutPercentage_ShouldBeRejected() {
+        // Arrange
+        itemToCreate.setGroupId(1L);
+        itemToCreate.setRollout(new RolloutRule("5", 150, null));
+        when(groupRepository.findById(1L)).thenReturn(Optional.of(testGroup));
+
+        // Act & Assert
+        assertThatThrownBy(() -> itemService.createItem(itemToCreate))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("percentage");
+        verify(itemRepository, never()).save(any(ConfigurationItem.class));
+    }
+
+    @Test
+    void createItem_BeyondRolloutLimit_ShouldBeRejected() {
+        // Arrange
+        itemToCreate.setGroupId(1L);
+        itemToCreate.setRollout(new RolloutRule("5", null, Arrays.asList("canary")));
+        when(groupRepository.findById(1L)).thenReturn(Optional.of(testGroup));
+        when(itemRepository.countByGroup_IdAndRollout_ValueIsNotNull(1L))
+                .thenReturn((long) EffectiveConfigService.MAX_ROLLOUTS_PER_VIEW);
+
+        // Act & Assert
+        assertThatThrownBy(() -> itemService.createItem(itemToCreate))
+                .isInstanceOf(IllegalArgumentException.class);
+        verify(itemRepository, never()).save(any(ConfigurationItem.class));
+    }
+
+    @Test
+    void createItem_WithValueNotMatchingType_ShouldBeRejected() {
+        // Arrange
+        itemToCreate.setGroupId(1L);
+        itemToCreate.setValueType(ValueType.INT);
+        when(groupRepository.findById(1L)).thenReturn(Optional.of(testGroup));
+
+        // Act & Assert
+        assertThatThrownBy(() -> itemService.createItem(itemToCreate))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("INT");
+        verify(itemRepository, never()).save(any(ConfigurationItem.class));
+    }
+
+    @Test
+    void createItem_Secret_ShouldStoreEncryptedValues() {
+        // Arrange
+        itemToCreate.setGroupId(1L);
+        itemToCreate.setSecret(true);
+        itemToCreate.setRollout(new RolloutRule("next-value", 10, null));
+        when(groupRepository.findById(1L)).thenReturn(Optional.of(testGroup));
+        when(secretCipher.encrypt("test-value", "item:default:5")).thenReturn("enc:v2:local:k1:c1");
+        when(secretCipher.encrypt("next-value", "item:default:5")).thenReturn("enc:v2:local:k2:c2");
+        List<String> inserted = new ArrayList<>();
+        when(itemRepository.save(itemToCreate)).thenAnswer(invocation -> {
+            ConfigurationItem item = invocation.getArgument(0);
+            inserted.add(item.getValue());
+            inserted.add(item.getRollout().getValue());
+            item.setId(5L);
+            return item;
+        });
+
+        // Act
+        ConfigurationItem result = itemService.createItem(itemToCreate);
+
+        // Assert: encrypted for the ID the insert assigned, without inserting the plaintext
+        assertThat(inserted).doesNotContain("test-value", "next-value");
+        assertThat(result.getValue()).isEqualTo("enc:v2:local:k1:c1");
+        assertThat(result.getRollout().getValue()).isEqualTo("enc:v2:local:k2:c2");
+    }
+
+    @Test
+    void createItem_Envelope_ShouldBeRejected() {
+        // Arrange: an envelope read from another item or tenant
+        itemToCreate.setGroupId(1L);
+        itemToCreate.setValue("enc:v2:local:k1:c1");
+        when(groupRepository.findById(1L)).thenReturn(Optional.of(testGroup));
+
+        // Act & Assert: neither decrypted into a plain item nor stored in a secret one
+        assertThatThrownBy(() -> itemService.createItem(itemToCreate))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Encrypted");
+        itemToCreate.setSecret(true);
+        assertThatThrownBy(() -> itemService.createItem(itemToCreate))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(secretCipher);
+        verify(itemRepository, never()).save(any(ConfigurationItem.class));
+    }
+
+    @Test
+    void updateItem_SecretWithUnchangedEnvelope_ShouldKeepIt() {
+        // Arrange
+        testItem.setSecret(true);
+        testItem.setValue("enc:v2:local:k1:c1");
+        itemToUpdate.setSecret(true);
+        itemToUpdate.setValue("enc:v2:local:k1:c1");
+        itemToUpdate.setValueType(ValueType.INT);
+        when(itemRepository.findById(1L)).thenReturn(Optional.of(testItem));
+        when(secretCipher.decrypt("enc:v2:local:k1:c1", "item:default:1")).thenReturn("42");
+        when(itemRepository.save(testItem)).thenReturn(testItem);
+
+        // Act
+        Optional<ConfigurationItem> result = itemService.updateItem(1L, itemToUpdate);
+
+        // Assert
+        assertThat(result).isPresent();
+        assertThat(result.get().getValue()).isEqualTo("enc:v2:local:k1:c1");
+        verify(secretCipher, never()).encrypt(anyString(), anyString());
+    }
+
+    @Test
+    void updateItem_SecretWithoutValue_ShouldKeepTheStoredOne() {
+        // Arrange: the API serves secret items without their values
+        testItem.setSecret(true);
+        testItem.setValue("enc:v2:local:k1:c1");
+        itemToUpdate.setSecret(true);
+        itemToUpdate.setValue(null);
+        when(itemRepository.findById(1L)).thenReturn(Optional.of(testItem));
+        when(secretCipher.decrypt("enc:v2:local:k1:c1", "item:default:1")).thenReturn("hunter2");
+        when(itemRepository.save(testItem)).thenReturn(testItem);
+
+        // Act
+        Optional<ConfigurationItem> result = itemService.updateItem(1L, itemToUpdate);
+
+        // Assert
+        assertThat(result).isPresent();
+        assertThat(result.get().getValue()).isEqualTo("enc:v2:local:k1:c1");
+        assertThat(result.get().getDescription()).isEqualTo("Updated description");
+    }
+
+    @Test
+    void updateItem_EnvelopeForPlainItem_ShouldNotBeDecrypted() {
+        // Arrange
+        itemToUpdate.setValue("enc:v2:local:k1:c1");
+        when(itemRepository.findById(1L)).thenReturn(Optional.of(testItem));
+
+        // Act & Assert
+        assertThatThrownBy(() -> itemService.updateItem(1L, itemToUpdate))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Encrypted");
+        verifyNoInteractions(secretCipher);
+    }
+
+    @Test
+    void createItem_SecretNotMatchingType_ShouldNotEchoValue() {
+        // Arrange
+        itemToCreate.setGroupId(1L);
+        itemToCreate.setSecret(true);
+        itemToCreate.setValueType(ValueType.INT);
+        when(groupRepository.findById(1L)).thenReturn(Optional.of(testGroup));
+
+        // Act & Assert
+        assertThatThrownBy(() -> itemService.createItem(itemToCreate))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("INT")
+                .hasMessageNotContaining("test-value");
+        verifyNoInteractions(secretCipher);
+        verify(itemRepository, never()).save(any(ConfigurationItem.class));
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,119 @@
+package com.example.configserver.service;
+
+import com.example.configserver.cluster.ConfigChangeNotifier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ConfigurationRevisionsTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private ConfigChangeNotifier changeNotifier;
+
+    @InjectMocks
+    private ConfigurationRevisions revisions;
+
+    @BeforeEach
+    void setUp() {
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.unbindResourceIfPossible(revisions);
+    }
+
+    @Test
+    void recordChange_ShouldBumpOnceAndNotifyOnceAfterCommit() {
+        // Arrange
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class), eq("default"))).thenReturn(7L);
+
+        // Act
+        long first = revisions.recordChange(1L);
+        long second = revisions.recordChange(2L);
+        long third = revisions.recordChange(1L);
+
+        // Assert
+        assertThat(first).isEqualTo(7L);
+        assertThat(second).isEqualTo(7L);
+        assertThat(third).isEqualTo(7L);
+        assertThat(revisions.pendingRevision()).isEqualTo(7L);
+        verify(jdbcTemplate, times(1)).queryForObject(anyString(), eq(Long.class), eq("default"));
+        verifyNoInteractions(eventPublisher);
+
+        completeTransaction(true);
+
+        ArgumentCaptor<ConfigurationChangedEvent> event = ArgumentCaptor.forClass(ConfigurationChangedEvent.class);
+        verify(eventPublisher, times(1)).publishEvent(event.capture());
+        assertThat(event.getValue().getTenant()).isEqualTo("default");
+        assertThat(event.getValue().getRevision()).isEqualTo(7L);
+        assertThat(event.getValue().getGroupIds()).containsExactly(1L, 2L);
+        verify(changeNotifier, times(1)).notifyChange("default", 7L, Set.of(1L, 2L));
+        assertThat(revisions.pendingRevision()).isNull();
+    }
+
+    @Test
+    void recordChange_ShouldNotNotifyOnRollback() {
+        // Arrange
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class), eq("default"))).thenReturn(3L);
+        revisions.recordChange(1L);
+
+        // Act
+        completeTransaction(false);
+
+        // Assert
+        verifyNoInteractions(eventPublisher, changeNotifier);
+        assertThat(revisions.pendingRevision()).isNull();
+    }
+
+    @Test
+    void recordChange_OutsideTransaction_ShouldBeRejected() {
+        // Arrange
+        TransactionSynchronizationManager.clearSynchronization();
+
+        // Act & Assert
+        assertThatThrownBy(() -> revisions.recordChange(1L))
+                .isInstanceOf(IllegalStateException.class);
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    private void completeTransaction(boolean committed) {
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (committed) {
+                synchronization.beforeCommit(false);
+                synchronization.afterCommit();
+            }
+            synchronization.afterCompletion(committed
+                    ? TransactionSynchronization.STATUS_COMMITTED
+                    : TransactionSynchronization.STATUS_ROLLED_BACK);
+        }
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+}
@@ -2,7 +2,6 @@ package com.example.configserver.service;
 
 import com.example.configserver.model.ConfigurationGroup;
 import com.example.configserver.repository.ConfigurationGroupRepository;
-import com.example.configserver.service.impl.ConfigGroupServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -26,8 +25,14 @@ class DetailedConfigGroupServiceTest {
     @Mock
     private ConfigurationGroupRepository groupRepository;
 
+    @Mock
+    private AuditService auditService;
+
+    @Mock
+    private ConfigurationRevisions revisions;
+
     @InjectMocks
-    private ConfigGroupServiceImpl groupService;
+    private ConfigurationServiceImpl groupService;
 
     @Mock
     private ConfigurationGroup mockGroup1;
@@ -175,44 +180,43 @@ class DetailedConfigGroupServiceTest {
     @Test
     void deleteGroup_WithExistingId_ShouldReturnTrue() {
         // Arrange
-        when(groupRepository.existsById(1L)).thenReturn(true);
-        doNothing().when(groupRepository).deleteById(1L);
+        when(groupRepository.findById(1L)).thenReturn(Optional.of(new ConfigurationGroup()));
 
         // Act
         boolean result = groupService.deleteGroup(1L);
 
         // Assert
         assertTrue(result);
-        verify(groupRepository).existsById(1L);
-        verify(groupRepository).deleteById(1L);
+        verify(groupRepository).findById(1L);
+        verify(groupRepository).delete(any(ConfigurationGroup.class));
     }
 
     @Test
     void deleteGroup_WithNonExistingId_ShouldReturnFalse() {
         // Arrange
-        when(groupRepository.existsById(999L)).thenReturn(false);
+        when(groupRepository.findById(999L)).thenReturn(Optional.empty());
 
         // Act
         boolean result = groupService.deleteGroup(999L);
 
         // Assert
         assertFalse(result);
-        verify(groupRepository).existsById(999L);
-        verify(groupRepository, never()).deleteById(anyLong());
+        verify(groupRepository).findById(999L);
+        verify(groupRepository, never()).delete(any(ConfigurationGroup.class));
     }
 
     @Test
     void deleteGroup_WithDatabaseError_ShouldPropagateException() {
         // Arrange
-        when(groupRepository.existsById(1L)).thenReturn(true);
-        doThrow(new RuntimeException("Database error")).when(groupRepository).deleteById(1L);
+        when(groupRepository.findById(1L)).thenReturn(Optional.of(new ConfigurationGroup()));
+        doThrow(new RuntimeException("Database error")).when(groupRepository).delete(any(ConfigurationGroup.class));
 
         // Act & Assert
         assertThrows(RuntimeException.class, () -> {
             groupService.deleteGroup(1L);
         });
         
-        verify(groupRepository).existsById(1L);
-        verify(groupRepository).deleteById(1L);
+        verify(groupRepository).findById(1L);
+        verify(groupRepository).delete(any(ConfigurationGroup.class));
     }
 } 
\ No newline at end of file
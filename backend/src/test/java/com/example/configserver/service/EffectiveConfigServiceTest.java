@@ -0,0 +1,391 @@
+package com.example.configserver.service;
+
+import com.example.configserver.dto.EffectiveConfigItemDTO;
+import com.example.configserver.model.ConfigurationGroup;
+import com.example.configserver.model.ConfigurationItem;
+import com.example.configserver.model.RolloutRule;
+import com.example.configserver.model.ValueType;
+import com.example.configserver.security.TenantContext;
+import com.example.configserver.service.EffectiveConfigService.ItemState;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EffectiveConfigServiceTest {
+
+    @Mock
+    private ConfigurationService configurationService;
+
+    @Mock
+    private EnvironmentRegistry environmentRegistry;
+
+    @Mock
+    private SecretValueCache secretValues;
+
+    @InjectMocks
+    private EffectiveConfigService effectiveConfigService;
+
+    private ConfigurationGroup group;
+
+    @BeforeEach
+    void setUp() {
+        group = new ConfigurationGroup();
+        group.setId(1L);
+        group.setName("api-service");
+
+        lenient().when(environmentRegistry.lineageOf(anyString()))
+                .thenAnswer(invocation -> "BASE".equals(invocation.getArgument(0))
+                        ? List.of("BASE")
+                        : List.of(invocation.getArgument(0), "BASE"));
+        lenient().when(environmentRegistry.contains(anyString()))
+                .thenAnswer(invocation -> List.of("BASE", "DEV", "PROD").contains(invocation.getArgument(0)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void getEffectiveConfig_ShouldOverlayEnvironmentOnBase() {
+        // Arrange
+        when(configurationService.getItemsByGroup(1L)).thenReturn(Arrays.asList(
+                item(1L, "BASE", "api.timeout", "30"),
+                item(2L, "BASE", "api.retries", "3"),
+                item(3L, "PROD", "api.timeout", "10"),
+                item(4L, "DEV", "api.debug", "true")));
+
+        // Act
+        List<EffectiveConfigItemDTO> prod = effectiveConfigService.getEffectiveConfig(1L, "PROD");
+
+        // Assert
+        assertThat(prod).extracting(EffectiveConfigItemDTO::getKey).containsExactly("api.retries", "api.timeout");
+        assertThat(prod.get(0).getValue()).isEqualTo("3");
+        assertThat(prod.get(0).isInherited()).isTrue();
+        assertThat(prod.get(1).getValue()).isEqualTo("10");
+        assertThat(prod.get(1).getSourceEnvironment()).isEqualTo("PROD");
+        assertThat(prod.get(1).isInherited()).isFalse();
+    }
+
+    @Test
+    void getEffectiveConfig_ShouldLoadGroupOnlyOnce() {
+        // Arrange
+        when(configurationService.getItemsByGroup(1L)).thenReturn(List.of(item(1L, "BASE", "api.timeout", "30")));
+
+        // Act
+        effectiveConfigService.getEffectiveConfig(1L, "PROD");
+        effectiveConfigService.getEffectiveConfig(1L, "DEV");
+        effectiveConfigService.getEffectiveConfig(1L, "PROD");
+
+        // Assert
+        verify(configurationService, times(1)).getItemsByGroup(1L);
+    }
+
+    @Test
+    void getEffectiveConfig_UnknownGroup_ShouldNotBeCached() {
+        // Arrange
+        when(configurationService.getGroupById(99L)).thenReturn(Optional.empty());
+
+        // Act
+        effectiveConfigService.getEffectiveConfig(99L, "PROD");
+        TenantContext.setTenant("no-such-tenant");
+        effectiveConfigService.getEffectiveConfig(99L, "PROD");
+
+        // Assert
+        assertThat(effectiveConfigService.cachedGroups(TenantContext.DEFAULT_TENANT)).isEmpty();
+        assertThat(effectiveConfigService.cachedGroups("no-such-tenant")).isEmpty();
+        verify(configurationService, times(2)).getItemsByGroup(99L);
+    }
+
+    @Test
+    void getEffectiveConfig_ExistingEmptyGroup_ShouldBeCached() {
+        // Arrange
+        when(configurationService.getGroupById(2L)).thenReturn(Optional.of(group));
+
+        // Act
+        effectiveConfigService.getEffectiveConfig(2L, "PROD");
+        effectiveConfigService.getEffectiveConfig(2L, "PROD");
+
+        // Assert
+        assertThat(effectiveConfigService.cachedGroups(TenantContext.DEFAULT_TENANT)).containsExactly(2L);
+        verify(configurationService, times(1)).getItemsByGroup(2L);
+    }
+
+    @Test
+    void getRendered_UnknownEnvironment_ShouldBeBuiltPerRequest() {
+        // Arrange
+        when(configurationService.getItemsByGroup(1L)).thenReturn(List.of(item(1L, "BASE", "api.timeout", "30")));
+        AtomicInteger renders = new AtomicInteger();
+
+        // Act
+        effectiveConfigService.getRendered(1L, "random-1", RolloutClient.ANONYMOUS, "test",
+                items -> renders.incrementAndGet());
+        effectiveConfigService.getRendered(1L, "random-1", RolloutClient.ANONYMOUS, "test",
+                items -> renders.incrementAndGet());
+        List<EffectiveConfigItemDTO> unknown = effectiveConfigService.getEffectiveConfig(1L, "random-2");
+
+        // Assert: served, but no view of an unknown environment is kept
+        assertThat(renders).hasValue(2);
+        assertThat(unknown).extracting(EffectiveConfigItemDTO::getValue).containsExactly("30");
+        verify(configurationService, times(1)).getItemsByGroup(1L);
+    }
+
+    @Test
+    void itemChanged_BaseKeyUpdate_ShouldPropagateToEnvironmentsWithoutOverride() {
+        // Arrange
+        when(configurationService.getItemsByGroup(1L)).thenReturn(Arrays.asList(
+                item(1L, "BASE", "api.timeout", "30"),
+                item(2L, "PROD", "api.timeout", "10")));
+        effectiveConfigService.getEffectiveConfig(1L, "PROD");
+        effectiveConfigService.getEffectiveConfig(1L, "DEV");
+
+        // Act
+        effectiveConfigService.itemChanged(
+                state(1L, "BASE", "api.timeout", "30"),
+                state(1L, "BASE", "api.timeout", "45"));
+
+        // Assert
+        assertThat(effectiveConfigService.getEffectiveConfig(1L, "DEV").get(0).getValue()).isEqualTo("45");
+        assertThat(effectiveConfigService.getEffectiveConfig(1L, "PROD").get(0).getValue()).isEqualTo("10");
+        verify(configurationService, times(1)).getItemsByGroup(1L);
+    }
+
+    @Test
+    void itemChanged_DeletedOverride_ShouldFallBackToBase() {
+        // Arrange
+        when(configurationService.getItemsByGroup(1L)).thenReturn(Arrays.asList(
+                item(1L, "BASE", "api.timeout", "30"),
+                item(2L, "PROD", "api.timeout", "10")));
+        effectiveConfigService.getEffectiveConfig(1L, "PROD");
+
+        // Act
+        effectiveConfigService.itemChanged(state(2L, "PROD", "api.timeout", "10"), null);
+
+        // Assert
+        EffectiveConfigItemDTO timeout = effectiveConfigService.getEffectiveConfig(1L, "PROD").get(0);
+        assertThat(timeout.getValue()).isEqualTo("30");
+        assertThat(timeout.getSourceEnvironment()).isEqualTo("BASE");
+    }
+
+    @Test
+    void evictTenant_ShouldLeaveOtherTenantsCached() {
+        // Arrange
+        when(configurationService.getItemsByGroup(1L)).thenReturn(List.of(item(1L, "BASE", "api.timeout", "30")));
+        effectiveConfigService.getEffectiveConfig(1L, "PROD");
+        TenantContext.setTenant("payments");
+        effectiveConfigService.getEffectiveConfig(1L, "PROD");
+
+        // Act
+        int evicted = effectiveConfigService.evictTenant("payments");
+        effectiveConfigService.getEffectiveConfig(1L, "PROD");
+        TenantContext.clear();
+        effectiveConfigService.getEffectiveConfig(1L, "PROD");
+
+        // Assert: each tenant loaded once, "payments" once more after its flush
+        assertThat(evicted).isEqualTo(1);
+        verify(configurationService, times(3)).getItemsByGroup(1L);
+    }
+
+    @Test
+    void itemChanged_OtherTenant_ShouldNotAffectView() {
+        // Arrange
+        when(configurationService.getItemsByGroup(1L)).thenReturn(List.of(item(1L, "BASE", "api.timeout", "30")));
+        effectiveConfigService.getEffectiveConfig(1L, "PROD");
+
+        // Act
+        effectiveConfigService.itemChanged(null,
+                new ItemState(9L, "payments", 1L, "PROD", "api.timeout", "5", null));
+
+        // Assert
+        assertThat(effectiveConfigService.getEffectiveConfig(1L, "PROD").get(0).getValue()).isEqualTo("30");
+    }
+
+    @Test
+    void getEffectiveConfig_ShouldServeStagedValueToLabelledClientsOnly() {
+        // Arrange
+        ConfigurationItem retries = item(1L, "PROD", "payment.retry.count", "3");
+        retries.setRollout(new RolloutRule("5", null, List.of("canary")));
+        when(configurationService.getItemsByGroup(1L)).thenReturn(List.of(retries, item(2L, "BASE", "api.timeout", "30")));
+
+        // Act
+        List<EffectiveConfigItemDTO> canary = effectiveConfigService.getEffectiveConfig(1L, "PROD",
+                RolloutClient.of("pod-1", List.of("canary")));
+        List<EffectiveConfigItemDTO> stable = effectiveConfigService.getEffectiveConfig(1L, "PROD",
+                RolloutClient.of("pod-1", List.of("eu-west")));
+
+        // Assert
+        assertThat(canary.get(1).getValue()).isEqualTo("5");
+        assertThat(canary.get(1).isRollout()).isTrue();
+        assertThat(canary.get(0).getValue()).isEqualTo("30");
+        assertThat(stable.get(1).getValue()).isEqualTo("3");
+        assertThat(stable.get(1).isRollout()).isFalse();
+        assertThat(effectiveConfigService.getEffectiveConfig(1L, "PROD").get(1).getValue()).isEqualTo("3");
+    }
+
+    @Test
+    void getEffectiveConfig_ShouldServeStagedValueByClientBucket() {
+        // Arrange
+        ConfigurationItem full = item(1L, "BASE", "feature.a", "off");
+        full.setRollout(new RolloutRule("on", 100, null));
+        ConfigurationItem none = item(2L, "BASE", "feature.b", "off");
+        none.setRollout(new RolloutRule("on", 0, null));
+        ConfigurationItem half = item(3L, "BASE", "feature.c", "off");
+        half.setRollout(new RolloutRule("on", 50, null));
+        when(configurationService.getItemsByGroup(1L)).thenReturn(List.of(full, none, half));
+
+        // Act
+        long inHalf = 0;
+        for (int pod = 0; pod < 1000; pod++) {
+            RolloutClient client = RolloutClient.of("pod-" + pod, null);
+            List<EffectiveConfigItemDTO> config = effectiveConfigService.getEffectiveConfig(1L, "PROD", client);
+            assertThat(config.get(0).getValue()).isEqualTo("on");
+            assertThat(config.get(1).getValue()).isEqualTo("off");
+            if (config.get(2).getValue().equals("on")) {
+                inHalf++;
+                assertThat(RolloutClient.bucketOf("pod-" + pod)).isLessThan(50);
+            }
+        }
+
+        // Assert
+        assertThat(inHalf).isBetween(400L, 600L);
+        assertThat(effectiveConfigService.getEffectiveConfig(1L, "PROD").get(0).getValue()).isEqualTo("on");
+    }
+
+    @Test
+    void itemChanged_RolloutRemoved_ShouldServeRegularValueToCohort() {
+        // Arrange
+        ConfigurationItem retries = item(1L, "PROD", "payment.retry.count", "3");
+        retries.setRollout(new RolloutRule("5", null, List.of("canary")));
+        when(configurationService.getItemsByGroup(1L)).thenReturn(List.of(retries));
+        RolloutClient canary = RolloutClient.of(null, List.of("canary"));
+        effectiveConfigService.getEffectiveConfig(1L, "PROD", canary);
+
+        // Act
+        effectiveConfigService.itemChanged(
+                state(1L, "PROD", "payment.retry.count", "3"),
+                state(1L, "PROD", "payment.retry.count", "5"));
+
+        // Assert
+        EffectiveConfigItemDTO promoted = effectiveConfigService.getEffectiveConfig(1L, "PROD", canary).get(0);
+        assertThat(promoted.getValue()).isEqualTo("5");
+        assertThat(promoted.isRollout()).isFalse();
+    }
+
+    @Test
+    void getCompactConfig_ShouldEmitParsedTypedValues() {
+        // Arrange
+        ConfigurationItem timeout = item(1L, "BASE", "api.timeout", "30");
+        timeout.setValueType(ValueType.INT);
+        ConfigurationItem debug = item(2L, "PROD", "api.debug", "false");
+        debug.setValueType(ValueType.BOOL);
+        debug.setRollout(new RolloutRule("true", null, List.of("canary")));
+        when(configurationService.getItemsByGroup(1L)).thenReturn(List.of(timeout, debug, item(3L, "BASE", "api.name", "payments")));
+
+        // Act
+        Map<String, Object> stable = effectiveConfigService.getCompactConfig(1L, "PROD", RolloutClient.ANONYMOUS);
+        Map<String, Object> canary = effectiveConfigService.getCompactConfig(1L, "PROD",
+                RolloutClient.of(null, List.of("canary")));
+
+        // Assert
+        assertThat(stable).containsExactly(
+                entry("api.debug", false), entry("api.name", "payments"), entry("api.timeout", 30));
+        assertThat(canary).containsEntry("api.debug", true);
+    }
+
+    @Test
+    void getEffectiveConfig_ShouldRevealSecretsToAdminsOnly() {
+        // Arrange
+        ConfigurationItem password = item(1L, "BASE", "db.password", "enc:v2:local:k1:c1");
+        password.setSecret(true);
+        when(configurationService.getItemsByGroup(1L)).thenReturn(List.of(password));
+        when(secretValues.decrypt("enc:v2:local:k1:c1", "item:default:1")).thenReturn("hunter2");
+
+        // Act
+        EffectiveConfigItemDTO anonymous = effectiveConfigService.getEffectiveConfig(1L, "PROD").get(0);
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken("reader", null,
+                AuthorityUtils.createAuthorityList("ROLE_READ_ONLY")));
+        EffectiveConfigItemDTO reader = effectiveConfigService.getEffectiveConfig(1L, "PROD").get(0);
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken("admin", null,
+                AuthorityUtils.createAuthorityList("ROLE_ADMIN")));
+        EffectiveConfigItemDTO authenticated = effectiveConfigService.getEffectiveConfig(1L, "PROD").get(0);
+        Map<String, Object> compact = effectiveConfigService.getCompactConfig(1L, "PROD", RolloutClient.ANONYMOUS);
+
+        // Assert
+        assertThat(anonymous.isSecret()).isTrue();
+        assertThat(anonymous.getValue()).isNull();
+        assertThat(reader.getValue()).isNull();
+        assertThat(authenticated.getValue()).isEqualTo("hunter2");
+        assertThat(compact).containsEntry("db.password", "hunter2");
+        // The shared view keeps the envelope
+        SecurityContextHolder.clearContext();
+        assertThat(effectiveConfigService.getEffectiveConfig(1L, "PROD").get(0).getValue()).isNull();
+    }
+
+    @Test
+    void getRendered_ShouldRenderOncePerViewUntilAnItemChanges() {
+        // Arrange
+        when(configurationService.getItemsByGroup(1L)).thenReturn(List.of(item(1L, "BASE", "api.timeout", "30")));
+        AtomicInteger renders = new AtomicInteger();
+
+        // Act
+        String first = effectiveConfigService.getRendered(1L, "PROD", RolloutClient.ANONYMOUS, "test",
+                items -> renders.incrementAndGet() + ":" + items.iterator().next().getValue());
+        String cached = effectiveConfigService.getRendered(1L, "PROD", RolloutClient.ANONYMOUS, "test",
+                items -> renders.incrementAndGet() + ":" + items.iterator().next().getValue());
+        effectiveConfigService.itemChanged(state(1L, "BASE", "api.timeout", "30"), state(1L, "BASE", "api.timeout", "60"));
+        String changed = effectiveConfigService.getRendered(1L, "PROD", RolloutClient.ANONYMOUS, "test",
+                items -> renders.incrementAndGet() + ":" + items.iterator().next().getValue());
+
+        // Assert
+        assertThat(first).isEqualTo("1:30");
+        assertThat(cached).isSameAs(first);
+        assertThat(changed).isEqualTo("2:60");
+    }
+
+    @Test
+    void getRendered_ViewWithSecrets_ShouldNotBeRendered() {
+        // Arrange
+        ConfigurationItem password = item(1L, "BASE", "db.password", "enc:v2:local:k1:c1");
+        password.setSecret(true);
+        when(configurationService.getItemsByGroup(1L)).thenReturn(List.of(password));
+
+        // Act & Assert
+        assertThat(effectiveConfigService.<Object>getRendered(1L, "PROD", RolloutClient.ANONYMOUS, "test",
+                items -> items)).isNull();
+    }
+
+    private ConfigurationItem item(Long id, String environment, String key, String value) {
+        ConfigurationItem item = new ConfigurationItem();
+        item.setId(id);
+        item.setKey(key);
+        item.setValue(value);
+        item.setEnvironment(environment);
+        item.setGroup(group);
+        item.setTenant(TenantContext.getTenant());
+        return item;
+    }
+
+    private static ItemState state(Long id, String environment, String key, String value) {
+        return new ItemState(id, TenantContext.DEFAULT_TENANT, 1L, environment, key, value, null);
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.configserver.service;
+
+import com.example.configserver.dto.EnvironmentDTO;
+import com.example.configserver.model.EnvironmentDefinition;
+import com.example.configserver.repository.EnvironmentDefinitionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EnvironmentRegistryTest {
+
+    @Mock
+    private EnvironmentDefinitionRepository environmentRepository;
+
+    private EnvironmentRegistry environmentRegistry;
+
+    private List<EnvironmentDefinition> definitions;
+
+    @BeforeEach
+    void setUp() {
+        definitions = new ArrayList<>(Arrays.asList(
+                new EnvironmentDefinition((short) 1, "BASE", null),
+                new EnvironmentDefinition((short) 2, "DEV", (short) 1),
+                new EnvironmentDefinition((short) 5, "PROD", (short) 1),
+                new EnvironmentDefinition((short) 6, "PROD-EU", (short) 5)));
+        lenient().when(environmentRepository.findAll()).thenReturn(definitions);
+        environmentRegistry = new EnvironmentRegistry(environmentRepository);
+    }
+
+    @Test
+    void lookups_ShouldBeServedFromOneSnapshot() {
+        // Act & Assert
+        assertThat(environmentRegistry.idOf("PROD-EU")).isEqualTo((short) 6);
+        assertThat(environmentRegistry.nameOf((short) 2)).isEqualTo("DEV");
+        assertThat(environmentRegistry.idOf("UNKNOWN")).isNull();
+        assertThat(environmentRegistry.lineageOf("PROD-EU")).containsExactly("PROD-EU", "PROD", "BASE");
+        assertThat(environmentRegistry.lineageOf("UNKNOWN")).containsExactly("UNKNOWN");
+        verify(environmentRepository, times(1)).findAll();
+    }
+
+    @Test
+    void nameOf_UnseenId_ShouldRefreshOnce() {
+        // Arrange
+        environmentRegistry.idOf("BASE");
+        definitions.add(new EnvironmentDefinition((short) 7, "PROD-US", (short) 5));
+
+        // Act
+        String name = environmentRegistry.nameOf((short) 7);
+
+        // Assert
+        assertThat(name).isEqualTo("PROD-US");
+        verify(environmentRepository, times(2)).findAll();
+    }
+
+    @Test
+    void requireKnown_WithUnknownEnvironment_ShouldThrow() {
+        assertThatThrownBy(() -> environmentRegistry.requireKnown("QA"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("QA");
+    }
+
+    @Test
+    void createEnvironment_ShouldSaveAndPublishNewSnapshot() {
+        // Arrange
+        when(environmentRepository.existsByName("PROD-APAC")).thenReturn(false);
+        when(environmentRepository.save(any(EnvironmentDefinition.class))).thenAnswer(invocation -> {
+            EnvironmentDefinition saved = invocation.getArgument(0);
+            saved.setId((short) 8);
+            definitions.add(saved);
+            return saved;
+        });
+
+        // Act
+        EnvironmentDTO created = environmentRegistry.createEnvironment(new EnvironmentDTO(null, "PROD-APAC", "PROD"));
+
+        // Assert
+        assertThat(created.getId()).isEqualTo((short) 8);
+        assertThat(environmentRegistry.lineageOf("PROD-APAC")).containsExactly("PROD-APAC", "PROD", "BASE");
+        assertThat(environmentRegistry.getAllEnvironments()).extracting(EnvironmentDTO::getName)
+                .containsExactly("BASE", "DEV", "PROD", "PROD-EU", "PROD-APAC");
+    }
+
+    @Test
+    void createEnvironment_WithUnknownParent_ShouldThrow() {
+        // Arrange
+        when(environmentRepository.existsByName("QA")).thenReturn(false);
+
+        // Act & Assert
+        assertThatThrownBy(() -> environmentRegistry.createEnvironment(new EnvironmentDTO(null, "QA", "MISSING")))
+                .isInstanceOf(IllegalArgumentException.class);
+        verify(environmentRepository, never()).save(any());
+    }
+}
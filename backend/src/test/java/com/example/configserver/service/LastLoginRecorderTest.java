@@ -0,0 +1,81 @@
+package com.example.configserver.service;
+
+import com.example.configserver.model.User;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LastLoginRecorderTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+
+    @Mock
+    private Cache cache;
+
+    @InjectMocks
+    private LastLoginRecorder lastLoginRecorder;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(entityManagerFactory.getCache()).thenReturn(cache);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flushPending_ShouldWriteLatestLoginPerUserInOneBatch() {
+        // Arrange
+        LocalDateTime first = LocalDateTime.of(2024, 1, 1, 10, 0);
+        LocalDateTime second = first.plusMinutes(1);
+        lastLoginRecorder.record(1L, second);
+        lastLoginRecorder.record(1L, first);
+        lastLoginRecorder.record(2L, first);
+
+        // Act
+        int written = lastLoginRecorder.flushPending();
+
+        // Assert
+        ArgumentCaptor<List<Object[]>> batch = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(1)).batchUpdate(anyString(), batch.capture());
+        assertThat(written).isEqualTo(2);
+        assertThat(batch.getValue()).anySatisfy(row -> assertThat(row).containsExactly(Timestamp.valueOf(second), 1L));
+        verify(cache).evict(User.class);
+        assertThat(lastLoginRecorder.pendingCount()).isZero();
+    }
+
+    @Test
+    void flushPending_WhenDatabaseFails_ShouldKeepLoginsForNextFlush() {
+        // Arrange
+        lastLoginRecorder.record(1L, LocalDateTime.now());
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenThrow(new QueryTimeoutException("timeout"));
+
+        // Act
+        int written = lastLoginRecorder.flushPending();
+
+        // Assert
+        assertThat(written).isZero();
+        assertThat(lastLoginRecorder.pendingCount()).isEqualTo(1);
+        verifyNoInteractions(cache);
+    }
+}
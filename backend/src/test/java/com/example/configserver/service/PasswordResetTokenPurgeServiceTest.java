@@ -0,0 +1,68 @@
+package com.example.configserver.service;
+
+import com.example.configserver.repository.PasswordResetTokenRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PasswordResetTokenPurgeServiceTest {
+
+    @Mock
+    private PasswordResetTokenRepository tokenRepository;
+
+    @InjectMocks
+    private PasswordResetTokenPurgeService purgeService;
+
+    @Test
+    void purgeExpiredTokens_ShouldDeleteInBatchesUntilPartialBatch() {
+        // Arrange
+        LocalDateTime cutoff = LocalDateTime.now();
+        when(tokenRepository.deleteExpiredBatch(eq(cutoff), anyInt()))
+                .thenReturn(500, 500, 42);
+
+        // Act
+        int purged = purgeService.purgeExpiredTokens(cutoff);
+
+        // Assert
+        assertEquals(1042, purged);
+        verify(tokenRepository, times(3)).deleteExpiredBatch(cutoff, 500);
+    }
+
+    @Test
+    void purgeExpiredTokens_WithNothingExpired_ShouldRunSingleBatch() {
+        // Arrange
+        LocalDateTime cutoff = LocalDateTime.now();
+        when(tokenRepository.deleteExpiredBatch(eq(cutoff), anyInt())).thenReturn(0);
+
+        // Act
+        int purged = purgeService.purgeExpiredTokens(cutoff);
+
+        // Assert
+        assertEquals(0, purged);
+        verify(tokenRepository, times(1)).deleteExpiredBatch(cutoff, 500);
+    }
+
+    @Test
+    void purgeExpiredTokens_ShouldStopAtBatchLimit() {
+        // Arrange
+        LocalDateTime cutoff = LocalDateTime.now();
+        when(tokenRepository.deleteExpiredBatch(eq(cutoff), anyInt())).thenReturn(500);
+
+        // Act
+        int purged = purgeService.purgeExpiredTokens(cutoff);
+
+        // Assert
+        assertEquals(50000, purged);
+        verify(tokenRepository, times(100)).deleteExpiredBatch(cutoff, 500);
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.configserver.service;
+
+import com.example.configserver.repository.ConfigurationGroupRepository;
+import com.example.configserver.repository.ConfigurationItemRepository;
+import com.example.configserver.repository.EnvironmentDefinitionRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(MockitoExtension.class)
+class ReplicationServiceTest {
+
+    @Mock
+    private ConfigurationGroupRepository groupRepository;
+
+    @Mock
+    private ConfigurationItemRepository itemRepository;
+
+    @Mock
+    private EnvironmentDefinitionRepository environmentRepository;
+
+    @Mock
+    private ConfigurationRevisions revisions;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final CountDownLatch unblock = new CountDownLatch(1);
+
+    private ReplicationService replicationService;
+
+    @BeforeEach
+    void setUp() {
+        replicationService = new ReplicationService(groupRepository, itemRepository, environmentRepository,
+                revisions, jdbcTemplate, transactionManager);
+        ReflectionTestUtils.setField(replicationService, "maxPendingEvents", 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        unblock.countDown();
+        replicationService.shutdown();
+    }
+
+    @Test
+    void onConfigurationChanged_StalledFollower_ShouldNotHoldUpTheOthers() throws Exception {
+        // Arrange: the stalled read node never returns from its first send
+        CountDownLatch stalled = new CountDownLatch(1);
+        replicationService.follow(new SseEmitter(0L) {
+            @Override
+            public void send(SseEventBuilder builder) throws IOException {
+                stalled.countDown();
+                try {
+                    unblock.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+        assertThat(stalled.await(5, TimeUnit.SECONDS)).isTrue();
+        // The heartbeat on joining, then five changes
+        CountDownLatch received = new CountDownLatch(6);
+        replicationService.follow(new SseEmitter(0L) {
+            @Override
+            public void send(SseEventBuilder builder) {
+                received.countDown();
+            }
+        });
+
+        // Act
+        for (long revision = 1; revision <= 5; revision++) {
+            replicationService.onConfigurationChanged(new ConfigurationChangedEvent("default", revision, Set.of(1L)));
+        }
+
+        // Assert
+        assertThat(received.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(replicationService.followerCount()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.configserver.service;
+
+import com.example.configserver.security.SecretCipher;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SecretValueCacheTest {
+
+    @Mock
+    private SecretCipher cipher;
+
+    @InjectMocks
+    private SecretValueCache cache;
+
+    @Test
+    void decrypt_ShouldReuseDecryptedValueWithinTtl() {
+        // Arrange
+        when(cipher.decrypt("enc:v2:local:k:c", "item:acme:1")).thenReturn("plain");
+
+        // Act
+        String first = cache.decrypt("enc:v2:local:k:c", "item:acme:1");
+        String second = cache.decrypt("enc:v2:local:k:c", "item:acme:1");
+        cache.purgeExpired();
+
+        // Assert
+        assertThat(first).isEqualTo("plain");
+        assertThat(second).isEqualTo("plain");
+        verify(cipher, times(1)).decrypt("enc:v2:local:k:c", "item:acme:1");
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    void decrypt_OtherContext_ShouldNotBeServedFromTheCache() {
+        // Arrange
+        when(cipher.decrypt("enc:v2:local:k:c", "item:acme:1")).thenReturn("plain");
+        when(cipher.decrypt("enc:v2:local:k:c", "item:other:1"))
+                .thenThrow(new IllegalArgumentException("Encrypted value cannot be decrypted"));
+        cache.decrypt("enc:v2:local:k:c", "item:acme:1");
+
+        // Act & Assert
+        assertThatThrownBy(() -> cache.decrypt("enc:v2:local:k:c", "item:other:1"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -43,6 +43,29 @@ apiClient.interceptors.request.use(
   }
 );
 
+// Access tokens are short-lived: on 401, refresh once and retry. 403 means the user may
+// not do this at all, which a new token does not change.
+apiClient.interceptors.response.use(
+  (response) => response,
+  async (error) => {
+    const original = error.config;
+    const status = error.response?.status;
+    if (status === 401 && original && !original._retried) {
+      original._retried = true;
+      const sent = original.headers?.Authorization;
+      const current = authService.getToken();
+      // Another request may have refreshed the token since this one was sent
+      const token = current && sent !== `Bearer ${current}` ? current : await authService.refresh();
+      if (token) {
+        original.headers = original.headers || {};
+        original.headers.Authorization = `Bearer ${token}`;
+        return apiClient(original);
+      }
+    }
+    return Promise.reject(error);
+  }
+);
+
 // Groups API
 export const groupsApi = {
   getAllGroups: async (): Promise<ConfigurationGroup[]> => {
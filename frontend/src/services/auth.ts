@@ -6,6 +6,8 @@ interface LoginResponse {
   username: string;
   role: string;
   token: string;
+  refreshToken?: string;
+  expiresIn?: number;
 }
 
 class AuthService {
@@ -27,7 +29,41 @@ class AuthService {
     }
   }
   
+  private pendingRefresh: Promise<string | null> | null = null;
+
+  // A refresh token is single-use and reusing one revokes its whole family, so callers
+  // that fail at the same time share one refresh
+  refresh(): Promise<string | null> {
+    if (!this.pendingRefresh) {
+      this.pendingRefresh = this.refreshOnce().finally(() => {
+        this.pendingRefresh = null;
+      });
+    }
+    return this.pendingRefresh;
+  }
+
+  private async refreshOnce(): Promise<string | null> {
+    const user = this.getCurrentUser() as unknown as LoginResponse | null;
+    if (!user || !user.refreshToken) {
+      return null;
+    }
+    try {
+      const response = await axios.post<LoginResponse>(`${this.API_URL}/auth/refresh`, { refreshToken: user.refreshToken });
+      localStorage.setItem('user', JSON.stringify(response.data));
+      return response.data.token;
+    } catch (error) {
+      console.error('Token refresh failed:', error);
+      localStorage.removeItem('user');
+      return null;
+    }
+  }
+  
   logout(): void {
+    const user = this.getCurrentUser() as unknown as LoginResponse | null;
+    if (user && user.refreshToken) {
+      axios.post(`${this.API_URL}/auth/logout`, { refreshToken: user.refreshToken })
+        .catch((error) => console.error('Logout error:', error));
+    }
     localStorage.removeItem('user');
   }
   